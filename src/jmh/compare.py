@@ -0,0 +1,75 @@
+#!/usr/bin/env python3
+"""
+Compares two JMH JSON result files (-rf json) and flags regressions.
+
+    python3 src/jmh/compare.py baseline.json target/jmh-result.json [--threshold 10]
+
+A benchmark regresses when its score moves the wrong way by more than threshold percent:
+up for time modes (avgt, sample, ss), down for throughput (thrpt). Benchmarks found in only
+one file are listed but never fail the run. Exit status is 1 when anything regressed.
+"""
+
+import argparse
+import json
+import sys
+
+HIGHER_IS_BETTER = {"thrpt"}
+PACKAGE = "com.progressive.banking.moneytransfer."
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = json.load(f)
+    scores = {}
+    for result in results:
+        params = result.get("params")
+        name = result["benchmark"].removeprefix(PACKAGE)
+        if params:
+            name += "(" + ",".join(f"{k}={v}" for k, v in sorted(params.items())) + ")"
+        metric = result["primaryMetric"]
+        # scoreError is the string "NaN" when there was a single measurement iteration
+        scores[(name, result["mode"])] = (float(metric["score"]), float(metric["scoreError"]), metric["scoreUnit"])
+    return scores
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Flag JMH regressions between two runs")
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0,
+                        help="allowed change in percent before a benchmark counts as regressed (default 10)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+
+    regressions = 0
+    print(f"{'benchmark':<60} {'mode':<6} {'baseline':>14} {'current':>14} {'change':>9}")
+    for key in sorted(baseline.keys() | current.keys()):
+        name, mode = key
+        if key not in baseline or key not in current:
+            where = "baseline" if key in baseline else "current"
+            print(f"{name:<60} {mode:<6} only in {where}")
+            continue
+
+        old, _, unit = baseline[key]
+        new, new_error, _ = current[key]
+        change = (new - old) / old * 100 if old else 0.0
+        worse = -change if mode in HIGHER_IS_BETTER else change
+
+        flag = ""
+        if worse > args.threshold:
+            regressions += 1
+            flag = "  REGRESSION"
+        print(f"{name:<60} {mode:<6} {old:>10.3f} {unit:<3} {new:>10.3f} {unit:<3} {change:>+8.1f}%{flag}"
+              f"  (±{new_error:.3f})")
+
+    if regressions:
+        print(f"\n{regressions} benchmark(s) regressed by more than {args.threshold:g}%")
+        return 1
+    print(f"\nno regressions above {args.threshold:g}%")
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
@@ -0,0 +1,160 @@
+package com.progressive.banking.moneytransfer.aspect;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import com.progressive.banking.moneytransfer.config.RequestLoggingProperties;
+
+import ch.qos.logback.classic.Level;
+
+/**
+ * LoggingAspect.maskSensitive, and the advice around one transfer (controller call wrapping
+ * the service call), each against the previous implementation. Loggers have no appenders, so
+ * this measures the aspect, not I/O. For bytes per call run with -Djmh.args="LoggingAspect -prof gc"
+ * and compare gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LoggingAspectBenchmark {
+
+    // what a TransferRequest / LoginRequest toString() looks like
+    private static final String TRANSFER_ARGS =
+            "TransferRequest(fromAccountId=1, toAccountId=2, amount=250.00, idempotencyKey=5b1f0c1e-9b7a-4c55-a7b1-0f5f3b0f9d21, description=Rent)";
+    private static final String LOGIN_ARGS = "LoginRequest(username=Vijay, password=S3cret!)";
+
+    // level of both aspects' loggers: WARN is "disabled", INFO logs entry/exit
+    @Param({"WARN", "INFO"})
+    public String level;
+
+    private LoggingAspect aspect;
+    private LegacyLoggingAspect legacy;
+    private ProceedingJoinPoint transferCall;
+    private ProceedingJoinPoint legacyTransferCall;
+
+    @Setup
+    public void setUp() {
+        ch.qos.logback.classic.Logger root =
+                (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(LoggingAspect.class)).setLevel(Level.toLevel(level));
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(LegacyLoggingAspect.class)).setLevel(Level.toLevel(level));
+
+        aspect = new LoggingAspect(new RequestLoggingProperties());
+        legacy = new LegacyLoggingAspect();
+
+        ProceedingJoinPoint service = joinPoint("TransferServiceImpl.transfer(..)", () -> "ok");
+        transferCall = joinPoint("TransferController.transfer(..)", () -> aspect.logService(service));
+
+        ProceedingJoinPoint legacyService = joinPoint("TransferServiceImpl.transfer(..)", () -> "ok");
+        legacyTransferCall = joinPoint("TransferController.transfer(..)", () -> legacy.logAround(legacyService));
+    }
+
+    @Benchmark
+    public String maskTransferRequest() {
+        return aspect.maskSensitive(TRANSFER_ARGS);
+    }
+
+    @Benchmark
+    public String maskLoginRequest() {
+        return aspect.maskSensitive(LOGIN_ARGS);
+    }
+
+    @Benchmark
+    public String maskTransferRequestBefore() {
+        return legacy.maskSensitive(TRANSFER_ARGS);
+    }
+
+    @Benchmark
+    public Object transferAdvice() throws Throwable {
+        return aspect.logController(transferCall);
+    }
+
+    @Benchmark
+    public Object transferAdviceBefore() throws Throwable {
+        return legacy.logAround(legacyTransferCall);
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        Object run() throws Throwable;
+    }
+
+    // join point without Mockito so only the advice allocates
+    private static ProceedingJoinPoint joinPoint(String shortSignature, Body body) {
+        Signature signature = (Signature) Proxy.newProxyInstance(Signature.class.getClassLoader(),
+                new Class<?>[] {Signature.class},
+                (proxy, method, args) -> method.getName().equals("toShortString") ? shortSignature : null);
+        Object[] noArgs = new Object[0];
+        return (ProceedingJoinPoint) Proxy.newProxyInstance(ProceedingJoinPoint.class.getClassLoader(),
+                new Class<?>[] {ProceedingJoinPoint.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "proceed" -> body.run();
+                    case "getSignature" -> signature;
+                    case "getArgs" -> noArgs;
+                    default -> null;
+                });
+    }
+
+    /**
+     * The aspect before the rewrite: UUID per call, seven replaceAll passes per masked string,
+     * and every controller and service call logged.
+     */
+    static class LegacyLoggingAspect {
+
+        private static final Logger log = LoggerFactory.getLogger(LegacyLoggingAspect.class);
+        private static final String CORRELATION_ID = "correlationId";
+        private static final List<String> SENSITIVE_KEYS =
+                List.of("password", "secret", "token", "authorization", "idempotencyKey", "otp", "pin");
+
+        Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+            if (MDC.get(CORRELATION_ID) == null) {
+                MDC.put(CORRELATION_ID, UUID.randomUUID().toString());
+            }
+            String cid = MDC.get(CORRELATION_ID);
+            String signature = joinPoint.getSignature().toShortString();
+            long startNs = System.nanoTime();
+            try {
+                log.info("[{}] --> {}", cid, signature);
+                Object result = joinPoint.proceed();
+                long timeMs = (System.nanoTime() - startNs) / 1_000_000;
+                log.info("[{}] <-- {} | timeMs={}", cid, signature, timeMs);
+                return result;
+            } finally {
+                MDC.remove(CORRELATION_ID);
+            }
+        }
+
+        String maskSensitive(String input) {
+            String masked = input;
+            for (String key : SENSITIVE_KEYS) {
+                String pattern = "(?i)(" + Pattern.quote(key) + "\\s*[=:]\\s*)([^,}\\]]+)";
+                masked = masked.replaceAll(pattern, "$1****");
+            }
+            return masked;
+        }
+    }
+}
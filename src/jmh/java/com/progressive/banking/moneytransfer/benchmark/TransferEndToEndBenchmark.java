@@ -0,0 +1,94 @@
+package com.progressive.banking.moneytransfer.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.progressive.banking.moneytransfer.MoneytransferApplication;
+import com.progressive.banking.moneytransfer.domain.dto.BalanceResponse;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.service.AccountService;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+/**
+ * Full service calls against the embedded H2 database (test application.properties):
+ * TransferService.transfer with default settings, and AccountService.getBalance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransferEndToEndBenchmark {
+
+    private static final int ACCOUNT_A = 9101;
+    private static final int ACCOUNT_B = 9102;
+    private static final Money AMOUNT = Money.of("1.00");
+
+    private ConfigurableApplicationContext context;
+    private TransferService transferService;
+    private AccountService accountService;
+    private long sequence;
+
+    @Setup
+    public void start() {
+        context = new SpringApplicationBuilder(MoneytransferApplication.class)
+                .properties("server.port=0",
+                        "logging.level.root=WARN",
+                        "logging.level.com.progressive.banking.moneytransfer=WARN")
+                .run();
+        transferService = context.getBean(TransferService.class);
+        accountService = context.getBean(AccountService.class);
+
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        accountRepository.save(account(ACCOUNT_A));
+        accountRepository.save(account(ACCOUNT_B));
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    // alternates direction so balances never run out
+    @Benchmark
+    public TransferResponse transfer() {
+        long n = sequence++;
+        boolean forward = (n & 1) == 0;
+        TransferRequest request = new TransferRequest(
+                forward ? ACCOUNT_A : ACCOUNT_B,
+                forward ? ACCOUNT_B : ACCOUNT_A,
+                AMOUNT,
+                "jmh-" + n,
+                null);
+        return transferService.transfer(request);
+    }
+
+    @Benchmark
+    public BalanceResponse getBalance() {
+        return accountService.getBalance(ACCOUNT_A);
+    }
+
+    private static Account account(int id) {
+        return new Account(id, "Bench " + id, Money.of("1000000.00"), AccountStatusEnum.ACTIVE, null, LocalDateTime.now());
+    }
+}
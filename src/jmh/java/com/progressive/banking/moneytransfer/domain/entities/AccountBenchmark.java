@@ -0,0 +1,54 @@
+package com.progressive.banking.moneytransfer.domain.entities;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+
+/**
+ * In-memory money movement on the entity: Account.debit / Account.credit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AccountBenchmark {
+
+    private static final Money AMOUNT = Money.of("12.34");
+
+    private Account account;
+
+    // a fresh balance every iteration, far larger than what one iteration can debit
+    @Setup(Level.Iteration)
+    public void setUp() {
+        account = new Account(1, "Holder 1", Money.of("1000000000000.00"),
+                AccountStatusEnum.ACTIVE, 0L, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public Account debit() {
+        account.debit(AMOUNT);
+        return account;
+    }
+
+    @Benchmark
+    public Account credit() {
+        account.credit(AMOUNT);
+        return account;
+    }
+}
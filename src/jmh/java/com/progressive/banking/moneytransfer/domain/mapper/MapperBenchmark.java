@@ -0,0 +1,69 @@
+package com.progressive.banking.moneytransfer.domain.mapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.progressive.banking.moneytransfer.domain.dto.AccountResponse;
+import com.progressive.banking.moneytransfer.domain.dto.BalanceResponse;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+
+/**
+ * Entity -> DTO mapping on every transfer and account response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    private TransactionLog log;
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        log = new TransactionLog();
+        log.setTransactionId(1_000_001);
+        log.setFromAccountId(1);
+        log.setToAccountId(2);
+        log.setAmount(new BigDecimal("250.00"));
+        log.setStatus(TransactionStatusEnum.SUCCESS);
+        log.setIdempotencyKey("bench-key");
+        log.setCreatedOn(LocalDateTime.now());
+
+        account = new Account(1, "Holder 1", Money.of("1000.00"), AccountStatusEnum.ACTIVE, 3L, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public TransferResponse transferToResponse() {
+        return TransferMapper.toResponse(log);
+    }
+
+    @Benchmark
+    public AccountResponse toAccountResponse() {
+        return AccountMapper.toAccountResponse(account);
+    }
+
+    @Benchmark
+    public BalanceResponse toBalanceResponse() {
+        return AccountMapper.toBalanceResponse(account);
+    }
+}
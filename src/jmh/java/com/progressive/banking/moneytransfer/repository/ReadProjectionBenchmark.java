@@ -0,0 +1,137 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.progressive.banking.moneytransfer.MoneytransferApplication;
+import com.progressive.banking.moneytransfer.domain.dto.AccountResponse;
+import com.progressive.banking.moneytransfer.domain.dto.BalanceResponse;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.mapper.AccountMapper;
+import com.progressive.banking.moneytransfer.domain.mapper.TransferMapper;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Read paths against the embedded H2 database, entity vs record projection: an account and a
+ * balance read (findById + mapper vs findViewById / findBalanceViewById), and a 20-row history
+ * page (TransactionLog entities from JPQL + TransferMapper vs findHistoryPage into records).
+ * Allocation per call with the GC profiler:
+ * -Djmh.args="-prof gc ReadProjectionBenchmark" (gc.alloc.rate.norm, bytes/op)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReadProjectionBenchmark {
+
+    private static final int ACCOUNT_A = 9201;
+    private static final int ACCOUNT_B = 9202;
+    private static final int HISTORY_ROWS = 200;
+    private static final int PAGE_SIZE = 20;
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final String ENTITY_HISTORY =
+            "SELECT t FROM TransactionLog t WHERE t.fromAccountId = :id OR t.toAccountId = :id "
+                    + "ORDER BY t.createdOn DESC, t.transactionId DESC";
+
+    private ConfigurableApplicationContext context;
+    private AccountRepository accountRepository;
+    private TransactionLogRepository transactionLogRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void start() {
+        context = new SpringApplicationBuilder(MoneytransferApplication.class)
+                .properties("server.port=0",
+                        "logging.level.root=WARN",
+                        "logging.level.com.progressive.banking.moneytransfer=WARN")
+                .run();
+        accountRepository = context.getBean(AccountRepository.class);
+        transactionLogRepository = context.getBean(TransactionLogRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        accountRepository.save(account(ACCOUNT_A));
+        accountRepository.save(account(ACCOUNT_B));
+        TransferService transferService = context.getBean(TransferService.class);
+        for (int i = 0; i < HISTORY_ROWS; i++) {
+            boolean forward = (i & 1) == 0;
+            transferService.transfer(new TransferRequest(forward ? ACCOUNT_A : ACCOUNT_B, forward ? ACCOUNT_B : ACCOUNT_A,
+                    Money.of("1.00"), "projection-" + i, null));
+        }
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountResponse accountEntity() {
+        return AccountMapper.toAccountResponse(accountRepository.findById(ACCOUNT_A).orElseThrow());
+    }
+
+    @Benchmark
+    public AccountResponse accountProjection() {
+        return AccountMapper.toAccountResponse(accountRepository.findViewById(ACCOUNT_A).orElseThrow());
+    }
+
+    @Benchmark
+    public BalanceResponse balanceEntity() {
+        return AccountMapper.toBalanceResponse(accountRepository.findById(ACCOUNT_A).orElseThrow());
+    }
+
+    @Benchmark
+    public BalanceResponse balanceProjection() {
+        return AccountMapper.toBalanceResponse(accountRepository.findBalanceViewById(ACCOUNT_A).orElseThrow());
+    }
+
+    @Benchmark
+    public List<TransferResponse> historyEntity() {
+        return readOnly.execute(status -> entityManager.createQuery(ENTITY_HISTORY, TransactionLog.class)
+                .setParameter("id", ACCOUNT_A)
+                .setMaxResults(PAGE_SIZE + 1)
+                .getResultStream()
+                .map(TransferMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<TransactionView> historyProjection() {
+        return readOnly.execute(status -> transactionLogRepository
+                .findHistoryPage(ACCOUNT_A, END_OF_TIME, Integer.MAX_VALUE, PAGE_SIZE + 1));
+    }
+
+    private static Account account(int id) {
+        return new Account(id, "Bench " + id, Money.of("1000000.00"), AccountStatusEnum.ACTIVE, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,140 @@
+package com.progressive.banking.moneytransfer.service.impl;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.progressive.banking.moneytransfer.aspect.LoggingAspect;
+import com.progressive.banking.moneytransfer.config.RequestLoggingProperties;
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.exception.GlobalExceptionHandler;
+import com.progressive.banking.moneytransfer.exception.InsufficientBalanceException;
+
+import ch.qos.logback.classic.Level;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A transfer refused for insufficient funds vs one that passes validation, each at the bottom
+ * of {@code depth} extra frames (a servlet request reaches the service ~100 frames deep): the
+ * service call through LoggingAspect at INFO, then, for the rejection, GlobalExceptionHandler
+ * building the 400. Loggers have no appenders, so this is the cost of the exception, the log
+ * event and the error body, not I/O.
+ * -Djmh.args="-prof gc RejectedTransferBenchmark" for bytes per call (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RejectedTransferBenchmark {
+
+    @Param({"0", "100"})
+    public int depth;
+
+    private TransferServiceImpl transferService;
+    private LoggingAspect aspect;
+    private GlobalExceptionHandler handler;
+    private WebRequest webRequest;
+    private TransferRequest request;
+    private Account funded;
+    private Account empty;
+    private Account to;
+    private ProceedingJoinPoint acceptedCall;
+    private ProceedingJoinPoint rejectedCall;
+
+    @Setup
+    public void setUp() {
+        ch.qos.logback.classic.Logger root =
+                (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(Level.INFO);
+
+        // validateTransfer only reads its arguments
+        transferService = new TransferServiceImpl(null, null, new TransferProperties(), null, null, null, null, null, null, null);
+        aspect = new LoggingAspect(new RequestLoggingProperties());
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("meterRegistry", new SimpleMeterRegistry());
+        handler = new GlobalExceptionHandler(beans.getBeanProvider(MeterRegistry.class));
+        webRequest = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/v1/transfers"));
+
+        request = new TransferRequest(1, 2, Money.of("250.00"), "bench-key", null);
+        funded = account(1, Money.of("1000.00"));
+        empty = account(1, Money.of("10.00"));
+        to = account(2, Money.of("10.00"));
+        acceptedCall = joinPoint("TransferServiceImpl.transfer(..)", () -> validateAt(depth, funded));
+        rejectedCall = joinPoint("TransferServiceImpl.transfer(..)", () -> validateAt(depth, empty));
+    }
+
+    @Benchmark
+    public Object accepted() throws Throwable {
+        return aspect.logService(acceptedCall);
+    }
+
+    @Benchmark
+    public Object rejected() throws Throwable {
+        try {
+            return aspect.logService(rejectedCall);
+        } catch (InsufficientBalanceException ex) {
+            return handler.handleInsufficientBalanceException(ex, webRequest);
+        }
+    }
+
+    private Object validateAt(int frames, Account from) {
+        if (frames > 0) {
+            return validateAt(frames - 1, from);
+        }
+        transferService.validateTransfer(request, from, to);
+        return request;
+    }
+
+    private static Account account(Integer id, Money balance) {
+        return new Account(id, "Holder " + id, balance, AccountStatusEnum.ACTIVE, 0L, LocalDateTime.now());
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        Object run() throws Throwable;
+    }
+
+    // join point without Mockito so only the advice allocates
+    private static ProceedingJoinPoint joinPoint(String shortSignature, Body body) {
+        Signature signature = (Signature) Proxy.newProxyInstance(Signature.class.getClassLoader(),
+                new Class<?>[] {Signature.class},
+                (proxy, method, args) -> method.getName().equals("toShortString") ? shortSignature : null);
+        Object[] noArgs = new Object[0];
+        return (ProceedingJoinPoint) Proxy.newProxyInstance(ProceedingJoinPoint.class.getClassLoader(),
+                new Class<?>[] {ProceedingJoinPoint.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "proceed" -> body.run();
+                    case "getSignature" -> signature;
+                    case "getArgs" -> noArgs;
+                    default -> null;
+                });
+    }
+}
@@ -0,0 +1,57 @@
+package com.progressive.banking.moneytransfer.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+
+/**
+ * TransferServiceImpl.validateTransfer: the business rules checked before any money moves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TransferValidationBenchmark {
+
+    private TransferServiceImpl transferService;
+    private TransferRequest request;
+    private Account from;
+    private Account to;
+
+    @Setup
+    public void setUp() {
+        // validateTransfer only reads its arguments
+        transferService = new TransferServiceImpl(null, null, new TransferProperties(), null, null, null, null, null, null, null);
+        request = new TransferRequest(1, 2, Money.of("250.00"), "bench-key", null);
+        from = account(1, Money.of("1000.00"));
+        to = account(2, Money.of("10.00"));
+    }
+
+    @Benchmark
+    public TransferRequest validateTransfer() {
+        transferService.validateTransfer(request, from, to);
+        return request;
+    }
+
+    private static Account account(Integer id, Money balance) {
+        return new Account(id, "Holder " + id, balance, AccountStatusEnum.ACTIVE, 0L, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,22 @@
+package com.progressive.banking.moneytransfer.archive;
+
+import java.time.LocalDateTime;
+
+/**
+ * Point-in-time view of the transaction_log archive.
+ *
+ * @param segments  archived months readable by this instance
+ * @param rows      transaction_log rows in them
+ * @param bytes     size of their files
+ * @param liveFrom  start of the oldest month read from transaction_log, null while nothing is archived
+ * @param published segments written by this instance since startup
+ * @param dropped   months this instance removed from transaction_log since startup
+ */
+public record ArchiveStats(
+        int segments,
+        long rows,
+        long bytes,
+        LocalDateTime liveFrom,
+        long published,
+        long dropped) {
+}
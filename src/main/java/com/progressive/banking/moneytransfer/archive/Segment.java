@@ -0,0 +1,459 @@
+package com.progressive.banking.moneytransfer.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+
+/**
+ * One archived month of transaction_log: an immutable local file, compressed, checksummed and
+ * indexed for account history reads. Written by {@link SegmentWriter}.
+ *
+ * Layout:
+ * - header: magic, version
+ * - blocks: up to block-rows rows each, Deflate-compressed
+ * - footer: month, row count, then per section the block index
+ * - trailer: footer offset and length, CRC32C of the footer, magic
+ *
+ * Rows are stored twice, the way the live history query reads them: the sent section ordered by
+ * (fromAccountId, createdOn, transactionId), the received section by (toAccountId, createdOn,
+ * transactionId) without rows sent to the same account. A block index entry carries the
+ * block's CRC32C (of the uncompressed rows), its first key and its last account, so a history
+ * read decompresses only the blocks holding the account's rows before the cursor, and none in
+ * a month the account has no rows in.
+ *
+ * Only the footer is held in memory; each read opens the file for its own positional reads.
+ */
+public final class Segment {
+
+    static final int MAGIC = 0x544C5347; // "TLSG"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int TRAILER_BYTES = 20;
+
+    static final int SENT = 0;
+    static final int RECEIVED = 1;
+
+    private final Path file;
+    private final YearMonth month;
+    private final long rows;
+    private final long sizeBytes;
+    private final List<List<Block>> sections;
+
+    private Segment(Path file, YearMonth month, long rows, long sizeBytes, List<List<Block>> sections) {
+        this.file = file;
+        this.month = month;
+        this.rows = rows;
+        this.sizeBytes = sizeBytes;
+        this.sections = sections;
+    }
+
+    /**
+     * Reads the footer; the blocks are only checked when read (or by {@link #verify()}).
+     */
+    public static Segment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES) {
+                throw corrupt(file, "too short");
+            }
+            ByteBuffer header = read(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw corrupt(file, "not a version " + VERSION + " segment");
+            }
+
+            ByteBuffer trailer = read(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+            long footerOffset = trailer.getLong();
+            int footerLength = trailer.getInt();
+            int footerCrc = trailer.getInt();
+            if (trailer.getInt() != MAGIC || footerOffset < HEADER_BYTES || footerOffset + footerLength > size - TRAILER_BYTES) {
+                throw corrupt(file, "bad trailer");
+            }
+            byte[] footer = read(channel, footerOffset, footerLength).array();
+            if (crc(footer, footer.length) != footerCrc) {
+                throw corrupt(file, "footer fails its checksum");
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(footer));
+            YearMonth month = YearMonth.parse(in.readUTF());
+            long rows = in.readLong();
+            List<List<Block>> sections = List.of(readBlocks(in), readBlocks(in));
+            return new Segment(file, month, rows, size, sections);
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public YearMonth month() {
+        return month;
+    }
+
+    // transaction_log rows in the segment (the sent section has each one once)
+    public long rows() {
+        return rows;
+    }
+
+    public long sizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * Up to limit rows of the account strictly older than (beforeCreatedOn, beforeId), newest
+     * first: the two sections merged, as the live query's UNION ALL.
+     */
+    public List<TransactionView> findHistoryPage(int accountId, LocalDateTime beforeCreatedOn, int beforeId, int limit) {
+        List<TransactionView> page = new ArrayList<>(Math.min(limit, 64));
+        history(accountId, beforeCreatedOn, beforeId, limit, page::add);
+        return page;
+    }
+
+    /**
+     * The account's whole month, newest first, decompressed block by block.
+     */
+    public void streamHistory(int accountId, Consumer<TransactionView> consumer) {
+        history(accountId, LocalDateTime.MAX, Integer.MAX_VALUE, Integer.MAX_VALUE, consumer);
+    }
+
+    /**
+     * The row logged with the key, read by decompressing the sent section until it turns up:
+     * only for retries of archived transfers, which are rare.
+     */
+    public Optional<TransactionView> findByIdempotencyKey(String idempotencyKey) {
+        Iterator<TransactionView> it = rows(SENT);
+        while (it.hasNext()) {
+            TransactionView row = it.next();
+            if (row.idempotencyKey().equals(idempotencyKey)) {
+                return Optional.of(row);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Every row of a section in section order (SENT or RECEIVED).
+     */
+    Iterator<TransactionView> rows(int section) {
+        return new SectionIterator(sections.get(section));
+    }
+
+    /**
+     * Decompresses every block and checks its checksum and the row count.
+     */
+    public void verify() {
+        long sent = 0;
+        Iterator<TransactionView> it = rows(SENT);
+        while (it.hasNext()) {
+            it.next();
+            sent++;
+        }
+        if (sent != rows) {
+            throw corrupt(file, "holds " + sent + " rows, footer says " + rows);
+        }
+        rows(RECEIVED).forEachRemaining(row -> { });
+    }
+
+    private void history(int accountId, LocalDateTime beforeCreatedOn, int beforeId, int limit,
+                         Consumer<TransactionView> consumer) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Run sent = new Run(channel, SENT, accountId, beforeCreatedOn, beforeId);
+            Run received = new Run(channel, RECEIVED, accountId, beforeCreatedOn, beforeId);
+            for (int emitted = 0; emitted < limit; emitted++) {
+                TransactionView a = sent.peek();
+                TransactionView b = received.peek();
+                if (a == null && b == null) {
+                    return;
+                }
+                consumer.accept(b == null || (a != null && newer(a, b)) ? sent.next() : received.next());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Reading segment " + file + " failed", ex);
+        }
+    }
+
+    /* ---------------- runs ---------------- */
+
+    /**
+     * One account's rows of a section, walked backwards (newest first) from a position.
+     */
+    private final class Run {
+
+        private final FileChannel channel;
+        private final List<Block> blocks;
+        private final int section;
+        private final int accountId;
+
+        private int blockNo;
+        private TransactionView[] decoded;
+        private int index;
+        private TransactionView peeked;
+
+        Run(FileChannel channel, int section, int accountId, LocalDateTime beforeCreatedOn, int beforeId) {
+            this.channel = channel;
+            this.blocks = sections.get(section);
+            this.section = section;
+            this.accountId = accountId;
+
+            // the last block starting before the position; nothing of the account before it if
+            // that block ends on a lower account
+            blockNo = lastBlockBefore(accountId, beforeCreatedOn, beforeId);
+            if (blockNo >= 0 && blocks.get(blockNo).lastAccount() >= accountId) {
+                decoded = decode(channel, file, blocks.get(blockNo), blockNo);
+                index = decoded.length - 1;
+                while (index >= 0 && compare(section, decoded[index], accountId, beforeCreatedOn, beforeId) >= 0) {
+                    index--;
+                }
+            }
+        }
+
+        TransactionView peek() {
+            if (peeked == null && decoded != null) {
+                peeked = advance();
+            }
+            return peeked;
+        }
+
+        TransactionView next() {
+            TransactionView row = peek();
+            peeked = null;
+            return row;
+        }
+
+        private TransactionView advance() {
+            while (index < 0) {
+                // the previous block holds more of the account only if it ends on it
+                if (--blockNo < 0 || blocks.get(blockNo).lastAccount() != accountId) {
+                    decoded = null;
+                    return null;
+                }
+                decoded = decode(channel, file, blocks.get(blockNo), blockNo);
+                index = decoded.length - 1;
+            }
+            TransactionView row = decoded[index--];
+            if (account(section, row) != accountId) {
+                decoded = null;
+                return null;
+            }
+            return row;
+        }
+
+        private int lastBlockBefore(int account, LocalDateTime createdOn, int transactionId) {
+            int low = 0;
+            int high = blocks.size() - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                Block block = blocks.get(mid);
+                if (compare(block.firstAccount(), block.firstCreatedOn(), block.firstTransactionId(),
+                        account, createdOn, transactionId) < 0) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+    }
+
+    private final class SectionIterator implements Iterator<TransactionView> {
+
+        private final List<Block> blocks;
+        private int blockNo = -1;
+        private TransactionView[] decoded = new TransactionView[0];
+        private int index;
+
+        SectionIterator(List<Block> blocks) {
+            this.blocks = blocks;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (index >= decoded.length) {
+                if (blockNo + 1 >= blocks.size()) {
+                    return false;
+                }
+                blockNo++;
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    decoded = decode(channel, file, blocks.get(blockNo), blockNo);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException("Reading segment " + file + " failed", ex);
+                }
+                index = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public TransactionView next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return decoded[index++];
+        }
+    }
+
+    /* ---------------- format ---------------- */
+
+    /**
+     * Block index entry: where the block is, its checksum, its first key and last account.
+     */
+    record Block(long offset, int compressedLength, int length, int rows, int crc,
+                 int firstAccount, LocalDateTime firstCreatedOn, int firstTransactionId, int lastAccount) {
+    }
+
+    static int account(int section, TransactionView row) {
+        return section == SENT ? row.fromAccountId() : row.toAccountId();
+    }
+
+    // section order: (account, createdOn, transactionId) ascending
+    static int compare(int section, TransactionView a, TransactionView b) {
+        return compare(account(section, a), a.createdOn(), a.transactionId(), account(section, b), b.createdOn(), b.transactionId());
+    }
+
+    private static int compare(int section, TransactionView row, int account, LocalDateTime createdOn, int transactionId) {
+        return compare(account(section, row), row.createdOn(), row.transactionId(), account, createdOn, transactionId);
+    }
+
+    private static int compare(int accountA, LocalDateTime createdOnA, int idA, int accountB, LocalDateTime createdOnB, int idB) {
+        int c = Integer.compare(accountA, accountB);
+        if (c == 0) {
+            c = createdOnA.compareTo(createdOnB);
+        }
+        return c != 0 ? c : Integer.compare(idA, idB);
+    }
+
+    // history order: (createdOn, transactionId) descending
+    private static boolean newer(TransactionView a, TransactionView b) {
+        int c = a.createdOn().compareTo(b.createdOn());
+        return c != 0 ? c > 0 : a.transactionId() > b.transactionId();
+    }
+
+    static void writeRow(DataOutput out, TransactionView row) throws IOException {
+        out.writeInt(row.transactionId());
+        out.writeInt(row.fromAccountId());
+        out.writeInt(row.toAccountId());
+        out.writeLong(Money.of(row.amount()).minorUnits());
+        out.writeUTF(row.status().name());
+        out.writeBoolean(row.failureReason() != null);
+        if (row.failureReason() != null) {
+            out.writeUTF(row.failureReason());
+        }
+        out.writeUTF(row.idempotencyKey());
+        writeTimestamp(out, row.createdOn());
+    }
+
+    private static TransactionView readRow(DataInput in) throws IOException {
+        return new TransactionView(
+                in.readInt(),
+                in.readInt(),
+                in.readInt(),
+                Money.ofMinor(in.readLong()).toBigDecimal(),
+                TransactionStatusEnum.valueOf(in.readUTF()),
+                in.readBoolean() ? in.readUTF() : null,
+                in.readUTF(),
+                readTimestamp(in));
+    }
+
+    static void writeBlocks(DataOutput out, List<Block> blocks) throws IOException {
+        out.writeInt(blocks.size());
+        for (Block block : blocks) {
+            out.writeLong(block.offset());
+            out.writeInt(block.compressedLength());
+            out.writeInt(block.length());
+            out.writeInt(block.rows());
+            out.writeInt(block.crc());
+            out.writeInt(block.firstAccount());
+            writeTimestamp(out, block.firstCreatedOn());
+            out.writeInt(block.firstTransactionId());
+            out.writeInt(block.lastAccount());
+        }
+    }
+
+    private static List<Block> readBlocks(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<Block> blocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            blocks.add(new Block(in.readLong(), in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                    in.readInt(), readTimestamp(in), in.readInt(), in.readInt()));
+        }
+        return List.copyOf(blocks);
+    }
+
+    // created_on has no zone; UTC is only the encoding
+    private static void writeTimestamp(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(DataInput in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static TransactionView[] decode(FileChannel channel, Path file, Block block, int blockNo) {
+        byte[] raw = new byte[block.length()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(read(channel, block.offset(), block.compressedLength()).array());
+            if (inflater.inflate(raw) != raw.length || !inflater.finished() || crc(raw, raw.length) != block.crc()) {
+                throw corrupt(file, "block " + blockNo + " fails its checksum");
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+            TransactionView[] rows = new TransactionView[block.rows()];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = readRow(in);
+            }
+            return rows;
+        } catch (DataFormatException ex) {
+            throw corrupt(file, "block " + blockNo + " is not valid Deflate data");
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Reading segment " + file + " failed", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    static int crc(byte[] bytes, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Segment ends before byte " + (position + length));
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static IllegalStateException corrupt(Path file, String problem) {
+        return new IllegalStateException("Segment " + file + " is corrupt: " + problem);
+    }
+}
@@ -0,0 +1,154 @@
+package com.progressive.banking.moneytransfer.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
+
+/**
+ * Writes a {@link Segment}: the sent section's rows, {@link #nextSection()}, the received
+ * section's rows, then {@link #finish()}. Rows must arrive in section order; anything else is
+ * an IllegalStateException, since reads binary-search on it.
+ */
+final class SegmentWriter implements Closeable {
+
+    private final Path file;
+    private final YearMonth month;
+    private final int blockRows;
+    private final FileChannel channel;
+    private final Deflater deflater = new Deflater();
+    private final byte[] chunk = new byte[8192];
+
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(block);
+    private final List<List<Segment.Block>> sections = new ArrayList<>();
+
+    private long position;
+    private long rows;
+    private int blockRowCount;
+    private TransactionView first;
+    private TransactionView previous;
+
+    SegmentWriter(Path file, YearMonth month, int blockRows) throws IOException {
+        this.file = file;
+        this.month = month;
+        this.blockRows = blockRows;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(Segment.HEADER_BYTES).putInt(Segment.MAGIC).putInt(Segment.VERSION);
+        write(header.flip());
+        sections.add(new ArrayList<>());
+    }
+
+    void append(TransactionView row) {
+        int section = sections.size() - 1;
+        if (previous != null && Segment.compare(section, previous, row) >= 0) {
+            throw new IllegalStateException("Segment " + file + ": row " + row.transactionId()
+                    + " is out of order after " + previous.transactionId());
+        }
+        try {
+            Segment.writeRow(out, row);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (blockRowCount++ == 0) {
+            first = row;
+        }
+        previous = row;
+        if (section == Segment.SENT) {
+            rows++;
+        }
+        if (blockRowCount == blockRows) {
+            flushBlock();
+        }
+    }
+
+    void nextSection() {
+        flushBlock();
+        previous = null;
+        sections.add(new ArrayList<>());
+    }
+
+    // rows appended to the sent section
+    long rows() {
+        return rows;
+    }
+
+    /**
+     * Writes footer and trailer and forces the file to disk.
+     */
+    void finish() throws IOException {
+        flushBlock();
+        if (sections.size() != 2) {
+            throw new IllegalStateException("Segment " + file + " needs a sent and a received section");
+        }
+
+        ByteArrayOutputStream footerBytes = new ByteArrayOutputStream();
+        DataOutputStream footer = new DataOutputStream(footerBytes);
+        footer.writeUTF(month.toString());
+        footer.writeLong(rows);
+        for (List<Segment.Block> blocks : sections) {
+            Segment.writeBlocks(footer, blocks);
+        }
+        byte[] bytes = footerBytes.toByteArray();
+
+        long footerOffset = position;
+        write(ByteBuffer.wrap(bytes));
+        write(ByteBuffer.allocate(Segment.TRAILER_BYTES)
+                .putLong(footerOffset)
+                .putInt(bytes.length)
+                .putInt(Segment.crc(bytes, bytes.length))
+                .putInt(Segment.MAGIC)
+                .flip());
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        channel.close();
+    }
+
+    private void flushBlock() {
+        if (blockRowCount == 0) {
+            return;
+        }
+        byte[] raw = block.toByteArray();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4);
+        deflater.setInput(raw);
+        deflater.finish();
+        while (!deflater.finished()) {
+            compressed.write(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.reset();
+
+        int section = sections.size() - 1;
+        sections.get(section).add(new Segment.Block(position, compressed.size(), raw.length, blockRowCount,
+                Segment.crc(raw, raw.length), Segment.account(section, first), first.createdOn(), first.transactionId(),
+                Segment.account(section, previous)));
+        try {
+            write(ByteBuffer.wrap(compressed.toByteArray()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        block.reset();
+        blockRowCount = 0;
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.progressive.banking.moneytransfer.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.progressive.banking.moneytransfer.config.ArchiveProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The archived months of transaction_log: one {@link Segment} file per month in
+ * application.archive.directory, footers held in memory.
+ *
+ * Archived months are the oldest ones: history before {@link #liveFrom()} is read from segments,
+ * from it on from transaction_log. A month is in both between its segment's publication and the
+ * drop of its rows, so readers cut live rows at liveFrom and no row is returned twice.
+ */
+@Component
+@Slf4j
+public class TransactionLogArchive {
+
+    private static final String PREFIX = "transaction_log-";
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+
+    // replaced as a whole by refresh(); readers take one snapshot per call
+    private volatile NavigableMap<YearMonth, Entry> segments = Collections.emptyNavigableMap();
+
+    public TransactionLogArchive(ArchiveProperties properties) {
+        this.directory = properties.getDirectory();
+        refresh();
+    }
+
+    /**
+     * Start of the month after the newest archived one; {@link LocalDateTime#MIN} while
+     * nothing is archived.
+     */
+    public LocalDateTime liveFrom() {
+        NavigableMap<YearMonth, Entry> current = segments;
+        return current.isEmpty() ? LocalDateTime.MIN : current.lastKey().plusMonths(1).atDay(1).atStartOfDay();
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * Up to limit archived rows of the account strictly older than (beforeCreatedOn, beforeId),
+     * newest first, month by month; months the account has no rows in cost no decompression.
+     */
+    public List<TransactionView> findHistoryPage(Integer accountId, LocalDateTime beforeCreatedOn, Integer beforeId, int limit) {
+        List<TransactionView> page = new ArrayList<>();
+        for (Entry entry : segments.descendingMap().values()) {
+            if (page.size() >= limit) {
+                break;
+            }
+            // months starting at or after the cursor hold nothing older than it
+            if (entry.segment().month().atDay(1).atStartOfDay().isBefore(beforeCreatedOn)) {
+                page.addAll(entry.segment().findHistoryPage(accountId, beforeCreatedOn, beforeId, limit - page.size()));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * The account's whole archived history, newest first.
+     */
+    public void streamHistory(Integer accountId, Consumer<TransactionView> consumer) {
+        for (Entry entry : segments.descendingMap().values()) {
+            entry.segment().streamHistory(accountId, consumer);
+        }
+    }
+
+    /**
+     * The archived row of a transfer, given when it was logged (see the key register in
+     * TransactionLogPartitions); empty if its month isn't archived.
+     */
+    public Optional<TransactionView> findByIdempotencyKey(String idempotencyKey, LocalDateTime createdOn) {
+        Segment segment = segment(YearMonth.from(createdOn));
+        return segment == null ? Optional.empty() : segment.findByIdempotencyKey(idempotencyKey);
+    }
+
+    public Segment segment(YearMonth month) {
+        Entry entry = segments.get(month);
+        return entry == null ? null : entry.segment();
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    Path fileFor(YearMonth month) {
+        return directory.resolve(PREFIX + month + SUFFIX);
+    }
+
+    /**
+     * Re-reads the directory: opens segment files that are new or were rewritten, forgets
+     * removed ones. A segment that can't be opened is left out (and logged), so its month is
+     * read from transaction_log if it is still there.
+     */
+    public synchronized void refresh() {
+        if (!Files.isDirectory(directory)) {
+            segments = Collections.emptyNavigableMap();
+            return;
+        }
+
+        NavigableMap<YearMonth, Entry> previous = segments;
+        NavigableMap<YearMonth, Entry> next = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    String name = file.getFileName().toString();
+                    YearMonth month = YearMonth.parse(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+
+                    Entry known = previous.get(month);
+                    if (known != null && known.modified().equals(attributes.lastModifiedTime())
+                            && known.segment().sizeBytes() == attributes.size()) {
+                        next.put(month, known);
+                        continue;
+                    }
+                    Segment segment = Segment.open(file);
+                    if (!segment.month().equals(month)) {
+                        throw new IllegalStateException("it holds " + segment.month());
+                    }
+                    next.put(month, new Entry(segment, attributes.lastModifiedTime()));
+                    log.info("Archive segment {}: {} rows, {} bytes", month, segment.rows(), segment.sizeBytes());
+                } catch (IOException | RuntimeException ex) {
+                    log.error("Archive segment {} can't be opened: {}", file, ex.getMessage());
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Listing archive directory " + directory + " failed", ex);
+        }
+        segments = Collections.unmodifiableNavigableMap(next);
+    }
+
+    ArchiveStats stats(long published, long dropped) {
+        NavigableMap<YearMonth, Entry> current = segments;
+        long rows = 0;
+        long bytes = 0;
+        for (Entry entry : current.values()) {
+            rows += entry.segment().rows();
+            bytes += entry.segment().sizeBytes();
+        }
+        return new ArchiveStats(current.size(), rows, bytes, current.isEmpty() ? null : current.lastKey().plusMonths(1).atDay(1).atStartOfDay(),
+                published, dropped);
+    }
+
+    private record Entry(Segment segment, FileTime modified) {
+    }
+}
@@ -0,0 +1,250 @@
+package com.progressive.banking.moneytransfer.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.progressive.banking.moneytransfer.config.ArchiveProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
+import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves closed months out of transaction_log into segment files, oldest month first.
+ *
+ * Every interval, on each instance, picks up segments written elsewhere; with
+ * application.archive.enabled it then also:
+ * - adds the partitions of the coming months (see TransactionLogPartitions)
+ * - if the oldest live month already has a segment (published in an earlier round), drops the
+ *   month once the segment holds every one of its live rows; a row it lacks (logged after it
+ *   was written, so history doesn't show it yet) gets the segment rewritten instead
+ * - otherwise, if that month is older than live-months, publishes its segment: both sections
+ *   streamed from one REPEATABLE READ snapshot of the primary into a temporary file, which is
+ *   forced to disk, read back and verified, then renamed into place
+ *
+ * So a month's rows are only removed one round after its segment appeared, and only when the
+ * segment provably holds them.
+ */
+@Component
+@Slf4j
+public class TransactionLogArchiver {
+
+    private final TransactionLogArchive archive;
+    private final TransactionLogPartitions partitions;
+    private final TransactionLogRepository transactionLogRepository;
+    private final ArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshot;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean running;
+    private Thread archiver;
+
+    public TransactionLogArchiver(TransactionLogArchive archive,
+                                  TransactionLogPartitions partitions,
+                                  TransactionLogRepository transactionLogRepository,
+                                  ArchiveProperties properties,
+                                  PlatformTransactionManager transactionManager) {
+        this.archive = archive;
+        this.partitions = partitions;
+        this.transactionLogRepository = transactionLogRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // read-write, so it reads the primary rather than a replica
+        this.snapshot = new TransactionTemplate(transactionManager);
+        this.snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @PostConstruct
+    void start() {
+        if (properties.isEnabled()) {
+            if (properties.getLiveMonths() < 2) {
+                throw new IllegalStateException(
+                        "application.archive.live-months must be at least 2, was " + properties.getLiveMonths());
+            }
+            partitions.prepare();
+        }
+
+        running = true;
+        archiver = new Thread(this::archiveLoop, "transaction-log-archiver");
+        archiver.setDaemon(true);
+        archiver.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        archiver.interrupt();
+        archiver.join(properties.getInterval().toMillis() * 2);
+    }
+
+    /**
+     * One archiving round on the calling thread, whether or not enabled; returns what it did.
+     */
+    public Round archiveNow() {
+        archive.refresh();
+        partitions.prepare();
+        YearMonth current = YearMonth.now();
+        partitions.addMonthsAhead(current);
+
+        LocalDateTime oldest = transactionTemplate.execute(status -> transactionLogRepository.findOldestCreatedOn())
+                .orElse(null);
+        if (oldest == null) {
+            return Round.NOTHING;
+        }
+        YearMonth month = YearMonth.from(oldest);
+        Segment segment = archive.segment(month);
+
+        if (segment != null) {
+            long missing = snapshot.execute(status -> merge(month, segment, Segment.SENT, row -> { }));
+            if (missing == 0) {
+                partitions.dropMonth(month);
+                dropped.increment();
+                log.info("Dropped {} from transaction_log; its {} rows are read from {}", month, segment.rows(), segment.file());
+                return Round.DROPPED;
+            }
+            log.warn("{} rows of {} were logged after its segment was written; rewriting it", missing, month);
+        } else if (!month.isBefore(current.minusMonths(properties.getLiveMonths() - 1L))) {
+            return Round.NOTHING;
+        }
+
+        publish(month, segment);
+        return Round.PUBLISHED;
+    }
+
+    public ArchiveStats stats() {
+        return archive.stats(published.sum(), dropped.sum());
+    }
+
+    private void publish(YearMonth month, Segment existing) {
+        Path target = archive.fileFor(month);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(archive.directory());
+            Files.deleteIfExists(temporary);
+
+            long rows;
+            try (SegmentWriter writer = new SegmentWriter(temporary, month, properties.getBlockRows())) {
+                snapshot.executeWithoutResult(status -> {
+                    merge(month, existing, Segment.SENT, writer::append);
+                    writer.nextSection();
+                    merge(month, existing, Segment.RECEIVED, writer::append);
+                });
+                writer.finish();
+                rows = writer.rows();
+            }
+
+            Segment written = Segment.open(temporary);
+            written.verify();
+            if (written.rows() != rows) {
+                throw new IllegalStateException("Segment " + temporary + " holds " + written.rows() + " rows, wrote " + rows);
+            }
+
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory();
+            archive.refresh();
+            published.increment();
+            log.info("Archived {}: {} rows, {} bytes in {}", month, rows, written.sizeBytes(), target);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Archiving " + month + " failed", ex);
+        } finally {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException ex) {
+                log.warn("Leftover {} can't be deleted: {}", temporary, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Hands the union of the section's archived rows (if any) and the month's live rows to the
+     * sink, in section order; a row in both is taken from the live table. Returns the live rows
+     * the segment doesn't have.
+     */
+    private long merge(YearMonth month, Segment existing, int section, Consumer<TransactionView> sink) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        Iterator<TransactionView> archived = existing == null ? Collections.emptyIterator() : existing.rows(section);
+        TransactionView[] pending = {archived.hasNext() ? archived.next() : null};
+        long[] missing = {0};
+
+        Consumer<TransactionView> live = row -> {
+            while (pending[0] != null && Segment.compare(section, pending[0], row) < 0) {
+                sink.accept(pending[0]);
+                pending[0] = archived.hasNext() ? archived.next() : null;
+            }
+            if (pending[0] != null && Segment.compare(section, pending[0], row) == 0) {
+                pending[0] = archived.hasNext() ? archived.next() : null;
+            } else {
+                missing[0]++;
+            }
+            sink.accept(row);
+        };
+        if (section == Segment.SENT) {
+            transactionLogRepository.streamSentBetween(from, to, properties.getExportFetchSize(), live);
+        } else {
+            transactionLogRepository.streamReceivedBetween(from, to, properties.getExportFetchSize(), live);
+        }
+
+        while (pending[0] != null) {
+            sink.accept(pending[0]);
+            pending[0] = archived.hasNext() ? archived.next() : null;
+        }
+        return missing[0];
+    }
+
+    // makes the rename durable; not every platform can open a directory, which is fine there
+    private void forceDirectory() {
+        try (FileChannel directory = FileChannel.open(archive.directory(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException ex) {
+            log.debug("Archive directory can't be forced: {}", ex.getMessage());
+        }
+    }
+
+    private void archiveLoop() {
+        while (running) {
+            try {
+                Thread.sleep(properties.getInterval().toMillis());
+                if (properties.isEnabled()) {
+                    archiveNow();
+                } else {
+                    archive.refresh();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Transaction log archiving failed: {}", ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * What one round did.
+     */
+    public enum Round {
+        NOTHING,
+        PUBLISHED,
+        DROPPED
+    }
+}
@@ -0,0 +1,234 @@
+package com.progressive.banking.moneytransfer.archive;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.progressive.banking.moneytransfer.config.ArchiveProperties;
+import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The idempotency key register, monthly RANGE partitions of transaction_log on MySQL
+ * (application.archive.partition-by-month), and dropping an archived month.
+ *
+ * transaction_log_key holds the key of every transfer ever logged, archived ones included, and
+ * is never trimmed: one narrow primary key per transfer, which IdempotencyRegistry falls back to
+ * once a key's row has left transaction_log. On MySQL a BEFORE INSERT trigger on transaction_log
+ * fills it (existing keys are copied once), so a reused key fails the INSERT with a
+ * duplicate-key error on every write path, however old the original. Elsewhere a month's keys
+ * are copied in just before its rows are deleted. The write-behind journal checks it before
+ * moving money (TransferJournalPipeline.appendAll).
+ *
+ * The register is one unique index over all history and keeps growing; that is deliberate, as
+ * segments are never deleted either and a retry of any transfer, however old, must be refused.
+ * An insert into it is one narrow B-tree probe, where a partitioned transaction_log's other
+ * indexes stay the current month's size.
+ *
+ * MySQL wants every unique key of a partitioned table to contain the partitioning column, so
+ * with the trigger in place the one-off conversion (at startup of the archiving instance)
+ * replaces uk_txn_idempotency_key with the plain idx_txn_idempotency_key, makes the primary key
+ * (transaction_id, created_on) (ids stay unique through the generator) and partitions the
+ * table by month, from its oldest row to months-ahead past the current month, plus pmax.
+ *
+ * Every index of transaction_log is then per partition: an insert only touches the current
+ * month's, whatever the history size, and an archived month goes with one DROP PARTITION instead
+ * of a DELETE. Hibernate's ddl-auto=update still tries to add uk_txn_idempotency_key on startup
+ * and quietly fails. The conversion copies the table and startup waits for it; the user needs
+ * the TRIGGER privilege.
+ *
+ * Elsewhere (H2, or partition-by-month=false) nothing is partitioned and a month is DELETEd.
+ */
+@Component
+@Slf4j
+public class TransactionLogPartitions {
+
+    private static final String TABLE = "transaction_log";
+    private static final String KEY_TABLE = "transaction_log_key";
+    private static final String TRIGGER = "trg_transaction_log_key";
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String CREATE_KEY_TABLE =
+            "CREATE TABLE IF NOT EXISTS " + KEY_TABLE + " ("
+                    + "idempotency_key VARCHAR(64) NOT NULL PRIMARY KEY, "
+                    + "created_on DATETIME(6) NOT NULL)";
+
+    private static final String CREATE_TRIGGER =
+            "CREATE TRIGGER " + TRIGGER + " BEFORE INSERT ON " + TABLE + " FOR EACH ROW "
+                    + "INSERT INTO " + KEY_TABLE + " (idempotency_key, created_on) VALUES (NEW.idempotency_key, NEW.created_on)";
+
+    private static final String COPY_KEYS =
+            "INSERT IGNORE INTO " + KEY_TABLE + " (idempotency_key, created_on) "
+                    + "SELECT idempotency_key, created_on FROM " + TABLE;
+
+    private static final String COPY_MONTH_KEYS = COPY_KEYS + " WHERE created_on >= ? AND created_on < ?";
+
+    private static final String TRIGGER_EXISTS =
+            "SELECT COUNT(*) FROM information_schema.triggers WHERE trigger_schema = DATABASE() AND trigger_name = ?";
+
+    private static final String PARTITION_NAMES =
+            "SELECT partition_name FROM information_schema.partitions "
+                    + "WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL";
+
+    private static final String UNIQUE_INDEXES =
+            "SELECT DISTINCT index_name FROM information_schema.statistics "
+                    + "WHERE table_schema = DATABASE() AND table_name = ? AND non_unique = 0 AND index_name <> 'PRIMARY'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionLogRepository transactionLogRepository;
+    private final ArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private boolean prepared;
+    private volatile boolean keysByTrigger;
+    private volatile boolean partitioned;
+
+    // the EntityManagerFactory dependency makes sure the schema exists before prepare()
+    public TransactionLogPartitions(JdbcTemplate jdbcTemplate,
+                                    TransactionLogRepository transactionLogRepository,
+                                    ArchiveProperties properties,
+                                    PlatformTransactionManager transactionManager,
+                                    EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionLogRepository = transactionLogRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * On first use creates the key register and, on MySQL, its trigger, then converts
+     * transaction_log when it is to be partitioned and isn't yet.
+     */
+    public synchronized void prepare() {
+        if (prepared) {
+            return;
+        }
+        prepared = true;
+        jdbcTemplate.execute(CREATE_KEY_TABLE);
+        if (!isMySql()) {
+            return;
+        }
+        if (jdbcTemplate.queryForObject(TRIGGER_EXISTS, Integer.class, TRIGGER) == 0) {
+            // trigger before the copy, so keys inserted meanwhile are caught by one or the other
+            log.info("Registering {} idempotency keys in {}", TABLE, KEY_TABLE);
+            jdbcTemplate.execute(CREATE_TRIGGER);
+            int keys = jdbcTemplate.update(COPY_KEYS);
+            log.info("Copied {} idempotency keys to {}", keys, KEY_TABLE);
+        }
+        keysByTrigger = true;
+
+        if (!properties.isPartitionByMonth()) {
+            return;
+        }
+        if (partitionMonths().isEmpty() && !partitionNames().contains(MAX_PARTITION)) {
+            convert();
+        }
+        partitioned = true;
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    /**
+     * Splits pmax so the months up to months-ahead past current have their own partition
+     * (pmax is empty then, so this is a metadata change).
+     */
+    public void addMonthsAhead(YearMonth current) {
+        if (!partitioned) {
+            return;
+        }
+        YearMonth target = current.plusMonths(properties.getMonthsAhead());
+        TreeSet<YearMonth> months = partitionMonths();
+        YearMonth first = months.isEmpty() ? current : months.last().plusMonths(1);
+        if (first.isAfter(target)) {
+            return;
+        }
+        log.info("Adding {} partitions {} to {}", TABLE, first, target);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + MAX_PARTITION
+                + " INTO (" + definitions(first, target) + ")");
+    }
+
+    /**
+     * Removes every live row of the month; its idempotency keys stay in the register.
+     */
+    public void dropMonth(YearMonth month) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+
+        if (partitioned && partitionMonths().contains(month)) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + PARTITION_NAME.format(month));
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!keysByTrigger) {
+                jdbcTemplate.update(COPY_MONTH_KEYS, from, to);
+            }
+            transactionLogRepository.deleteCreatedBetween(from, to);
+        });
+    }
+
+    private void convert() {
+        YearMonth current = YearMonth.now();
+        YearMonth oldest = transactionTemplate.execute(status -> transactionLogRepository.findOldestCreatedOn())
+                .map(YearMonth::from)
+                .orElse(current);
+        YearMonth last = current.plusMonths(properties.getMonthsAhead());
+        log.info("Partitioning {} by month, {} to {}; idempotency keys are unique through {}", TABLE, oldest, last, KEY_TABLE);
+
+        StringJoiner alter = new StringJoiner(", ", "ALTER TABLE " + TABLE + " ", "");
+        for (String unique : jdbcTemplate.queryForList(UNIQUE_INDEXES, String.class, TABLE)) {
+            alter.add("DROP INDEX " + unique);
+        }
+        alter.add("ADD INDEX idx_txn_idempotency_key (idempotency_key)");
+        alter.add("DROP PRIMARY KEY");
+        alter.add("ADD PRIMARY KEY (transaction_id, created_on)");
+        jdbcTemplate.execute(alter + " PARTITION BY RANGE COLUMNS (created_on) (" + definitions(oldest, last) + ")");
+    }
+
+    // one partition per month from first to last, then pmax
+    private static String definitions(YearMonth first, YearMonth last) {
+        StringJoiner partitions = new StringJoiner(", ");
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            partitions.add("PARTITION " + PARTITION_NAME.format(month)
+                    + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + " 00:00:00')");
+        }
+        partitions.add("PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        return partitions.toString();
+    }
+
+    private TreeSet<YearMonth> partitionMonths() {
+        TreeSet<YearMonth> months = new TreeSet<>();
+        for (String name : partitionNames()) {
+            if (!MAX_PARTITION.equals(name)) {
+                months.add(YearMonth.parse(name.substring(1), DateTimeFormatter.ofPattern("yyyyMM")));
+            }
+        }
+        return months;
+    }
+
+    private List<String> partitionNames() {
+        return jdbcTemplate.queryForList(PARTITION_NAMES, String.class, TABLE).stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+}
@@ -0,0 +1,22 @@
+package com.progressive.banking.moneytransfer.aspect;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Correlation ids of the form {@code <instance>-<sequence>}: a random prefix drawn once per JVM
+ * and a counter, so minting one is an increment and a short hex string instead of a
+ * SecureRandom read per request (UUID.randomUUID()).
+ */
+public final class CorrelationIds {
+
+    private static final String INSTANCE = Integer.toHexString(new SecureRandom().nextInt() | 0x1000_0000);
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private CorrelationIds() {
+    }
+
+    public static String next() {
+        return INSTANCE + '-' + Long.toHexString(SEQUENCE.incrementAndGet());
+    }
+}
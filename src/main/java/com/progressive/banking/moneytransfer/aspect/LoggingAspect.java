@@ -1,10 +1,8 @@
 package com.progressive.banking.moneytransfer.aspect;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.Arrays;
 
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
@@ -21,8 +19,20 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import com.progressive.banking.moneytransfer.config.RequestLoggingProperties;
+import com.progressive.banking.moneytransfer.exception.BusinessRuleException;
+
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Entry/exit logging for controllers and services, keyed by a correlation id in the MDC.
+ *
+ * Only the outermost call on a thread sets (and later removes) the correlation id. With INFO
+ * disabled the advice is a plain proceed(); unsampled calls format nothing and skip the clock;
+ * with skip-nested, a service call inside an already logged controller call is a plain proceed().
+ * A failure is reported once, at ERROR with its stack; a business rule rejection only as a
+ * sampled WARN line (sample-rate.rejection).
+ */
 @Aspect
 @Component
 @Slf4j
@@ -31,75 +41,140 @@ public class LoggingAspect {
     private static final String CORRELATION_ID = "correlationId";
     private static final String CORRELATION_HEADER = "X-Correlation-Id";
 
-    private static final List<String> SENSITIVE_KEYS =
-            List.of("password", "secret", "token", "authorization", "idempotencyKey", "otp", "pin");
+    // Matches: key=VALUE or key: VALUE (case-insensitive) for every sensitive key in one pass
+    private static final Pattern SENSITIVE = Pattern.compile(
+            "(password|secret|token|authorization|idempotencyKey|otp|pin)(\\s*[=:]\\s*)([^,}\\]]+)",
+            Pattern.CASE_INSENSITIVE);
+
+    // Per-thread call nesting; removed when the outermost call returns
+    private static final ThreadLocal<Frame> FRAME = new ThreadLocal<>();
+
+    private final RequestLoggingProperties properties;
+
+    public LoggingAspect(RequestLoggingProperties properties) {
+        this.properties = properties;
+    }
 
-    // ✅ Controller + Service pointcuts (adjust packages as needed)
     @Pointcut("within(com.progressive.banking.moneytransfer..controller..*)")
     public void controllerLayer() {}
 
     @Pointcut("within(com.progressive.banking.moneytransfer..service..*)")
     public void serviceLayer() {}
 
-    @Around("controllerLayer() || serviceLayer()")
-    public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        ensureCorrelationId();
+    @Around("controllerLayer()")
+    public Object logController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return logAround(joinPoint, properties.getSampleRate().getController());
+    }
 
-        String cid = MDC.get(CORRELATION_ID);
-        String signature = joinPoint.getSignature().toShortString();
-        String request = requestSummary(); // null if no web request (service-to-service, tests, etc.)
+    @Around("serviceLayer()")
+    public Object logService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return logAround(joinPoint, properties.getSampleRate().getService());
+    }
 
-        long startNs = System.nanoTime();
+    private Object logAround(ProceedingJoinPoint joinPoint, double sampleRate) throws Throwable {
+        // INFO off: no correlation id, no frame; GlobalExceptionHandler still logs failures
+        if (!log.isInfoEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        Frame frame = FRAME.get();
+        if (frame != null && frame.logged && properties.isSkipNested()) {
+            return joinPoint.proceed();
+        }
+
+        boolean outermost = frame == null;
+        if (outermost) {
+            frame = enter();
+        }
+
+        boolean enclosingLogged = frame.logged;
+        boolean logging = sampled(sampleRate);
+        long startNs = logging ? System.nanoTime() : 0L;
+        frame.logged |= logging;
 
         try {
-            // ENTRY
-            if (request != null) log.info("[{}] --> {} | {}", cid, signature, request);
-            else log.info("[{}] --> {}", cid, signature);
-
-            // Args at DEBUG
-            if (log.isDebugEnabled()) {
-                String args = formatArgs(joinPoint.getArgs());
-                if (!args.isBlank()) log.debug("[{}]     args={}", cid, args);
+            if (logging) {
+                logEntry(joinPoint, frame.cid);
             }
 
             Object result = joinPoint.proceed();
 
-            // EXIT
-            long timeMs = (System.nanoTime() - startNs) / 1_000_000;
-            log.info("[{}] <-- {} | timeMs={}", cid, signature, timeMs);
-
-            // Response at DEBUG
-            if (log.isDebugEnabled()) {
-                String res = summarizeResponse(result);
-                if (!res.isBlank()) log.debug("[{}]     response={}", cid, res);
+            if (logging) {
+                logExit(joinPoint, frame.cid, startNs, result);
             }
-
             return result;
 
         } catch (Throwable ex) {
-            long timeMs = (System.nanoTime() - startNs) / 1_000_000;
-            log.error("[{}] xx  {} | timeMs={} | ex={} : {}",
-                    cid, signature, timeMs,
-                    ex.getClass().getSimpleName(), ex.getMessage(), ex);
+            // one report per failure: the innermost logged call reports it, else the outermost call
+            if ((logging || outermost) && frame.reported != ex) {
+                frame.reported = ex;
+                if (ex instanceof BusinessRuleException) {
+                    // expected and retried by clients: a sampled WARN line, no stack
+                    if (sampled(properties.getSampleRate().getRejection())) {
+                        log.warn("[{}] xx  {} | rejected={} : {}",
+                                frame.cid, joinPoint.getSignature().toShortString(),
+                                ex.getClass().getSimpleName(), ex.getMessage());
+                    }
+                } else {
+                    log.error("[{}] xx  {} | timeMs={} | ex={} : {}",
+                            frame.cid, joinPoint.getSignature().toShortString(),
+                            logging ? (System.nanoTime() - startNs) / 1_000_000 : "n/a",
+                            ex.getClass().getSimpleName(), ex.getMessage(), ex);
+                }
+            }
             throw ex;
 
         } finally {
-            // ✅ Prevent correlationId leaking to the next request on same thread
-            MDC.remove(CORRELATION_ID);
+            frame.logged = enclosingLogged;
+            if (outermost) {
+                FRAME.remove();
+                // ✅ Prevent correlationId leaking to the next request on same thread
+                if (frame.ownsCid) MDC.remove(CORRELATION_ID);
+            }
         }
     }
 
-    private void ensureCorrelationId() {
-        if (MDC.get(CORRELATION_ID) != null) return;
+    private Frame enter() {
+        Frame frame = new Frame();
+        String cid = MDC.get(CORRELATION_ID);
+        if (cid == null) {
+            HttpServletRequest req = currentRequest();
+            String incoming = (req != null) ? req.getHeader(CORRELATION_HEADER) : null;
+            cid = (incoming != null && !incoming.isBlank()) ? incoming : CorrelationIds.next();
+            MDC.put(CORRELATION_ID, cid);
+            frame.ownsCid = true;
+        }
+        frame.cid = cid;
+        FRAME.set(frame);
+        return frame;
+    }
 
-        HttpServletRequest req = currentRequest();
-        String incoming = (req != null) ? req.getHeader(CORRELATION_HEADER) : null;
+    private static boolean sampled(double rate) {
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private void logEntry(ProceedingJoinPoint joinPoint, String cid) {
+        String signature = joinPoint.getSignature().toShortString();
+        String request = requestSummary(); // null if no web request (service-to-service, tests, etc.)
+        if (request != null) log.info("[{}] --> {} | {}", cid, signature, request);
+        else log.info("[{}] --> {}", cid, signature);
 
-        String cid = (incoming != null && !incoming.isBlank())
-                ? incoming
-                : UUID.randomUUID().toString();
+        // Args at DEBUG
+        if (log.isDebugEnabled()) {
+            String args = formatArgs(joinPoint.getArgs());
+            if (!args.isEmpty()) log.debug("[{}]     args={}", cid, args);
+        }
+    }
+
+    private void logExit(ProceedingJoinPoint joinPoint, String cid, long startNs, Object result) {
+        long timeMs = (System.nanoTime() - startNs) / 1_000_000;
+        log.info("[{}] <-- {} | timeMs={}", cid, joinPoint.getSignature().toShortString(), timeMs);
 
-        MDC.put(CORRELATION_ID, cid);
+        // Response at DEBUG
+        if (log.isDebugEnabled()) {
+            String res = summarizeResponse(result);
+            if (!res.isBlank()) log.debug("[{}]     response={}", cid, res);
+        }
     }
 
     private String requestSummary() {
@@ -121,11 +196,13 @@ public class LoggingAspect {
     private String formatArgs(Object[] args) {
         if (args == null || args.length == 0) return "";
 
-        return Arrays.stream(args)
-                .filter(a -> a != null)
-                .filter(a -> !isInfra(a))
-                .map(this::safeMaskedToString)
-                .collect(Collectors.joining(", "));
+        StringBuilder sb = new StringBuilder();
+        for (Object arg : args) {
+            if (arg == null || isInfra(arg)) continue;
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(safeMaskedToString(arg));
+        }
+        return sb.toString();
     }
 
     private boolean isInfra(Object arg) {
@@ -168,15 +245,26 @@ public class LoggingAspect {
         return value.length() <= max ? value : value.substring(0, max) + "...(truncated)";
     }
 
-    private String maskSensitive(String input) {
+    // package-private for the JMH benchmark; returns the input itself when nothing matches
+    String maskSensitive(String input) {
         if (input == null || input.isBlank()) return input;
 
-        String masked = input;
-        for (String key : SENSITIVE_KEYS) {
-            // Matches: key=VALUE or key: VALUE (case-insensitive)
-            String pattern = "(?i)(" + Pattern.quote(key) + "\\s*[=:]\\s*)([^,}\\]]+)";
-            masked = masked.replaceAll(pattern, "$1****");
-        }
-        return masked;
+        Matcher matcher = SENSITIVE.matcher(input);
+        if (!matcher.find()) return input;
+
+        StringBuilder masked = new StringBuilder(input.length());
+        int last = 0;
+        do {
+            masked.append(input, last, matcher.end(2)).append("****");
+            last = matcher.end();
+        } while (matcher.find());
+        return masked.append(input, last, input.length()).toString();
+    }
+
+    private static final class Frame {
+        String cid;
+        boolean ownsCid;
+        boolean logged;
+        Throwable reported;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,206 @@
+package com.progressive.banking.moneytransfer.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.progressive.banking.moneytransfer.config.AccountCacheProperties;
+import com.progressive.banking.moneytransfer.config.ReplicaProperties;
+import com.progressive.banking.moneytransfer.domain.dto.AccountResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-through cache of committed account state, keyed by accountId; each entry carries
+ * the account version it was read at.
+ *
+ * Writers never put: a transfer calls {@link #evictAfterCommit(Collection)} and its accounts
+ * are dropped once the transaction commits, so a rolled-back balance is never cached.
+ *
+ * A read that started before such a commit may still be holding the old row when it tries to
+ * cache it. Every eviction bumps a per-stripe stamp first; a load only caches its result if
+ * the stamp it saw before reading the database is unchanged, checked atomically with the put,
+ * and never replaces an entry with a higher version.
+ *
+ * With read replicas, a miss would otherwise read a replica that may not have the evicting
+ * commit yet and cache the old row for a full ttl. So every evicted account is remembered for
+ * max-lag + check-interval (the longest a usable replica can trail the primary, see ReplicaSet)
+ * and a miss on it goes to the primary loader instead. This instance's own transfers are always
+ * read back; other instances' writes are not evicted here and can go unseen for up to
+ * max-lag + ttl with replicas, ttl without.
+ */
+@Component
+public class AccountCache {
+
+    private static final int STRIPES = 1024;
+
+    private final boolean enabled;
+    private final Cache<Integer, Entry> entries;
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+    // accounts evicted within the replica window; null without replicas
+    private final Cache<Integer, Boolean> recentWrites;
+
+    private final LongAdder racedLoads = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder servedAgeNanos = new LongAdder();
+    private final LongAccumulator maxServedAgeNanos = new LongAccumulator(Long::max, 0);
+
+    public AccountCache(AccountCacheProperties properties, ReplicaProperties replicas) {
+        this.enabled = properties.isEnabled();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.recentWrites = replicas.isEnabled()
+                ? Caffeine.newBuilder().expireAfterWrite(replicas.getMaxLag().plus(replicas.getCheckInterval())).build()
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached account or loads it. The loader runs outside any cache lock;
+     * its exceptions (e.g. AccountNotFoundException) propagate and nothing is cached.
+     */
+    public AccountResponse get(Integer accountId, Function<Integer, AccountResponse> loader) {
+        return get(accountId, loader, loader);
+    }
+
+    /**
+     * {@link #get(Integer, Function)} where a miss on an account evicted within the replica
+     * window runs primaryLoader, which must read the primary, not a replica.
+     */
+    public AccountResponse get(Integer accountId, Function<Integer, AccountResponse> loader,
+                               Function<Integer, AccountResponse> primaryLoader) {
+        if (!enabled) {
+            return loader.apply(accountId);
+        }
+
+        AccountResponse cached = cached(accountId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // after the stamp: an eviction that this load's stamp missed makes store() drop the result
+        long stamp = stamps.get(stripe(accountId));
+        boolean recentlyWritten = recentWrites != null && recentWrites.getIfPresent(accountId) != null;
+        AccountResponse loaded = (recentlyWritten ? primaryLoader : loader).apply(accountId);
+        store(accountId, stamp, loaded);
+        return loaded;
+    }
+
+    /**
+     * {@link #get(Integer, Function)} for the reactive API: the loader's Mono is only
+     * subscribed on a miss, with the same stamp check before its result is cached.
+     */
+    public Mono<AccountResponse> getReactive(Integer accountId, Function<Integer, Mono<AccountResponse>> loader) {
+        if (!enabled) {
+            return loader.apply(accountId);
+        }
+
+        return Mono.defer(() -> {
+            AccountResponse cached = cached(accountId);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long stamp = stamps.get(stripe(accountId));
+            return loader.apply(accountId).doOnNext(loaded -> store(accountId, stamp, loaded));
+        });
+    }
+
+    private AccountResponse cached(Integer accountId) {
+        Entry cached = entries.getIfPresent(accountId);
+        if (cached == null) {
+            return null;
+        }
+        long age = System.nanoTime() - cached.loadedAt();
+        servedAgeNanos.add(age);
+        maxServedAgeNanos.accumulate(age);
+        return cached.account();
+    }
+
+    private void store(Integer accountId, long stamp, AccountResponse loaded) {
+        Entry fresh = new Entry(loaded, System.nanoTime());
+        entries.asMap().compute(accountId, (id, current) -> {
+            if (stamps.get(stripe(id)) != stamp) {
+                racedLoads.increment();
+                return current;
+            }
+            return current != null && version(current) > version(fresh) ? current : fresh;
+        });
+    }
+
+    /**
+     * Evicts the accounts when the current transaction commits, or right away outside one.
+     */
+    public void evictAfterCommit(Collection<Integer> accountIds) {
+        if (!enabled) {
+            return;
+        }
+
+        List<Integer> ids = List.copyOf(accountIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(ids);
+            }
+        });
+    }
+
+    public void evict(Collection<Integer> accountIds) {
+        for (Integer id : accountIds) {
+            // before the stamp: a load that sees the new stamp also sees the write
+            if (recentWrites != null) {
+                recentWrites.put(id, Boolean.TRUE);
+            }
+            // stamp first: a load that read the old row can no longer cache it
+            stamps.incrementAndGet(stripe(id));
+            if (entries.asMap().remove(id) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    public AccountCacheStats stats() {
+        CacheStats cacheStats = entries.stats();
+        long hits = cacheStats.hitCount();
+        return new AccountCacheStats(
+                hits,
+                cacheStats.missCount(),
+                racedLoads.sum(),
+                invalidations.sum(),
+                cacheStats.evictionCount(),
+                entries.estimatedSize(),
+                Duration.ofNanos(maxServedAgeNanos.get()),
+                Duration.ofNanos(hits == 0 ? 0 : servedAgeNanos.sum() / hits));
+    }
+
+    private static int stripe(Integer accountId) {
+        return (accountId.hashCode() & Integer.MAX_VALUE) % STRIPES;
+    }
+
+    private static long version(Entry entry) {
+        Long version = entry.account().getVersion();
+        return version == null ? -1 : version;
+    }
+
+    private record Entry(AccountResponse account, long loadedAt) {}
+}
@@ -0,0 +1,31 @@
+package com.progressive.banking.moneytransfer.cache;
+
+import java.time.Duration;
+
+/**
+ * Point-in-time counters of the account read cache.
+ *
+ * @param hits           reads answered from the cache
+ * @param misses         reads that loaded the account from the database
+ * @param racedLoads     loads not cached because a transfer on the account committed meanwhile
+ * @param invalidations  entries dropped after a transfer committed
+ * @param evictions      entries dropped for size or ttl
+ * @param size           entries currently cached (approximate)
+ * @param maxServedAge   oldest entry handed out so far: the observed staleness window
+ * @param meanServedAge  average age of the entries handed out
+ */
+public record AccountCacheStats(
+        long hits,
+        long misses,
+        long racedLoads,
+        long invalidations,
+        long evictions,
+        long size,
+        Duration maxServedAge,
+        Duration meanServedAge) {
+
+    public double hitRatio() {
+        long reads = hits + misses;
+        return reads == 0 ? 0.0 : (double) hits / reads;
+    }
+}
@@ -0,0 +1,16 @@
+package com.progressive.banking.moneytransfer.coalescing;
+
+/**
+ * Point-in-time view of the transfer coalescer.
+ *
+ * @param groups       group transactions that committed
+ * @param grouped      transfers decided in those groups (committed or rejected)
+ * @param ungrouped    transfers handed back to run on their own after their group failed
+ * @param largestGroup most transfers settled in one group so far
+ */
+public record CoalescingStats(
+        long groups,
+        long grouped,
+        long ungrouped,
+        long largestGroup) {
+}
@@ -0,0 +1,220 @@
+package com.progressive.banking.moneytransfer.coalescing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Group commit for single transfers.
+ *
+ * - callers hand in a transfer and wait; the flusher thread collects concurrent transfers until
+ *   maxBatch of them are queued or maxWait has passed since the first one arrived
+ * - the group is settled by one call of the group function, i.e. one transaction, which returns
+ *   one {@link Outcome} per transfer in group order: the committed response or the item's own
+ *   rejection
+ * - while a group commits, the next one fills up, so groups grow with the load and a lone
+ *   transfer only pays maxWait
+ * - if the group function throws, nothing of the group was committed and every caller gets
+ *   {@link Outcome#ungrouped()} back, to run its transfer on its own; so the group function
+ *   must check inside its transaction that it has an outcome for every transfer
+ * - every caller is answered, whatever goes wrong: anything the flusher hasn't decided when it
+ *   fails or stops, queued transfers included, is handed back ungrouped
+ *
+ * Requests must already have passed TransferServiceImpl.validateRequest.
+ */
+@Slf4j
+public class TransferCoalescer implements AutoCloseable {
+
+    private final Function<List<TransferRequest>, List<Outcome>> settleGroup;
+    private final int maxBatch;
+    private final long maxWaitNanos;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final LongAdder groups = new LongAdder();
+    private final LongAdder grouped = new LongAdder();
+    private final LongAdder ungrouped = new LongAdder();
+    private final LongAccumulator largestGroup = new LongAccumulator(Math::max, 0);
+
+    public TransferCoalescer(Function<List<TransferRequest>, List<Outcome>> settleGroup, int maxBatch, Duration maxWait) {
+        if (maxBatch < 1 || maxWait.isNegative()) {
+            throw new IllegalArgumentException("maxBatch must be at least 1 and maxWait not negative");
+        }
+        this.settleGroup = settleGroup;
+        this.maxBatch = maxBatch;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.flusher = new Thread(this::flushLoop, "transfer-coalescer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Completes once the transfer's group has committed or failed; never exceptionally.
+     */
+    public CompletableFuture<Outcome> submit(TransferRequest request) {
+        Pending pending = new Pending(request);
+        queue.add(pending);
+        // closed meanwhile: whoever takes it out of the queue answers it
+        if (!running && queue.remove(pending)) {
+            ungrouped.increment();
+            pending.result.complete(Outcome.UNGROUPED);
+        }
+        return pending.result;
+    }
+
+    public CoalescingStats stats() {
+        return new CoalescingStats(groups.sum(), grouped.sum(), ungrouped.sum(), largestGroup.get());
+    }
+
+    /**
+     * Settles what is already queued, then stops the flusher.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // submitted after the flusher's last look at the queue
+        Pending left;
+        while ((left = queue.poll()) != null) {
+            ungrouped.increment();
+            left.result.complete(Outcome.UNGROUPED);
+        }
+    }
+
+    private void flushLoop() {
+        List<Pending> group = new ArrayList<>(maxBatch);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    group.add(first);
+                    collect(group, System.nanoTime() + maxWaitNanos);
+                    flush(group);
+
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException ex) {
+                    log.error("Transfer coalescer failed: {}", ex.getMessage(), ex);
+                } finally {
+                    ungroup(group);
+                    group.clear();
+                }
+            }
+        } finally {
+            // submit() answers its own transfer once it sees running=false, so set it first
+            running = false;
+            Pending left;
+            while ((left = queue.poll()) != null) {
+                ungrouped.increment();
+                left.result.complete(Outcome.UNGROUPED);
+            }
+        }
+    }
+
+    // callers not answered yet (only the flusher completes a group's futures); counted first,
+    // so a caller that sees its outcome also sees it in stats()
+    private void ungroup(List<Pending> group) {
+        for (Pending pending : group) {
+            if (!pending.result.isDone()) {
+                ungrouped.increment();
+                pending.result.complete(Outcome.UNGROUPED);
+            }
+        }
+    }
+
+    private void collect(List<Pending> group, long deadline) throws InterruptedException {
+        while (group.size() < maxBatch) {
+            queue.drainTo(group, maxBatch - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxBatch || remaining <= 0) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    private void flush(List<Pending> group) {
+        List<TransferRequest> requests = new ArrayList<>(group.size());
+        for (Pending pending : group) {
+            requests.add(pending.request);
+        }
+
+        List<Outcome> outcomes;
+        try {
+            outcomes = settleGroup.apply(requests);
+        } catch (RuntimeException ex) {
+            log.warn("Group of {} transfers failed, running them one by one: {}", group.size(), ex.getMessage());
+            ungroup(group);
+            return;
+        }
+        if (outcomes == null || outcomes.size() != group.size()) {
+            log.error("Group of {} transfers returned {} outcomes, running them one by one",
+                    group.size(), outcomes == null ? null : outcomes.size());
+            ungroup(group);
+            return;
+        }
+
+        groups.increment();
+        grouped.add(group.size());
+        largestGroup.accumulate(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).result.complete(outcomes.get(i));
+        }
+    }
+
+    /**
+     * What a grouped transfer got: its committed response, its own rejection (the group still
+     * committed), or neither when the group failed as a whole.
+     */
+    public record Outcome(TransferResponse response, RuntimeException failure) {
+
+        private static final Outcome UNGROUPED = new Outcome(null, null);
+
+        public static Outcome committed(TransferResponse response) {
+            return new Outcome(response, null);
+        }
+
+        public static Outcome rejected(RuntimeException failure) {
+            return new Outcome(null, failure);
+        }
+
+        // the group's transaction rolled back: nothing was decided for this transfer
+        public boolean ungrouped() {
+            return response == null && failure == null;
+        }
+    }
+
+    private static final class Pending {
+        final TransferRequest request;
+        final CompletableFuture<Outcome> result = new CompletableFuture<>();
+
+        Pending(TransferRequest request) {
+            this.request = request;
+        }
+    }
+}
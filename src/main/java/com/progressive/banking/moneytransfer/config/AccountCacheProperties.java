@@ -0,0 +1,30 @@
+package com.progressive.banking.moneytransfer.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Account read cache settings bound from {@code application.account-cache.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.account-cache")
+public class AccountCacheProperties {
+
+    // When false every read goes to the database
+    private boolean enabled = true;
+
+    // Accounts held; least valuable entries are evicted first (W-TinyLFU)
+    private int maxSize = 100_000;
+
+    /**
+     * Upper bound on how long an entry is served. Transfers on this instance evict their
+     * accounts on commit; writes from other instances are only picked up when this expires
+     * (plus up to application.replicas.max-lag when the entry was read from a replica).
+     */
+    private Duration ttl = Duration.ofSeconds(5);
+}
@@ -0,0 +1,60 @@
+package com.progressive.banking.moneytransfer.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * transaction_log archival settings bound from {@code application.archive.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.archive")
+public class ArchiveProperties {
+
+    /**
+     * Moves closed months older than liveMonths out of transaction_log into segment files.
+     * Turn it on for one instance only; every instance reads the segments in directory.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Months kept in transaction_log, the current one included. At least 2: transfers are
+     * stamped when they start, and the write-behind journal may still be draining last month's.
+     * Keys of archived transfers stay in the idempotency key register (transaction_log_key).
+     */
+    private int liveMonths = 3;
+
+    /**
+     * One segment file per archived month. Instances serving history must all see the same
+     * directory (shared volume).
+     */
+    private Path directory = Path.of("archive", "transaction_log");
+
+    /**
+     * Each round picks up segments written by another instance and, when enabled, archives one
+     * month: a month's segment is published in one round and its live rows are dropped in the
+     * next, so every instance reads the segment before the rows go.
+     */
+    private Duration interval = Duration.ofMinutes(10);
+
+    /**
+     * MySQL only: RANGE partition transaction_log by month on created_on (converted once at
+     * startup), so inserts only touch the current month's indexes and a month is dropped
+     * as one partition. Elsewhere, or when off, archived months are DELETEd.
+     */
+    private boolean partitionByMonth = true;
+
+    // Empty partitions kept ahead of the current month
+    private int monthsAhead = 2;
+
+    // Rows per compressed block; a history read decompresses about one block per section and month
+    private int blockRows = 1024;
+
+    // Rows fetched per round trip while exporting a month
+    private int exportFetchSize = 1000;
+}
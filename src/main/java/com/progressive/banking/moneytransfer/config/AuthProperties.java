@@ -0,0 +1,41 @@
+package com.progressive.banking.moneytransfer.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Login settings bound from {@code application.auth.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.auth")
+public class AuthProperties {
+
+    /**
+     * BCrypt cost (log2 rounds) for new hashes. A stored hash with a different cost is
+     * rehashed at this cost on the user's next successful login.
+     */
+    private int bcryptStrength = 10;
+
+    private Login login = new Login();
+
+    /**
+     * POST /auth/login verifies passwords on its own pool, off the servlet threads.
+     * When workers are busy and queueCapacity logins are already waiting, new logins
+     * get 503 with Retry-After instead of queueing.
+     */
+    @Data
+    public static class Login {
+
+        // BCrypt is CPU bound: more workers than cores only adds queueing inside the CPU
+        private int workers = Runtime.getRuntime().availableProcessors();
+
+        private int queueCapacity = 100;
+
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,30 @@
+package com.progressive.banking.moneytransfer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Transaction history settings bound from {@code application.history.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.history")
+public class HistoryProperties {
+
+    // Page size when the request has no limit
+    private int defaultPageSize = 50;
+
+    // Largest limit a request may ask for
+    private int maxPageSize = 500;
+
+    /**
+     * Rows fetched per round trip by the NDJSON stream. MySQL only honours it with
+     * useCursorFetch=true on the JDBC URL; otherwise the driver buffers the whole result.
+     */
+    private int streamFetchSize = 500;
+
+    // Response is flushed to the client every this many rows
+    private int streamFlushEvery = 100;
+}
@@ -0,0 +1,57 @@
+package com.progressive.banking.moneytransfer.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * JWT signing settings bound from {@code application.jwt.*}.
+ *
+ * Rotation: add the new key to keys, switch activeKeyId to it, and remove the old key once
+ * every token it signed has expired (after one expiration period).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.jwt")
+public class JwtProperties {
+
+    // kid -> HMAC secret (at least 32 bytes); new tokens carry the kid in their header
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+    // Key that signs new tokens; also verifies tokens issued without a kid header
+    private String activeKeyId;
+
+    private Duration expiration = Duration.ofDays(1);
+
+    /**
+     * Where JwtAuthenticationFilter gets the principal of a verified token:
+     * - LOOKUP: loadUserByUsername on every request (one users query per call)
+     * - CACHED_LOOKUP: same, through a small TTL cache (see userCache)
+     * - CLAIMS: straight from the token (subject, roles, account scopes set at login), no DB
+     * Revoked tokens (TokenRevocationList) are rejected in every mode.
+     */
+    private PrincipalMode principalMode = PrincipalMode.LOOKUP;
+
+    private UserCache userCache = new UserCache();
+
+    public enum PrincipalMode {
+        LOOKUP,
+        CACHED_LOOKUP,
+        CLAIMS
+    }
+
+    /**
+     * UserDetails cache for principal-mode=CACHED_LOOKUP; a deleted or changed user is
+     * picked up within ttl.
+     */
+    @Data
+    public static class UserCache {
+        private int maxSize = 1_000;
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+}
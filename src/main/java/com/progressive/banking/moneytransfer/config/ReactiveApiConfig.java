@@ -0,0 +1,125 @@
+package com.progressive.banking.moneytransfer.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.codec.json.JacksonJsonDecoder;
+import org.springframework.http.codec.json.JacksonJsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.progressive.banking.moneytransfer.cache.AccountCache;
+import com.progressive.banking.moneytransfer.idempotency.IdempotencyRegistry;
+import com.progressive.banking.moneytransfer.metrics.TransferMetrics;
+import com.progressive.banking.moneytransfer.reactive.CorrelationIdWebFilter;
+import com.progressive.banking.moneytransfer.reactive.JwtAuthenticationWebFilter;
+import com.progressive.banking.moneytransfer.reactive.ReactiveAccountHandler;
+import com.progressive.banking.moneytransfer.reactive.ReactiveAccountRepository;
+import com.progressive.banking.moneytransfer.reactive.ReactiveApiServer;
+import com.progressive.banking.moneytransfer.reactive.ReactiveDatabase;
+import com.progressive.banking.moneytransfer.reactive.ReactiveErrorResponses;
+import com.progressive.banking.moneytransfer.reactive.ReactiveIdAllocator;
+import com.progressive.banking.moneytransfer.reactive.ReactiveTransactionLogRepository;
+import com.progressive.banking.moneytransfer.reactive.ReactiveTransferHandler;
+import com.progressive.banking.moneytransfer.reactive.ReactiveTransferService;
+import com.progressive.banking.moneytransfer.security.JwtUtil;
+import com.progressive.banking.moneytransfer.security.TokenRevocationList;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.validation.Validator;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Reactive /api/v2 (application.reactive.enabled=true): functional routes on a Reactor Netty
+ * server of their own, R2DBC underneath. Shares the JWT key ring, revocation list,
+ * idempotency registry, account cache and metrics with /api/v1.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.reactive", name = "enabled", havingValue = "true")
+public class ReactiveApiConfig {
+
+    @Bean
+    public ReactiveDatabase reactiveDatabase(ReactiveApiProperties properties) {
+        return new ReactiveDatabase(properties.getR2dbc());
+    }
+
+    @Bean
+    public ReactiveAccountRepository reactiveAccountRepository(ReactiveDatabase database) {
+        return new ReactiveAccountRepository(database);
+    }
+
+    @Bean
+    public ReactiveTransactionLogRepository reactiveTransactionLogRepository(ReactiveDatabase database) {
+        return new ReactiveTransactionLogRepository(database);
+    }
+
+    @Bean
+    public ReactiveTransferService reactiveTransferService(ReactiveDatabase database,
+                                                           ReactiveAccountRepository accountRepository,
+                                                           ReactiveTransactionLogRepository transactionLogRepository,
+                                                           IdempotencyRegistry idempotencyRegistry,
+                                                           AccountCache accountCache,
+                                                           TransferProperties transferProperties,
+                                                           TransferMetrics metrics) {
+        // /api/v2 transfers update accounts directly, behind the sharded ledger's in-memory balances
+        if (transferProperties.getEngine() == TransferProperties.Engine.SHARDED) {
+            throw new IllegalStateException(
+                    "application.reactive.enabled=true can't be combined with application.transfer.engine=SHARDED");
+        }
+        return new ReactiveTransferService(database, accountRepository, transactionLogRepository,
+                new ReactiveIdAllocator(database), idempotencyRegistry, accountCache, transferProperties, metrics);
+    }
+
+    @Bean
+    public ReactiveApiServer reactiveApiServer(ReactiveApiProperties properties,
+                                               ReactiveTransferService service,
+                                               Validator validator,
+                                               JsonMapper jsonMapper,
+                                               JwtUtil jwtUtil,
+                                               TokenRevocationList revocationList,
+                                               RequestLoggingProperties requestLoggingProperties,
+                                               ObjectProvider<MeterRegistry> meterRegistry,
+                                               Environment environment) {
+        requireOwnPort(properties, environment);
+
+        ReactiveAccountHandler accounts = new ReactiveAccountHandler(service);
+        ReactiveTransferHandler transfers = new ReactiveTransferHandler(service, validator);
+        ReactiveErrorResponses errors = new ReactiveErrorResponses(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .path("/api/v2", api -> api
+                        .GET("/accounts/{id}", accounts::getAccount)
+                        .GET("/accounts/{id}/balance", accounts::getBalance)
+                        .POST("/transfers", transfers::transfer))
+                .onError(Throwable.class, errors::handle)
+                .build();
+
+        // correlation first, so rejected (401) requests are logged too
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jacksonJsonEncoder(new JacksonJsonEncoder(jsonMapper));
+                    codecs.defaultCodecs().jacksonJsonDecoder(new JacksonJsonDecoder(jsonMapper));
+                })
+                .webFilter(new CorrelationIdWebFilter(requestLoggingProperties))
+                .webFilter(new JwtAuthenticationWebFilter(jwtUtil, revocationList))
+                .build();
+
+        return new ReactiveApiServer(properties, RouterFunctions.toHttpHandler(routes, strategies));
+    }
+
+    // caught at startup rather than as a bind failure once the servers start
+    static void requireOwnPort(ReactiveApiProperties properties, Environment environment) {
+        for (String server : new String[] {"server.port", "management.server.port"}) {
+            Integer port = environment.getProperty(server, Integer.class);
+            if (port != null && port != 0 && port == properties.getPort()) {
+                throw new IllegalStateException(
+                        "application.reactive.port=" + port + " is already taken by " + server);
+            }
+        }
+    }
+}
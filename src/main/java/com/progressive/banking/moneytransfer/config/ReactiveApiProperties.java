@@ -0,0 +1,45 @@
+package com.progressive.banking.moneytransfer.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Reactive /api/v2 settings bound from {@code application.reactive.*}.
+ *
+ * The reactive API runs on its own Reactor Netty server next to the servlet one: a fixed set
+ * of event-loop threads serves every connection, and the database is reached through R2DBC.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.reactive")
+public class ReactiveApiProperties {
+
+    private boolean enabled = false;
+
+    // 0 picks a free port (tests)
+    private int port = 8081;
+
+    // Event-loop threads for all /api/v2 connections; nothing on them may block
+    private int eventLoopThreads = 4;
+
+    private R2dbc r2dbc = new R2dbc();
+
+    /**
+     * Connection pool of the reactive API, separate from the Hikari pool.
+     */
+    @Data
+    public static class R2dbc {
+        private String url;
+        private String username;
+        private String password;
+        private int initialSize = 4;
+        private int maxSize = 20;
+
+        // A request waiting longer than this for a connection fails instead of queueing on
+        private Duration maxAcquireTime = Duration.ofSeconds(5);
+    }
+}
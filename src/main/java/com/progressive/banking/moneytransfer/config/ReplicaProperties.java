@@ -0,0 +1,56 @@
+package com.progressive.banking.moneytransfer.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Read replica routing bound from {@code application.replicas.*}.
+ *
+ * Read-only transactions (account reads, history) are served by a replica; everything else,
+ * transfers included, by the primary ({@code spring.datasource.*}). A replica is skipped while
+ * its last health check failed or its replication lag is above maxLag; with none usable, reads
+ * go to the primary. Uncached reads can trail the last committed transfer by up to maxLag.
+ * With the account cache on, an account this instance wrote in the last maxLag + checkInterval
+ * is loaded from the primary, so its own transfers are read back; another instance's transfer
+ * can go unseen for up to maxLag + the cache ttl.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.replicas")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    // Hikari pool of each replica, separate from the primary's spring.datasource.hikari pool
+    private int maxPoolSize = 10;
+
+    // A read waiting longer than this for a replica connection ejects the replica and moves on
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    /**
+     * How often the primary's heartbeat row is written and each replica probed.
+     * Measured lag includes up to one interval, so keep it well below maxLag.
+     */
+    private Duration checkInterval = Duration.ofSeconds(1);
+
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * One replica; username and password default to spring.datasource.*.
+     */
+    @Data
+    public static class Endpoint {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
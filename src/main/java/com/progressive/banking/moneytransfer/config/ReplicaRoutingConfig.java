@@ -0,0 +1,76 @@
+package com.progressive.banking.moneytransfer.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.progressive.banking.moneytransfer.replica.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read/write routing (application.replicas.enabled=true). The application's DataSource becomes a
+ * LazyConnectionDataSourceProxy: a connection is only fetched at the first statement, by then
+ * the transaction has marked it read-only or not, and read-only ones come from the ReplicaSet.
+ *
+ * @Transactional(readOnly = true) and Spring Data's read methods called outside a transaction go
+ * to a replica; TransactionTemplate transactions (transfers, journal, ledger) and every write
+ * stay on the primary. Reads a writer depends on run in a read-write transaction to stay there.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.replicas", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReplicaSet replicaSet(HikariDataSource primaryDataSource,
+                                 DataSourceProperties dataSourceProperties,
+                                 ReplicaProperties properties) {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getEndpoints().size(); i++) {
+            ReplicaProperties.Endpoint endpoint = properties.getEndpoints().get(i);
+            String name = endpoint.getName() == null ? "replica-" + i : endpoint.getName();
+            pools.put(name, replicaPool(name, endpoint, dataSourceProperties, properties));
+        }
+        return new ReplicaSet(primaryDataSource, pools, properties.getMaxLag(), properties.getCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaSet replicaSet) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+        routing.setReadOnlyDataSource(replicaSet);
+        return routing;
+    }
+
+    private static HikariDataSource replicaPool(String name, ReplicaProperties.Endpoint endpoint,
+                                               DataSourceProperties primary, ReplicaProperties properties) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(endpoint.getUrl());
+        pool.setUsername(endpoint.getUsername() == null ? primary.determineUsername() : endpoint.getUsername());
+        pool.setPassword(endpoint.getPassword() == null ? primary.determinePassword() : endpoint.getPassword());
+        pool.setDriverClassName(primary.determineDriverClassName());
+        pool.setMaximumPoolSize(properties.getMaxPoolSize());
+        pool.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        pool.setReadOnly(true);
+        // a replica that is down at startup is ejected, not fatal
+        pool.setInitializationFailTimeout(-1);
+        return pool;
+    }
+}
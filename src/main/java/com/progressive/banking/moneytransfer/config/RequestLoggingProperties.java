@@ -0,0 +1,35 @@
+package com.progressive.banking.moneytransfer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * LoggingAspect entry/exit logging settings bound from {@code application.request-logging.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.request-logging")
+public class RequestLoggingProperties {
+
+    private final SampleRate sampleRate = new SampleRate();
+
+    // Skip a nested call when an enclosing call on the same thread already logged this correlation id
+    private boolean skipNested = true;
+
+    /**
+     * Fraction of calls (0.0 - 1.0) whose entry/exit is logged, per pointcut. Failures are
+     * always logged by the outermost call, except business rule rejections, which are counted
+     * (api.errors) and logged without a stack for the {@code rejection} fraction only.
+     */
+    @Data
+    public static class SampleRate {
+
+        private double controller = 1.0;
+
+        private double service = 1.0;
+
+        private double rejection = 0.01;
+    }
+}
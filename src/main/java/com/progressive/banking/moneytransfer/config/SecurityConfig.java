@@ -3,6 +3,7 @@ package com.progressive.banking.moneytransfer.config;
 import com.progressive.banking.moneytransfer.security.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.*;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.*;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -16,14 +17,17 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList revocationList;
+    private final JwtProperties jwtProperties;
+    private final AuthProperties authProperties;
 
     @Bean
     public JwtAuthenticationFilter jwtFilter() {
-        return new JwtAuthenticationFilter(jwtUtil, userDetailsService);
+        return new JwtAuthenticationFilter(jwtUtil, userDetailsService, revocationList, jwtProperties);
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http)
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, Environment environment)
             throws Exception {
 
         http
@@ -33,6 +37,11 @@ public class SecurityConfig {
                     org.springframework.security.config.http.SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/auth/**").permitAll()
+                .requestMatchers("/livez", "/readyz").permitAll()
+                // actuator on management.server.port, bound to localhost: only the local scraper gets
+                // there. local.management.port is the port it actually listens on (set once started)
+                .requestMatchers(request -> request.getLocalPort()
+                        == environment.getProperty("local.management.port", Integer.class, -1)).permitAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtFilter(), UsernamePasswordAuthenticationFilter.class)
@@ -50,6 +59,6 @@ public class SecurityConfig {
 
     @Bean
     public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new RehashingBCryptPasswordEncoder(authProperties.getBcryptStrength());
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.progressive.banking.moneytransfer.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves the transaction_log id generator past the highest existing transaction_id.
+ *
+ * Needed once when switching from AUTO_INCREMENT ids (existing rows) to the pooled
+ * table generator, and harmless afterwards: the row is only ever raised.
+ * Runs before the web server accepts requests; the EntityManagerFactory dependency
+ * makes sure the schema exists first.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionLogIdGeneratorInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void alignGenerator() {
+        // transfer_journal draws from the same pool
+        Integer maxId = jdbcTemplate.queryForObject(
+                "SELECT GREATEST((SELECT COALESCE(MAX(transaction_id), 0) FROM transaction_log), "
+                        + "(SELECT COALESCE(MAX(transaction_id), 0) FROM transfer_journal))", Integer.class);
+        // pooled optimizer hands out ids below the stored value, so stay a full block ahead
+        long floor = (maxId == null ? 0 : maxId) + TransactionLog.ALLOCATION_SIZE + 1L;
+
+        int raised = jdbcTemplate.update(
+                "UPDATE id_generator SET next_val = ? WHERE gen_name = ? AND next_val < ?",
+                floor, TransactionLog.ID_GENERATOR_ROW, floor);
+        if (raised > 0) {
+            log.info("Raised transaction_log id generator to {}", floor);
+            return;
+        }
+
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM id_generator WHERE gen_name = ?", Integer.class, TransactionLog.ID_GENERATOR_ROW);
+        if (rows != null && rows == 0) {
+            jdbcTemplate.update("INSERT INTO id_generator (gen_name, next_val) VALUES (?, ?)", TransactionLog.ID_GENERATOR_ROW, floor);
+            log.info("Initialized transaction_log id generator at {}", floor);
+        }
+    }
+}
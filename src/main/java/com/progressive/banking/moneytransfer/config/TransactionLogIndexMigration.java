@@ -0,0 +1,95 @@
+package com.progressive.banking.moneytransfer.config;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves transaction_log from the single-column account indexes to the composite
+ * (account, createdOn, transactionId) ones.
+ *
+ * Steps, each skipped when already done:
+ * 1) create idx_txn_from_created / idx_txn_to_created (ddl-auto=update already does this;
+ *    needed when the schema is not managed by Hibernate)
+ * 2) drop idx_txn_from_account / idx_txn_to_account, which are prefixes of the new indexes
+ *
+ * Creating an index on a large table takes a while (MySQL builds it online, but startup waits).
+ * To run the DDL out of band instead, set application.schema.manage-indexes=false.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.schema", name = "manage-indexes", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionLogIndexMigration {
+
+    private static final String TABLE = "transaction_log";
+
+    private static final String[][] COMPOSITE_INDEXES = {
+            {TransactionLog.IDX_FROM_CREATED, "from_account_id, created_on, transaction_id"},
+            {TransactionLog.IDX_TO_CREATED, "to_account_id, created_on, transaction_id"}
+    };
+
+    private static final String[] LEGACY_INDEXES = {"idx_txn_from_account", "idx_txn_to_account"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void migrate() {
+        Set<String> existing = indexNames();
+
+        for (String[] index : COMPOSITE_INDEXES) {
+            if (!existing.contains(index[0])) {
+                log.info("Creating index {} on {}({})", index[0], TABLE, index[1]);
+                jdbcTemplate.execute("CREATE INDEX " + index[0] + " ON " + TABLE + " (" + index[1] + ")");
+            }
+        }
+
+        boolean mysql = isMySql();
+        for (String legacy : LEGACY_INDEXES) {
+            if (existing.contains(legacy)) {
+                log.info("Dropping index {} on {}, superseded by the composite account indexes", legacy, TABLE);
+                jdbcTemplate.execute(mysql
+                        ? "ALTER TABLE " + TABLE + " DROP INDEX " + legacy
+                        : "DROP INDEX " + legacy);
+            }
+        }
+    }
+
+    private Set<String> indexNames() {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase(Locale.ROOT) : TABLE;
+            Set<String> names = new HashSet<>();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, true)) {
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    if (name != null) {
+                        names.add(name.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            return names;
+        });
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+}
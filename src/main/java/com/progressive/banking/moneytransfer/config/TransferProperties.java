@@ -0,0 +1,236 @@
+package com.progressive.banking.moneytransfer.config;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Transfer engine settings bound from {@code application.transfer.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.transfer")
+public class TransferProperties {
+
+    /**
+     * How balances are moved:
+     * - ENTITY: load both accounts, debit/credit in memory, save back (@Version checked)
+     * - CONDITIONAL_UPDATE: one guarded UPDATE per leg, affected-row count decides the outcome
+     * - SHARDED: balances held in memory by single-threaded shards, persisted by group commit
+     *   (see sharded)
+     */
+    private Engine engine = Engine.ENTITY;
+
+    /**
+     * How the ENTITY engine protects the two account rows:
+     * - OPTIMISTIC: plain reads, @Version conflict detected at commit and retried
+     * - ORDERED_PESSIMISTIC: SELECT ... FOR UPDATE, lower accountId always locked first
+     */
+    private Locking locking = Locking.OPTIMISTIC;
+
+    private Retry retry = new Retry();
+
+    /**
+     * Transfers (single or batch) allowed to run their transactions at once; the rest wait in
+     * arrival order. Keep it below spring.datasource.hikari.maximum-pool-size: transaction_log
+     * and transfer_journal ids come in blocks fetched on a second pooled connection while
+     * Hibernate's optimizer monitor is held, so with every connection owned by a transfer the
+     * block fetch cannot get one and the pool stalls until connection-timeout. Matters most
+     * with virtual threads, where nothing else caps request concurrency.
+     */
+    private int maxConcurrent = 8;
+
+    /**
+     * How a single transfer is written to transaction_log:
+     * - FINAL_ONLY: one INSERT with the final status, in the transfer's transaction
+     * - PENDING_TRAIL: PENDING row committed first, then updated to SUCCESS/FAILURE
+     * - WRITE_BEHIND: a transfer_journal row commits with the balances and is moved into
+     *   transaction_log in batches by the background pipeline (see writeBehind)
+     */
+    private LogMode logMode = LogMode.FINAL_ONLY;
+
+    private Idempotency idempotency = new Idempotency();
+
+    private Batch batch = new Batch();
+
+    private WriteBehind writeBehind = new WriteBehind();
+
+    private Sharded sharded = new Sharded();
+
+    private Striping striping = new Striping();
+
+    private Coalescing coalescing = new Coalescing();
+
+    public enum Engine {
+        ENTITY,
+        CONDITIONAL_UPDATE,
+        SHARDED
+    }
+
+    public enum LogMode {
+        FINAL_ONLY,
+        PENDING_TRAIL,
+        WRITE_BEHIND
+    }
+
+    public enum Locking {
+        OPTIMISTIC,
+        ORDERED_PESSIMISTIC
+    }
+
+    /**
+     * Bounded retry on optimistic lock failures.
+     * Backoff doubles per attempt up to maxBackoff; the actual sleep is jittered in [cap/2, cap].
+     */
+    @Data
+    public static class Retry {
+        private int maxAttempts = 5;
+        private Duration initialBackoff = Duration.ofMillis(5);
+        private Duration maxBackoff = Duration.ofMillis(200);
+    }
+
+    /**
+     * In-memory layer in front of the transaction_log idempotency lookup.
+     * The unique constraint on idempotencyKey stays the source of truth.
+     */
+    @Data
+    public static class Idempotency {
+
+        /**
+         * What a repeated key gets back:
+         * - REJECT: DuplicateTransferException (409)
+         * - REPLAY: the original TransferResponse
+         */
+        private DuplicatePolicy duplicatePolicy = DuplicatePolicy.REJECT;
+
+        private int cacheMaxSize = 10_000;
+        private Duration cacheTtl = Duration.ofMinutes(10);
+
+        /**
+         * When enabled, keys the filter has never seen skip the DB probe entirely.
+         */
+        private boolean filterEnabled = true;
+        private int filterExpectedKeys = 1_000_000;
+        private double filterFalsePositiveRate = 0.01;
+    }
+
+    /**
+     * POST /api/v1/transfers/batch limits.
+     */
+    @Data
+    public static class Batch {
+        private int maxItems = 10_000;
+
+        /**
+         * Accounts are locked with IN-list queries of at most this many ids, in ascending order.
+         */
+        private int lockChunkSize = 1_000;
+    }
+
+    /**
+     * transfer_journal -> transaction_log pipeline used by log-mode=WRITE_BEHIND.
+     */
+    @Data
+    public static class WriteBehind {
+
+        /**
+         * Committed entries waiting in memory; beyond this producers wait offerTimeout,
+         * then the entry is left for the journal sweep.
+         */
+        private int queueCapacity = 10_000;
+        private Duration offerTimeout = Duration.ofMillis(5);
+
+        // Rows moved per drain transaction
+        private int batchSize = 500;
+
+        // Idle interval between journal sweeps
+        private Duration sweepInterval = Duration.ofSeconds(1);
+
+        // Journal rows older than this count as stale in the reconciliation check
+        private Duration reconcileStaleAfter = Duration.ofMinutes(1);
+
+        // Longest a transfer may take from stamping its row (created_on) to committing; the
+        // balance check counts rows from this far before its checkpoint
+        private Duration reconcileSlack = Duration.ofMinutes(1);
+    }
+
+    /**
+     * In-memory ledger used by engine=SHARDED. Each account is owned by one shard (accountId hash);
+     * a shard thread is the only writer of its accounts' balances. It must be the only writer of
+     * balances while the mode is on: run a single application instance, and no /api/v2 (startup
+     * fails with application.reactive.enabled). A row changed behind its back anyway fails the
+     * next group commit touching it, which reloads the ledger instead of overdrawing the row.
+     */
+    @Data
+    public static class Sharded {
+
+        // Single-threaded shard executors
+        private int shards = 4;
+
+        // Transfers written per group commit (one transaction)
+        private int commitBatchSize = 1_000;
+
+        // Accounts kept in memory per shard; idle ones past this are dropped least recently used first
+        private int maxAccountsPerShard = 100_000;
+    }
+
+    /**
+     * Credit striping for hot (collection) accounts, used by the ENTITY and CONDITIONAL_UPDATE
+     * single-transfer paths. Credits to a listed account add to one of its account_balance_stripes
+     * rows instead of accounts.balance; balance reads return the sum.
+     *
+     * Debits spend accounts.balance. A single transfer that falls short, on /api/v1 or /api/v2,
+     * folds the account's stripes in first (in its own transaction), and the SHARDED engine folds
+     * them in when it loads the account; batch items and coalesced groups only see credits the
+     * consolidator has already folded.
+     */
+    @Data
+    public static class Striping {
+
+        private Set<Integer> accounts = new HashSet<>();
+
+        // Stripe rows per account, created at startup
+        private int stripes = 8;
+
+        private StripeSelection selection = StripeSelection.RANDOM;
+
+        // How often the consolidator folds stripes into accounts.balance
+        private Duration consolidateInterval = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Group commit for single transfers with the ENTITY and CONDITIONAL_UPDATE engines (not with
+     * log-mode=PENDING_TRAIL, whose PENDING row is a commit of its own). Concurrent transfers are
+     * collected until maxBatch of them are waiting or maxWait has passed since the first, then
+     * settled in one transaction the way a batch is: every touched account locked once in
+     * ascending id order, items applied in arrival order, each caller answered with its own
+     * response or rejection. If that transaction fails as a whole, each of its transfers runs
+     * again on its own.
+     */
+    @Data
+    public static class Coalescing {
+
+        private boolean enabled = false;
+
+        // How long the first transfer of a group waits for others
+        private Duration maxWait = Duration.ofNanos(500_000);
+
+        // Transfers settled per group transaction
+        private int maxBatch = 100;
+    }
+
+    public enum StripeSelection {
+        RANDOM,
+        ROUND_ROBIN
+    }
+
+    public enum DuplicatePolicy {
+        REJECT,
+        REPLAY
+    }
+}
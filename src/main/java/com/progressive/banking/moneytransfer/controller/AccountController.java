@@ -1,20 +1,28 @@
 package com.progressive.banking.moneytransfer.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.progressive.banking.moneytransfer.domain.dto.AccountResponse;
+import com.progressive.banking.moneytransfer.config.HistoryProperties;
 import com.progressive.banking.moneytransfer.domain.dto.BalanceResponse;
-import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionHistoryPage;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
 import com.progressive.banking.moneytransfer.service.AccountService;
 
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/v1/accounts")
@@ -22,7 +30,12 @@ import lombok.RequiredArgsConstructor;
 @Validated
 public class AccountController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON = "application/x-ndjson";
+
     private final AccountService accountService;
+    private final HistoryProperties historyProperties;
+    private final ObjectMapper objectMapper;
 
     /**
      * GET /api/v1/accounts/{id} -> Get account details
@@ -53,16 +66,68 @@ public class AccountController {
     }
 
     /**
-     * GET /api/v1/accounts/{id}/transactions -> Get transaction history
+     * GET /api/v1/accounts/{id}/transactions?cursor=&limit= -> One page of transaction history, newest first.
+     * The cursor for the next page is returned in the X-Next-Cursor header (absent on the last page).
      */
-    @GetMapping("/{id}/transactions")
+    @GetMapping(value = "/{id}/transactions", produces = MediaType.APPLICATION_JSON_VALUE)
     // Optional:
     // @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<TransferResponse>> getTransactions(
+    public ResponseEntity<List<TransactionView>> getTransactions(
             @PathVariable("id") @Min(value = 1, message = "id must be >= 1") Integer id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
             Authentication authentication) {
 
-        List<TransferResponse> response = accountService.getTransactions(id);
-        return ResponseEntity.ok(response);
+        TransactionHistoryPage page = accountService.getTransactions(id, cursor, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * GET /api/v1/accounts/{id}/transactions with Accept: application/x-ndjson
+     * -> Whole history, one JSON object per line, written as rows are read (constant memory).
+     */
+    @GetMapping(value = "/{id}/transactions", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamTransactions(
+            @PathVariable("id") @Min(value = 1, message = "id must be >= 1") Integer id,
+            Authentication authentication) {
+
+        // 404 must be decided before the response starts
+        accountService.getAccount(id);
+
+        int flushEvery = historyProperties.getStreamFlushEvery();
+        StreamingResponseBody body = out -> {
+            int[] pending = {0};
+            accountService.streamTransactions(id, tx -> {
+                writeLine(out, tx);
+                if (++pending[0] == flushEvery) {
+                    flush(out);
+                    pending[0] = 0;
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    private void writeLine(OutputStream out, TransactionView tx) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(tx));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void flush(OutputStream out) {
+        try {
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
-}
\ No newline at end of file
+}
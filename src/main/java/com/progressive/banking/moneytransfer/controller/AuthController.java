@@ -1,29 +1,55 @@
 package com.progressive.banking.moneytransfer.controller;
 
 import com.progressive.banking.moneytransfer.domain.dto.*;
+import com.progressive.banking.moneytransfer.security.CredentialVerifier;
+import com.progressive.banking.moneytransfer.security.CustomUserDetailsService;
 import com.progressive.banking.moneytransfer.security.JwtUtil;
+import com.progressive.banking.moneytransfer.security.TokenRevocationList;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final AuthenticationManager authManager;
+    private final CredentialVerifier credentialVerifier;
     private final JwtUtil jwtUtil;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
 
+    /**
+     * Roles and account scopes go into the token so principal-mode=CLAIMS needs no lookup later.
+     * The password is checked on the login pool (CredentialVerifier); the servlet thread is
+     * released until it completes.
+     */
     @PostMapping("/login")
-    public LoginResponse login(@RequestBody LoginRequest request) {
+    public CompletableFuture<LoginResponse> login(@RequestBody LoginRequest request) {
 
-        authManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                    request.getUsername(), request.getPassword())
-        );
+        return credentialVerifier.authenticate(request.getUsername(), request.getPassword())
+                .thenApply(authentication -> new LoginResponse(
+                        jwtUtil.generateToken(
+                                request.getUsername(),
+                                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList(),
+                                userDetailsService.accountScopes(request.getUsername()))
+                ));
+    }
 
-        return new LoginResponse(
-                jwtUtil.generateToken(request.getUsername())
-        );
+    /**
+     * Revokes the presented token on this instance (see TokenRevocationList).
+     * Reads the header from the request so LoggingAspect never sees the raw token as an argument.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request) {
+        String authorization = request.getHeader("Authorization");
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            jwtUtil.verify(authorization.substring(7)).ifPresent(revocationList::revoke);
+        }
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -8,6 +8,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import com.progressive.banking.moneytransfer.domain.dto.BatchTransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.BatchTransferResponse;
 import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
 import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
 import com.progressive.banking.moneytransfer.service.TransferService;
@@ -55,4 +57,27 @@ public class TransferController {
         // 201 is common when creating a transaction record
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Execute many transfers in one call
+     * POST /api/v1/transfers/batch
+     * 201 when every item succeeded, 207 when some (or all) items failed; see per-item results.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransferResponse> transferBatch(
+            @Valid @RequestBody BatchTransferRequest request,
+            Authentication authentication) {
+
+        // Items without a key get one, same as the single-transfer endpoint
+        for (TransferRequest item : request.getTransfers()) {
+            if (item.getIdempotencyKey() == null || item.getIdempotencyKey().isBlank()) {
+                item.setIdempotencyKey(UUID.randomUUID().toString());
+            }
+        }
+
+        BatchTransferResponse response = transferService.transferBatch(request.getTransfers());
+
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+}
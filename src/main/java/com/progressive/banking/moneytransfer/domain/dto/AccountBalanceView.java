@@ -0,0 +1,15 @@
+package com.progressive.banking.moneytransfer.domain.dto;
+
+import java.time.LocalDateTime;
+
+import com.progressive.banking.moneytransfer.domain.money.Money;
+
+/**
+ * The four columns of a balance read (AccountViewRepository).
+ */
+public record AccountBalanceView(
+        Integer accountId,
+        String holderName,
+        Money balance,
+        LocalDateTime lastUpdated) {
+}
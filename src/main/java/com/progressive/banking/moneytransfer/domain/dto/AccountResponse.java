@@ -1,9 +1,9 @@
 package com.progressive.banking.moneytransfer.domain.dto;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -29,7 +29,7 @@ public class AccountResponse {
 
     @NotNull(message = "balance must not be null")
     @PositiveOrZero(message = "balance must be zero or positive")
-    private BigDecimal balance;
+    private Money balance;
 
     @NotNull(message = "status must not be null")
     private AccountStatusEnum status;
@@ -0,0 +1,19 @@
+package com.progressive.banking.moneytransfer.domain.dto;
+
+import java.time.LocalDateTime;
+
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+
+/**
+ * Account columns of GET /api/v1/accounts/{id}, selected straight into this record
+ * (AccountViewRepository): no managed entity, no dirty-check snapshot.
+ */
+public record AccountView(
+        Integer accountId,
+        String holderName,
+        Money balance,
+        AccountStatusEnum status,
+        Long version,
+        LocalDateTime lastUpdated) {
+}
@@ -1,8 +1,9 @@
 package com.progressive.banking.moneytransfer.domain.dto;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.progressive.banking.moneytransfer.domain.money.Money;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,7 +19,7 @@ public class BalanceResponse {
 
     private String holderName;
 
-    private BigDecimal balance;
+    private Money balance;
 
     private LocalDateTime lastUpdated;
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.progressive.banking.moneytransfer.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchTransferItemResult {
+
+    /**
+     * Position of the item in the submitted batch.
+     */
+    private int index;
+
+    private String idempotencyKey;
+
+    private TransactionStatusEnum status;
+
+    /**
+     * Present for SUCCESS items.
+     */
+    private TransferResponse transfer;
+
+    /**
+     * Present for FAILURE items; same codes as the single-transfer error responses.
+     */
+    private String errorCode;
+
+    private String message;
+}
@@ -0,0 +1,23 @@
+package com.progressive.banking.moneytransfer.domain.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferRequest {
+
+    /**
+     * Settled in one transaction; each item still succeeds or fails on its own.
+     * Max size is application.transfer.batch.max-items.
+     */
+    @NotEmpty(message = "transfers must not be empty")
+    @Valid
+    private List<TransferRequest> transfers;
+}
@@ -0,0 +1,23 @@
+package com.progressive.banking.moneytransfer.domain.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferResponse {
+
+    private int total;
+
+    private int succeeded;
+
+    private int failed;
+
+    private List<BatchTransferItemResult> results;
+}
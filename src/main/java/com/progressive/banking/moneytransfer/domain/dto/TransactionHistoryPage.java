@@ -0,0 +1,21 @@
+package com.progressive.banking.moneytransfer.domain.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionHistoryPage {
+
+    // Newest first
+    private List<TransactionView> items;
+
+    // Opaque cursor for the next (older) page; null on the last page
+    private String nextCursor;
+}
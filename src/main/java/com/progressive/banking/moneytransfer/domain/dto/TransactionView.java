@@ -0,0 +1,21 @@
+package com.progressive.banking.moneytransfer.domain.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+
+/**
+ * One history row as served by GET /api/v1/accounts/{id}/transactions, read from the
+ * JDBC row directly (TransactionLogHistoryRepository). Same JSON as TransferResponse.
+ */
+public record TransactionView(
+        Integer transactionId,
+        Integer fromAccountId,
+        Integer toAccountId,
+        BigDecimal amount,
+        TransactionStatusEnum status,
+        String failureReason,
+        String idempotencyKey,
+        LocalDateTime createdOn) {
+}
@@ -1,6 +1,6 @@
 package com.progressive.banking.moneytransfer.domain.dto;
 
-import java.math.BigDecimal;
+import com.progressive.banking.moneytransfer.domain.money.Money;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -24,7 +24,7 @@ public class TransferRequest {
 
     @NotNull(message = "amount must not be null")
     @Positive(message = "amount must be greater than zero")
-    private BigDecimal amount;
+    private Money amount;
 
     /**
      * key — ensures retry requests are not processed twice
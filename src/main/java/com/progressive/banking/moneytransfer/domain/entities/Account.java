@@ -1,31 +1,38 @@
 package com.progressive.banking.moneytransfer.domain.entities;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.MinorUnitsConverter;
+import com.progressive.banking.moneytransfer.domain.money.Money;
 import com.progressive.banking.moneytransfer.exception.AccountNotActiveException;
 import com.progressive.banking.moneytransfer.exception.InsufficientBalanceException;
 import com.progressive.banking.moneytransfer.exception.InvalidAmountException;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "accounts")
+@Table(
+    name = "accounts",
+    indexes = {
+        // login looks up the holder's accounts (account scopes in the token)
+        @Index(name = "idx_accounts_holder_name", columnList = "holderName")
+    }
+)
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Account {
 
     @Id
@@ -35,8 +42,10 @@ public class Account {
     private String holderName;
 
 
+    // minor units (see Money): debit/credit are plain long arithmetic, no allocation
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal balance = BigDecimal.ZERO;
+    @Convert(converter = MinorUnitsConverter.class)
+    private long balance;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -49,14 +58,33 @@ public class Account {
     @Column(nullable = false)
     private LocalDateTime lastUpdated;
 
+    public Account(Integer accountId, String holderName, Money balance, AccountStatusEnum status,
+                   Long version, LocalDateTime lastUpdated) {
+        this.accountId = accountId;
+        this.holderName = holderName;
+        this.balance = balance.minorUnits();
+        this.status = status;
+        this.version = version;
+        this.lastUpdated = lastUpdated;
+    }
+
+    public Money getBalance() {
+        return Money.ofMinor(balance);
+    }
+
+    public void setBalance(Money balance) {
+        this.balance = balance.minorUnits();
+    }
+
+    public boolean covers(Money amount) {
+        return balance >= amount.minorUnits();
+    }
+
     @PrePersist
     public void prePersist() {
         if (lastUpdated == null) {
             lastUpdated = LocalDateTime.now();
         }
-        if (balance == null) {
-            balance = BigDecimal.ZERO;
-        }
         if (status == null) {
             status = AccountStatusEnum.ACTIVE;
         }
@@ -71,33 +99,34 @@ public class Account {
         return this.status == AccountStatusEnum.ACTIVE;
     }
 
-    public void debit(BigDecimal amount) {
+    /**
+     * lastUpdated is stamped by {@link #preUpdate()} when the change is flushed.
+     */
+    public void debit(Money amount) {
         validateAmount(amount);
         ensureActive();
 
-        if (this.balance.compareTo(amount) < 0) {
+        if (!covers(amount)) {
             throw new InsufficientBalanceException(
-                    "Insufficient balance. Available: " + balance + ", Requested: " + amount
+                    "Insufficient balance. Available: " + getBalance() + ", Requested: " + amount
             );
         }
 
-        this.balance = this.balance.subtract(amount);
-        this.lastUpdated = LocalDateTime.now();
+        this.balance = Math.subtractExact(this.balance, amount.minorUnits());
     }
 
-    public void credit(BigDecimal amount) {
+    public void credit(Money amount) {
         validateAmount(amount);
         ensureActive();
 
-        this.balance = this.balance.add(amount);
-        this.lastUpdated = LocalDateTime.now();
+        this.balance = Math.addExact(this.balance, amount.minorUnits());
     }
 
-    private void validateAmount(BigDecimal amount) {
+    private void validateAmount(Money amount) {
         if (amount == null) {
             throw new InvalidAmountException("Amount cannot be null");
         }
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amount.signum() <= 0) {
             throw new InvalidAmountException("Amount must be greater than zero");
         }
     }
@@ -0,0 +1,41 @@
+package com.progressive.banking.moneytransfer.domain.entities;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One credit bucket of a striped (hot) account.
+ *
+ * Credits to a striped account add to one of its stripes instead of accounts.balance, so
+ * concurrent credits lock different rows. The account's balance is accounts.balance plus the
+ * sum of its stripes; the consolidator periodically folds the stripes back into the account row.
+ */
+@Entity
+@Table(
+    name = "account_balance_stripes",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stripe_account_no", columnNames = {"accountId", "stripeNo"})
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceStripe {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long stripeId;
+
+    @Column(nullable = false)
+    private Integer accountId;
+
+    @Column(nullable = false)
+    private Integer stripeNo;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount = BigDecimal.ZERO;
+}
@@ -17,8 +17,9 @@ import lombok.NoArgsConstructor;
         @UniqueConstraint(name = "uk_txn_idempotency_key", columnNames = "idempotencyKey")
     },
     indexes = {
-        @Index(name = "idx_txn_from_account", columnList = "fromAccountId"),
-        @Index(name = "idx_txn_to_account", columnList = "toAccountId"),
+        // history reads: equality on the account, then already in (createdOn, transactionId) order
+        @Index(name = TransactionLog.IDX_FROM_CREATED, columnList = "fromAccountId, createdOn, transactionId"),
+        @Index(name = TransactionLog.IDX_TO_CREATED, columnList = "toAccountId, createdOn, transactionId"),
         @Index(name = "idx_txn_status", columnList = "status"),
         @Index(name = "idx_txn_created_on", columnList = "createdOn")
     }
@@ -28,8 +29,30 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class TransactionLog {
 
+    public static final String ID_GENERATOR = "transaction_log_id";
+    public static final int ALLOCATION_SIZE = 50;
+    // id_generator row shared by transaction_log and transfer_journal
+    public static final String ID_GENERATOR_ROW = "transaction_log";
+
+    public static final String IDX_FROM_CREATED = "idx_txn_from_created";
+    public static final String IDX_TO_CREATED = "idx_txn_to_created";
+
+    /**
+     * Pooled table-based ids (MySQL has no sequences): each instance reserves blocks of
+     * ALLOCATION_SIZE ids, so inserts are not forced to execute one by one like IDENTITY
+     * and Hibernate can batch them. The generator row is kept ahead of existing ids by
+     * TransactionLogIdGeneratorInitializer.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = ID_GENERATOR)
+    @TableGenerator(
+        name = ID_GENERATOR,
+        table = "id_generator",
+        pkColumnName = "gen_name",
+        valueColumnName = "next_val",
+        pkColumnValue = ID_GENERATOR_ROW,
+        allocationSize = ALLOCATION_SIZE
+    )
     private Integer transactionId;
 
     @Column(nullable = false)
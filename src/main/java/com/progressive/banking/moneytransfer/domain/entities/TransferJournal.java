@@ -0,0 +1,68 @@
+package com.progressive.banking.moneytransfer.domain.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Append-only record of a committed transfer that is not yet in transaction_log.
+ *
+ * Written in the same transaction as the balance change when log-mode=WRITE_BEHIND,
+ * then moved into transaction_log (same transactionId) and deleted by the
+ * write-behind pipeline. Rows only live until drained, so the table and its
+ * idempotency index stay small.
+ */
+@Entity
+@Table(
+    name = "transfer_journal",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_journal_idempotency_key", columnNames = "idempotencyKey")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferJournal {
+
+    /**
+     * Same id_generator row as TransactionLog: each entity's pooled optimizer reserves its own
+     * blocks from it, so journal ids never collide with log ids and the drained row keeps this id.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = TransactionLog.ID_GENERATOR)
+    @TableGenerator(
+        name = TransactionLog.ID_GENERATOR,
+        table = "id_generator",
+        pkColumnName = "gen_name",
+        valueColumnName = "next_val",
+        pkColumnValue = TransactionLog.ID_GENERATOR_ROW,
+        allocationSize = TransactionLog.ALLOCATION_SIZE
+    )
+    private Integer transactionId;
+
+    @Column(nullable = false)
+    private Integer fromAccountId;
+
+    @Column(nullable = false)
+    private Integer toAccountId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 64)
+    private String idempotencyKey;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdOn;
+
+    @PrePersist
+    void onCreate() {
+        if (createdOn == null) {
+            createdOn = LocalDateTime.now();
+        }
+    }
+}
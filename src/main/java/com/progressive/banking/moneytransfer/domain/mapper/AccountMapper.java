@@ -1,6 +1,8 @@
 package com.progressive.banking.moneytransfer.domain.mapper;
 
+import com.progressive.banking.moneytransfer.domain.dto.AccountBalanceView;
 import com.progressive.banking.moneytransfer.domain.dto.AccountResponse;
+import com.progressive.banking.moneytransfer.domain.dto.AccountView;
 import com.progressive.banking.moneytransfer.domain.dto.BalanceResponse;
 import com.progressive.banking.moneytransfer.domain.entities.Account;
 
@@ -19,6 +21,17 @@ public final class AccountMapper {
                 .build();
     }
 
+    public static AccountResponse toAccountResponse(AccountView a) {
+        return AccountResponse.builder()
+                .accountId(a.accountId())
+                .holderName(a.holderName())
+                .balance(a.balance())
+                .status(a.status())
+                .version(a.version())
+                .lastUpdated(a.lastUpdated())
+                .build();
+    }
+
     public static BalanceResponse toBalanceResponse(Account a) {
         return BalanceResponse.builder()
                 .accountId(a.getAccountId())
@@ -27,4 +40,22 @@ public final class AccountMapper {
                 .lastUpdated(a.getLastUpdated())
                 .build();
     }
+
+    public static BalanceResponse toBalanceResponse(AccountBalanceView a) {
+        return BalanceResponse.builder()
+                .accountId(a.accountId())
+                .holderName(a.holderName())
+                .balance(a.balance())
+                .lastUpdated(a.lastUpdated())
+                .build();
+    }
+
+    public static BalanceResponse toBalanceResponse(AccountResponse a) {
+        return BalanceResponse.builder()
+                .accountId(a.getAccountId())
+                .holderName(a.getHolderName())
+                .balance(a.getBalance())
+                .lastUpdated(a.getLastUpdated())
+                .build();
+    }
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.progressive.banking.moneytransfer.domain.mapper;
 
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
 import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
 import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.entities.TransferJournal;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
 
 public final class TransferMapper {
 
@@ -19,4 +22,31 @@ public final class TransferMapper {
                 .createdOn(log.getCreatedOn())
                 .build();
     }
-}
\ No newline at end of file
+
+    // Archived rows (archive.TransactionLogArchive)
+    public static TransferResponse toResponse(TransactionView row) {
+        return TransferResponse.builder()
+                .transactionId(row.transactionId())
+                .fromAccountId(row.fromAccountId())
+                .toAccountId(row.toAccountId())
+                .amount(row.amount())
+                .status(row.status())
+                .failureReason(row.failureReason())
+                .idempotencyKey(row.idempotencyKey())
+                .createdOn(row.createdOn())
+                .build();
+    }
+
+    // Journal entries only exist for successful transfers
+    public static TransferResponse toResponse(TransferJournal entry) {
+        return TransferResponse.builder()
+                .transactionId(entry.getTransactionId())
+                .fromAccountId(entry.getFromAccountId())
+                .toAccountId(entry.getToAccountId())
+                .amount(entry.getAmount())
+                .status(TransactionStatusEnum.SUCCESS)
+                .idempotencyKey(entry.getIdempotencyKey())
+                .createdOn(entry.getCreatedOn())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.progressive.banking.moneytransfer.domain.money;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps a long of minor units onto a DECIMAL(19,2) column, e.g. Account.balance.
+ * JPQL parameters compared with or added to such an attribute are minor units too.
+ */
+@Converter
+public class MinorUnitsConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long minorUnits) {
+        return minorUnits == null ? null : BigDecimal.valueOf(minorUnits, Money.SCALE);
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal column) {
+        return column == null ? null : Money.of(column).minorUnits();
+    }
+}
@@ -0,0 +1,104 @@
+package com.progressive.banking.moneytransfer.domain.money;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * An amount of the ledger's single currency as a long of minor units (cents), matching the
+ * DECIMAL(19,2) balance and amount columns. Arithmetic is exact and overflow-checked
+ * (ArithmeticException), and never allocates beyond the result: callers on the hot path
+ * (Account, the sharded ledger) keep the long from {@link #minorUnits()} and only wrap it
+ * at the edges.
+ *
+ * In JSON it is the same decimal number a BigDecimal with scale 2 was ("amount":250.00).
+ * Values with more than two decimal places are rejected, not rounded. The range is that of
+ * a long: +/-92,233,720,368,547,758.07.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Exact conversion; more than two decimal places or a value outside the long range
+     * throw IllegalArgumentException.
+     */
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        try {
+            return ofMinor(amount.setScale(SCALE).unscaledValue().longValueExact());
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Not a money amount (at most " + SCALE + " decimal places): " + amount);
+        }
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isLessThan(Money other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money money && money.minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    // same text as the BigDecimal it replaces, e.g. in exception messages: "1000.00"
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.progressive.banking.moneytransfer.domain.money;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * {@code @Positive} on a Money field (TransferRequest.amount). Registered with Hibernate
+ * Validator through META-INF/services/jakarta.validation.ConstraintValidator.
+ */
+public class PositiveMoneyValidator implements ConstraintValidator<Positive, Money> {
+
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        // null is @NotNull's job
+        return value == null || value.signum() > 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.progressive.banking.moneytransfer.domain.money;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * {@code @PositiveOrZero} on a Money field (AccountResponse.balance); see PositiveMoneyValidator.
+ */
+public class PositiveOrZeroMoneyValidator implements ConstraintValidator<PositiveOrZero, Money> {
+
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        return value == null || value.signum() >= 0;
+    }
+}
@@ -0,0 +1,92 @@
+package com.progressive.banking.moneytransfer.engine;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.progressive.banking.moneytransfer.cache.AccountCache;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.mapper.TransferMapper;
+import com.progressive.banking.moneytransfer.journal.TransferJournalPipeline;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.striping.StripedBalances;
+
+/**
+ * LedgerStore on the accounts table and transfer_journal.
+ *
+ * One group commit = one transaction: a transfer_journal row per transfer (moved into
+ * transaction_log by the write-behind pipeline, whatever log-mode says) and one UPDATE per
+ * touched account with its net delta. Journal and balances commit together, so the accounts
+ * table always equals the journal replayed and a restarted ledger rebuilds from it.
+ *
+ * The UPDATE refuses to take a balance below zero or to touch an account that is no longer
+ * ACTIVE. The ledger checked every debit and status in memory, so a refusal means the row was
+ * changed by another writer (another instance, a stripe fold of credits the ledger didn't
+ * count, an account locked or closed); the commit then fails with StaleLedgerException and
+ * the ledger reloads, refusing the transfer if the account turned inactive. A striped account first gets its unfolded credits folded in, since the
+ * ledger counts them as spendable.
+ */
+@Component
+public class JournalLedgerStore implements LedgerStore {
+
+    private final AccountRepository accountRepository;
+    private final TransferJournalPipeline journalPipeline;
+    private final AccountCache accountCache;
+    private final StripedBalances stripedBalances;
+    private final TransactionTemplate transactionTemplate;
+
+    public JournalLedgerStore(AccountRepository accountRepository,
+                              TransferJournalPipeline journalPipeline,
+                              AccountCache accountCache,
+                              StripedBalances stripedBalances,
+                              PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.journalPipeline = journalPipeline;
+        this.accountCache = accountCache;
+        this.stripedBalances = stripedBalances;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // unfolded stripe credits are spendable; the consolidator only moves them into the row.
+    // Read-write transaction: the ledger must start from the primary, never from a replica
+    @Override
+    public Optional<LedgerAccount> load(Integer accountId) {
+        return transactionTemplate.execute(status -> accountRepository.findById(accountId)
+                .map(account -> new LedgerAccount(
+                        account.getBalance().plus(stripedBalances.pending(accountId)), account.isActive())));
+    }
+
+    @Override
+    public List<TransferResponse> commit(List<TransferRequest> transfers, Map<Integer, Long> deltas) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            deltas.forEach((accountId, delta) -> adjust(accountId, delta, now));
+            accountCache.evictAfterCommit(deltas.keySet());
+            return journalPipeline.appendAll(transfers).stream().map(TransferMapper::toResponse).toList();
+        });
+    }
+
+    private void adjust(Integer accountId, long delta, LocalDateTime now) {
+        if (delta == 0) {
+            if (accountRepository.existsByAccountIdAndStatus(accountId, AccountStatusEnum.ACTIVE)) {
+                return;
+            }
+            throw new StaleLedgerException(accountId, delta);
+        }
+        if (accountRepository.adjustBalanceIfActive(accountId, delta, now) == 1) {
+            return;
+        }
+        if (delta < 0 && stripedBalances.isStriped(accountId) && stripedBalances.fold(accountId).signum() != 0
+                && accountRepository.adjustBalanceIfActive(accountId, delta, now) == 1) {
+            return;
+        }
+        throw new StaleLedgerException(accountId, delta);
+    }
+}
@@ -0,0 +1,16 @@
+package com.progressive.banking.moneytransfer.engine;
+
+/**
+ * Point-in-time view of the sharded ledger.
+ *
+ * @param groupCommits store commits that succeeded
+ * @param committed    transfers in those commits
+ * @param reexecuted   transfers run again after a reset discarded their in-memory effects
+ * @param resets       times the in-memory state was dropped after a failed commit
+ */
+public record LedgerStats(
+        long groupCommits,
+        long committed,
+        long reexecuted,
+        long resets) {
+}
@@ -0,0 +1,32 @@
+package com.progressive.banking.moneytransfer.engine;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+
+/**
+ * Durable side of the {@link ShardedLedger}.
+ */
+public interface LedgerStore {
+
+    /**
+     * Committed state of one account, empty when it does not exist. Called on the owning
+     * shard's thread the first time the account is touched (and again after a reset).
+     */
+    Optional<LedgerAccount> load(Integer accountId);
+
+    /**
+     * Records the transfers and applies the net balance deltas (minor units) in one transaction.
+     * Returns one response per transfer, in order. A reused idempotency key fails the whole
+     * call with DataIntegrityViolationException, a row that can't take its delta or is no
+     * longer active (changed by another writer) with {@link StaleLedgerException}.
+     */
+    List<TransferResponse> commit(List<TransferRequest> transfers, Map<Integer, Long> deltas);
+
+    record LedgerAccount(Money balance, boolean active) {
+    }
+}
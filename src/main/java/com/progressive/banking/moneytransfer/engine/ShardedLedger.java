@@ -0,0 +1,481 @@
+package com.progressive.banking.moneytransfer.engine;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.engine.LedgerStore.LedgerAccount;
+import com.progressive.banking.moneytransfer.exception.AccountNotActiveException;
+import com.progressive.banking.moneytransfer.exception.AccountNotFoundException;
+import com.progressive.banking.moneytransfer.exception.InsufficientBalanceException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Balances held in memory by account-owning shards, persisted by group commit.
+ *
+ * - every account belongs to one shard (accountId hash); the shard's single thread is the only
+ *   reader and writer of its balances, so transfers on an account apply in arrival order, lock-free
+ * - a same-shard transfer applies both legs in one task; a cross-shard transfer reserves the
+ *   amount on the source shard (debit), then credits on the target shard, and hands the
+ *   reservation back if the target rejects
+ * - applied transfers queue for the committer thread, which writes up to commitBatchSize of
+ *   them per LedgerStore commit; a caller's future completes only after that commit
+ * - a failed commit leaves memory ahead of the store: the epoch is bumped, every shard drops its
+ *   accounts on its next task and reloads them, and transfers applied under the old epoch are
+ *   run again instead of committed. A batch rejected for a reused idempotency key is first
+ *   committed one by one, up to the offending transfer.
+ * - a commit refused because a row no longer covers its debit or is no longer ACTIVE
+ *   (StaleLedgerException) means another writer changed the account: same reload, and the whole
+ *   group runs again against the committed rows, so a stale ledger never takes a balance below
+ *   zero and an account locked or closed in the database stops moving money at its next commit
+ * - each shard keeps at most maxAccountsPerShard accounts; past that the least recently used
+ *   ones with no transfer in flight (applied, not committed) are dropped and reloaded when next
+ *   touched
+ *
+ * The ledger assumes it owns the accounts table: one instance, engine=SHARDED, no /api/v2
+ * transfers (refused at startup). The guarded commit is the safety net, not a way to share rows;
+ * each conflict costs a reload.
+ *
+ * Nothing is acknowledged before it is committed, so after a restart the store is all there is
+ * to recover from. Requests must already have passed TransferServiceImpl.validateRequest.
+ */
+@Slf4j
+public class ShardedLedger implements AutoCloseable {
+
+    private final LedgerStore store;
+    private final Shard[] shards;
+    private final int commitBatchSize;
+    private final int maxAccountsPerShard;
+    private final BlockingQueue<Pending> commitQueue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+
+    // written by the committer thread only
+    private volatile long epoch;
+    private volatile boolean running = true;
+
+    private final LongAdder groupCommits = new LongAdder();
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder reexecuted = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+
+    public ShardedLedger(LedgerStore store, int shardCount, int commitBatchSize, int maxAccountsPerShard) {
+        if (shardCount < 1 || commitBatchSize < 1 || maxAccountsPerShard < 1) {
+            throw new IllegalArgumentException("shards, commitBatchSize and maxAccountsPerShard must be at least 1");
+        }
+        this.store = store;
+        this.commitBatchSize = commitBatchSize;
+        this.maxAccountsPerShard = maxAccountsPerShard;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+        this.committer = new Thread(this::commitLoop, "ledger-committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Completes with the committed transfer, or exceptionally with the same domain exceptions
+     * the database engines throw (or DataIntegrityViolationException for a reused key).
+     */
+    public CompletableFuture<TransferResponse> submit(TransferRequest request) {
+        Pending pending = new Pending(request);
+        execute(pending);
+        return pending.result;
+    }
+
+    /**
+     * In-memory balance, including transfers not committed yet; empty for unknown accounts.
+     */
+    public CompletableFuture<Optional<Money>> balance(Integer accountId) {
+        CompletableFuture<Optional<Money>> result = new CompletableFuture<>();
+        Shard shard = shardOf(accountId);
+        shard.run(result, () -> {
+            shard.sync(epoch);
+            Slot slot = shard.slot(accountId);
+            result.complete(Optional.ofNullable(slot).map(s -> Money.ofMinor(s.balance)));
+        });
+        return result;
+    }
+
+    public LedgerStats stats() {
+        return new LedgerStats(groupCommits.sum(), committed.sum(), reexecuted.sum(), resets.sum());
+    }
+
+    /**
+     * Finishes queued shard tasks and commits, then stops the threads.
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+        try {
+            for (Shard shard : shards) {
+                shard.executor.awaitTermination(30, TimeUnit.SECONDS);
+            }
+            running = false;
+            committer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Shard shardOf(Integer accountId) {
+        return shards[Math.floorMod(accountId.hashCode(), shards.length)];
+    }
+
+    private void execute(Pending pending) {
+        Shard from = shardOf(pending.request.getFromAccountId());
+        Shard to = shardOf(pending.request.getToAccountId());
+        from.run(pending.result, () -> reserve(pending, from, to));
+    }
+
+    // ---- shard side ----
+
+    /**
+     * Source shard: checks and debits the source. Same-shard transfers are finished here.
+     */
+    private void reserve(Pending pending, Shard from, Shard to) {
+        long current = epoch;
+        from.sync(current);
+        pending.epoch = current;
+
+        TransferRequest request = pending.request;
+        long amount = request.getAmount().minorUnits();
+        Slot source = from.slot(request.getFromAccountId());
+        if (source == null) {
+            throw new AccountNotFoundException("From account not found: " + request.getFromAccountId());
+        }
+
+        if (to == from) {
+            Slot target = from.slot(request.getToAccountId());
+            if (target == null) {
+                throw new AccountNotFoundException("To account not found: " + request.getToAccountId());
+            }
+            checkDebit(request, source);
+            if (!target.active) {
+                throw new AccountNotActiveException("To account is not active: " + request.getToAccountId());
+            }
+            long credited = Math.addExact(target.balance, amount);
+            source.balance -= amount;
+            target.balance = credited;
+            pending.hold(source);
+            pending.hold(target);
+            commitQueue.add(pending);
+            return;
+        }
+
+        checkDebit(request, source);
+        source.balance -= amount;
+        pending.hold(source);
+        to.run(pending.result, () -> credit(pending, from, to));
+    }
+
+    /**
+     * Target shard: credits the target, or hands the reservation back to the source shard.
+     */
+    private void credit(Pending pending, Shard from, Shard to) {
+        to.sync(epoch);
+        if (to.seen != pending.epoch) {
+            // reset since the reservation: the source shard drops it on its next task
+            reexecute(pending);
+            return;
+        }
+
+        TransferRequest request = pending.request;
+        Slot target;
+        try {
+            target = to.slot(request.getToAccountId());
+            if (target == null) {
+                throw new AccountNotFoundException("To account not found: " + request.getToAccountId());
+            }
+            if (!target.active) {
+                throw new AccountNotActiveException("To account is not active: " + request.getToAccountId());
+            }
+        } catch (RuntimeException ex) {
+            from.run(pending.result, () -> {
+                release(pending, from);
+                pending.result.completeExceptionally(ex);
+            });
+            return;
+        }
+
+        target.balance = Math.addExact(target.balance, request.getAmount().minorUnits());
+        pending.hold(target);
+        commitQueue.add(pending);
+    }
+
+    // the source slot is held until here, so it is still the one the reservation was taken from
+    private void release(Pending pending, Shard from) {
+        from.sync(epoch);
+        if (from.seen == pending.epoch) {
+            Slot source = from.slot(pending.request.getFromAccountId());
+            source.balance += pending.request.getAmount().minorUnits();
+        }
+        pending.unhold();
+    }
+
+    private static void checkDebit(TransferRequest request, Slot source) {
+        if (!source.active) {
+            throw new AccountNotActiveException("From account is not active: " + request.getFromAccountId());
+        }
+        if (source.balance < request.getAmount().minorUnits()) {
+            throw new InsufficientBalanceException(
+                    "Insufficient balance in account " + request.getFromAccountId()
+                            + ". Available=" + Money.ofMinor(source.balance) + ", Required=" + request.getAmount()
+            );
+        }
+    }
+
+    // ---- committer side ----
+
+    private void commitLoop() {
+        List<Pending> batch = new ArrayList<>(commitBatchSize);
+        while (running || !commitQueue.isEmpty()) {
+            try {
+                Pending first = commitQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                commitQueue.drainTo(batch, commitBatchSize - 1);
+                commit(batch);
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Ledger committer failed: {}", ex.getMessage(), ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        long current = epoch;
+        List<Pending> live = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            if (pending.epoch == current) {
+                live.add(pending);
+            } else {
+                reexecute(pending);
+            }
+        }
+        if (live.isEmpty()) {
+            return;
+        }
+
+        try {
+            complete(live, store.commit(requests(live), deltas(live)));
+
+        } catch (DataIntegrityViolationException ex) {
+            if (live.size() == 1) {
+                discardFrom(live, 0, ex);
+            } else {
+                commitOneByOne(live);
+            }
+
+        } catch (StaleLedgerException ex) {
+            log.warn("Group commit of {} transfers refused, reloading accounts: {}", live.size(), ex.getMessage());
+            bumpEpoch();
+            live.forEach(this::reexecute);
+
+        } catch (RuntimeException ex) {
+            log.error("Group commit of {} transfers failed, reloading accounts: {}", live.size(), ex.getMessage(), ex);
+            bumpEpoch();
+            live.forEach(pending -> fail(pending, ex));
+        }
+    }
+
+    /**
+     * Commits in arrival order until one fails; later transfers may have spent its credit, so
+     * they are run again against reloaded balances.
+     */
+    private void commitOneByOne(List<Pending> live) {
+        for (int i = 0; i < live.size(); i++) {
+            List<Pending> single = live.subList(i, i + 1);
+            try {
+                complete(single, store.commit(requests(single), deltas(single)));
+            } catch (StaleLedgerException ex) {
+                bumpEpoch();
+                live.subList(i, live.size()).forEach(this::reexecute);
+                return;
+            } catch (RuntimeException ex) {
+                discardFrom(live, i, ex);
+                return;
+            }
+        }
+    }
+
+    private void discardFrom(List<Pending> live, int failed, RuntimeException cause) {
+        bumpEpoch();
+        fail(live.get(failed), cause);
+        live.subList(failed + 1, live.size()).forEach(this::reexecute);
+    }
+
+    private void complete(List<Pending> done, List<TransferResponse> responses) {
+        for (int i = 0; i < done.size(); i++) {
+            done.get(i).unhold();
+            done.get(i).result.complete(responses.get(i));
+        }
+        groupCommits.increment();
+        committed.add(done.size());
+    }
+
+    private void fail(Pending pending, RuntimeException cause) {
+        pending.unhold();
+        pending.result.completeExceptionally(cause);
+    }
+
+    private void reexecute(Pending pending) {
+        pending.unhold();
+        reexecuted.increment();
+        execute(pending);
+    }
+
+    private void bumpEpoch() {
+        epoch++;
+        resets.increment();
+    }
+
+    private static List<TransferRequest> requests(List<Pending> pendings) {
+        List<TransferRequest> requests = new ArrayList<>(pendings.size());
+        for (Pending pending : pendings) {
+            requests.add(pending.request);
+        }
+        return requests;
+    }
+
+    // one signed delta per account, ascending accountId so row locks are taken in a fixed order
+    private static Map<Integer, Long> deltas(List<Pending> pendings) {
+        Map<Integer, Long> deltas = new TreeMap<>();
+        for (Pending pending : pendings) {
+            TransferRequest request = pending.request;
+            long amount = request.getAmount().minorUnits();
+            deltas.merge(request.getFromAccountId(), -amount, Math::addExact);
+            deltas.merge(request.getToAccountId(), amount, Math::addExact);
+        }
+        return deltas;
+    }
+
+    private static final class Pending {
+        final TransferRequest request;
+        final CompletableFuture<TransferResponse> result = new CompletableFuture<>();
+        // epoch the source leg was applied under; read by the target shard and the committer
+        volatile long epoch = -1;
+        // slots this transfer changed and that may not be evicted until it commits or is dropped;
+        // written on the shard threads, cleared by whichever thread settles the transfer
+        private final List<Slot> held = new ArrayList<>(2);
+
+        Pending(TransferRequest request) {
+            this.request = request;
+        }
+
+        synchronized void hold(Slot slot) {
+            slot.inFlight.incrementAndGet();
+            held.add(slot);
+        }
+
+        synchronized void unhold() {
+            held.forEach(slot -> slot.inFlight.decrementAndGet());
+            held.clear();
+        }
+    }
+
+    private static final class Slot {
+        // minor units; a checked debit can't go below zero and credits are addExact
+        long balance;
+        final boolean active;
+        // transfers applied to this balance and not committed yet
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        Slot(LedgerAccount account) {
+            this.balance = account.balance().minorUnits();
+            this.active = account.active();
+        }
+    }
+
+    private final class Shard {
+        final ExecutorService executor;
+        // access order: the eldest entries are the least recently used
+        final Map<Integer, Slot> slots = new LinkedHashMap<>(16, 0.75f, true);
+        long seen;
+
+        Shard(int index) {
+            this.executor = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "ledger-shard-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void run(CompletableFuture<?> result, Runnable task) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } catch (RuntimeException ex) {
+                        result.completeExceptionally(ex);
+                    } finally {
+                        evictIdle();
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                result.completeExceptionally(new IllegalStateException("Ledger is closed"));
+            }
+        }
+
+        void sync(long current) {
+            if (seen != current) {
+                slots.clear();
+                seen = current;
+            }
+        }
+
+        // null when the account does not exist; absent accounts are not cached
+        Slot slot(Integer accountId) {
+            Slot slot = slots.get(accountId);
+            if (slot == null) {
+                Optional<LedgerAccount> loaded = store.load(accountId);
+                if (loaded.isEmpty()) {
+                    return null;
+                }
+                slot = new Slot(loaded.get());
+                slots.put(accountId, slot);
+            }
+            return slot;
+        }
+
+        // between tasks, so every slot a task changed is already held by its transfer; a slot with
+        // a transfer in flight holds uncommitted changes and reloading it would lose them
+        private void evictIdle() {
+            Iterator<Slot> eldest = slots.values().iterator();
+            while (slots.size() > maxAccountsPerShard && eldest.hasNext()) {
+                if (eldest.next().inFlight.get() == 0) {
+                    eldest.remove();
+                }
+            }
+        }
+    }
+}
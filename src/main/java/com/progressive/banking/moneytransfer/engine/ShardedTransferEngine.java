@@ -0,0 +1,81 @@
+package com.progressive.banking.moneytransfer.engine;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.stereotype.Component;
+
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * engine=SHARDED entry point for TransferServiceImpl. The ledger and its threads are created on
+ * the first sharded transfer, with the application.transfer.sharded.* settings of that moment.
+ * The ledger owns the accounts it loaded (see ShardedLedger): run one instance with this engine.
+ */
+@Component
+public class ShardedTransferEngine {
+
+    private final TransferProperties transferProperties;
+    private final LedgerStore store;
+    private volatile ShardedLedger ledger;
+
+    public ShardedTransferEngine(TransferProperties transferProperties, JournalLedgerStore store) {
+        this.transferProperties = transferProperties;
+        this.store = store;
+    }
+
+    /**
+     * Blocks until the transfer is committed; rejections are rethrown unwrapped.
+     */
+    public TransferResponse transfer(TransferRequest request) {
+        return await(submit(request));
+    }
+
+    public CompletableFuture<TransferResponse> submit(TransferRequest request) {
+        return ledger().submit(request);
+    }
+
+    public LedgerStats stats() {
+        ShardedLedger current = ledger;
+        return current == null ? new LedgerStats(0, 0, 0, 0) : current.stats();
+    }
+
+    public static TransferResponse await(CompletableFuture<TransferResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        ShardedLedger current = ledger;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private ShardedLedger ledger() {
+        ShardedLedger current = ledger;
+        if (current == null) {
+            synchronized (this) {
+                current = ledger;
+                if (current == null) {
+                    TransferProperties.Sharded sharded = transferProperties.getSharded();
+                    current = new ShardedLedger(store, sharded.getShards(), sharded.getCommitBatchSize(),
+                            sharded.getMaxAccountsPerShard());
+                    ledger = current;
+                }
+            }
+        }
+        return current;
+    }
+}
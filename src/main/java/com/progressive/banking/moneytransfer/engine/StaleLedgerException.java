@@ -0,0 +1,13 @@
+package com.progressive.banking.moneytransfer.engine;
+
+/**
+ * Thrown by {@link LedgerStore#commit} when an account row no longer covers the ledger's delta
+ * or is no longer active: something other than the ledger changed it. The ledger reloads its
+ * accounts and runs the group's transfers again against the committed rows.
+ */
+public class StaleLedgerException extends RuntimeException {
+
+    public StaleLedgerException(Integer accountId, long delta) {
+        super("Account " + accountId + " can't take a delta of " + delta + " minor units or is not active; changed outside the ledger");
+    }
+}
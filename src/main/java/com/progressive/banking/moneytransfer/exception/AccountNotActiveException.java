@@ -1,6 +1,6 @@
 package com.progressive.banking.moneytransfer.exception;
 
-public class AccountNotActiveException  extends RuntimeException {
+public class AccountNotActiveException  extends BusinessRuleException {
     public AccountNotActiveException(String message) {
         super(message);
     }
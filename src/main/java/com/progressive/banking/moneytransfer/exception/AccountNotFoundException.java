@@ -1,6 +1,6 @@
 package com.progressive.banking.moneytransfer.exception;
 
-public class AccountNotFoundException extends RuntimeException {
+public class AccountNotFoundException extends BusinessRuleException {
     public AccountNotFoundException(String message) {
         super(message);
     }
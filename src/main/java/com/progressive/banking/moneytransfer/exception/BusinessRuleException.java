@@ -0,0 +1,14 @@
+package com.progressive.banking.moneytransfer.exception;
+
+/**
+ * A request refused by a business rule (unknown or inactive account, insufficient balance,
+ * reused idempotency key, invalid amount). These are expected outcomes, often repeated by
+ * retrying clients, so they are stackless: no stack walk when thrown, no frames for a logger
+ * to print. The message says everything there is to say.
+ */
+public abstract class BusinessRuleException extends RuntimeException {
+
+    protected BusinessRuleException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,6 +1,6 @@
 package com.progressive.banking.moneytransfer.exception;
 
-public class DuplicateTransferException extends RuntimeException {
+public class DuplicateTransferException extends BusinessRuleException {
     public DuplicateTransferException(String message) {
         super(message);
     }
@@ -4,23 +4,69 @@ package com.progressive.banking.moneytransfer.exception;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
 import com.progressive.banking.moneytransfer.domain.dto.ErrorResponse;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Counter> rejections = new ConcurrentHashMap<>();
+
+    // falls back to the (no-op unless configured) global registry where metrics are not set up, e.g. web slice tests
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    /**
+     * api.errors{exception,code}: the exception tag is a class simple name, so it stays bounded
+     * by the exception types this application throws.
+     */
+    private void errors(Exception ex, String code) {
+        meterRegistry.counter("api.errors", "exception", ex.getClass().getSimpleName(), "code", code).increment();
+    }
+
+    /**
+     * Business rule rejections are the frequent errors (clients retrying against an empty or
+     * locked account): same counter, looked up once per exception type. They are logged at DEBUG
+     * here; LoggingAspect reports a sample of them.
+     */
+    private void rejected(BusinessRuleException ex, String code) {
+        Counter counter = rejections.get(ex.getClass());
+        if (counter == null) {
+            counter = rejections.computeIfAbsent(ex.getClass(), type ->
+                    meterRegistry.counter("api.errors", "exception", type.getSimpleName(), "code", code));
+        }
+        counter.increment();
+    }
+
+    // the request URI as is, rather than formatting "uri=...;client=..." and cutting it back
+    private static String path(WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest) {
+            return servletRequest.getRequest().getRequestURI();
+        }
+        return request.getDescription(false).replace("uri=", "");
+    }
+
     /**
      * Handle Account Not Found
      */
@@ -29,13 +75,14 @@ public class GlobalExceptionHandler {
             AccountNotFoundException ex, 
             WebRequest request) {
         
-        log.error("Account not found: {}", ex.getMessage());
+        log.debug("Account not found: {}", ex.getMessage());
+        rejected(ex, "ACC-404");
 
         ErrorResponse error = ErrorResponse.builder()
             .errorCode("ACC-404")
             .message(ex.getMessage())
             .timestamp(LocalDateTime.now())
-            .path(request.getDescription(false).replace("uri=", ""))
+            .path(path(request))
             .build();
 
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
@@ -49,13 +96,14 @@ public class GlobalExceptionHandler {
             AccountNotActiveException ex, 
             WebRequest request) {
         
-        log.error("Account not active: {}", ex.getMessage());
+        log.debug("Account not active: {}", ex.getMessage());
+        rejected(ex, "ACC-403");
 
         ErrorResponse error = ErrorResponse.builder()
             .errorCode("ACC-403")
             .message(ex.getMessage())
             .timestamp(LocalDateTime.now())
-            .path(request.getDescription(false).replace("uri=", ""))
+            .path(path(request))
             .build();
 
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
@@ -69,13 +117,14 @@ public class GlobalExceptionHandler {
             InsufficientBalanceException ex, 
             WebRequest request) {
         
-        log.error("Insufficient balance: {}", ex.getMessage());
+        log.debug("Insufficient balance: {}", ex.getMessage());
+        rejected(ex, "TRX-400");
 
         ErrorResponse error = ErrorResponse.builder()
             .errorCode("TRX-400")
             .message(ex.getMessage())
             .timestamp(LocalDateTime.now())
-            .path(request.getDescription(false).replace("uri=", ""))
+            .path(path(request))
             .build();
 
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
@@ -89,18 +138,42 @@ public class GlobalExceptionHandler {
             DuplicateTransferException ex, 
             WebRequest request) {
         
-        log.error("Duplicate transfer: {}", ex.getMessage());
+        log.debug("Duplicate transfer: {}", ex.getMessage());
+        rejected(ex, "TRX-409");
 
         ErrorResponse error = ErrorResponse.builder()
             .errorCode("TRX-409")
             .message(ex.getMessage())
             .timestamp(LocalDateTime.now())
-            .path(request.getDescription(false).replace("uri=", ""))
+            .path(path(request))
             .build();
 
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    /**
+     * Handle Login Shedding: the login pool and its queue are full
+     */
+    @ExceptionHandler(LoginOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleLoginOverloadedException(
+            LoginOverloadedException ex,
+            WebRequest request) {
+
+        log.warn("Login shed: {}", ex.getMessage());
+        errors(ex, "AUTH-503");
+
+        ErrorResponse error = ErrorResponse.builder()
+            .errorCode("AUTH-503")
+            .message(ex.getMessage())
+            .timestamp(LocalDateTime.now())
+            .path(path(request))
+            .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+            .body(error);
+    }
+
     /**
      * Handle Validation Errors
      */
@@ -110,6 +183,7 @@ public class GlobalExceptionHandler {
             WebRequest request) {
         
         log.error("Validation failed: {}", ex.getMessage());
+        errors(ex, "VAL-422");
 
         Map<String, String> validationErrors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
@@ -122,7 +196,7 @@ public class GlobalExceptionHandler {
             .errorCode("VAL-422")
             .message("Validation failed")
             .timestamp(LocalDateTime.now())
-            .path(request.getDescription(false).replace("uri=", ""))
+            .path(path(request))
             .details(validationErrors)
             .build();
 
@@ -138,12 +212,35 @@ public class GlobalExceptionHandler {
             WebRequest request) {
         
         log.error("Illegal argument: {}", ex.getMessage());
+        errors(ex, "VAL-422");
 
         ErrorResponse error = ErrorResponse.builder()
             .errorCode("VAL-422")
             .message(ex.getMessage())
             .timestamp(LocalDateTime.now())
-            .path(request.getDescription(false).replace("uri=", ""))
+            .path(path(request))
+            .build();
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
+    /**
+     * Handle Unreadable Body (malformed JSON, or an amount with more than two decimal places),
+     * as the reactive routes do with ServerWebInputException
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(
+            HttpMessageNotReadableException ex,
+            WebRequest request) {
+
+        log.error("Unreadable request body: {}", ex.getMessage());
+        errors(ex, "VAL-422");
+
+        ErrorResponse error = ErrorResponse.builder()
+            .errorCode("VAL-422")
+            .message("Malformed request body")
+            .timestamp(LocalDateTime.now())
+            .path(path(request))
             .build();
 
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
@@ -158,12 +255,13 @@ public class GlobalExceptionHandler {
             WebRequest request) {
         
         log.error("Unexpected error occurred: {}", ex.getMessage(), ex);
+        errors(ex, "SYS-500");
 
         ErrorResponse error = ErrorResponse.builder()
             .errorCode("SYS-500")
             .message("An unexpected error occurred. Please try again later.")
             .timestamp(LocalDateTime.now())
-            .path(request.getDescription(false).replace("uri=", ""))
+            .path(path(request))
             .build();
 
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
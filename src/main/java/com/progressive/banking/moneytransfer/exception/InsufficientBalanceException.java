@@ -1,7 +1,7 @@
 package com.progressive.banking.moneytransfer.exception;
 
 
-public class InsufficientBalanceException extends RuntimeException {
+public class InsufficientBalanceException extends BusinessRuleException {
     public InsufficientBalanceException(String message) {
         super(message);
     }
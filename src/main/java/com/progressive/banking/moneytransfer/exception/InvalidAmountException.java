@@ -1,7 +1,7 @@
 package com.progressive.banking.moneytransfer.exception;
 
 
-public class InvalidAmountException extends RuntimeException {
+public class InvalidAmountException extends BusinessRuleException {
     public InvalidAmountException(String message) {
         super(message);
     }
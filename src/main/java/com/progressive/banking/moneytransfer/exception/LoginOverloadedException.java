@@ -0,0 +1,17 @@
+package com.progressive.banking.moneytransfer.exception;
+
+import java.time.Duration;
+
+public class LoginOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public LoginOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
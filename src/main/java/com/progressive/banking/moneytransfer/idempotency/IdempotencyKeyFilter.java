@@ -0,0 +1,125 @@
+package com.progressive.banking.moneytransfer.idempotency;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of idempotency keys this instance has committed.
+ *
+ * mightContain == false means the key is definitely new to this instance, so the
+ * DB probe can be skipped. Two generations are kept: once the current one has taken
+ * expectedKeys insertions it becomes the previous one and a fresh generation starts,
+ * which keeps the false-positive rate bounded without ever growing memory.
+ * Keys older than two generations (or committed by another instance) are "forgotten";
+ * the unique constraint on transaction_log.idempotencyKey still catches them.
+ *
+ * Lock-free: bits are set with CAS on an AtomicLongArray.
+ */
+public final class IdempotencyKeyFilter {
+
+    private final int expectedKeys;
+    private final int bitCount;
+    private final int hashCount;
+
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+    private final AtomicLong insertions = new AtomicLong();
+
+    public IdempotencyKeyFilter(int expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("expectedKeys must be > 0");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        this.expectedKeys = expectedKeys;
+
+        // m = -n ln(p) / (ln 2)^2, k = m/n ln 2
+        long bits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * Math.log(2)));
+
+        this.current = newGeneration();
+        this.previous = newGeneration();
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash64(key);
+        return contains(current, hash) || contains(previous, hash);
+    }
+
+    public void put(String key) {
+        long hash = hash64(key);
+        AtomicLongArray bits = current;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long old;
+            do {
+                old = bits.get(word);
+                if ((old & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, old, old | mask));
+        }
+
+        if (insertions.incrementAndGet() == expectedKeys) {
+            rotate();
+        }
+    }
+
+    public int bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private synchronized void rotate() {
+        previous = current;
+        current = newGeneration();
+        insertions.set(0);
+    }
+
+    private boolean contains(AtomicLongArray bits, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = index(h1 + i * h2);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(int combined) {
+        return (combined & Integer.MAX_VALUE) % bitCount;
+    }
+
+    private AtomicLongArray newGeneration() {
+        return new AtomicLongArray((bitCount + 63) >>> 6);
+    }
+
+    /**
+     * FNV-1a over the UTF-16 chars followed by a murmur3 finalizer,
+     * so the two 32-bit halves are independent enough for double hashing.
+     */
+    private static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
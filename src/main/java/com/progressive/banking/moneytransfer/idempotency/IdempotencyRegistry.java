@@ -0,0 +1,177 @@
+package com.progressive.banking.moneytransfer.idempotency;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.progressive.banking.moneytransfer.archive.TransactionLogArchive;
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.mapper.TransferMapper;
+import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
+import com.progressive.banking.moneytransfer.repository.TransferJournalRepository;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Idempotency lookups in front of {@code transactionLogRepository.findByIdempotencyKey}.
+ *
+ * Order of checks:
+ * 1) filter says the key was never committed here -> new, no DB probe
+ * 2) recently committed key -> cached TransferResponse
+ * 3) otherwise probe transaction_log, then transfer_journal (write-behind entries not drained yet),
+ *    then, once months were archived, the key register and the key's archived month
+ *
+ * The filter only knows this instance's keys, so a "new" answer can be wrong for a key
+ * committed elsewhere or long ago; the unique constraint on insert is the backstop
+ * (see {@link #probe(String)} and TransferServiceImpl).
+ */
+@Component
+public class IdempotencyRegistry {
+
+    private final TransactionLogRepository transactionLogRepository;
+    private final TransferJournalRepository transferJournalRepository;
+    private final TransactionLogArchive archive;
+    private final Cache<String, TransferResponse> responses;
+    private final IdempotencyKeyFilter filter;
+
+    private final LongAdder filterSkips = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder dbHits = new LongAdder();
+    private final LongAdder constraintHits = new LongAdder();
+
+    public IdempotencyRegistry(TransactionLogRepository transactionLogRepository,
+                               TransferJournalRepository transferJournalRepository,
+                               TransferProperties transferProperties,
+                               TransactionLogArchive archive) {
+        TransferProperties.Idempotency config = transferProperties.getIdempotency();
+        this.transactionLogRepository = transactionLogRepository;
+        this.transferJournalRepository = transferJournalRepository;
+        this.archive = archive;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(config.getCacheMaxSize())
+                .expireAfterWrite(config.getCacheTtl())
+                .build();
+        this.filter = config.isFilterEnabled()
+                ? new IdempotencyKeyFilter(config.getFilterExpectedKeys(), config.getFilterFalsePositiveRate())
+                : null;
+    }
+
+    /**
+     * Returns the committed result for this key, if there is one.
+     */
+    public Optional<TransferResponse> lookup(String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+
+        if (filter != null && !filter.mightContain(idempotencyKey)) {
+            filterSkips.increment();
+            return Optional.empty();
+        }
+
+        TransferResponse cached = responses.getIfPresent(idempotencyKey);
+        if (cached != null) {
+            cacheHits.increment();
+            return Optional.of(cached);
+        }
+
+        cacheMisses.increment();
+        return probe(idempotencyKey);
+    }
+
+    /**
+     * Goes straight to the database, bypassing the filter.
+     * Used after the unique constraint rejected an insert.
+     */
+    public Optional<TransferResponse> probe(String idempotencyKey) {
+        Optional<TransferResponse> existing = transactionLogRepository.findByIdempotencyKey(idempotencyKey)
+                .map(TransferMapper::toResponse)
+                .or(() -> transferJournalRepository.findByIdempotencyKey(idempotencyKey).map(TransferMapper::toResponse))
+                .or(() -> archived(idempotencyKey));
+        existing.ifPresent(response -> {
+            dbHits.increment();
+            remember(response);
+        });
+        return existing;
+    }
+
+    /**
+     * {@link #lookup(String)} for the reactive API: the same filter and cache, with the
+     * database probe supplied by the caller so nothing blocks.
+     */
+    public Mono<TransferResponse> lookup(String idempotencyKey, Function<String, Mono<TransferResponse>> dbProbe) {
+        if (idempotencyKey == null) {
+            return Mono.empty();
+        }
+
+        if (filter != null && !filter.mightContain(idempotencyKey)) {
+            filterSkips.increment();
+            return Mono.empty();
+        }
+
+        TransferResponse cached = responses.getIfPresent(idempotencyKey);
+        if (cached != null) {
+            cacheHits.increment();
+            return Mono.just(cached);
+        }
+
+        cacheMisses.increment();
+        return probe(idempotencyKey, dbProbe);
+    }
+
+    /**
+     * {@link #probe(String)} for the reactive API.
+     */
+    public Mono<TransferResponse> probe(String idempotencyKey, Function<String, Mono<TransferResponse>> dbProbe) {
+        Mono<TransferResponse> archivedProbe = Mono.defer(() -> archive.isEmpty()
+                ? Mono.<TransferResponse>empty()
+                : Mono.fromCallable(() -> archived(idempotencyKey).orElse(null)).subscribeOn(Schedulers.boundedElastic()));
+        return dbProbe.apply(idempotencyKey).switchIfEmpty(archivedProbe).doOnNext(response -> {
+            dbHits.increment();
+            remember(response);
+        });
+    }
+
+    /**
+     * Call only after the transaction that wrote this response has committed.
+     */
+    public void remember(TransferResponse response) {
+        if (response == null || response.getIdempotencyKey() == null) {
+            return;
+        }
+        responses.put(response.getIdempotencyKey(), response);
+        if (filter != null) {
+            filter.put(response.getIdempotencyKey());
+        }
+    }
+
+    // the transfer's row left transaction_log with its month: find the month, then the row
+    private Optional<TransferResponse> archived(String idempotencyKey) {
+        if (archive.isEmpty()) {
+            return Optional.empty();
+        }
+        return transactionLogRepository.findRegisteredKeyCreatedOn(idempotencyKey)
+                .flatMap(createdOn -> archive.findByIdempotencyKey(idempotencyKey, createdOn))
+                .map(TransferMapper::toResponse);
+    }
+
+    public void recordConstraintHit() {
+        constraintHits.increment();
+    }
+
+    public IdempotencyStats stats() {
+        return new IdempotencyStats(
+                filterSkips.sum(),
+                cacheHits.sum(),
+                cacheMisses.sum(),
+                dbHits.sum(),
+                constraintHits.sum());
+    }
+}
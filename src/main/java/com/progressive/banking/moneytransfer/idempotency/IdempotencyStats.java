@@ -0,0 +1,23 @@
+package com.progressive.banking.moneytransfer.idempotency;
+
+/**
+ * Point-in-time counters of the idempotency layer.
+ *
+ * @param filterSkips   lookups answered "definitely new" by the filter (no cache, no DB)
+ * @param cacheHits     lookups answered from the response cache
+ * @param cacheMisses   lookups that missed the cache and probed the DB
+ * @param dbHits        DB probes that found an existing transaction
+ * @param constraintHits duplicates only caught by the unique constraint on insert
+ */
+public record IdempotencyStats(
+        long filterSkips,
+        long cacheHits,
+        long cacheMisses,
+        long dbHits,
+        long constraintHits) {
+
+    public double dbProbeAvoidanceRatio() {
+        long lookups = filterSkips + cacheHits + cacheMisses;
+        return lookups == 0 ? 0.0 : (double) (filterSkips + cacheHits) / lookups;
+    }
+}
@@ -0,0 +1,32 @@
+package com.progressive.banking.moneytransfer.journal;
+
+import java.util.List;
+
+/**
+ * Result of {@link TransferJournalPipeline#reconcile()}.
+ *
+ * Every committed transfer has exactly one of a transfer_journal row or a transaction_log row,
+ * because the journal row commits with the balance change and is deleted in the same
+ * transaction that inserts its log row. The check verifies that from both sides, and that each
+ * account's balance moved by exactly the net of those rows since the previous call.
+ *
+ * @param backlog            rows still waiting in transfer_journal
+ * @param staleEntries       rows older than reconcile-stale-after (drainer stuck or behind)
+ * @param alreadyLogged      rows whose transaction_log row exists too (would be double-counted)
+ * @param checkedAccounts    accounts compared with the previous call (0 on the first call)
+ * @param mismatchedAccounts accounts whose balance change differs from their logged transfers
+ * @param unexplainedTotal   sum of those differences in minor units; non-zero means money was
+ *                           created or destroyed, not just booked to the wrong account
+ */
+public record JournalReconciliation(
+        long backlog,
+        long staleEntries,
+        long alreadyLogged,
+        long checkedAccounts,
+        List<Integer> mismatchedAccounts,
+        long unexplainedTotal) {
+
+    public boolean isClean() {
+        return staleEntries == 0 && alreadyLogged == 0 && mismatchedAccounts.isEmpty();
+    }
+}
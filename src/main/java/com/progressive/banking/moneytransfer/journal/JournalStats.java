@@ -0,0 +1,27 @@
+package com.progressive.banking.moneytransfer.journal;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Point-in-time view of the write-behind pipeline.
+ *
+ * @param queueDepth   entries waiting in the in-memory queue
+ * @param published    entries handed to the queue after commit
+ * @param overflowed   entries the full queue refused; left for the journal sweep
+ * @param drained      journal entries moved into transaction_log
+ * @param drainBatches drain transactions committed
+ * @param backlog      rows still in transfer_journal (DB count)
+ * @param oldestPendingAge age of the oldest undrained row, {@link Duration#ZERO} when empty
+ * @param lastDrainAt  when the last drain batch committed, null before the first one
+ */
+public record JournalStats(
+        int queueDepth,
+        long published,
+        long overflowed,
+        long drained,
+        long drainBatches,
+        long backlog,
+        Duration oldestPendingAge,
+        LocalDateTime lastDrainAt) {
+}
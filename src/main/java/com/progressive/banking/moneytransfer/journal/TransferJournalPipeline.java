@@ -0,0 +1,367 @@
+package com.progressive.banking.moneytransfer.journal;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.progressive.banking.moneytransfer.archive.TransactionLogArchive;
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.TransferJournal;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
+import com.progressive.banking.moneytransfer.repository.TransferJournalRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind path for transaction_log (log-mode=WRITE_BEHIND).
+ *
+ * - {@link #append(TransferRequest)} writes a compact transfer_journal row inside the
+ *   transfer's transaction and, after commit, offers it to a bounded in-memory queue
+ * - one drainer thread moves queued entries into transaction_log in large JDBC batches
+ *   and deletes their journal rows, in the same transaction
+ * - when the queue is full a producer waits at most offer-timeout (backpressure) and then
+ *   leaves the entry to the journal sweep; nothing is lost, the journal row is already committed
+ * - the sweep reads transfer_journal in id order: on startup (recovery after a crash),
+ *   after an overflow, and periodically while the mode is on
+ *
+ * transaction_log, and therefore the account history, lags behind balances by the drain delay.
+ */
+@Component
+@Slf4j
+public class TransferJournalPipeline {
+
+    private final TransferJournalRepository journalRepository;
+    private final TransactionLogRepository transactionLogRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionLogArchive archive;
+    private final TransferProperties transferProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<TransferJournal> queue;
+
+    // queue and sweep draining can be triggered by the drainer thread and by drainNow()
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder drained = new LongAdder();
+    private final LongAdder drainBatches = new LongAdder();
+    private volatile LocalDateTime lastDrainAt;
+
+    // balance drift per account as of the previous reconcile(), and the created_on it counts from
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    private Map<Integer, Long> checkpointDrift;
+    private LocalDateTime checkpointSince;
+
+    private volatile boolean sweepRequested = true; // recover leftovers from a previous run
+    private volatile boolean running;
+    private Thread drainer;
+
+    public TransferJournalPipeline(TransferJournalRepository journalRepository,
+                                   TransactionLogRepository transactionLogRepository,
+                                   AccountRepository accountRepository,
+                                   TransactionLogArchive archive,
+                                   TransferProperties transferProperties,
+                                   PlatformTransactionManager transactionManager) {
+        this.journalRepository = journalRepository;
+        this.transactionLogRepository = transactionLogRepository;
+        this.accountRepository = accountRepository;
+        this.archive = archive;
+        this.transferProperties = transferProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(transferProperties.getWriteBehind().getQueueCapacity());
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        drainer = new Thread(this::drainLoop, "transfer-journal-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        drainer.interrupt();
+        drainer.join(transferProperties.getWriteBehind().getSweepInterval().toMillis() * 2);
+    }
+
+    /**
+     * Writes the journal row for a successful transfer. Must run inside the transfer's transaction.
+     */
+    public TransferJournal append(TransferRequest request) {
+        return appendAll(List.of(request)).get(0);
+    }
+
+    /**
+     * Writes journal rows for successful transfers and queues them once the transaction commits.
+     *
+     * The idempotency unique constraint can't span transfer_journal and transaction_log: the
+     * journal's own constraint covers keys still pending, and keys already drained are checked
+     * after the rows are flushed, with a locking read so a drain that committed meanwhile is seen
+     * even under REPEATABLE READ. Once months were archived, keys whose row left with its month
+     * are checked in the key register too: its trigger (MySQL) only fires when the drain inserts,
+     * after the money already moved, and elsewhere nothing else would catch them. All of these
+     * surface as DataIntegrityViolationException, like a constraint hit on a direct
+     * transaction_log insert.
+     */
+    public List<TransferJournal> appendAll(List<TransferRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+
+        List<TransferJournal> entries = new ArrayList<>(requests.size());
+        for (TransferRequest request : requests) {
+            TransferJournal entry = new TransferJournal();
+            entry.setFromAccountId(request.getFromAccountId());
+            entry.setToAccountId(request.getToAccountId());
+            entry.setAmount(request.getAmount().toBigDecimal());
+            entry.setIdempotencyKey(request.getIdempotencyKey());
+            entries.add(entry);
+        }
+        List<TransferJournal> saved = journalRepository.saveAllAndFlush(entries);
+
+        List<String> keys = requests.stream().map(TransferRequest::getIdempotencyKey).toList();
+        List<String> drainedKeys = transactionLogRepository.findLoggedIdempotencyKeys(keys);
+        if (!drainedKeys.isEmpty()) {
+            throw new DataIntegrityViolationException("idempotencyKey already in transaction_log: " + drainedKeys);
+        }
+        if (!archive.isEmpty()) {
+            List<String> archivedKeys = transactionLogRepository.findRegisteredKeys(keys);
+            if (!archivedKeys.isEmpty()) {
+                throw new DataIntegrityViolationException("idempotencyKey already in transaction_log_key: " + archivedKeys);
+            }
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                saved.forEach(TransferJournalPipeline.this::publish);
+            }
+        });
+        return saved;
+    }
+
+    /**
+     * Drains the queue and the whole journal on the calling thread.
+     */
+    public void drainNow() {
+        drainLock.lock();
+        try {
+            List<TransferJournal> batch = new ArrayList<>();
+            while (queue.drainTo(batch, batchSize()) > 0) {
+                drainQueued(batch);
+                batch.clear();
+            }
+            sweep();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * Lag metrics. backlog and oldestPendingAge are read from the database on each call.
+     */
+    public JournalStats stats() {
+        LocalDateTime oldest = journalRepository.findOldestCreatedOn().orElse(null);
+        Duration age = oldest == null ? Duration.ZERO : Duration.between(oldest, LocalDateTime.now());
+        return new JournalStats(
+                queue.size(),
+                published.sum(),
+                overflowed.sum(),
+                drained.sum(),
+                drainBatches.sum(),
+                journalRepository.count(),
+                age.isNegative() ? Duration.ZERO : age,
+                lastDrainAt);
+    }
+
+    /**
+     * Journal health plus the money check: since the previous call, every account's balance
+     * (row plus stripes) must have moved by exactly the net of its successful transfers in
+     * transaction_log and transfer_journal. A balance written without its log row, or a log row
+     * lost or deleted, shows up as a mismatch on both accounts of the transfer.
+     *
+     * The first call only takes the checkpoint. Each call moves it forward, so a mismatch is
+     * reported once (and logged) and the next call covers only the rows logged since. Rows count
+     * from reconcile-slack before the checkpoint, so a transfer whose row was stamped before the
+     * checkpoint but committed after it is still counted.
+     */
+    public JournalReconciliation reconcile() {
+        TransferProperties.WriteBehind writeBehind = transferProperties.getWriteBehind();
+        LocalDateTime now = LocalDateTime.now();
+        long backlog = journalRepository.count();
+        long stale = journalRepository.countOlderThan(now.minus(writeBehind.getReconcileStaleAfter()));
+        long alreadyLogged = journalRepository.countAlreadyLogged();
+
+        reconcileLock.lock();
+        try {
+            long checked = 0;
+            long unexplained = 0;
+            List<Integer> mismatched = new ArrayList<>();
+            if (checkpointDrift != null) {
+                Map<Integer, Long> drift = accountRepository.findBalanceDrift(checkpointSince);
+                for (Map.Entry<Integer, Long> account : drift.entrySet()) {
+                    Long before = checkpointDrift.get(account.getKey());
+                    if (before == null) {
+                        continue; // opened since the checkpoint
+                    }
+                    checked++;
+                    long difference = account.getValue() - before;
+                    if (difference != 0) {
+                        mismatched.add(account.getKey());
+                        unexplained += difference;
+                    }
+                }
+                if (!mismatched.isEmpty()) {
+                    log.error("Balance check since {}: {} account(s) moved by other than their logged transfers "
+                                    + "(unexplained total {} minor units), e.g. {}",
+                            checkpointSince, mismatched.size(), unexplained,
+                            mismatched.subList(0, Math.min(10, mismatched.size())));
+                }
+            }
+            checkpointSince = now.minus(writeBehind.getReconcileSlack());
+            checkpointDrift = accountRepository.findBalanceDrift(checkpointSince);
+            return new JournalReconciliation(backlog, stale, alreadyLogged, checked, mismatched, unexplained);
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void publish(TransferJournal entry) {
+        boolean accepted;
+        try {
+            accepted = queue.offer(entry,
+                    transferProperties.getWriteBehind().getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+
+        if (accepted) {
+            published.increment();
+        } else {
+            overflowed.increment();
+            sweepRequested = true;
+        }
+    }
+
+    private void drainLoop() {
+        long sweepMillis = transferProperties.getWriteBehind().getSweepInterval().toMillis();
+        while (running) {
+            try {
+                TransferJournal first = queue.poll(sweepMillis, TimeUnit.MILLISECONDS);
+                drainLock.lock();
+                try {
+                    if (first != null) {
+                        List<TransferJournal> batch = new ArrayList<>(batchSize());
+                        batch.add(first);
+                        queue.drainTo(batch, batchSize() - 1);
+                        drainQueued(batch);
+                    }
+                    if (sweepRequested
+                            || (first == null && transferProperties.getLogMode() == TransferProperties.LogMode.WRITE_BEHIND)) {
+                        sweep();
+                    }
+                } finally {
+                    drainLock.unlock();
+                }
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                // entries stay in transfer_journal; the next sweep retries them
+                log.error("Journal drain failed, retrying on next sweep: {}", ex.getMessage(), ex);
+                sweepRequested = true;
+                sleepQuietly(sweepMillis);
+            }
+        }
+    }
+
+    private void drainQueued(List<TransferJournal> batch) {
+        try {
+            drainBatch(batch);
+        } catch (DataIntegrityViolationException ex) {
+            // already drained by a sweep (or another instance) between commit and publish
+            log.debug("Queued journal batch of {} already drained, sweeping instead", batch.size());
+            sweepRequested = true;
+        }
+    }
+
+    /**
+     * Reads transfer_journal in id order and drains it. A batch that fails is retried row by row
+     * so one bad entry (left in the journal, reported by reconcile()) can't block the others.
+     */
+    private void sweep() {
+        sweepRequested = false;
+        int batchSize = batchSize();
+        Integer after = 0;
+        while (true) {
+            List<TransferJournal> page = journalRepository
+                    .findByTransactionIdGreaterThanOrderByTransactionIdAsc(after, PageRequest.of(0, batchSize));
+            if (page.isEmpty()) {
+                return;
+            }
+            try {
+                drainBatch(page);
+            } catch (DataIntegrityViolationException ex) {
+                page.forEach(this::drainSingle);
+            }
+            if (page.size() < batchSize) {
+                return;
+            }
+            after = page.get(page.size() - 1).getTransactionId();
+        }
+    }
+
+    private void drainSingle(TransferJournal entry) {
+        try {
+            drainBatch(List.of(entry));
+        } catch (DataIntegrityViolationException ex) {
+            log.error("Journal entry {} (idempotencyKey={}) can't be moved to transaction_log: {}",
+                    entry.getTransactionId(), entry.getIdempotencyKey(), ex.getMessage());
+        }
+    }
+
+    private void drainBatch(List<TransferJournal> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionLogRepository.insertDrained(batch);
+            journalRepository.deleteAllByIdInBatch(batch.stream().map(TransferJournal::getTransactionId).toList());
+        });
+        drained.add(batch.size());
+        drainBatches.increment();
+        lastDrainAt = LocalDateTime.now();
+    }
+
+    private int batchSize() {
+        return transferProperties.getWriteBehind().getBatchSize();
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
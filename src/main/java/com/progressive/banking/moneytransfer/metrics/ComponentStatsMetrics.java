@@ -0,0 +1,132 @@
+package com.progressive.banking.moneytransfer.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import org.springframework.stereotype.Component;
+
+import com.progressive.banking.moneytransfer.archive.ArchiveStats;
+import com.progressive.banking.moneytransfer.archive.TransactionLogArchiver;
+import com.progressive.banking.moneytransfer.cache.AccountCache;
+import com.progressive.banking.moneytransfer.cache.AccountCacheStats;
+import com.progressive.banking.moneytransfer.idempotency.IdempotencyRegistry;
+import com.progressive.banking.moneytransfer.idempotency.IdempotencyStats;
+import com.progressive.banking.moneytransfer.journal.JournalStats;
+import com.progressive.banking.moneytransfer.journal.TransferJournalPipeline;
+import com.progressive.banking.moneytransfer.security.CredentialVerifier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the stats() snapshots of the idempotency layer, the write-behind journal, the
+ * account cache and the transaction_log archive, and the login pool's queue, as meters.
+ *
+ * A scrape reads many meters of one component; each snapshot is reused for a second so a
+ * scrape takes one stats() per component (the journal's runs two COUNT queries).
+ */
+@Component
+public class ComponentStatsMetrics implements MeterBinder {
+
+    private static final long SNAPSHOT_TTL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Supplier<IdempotencyStats> idempotency;
+    private final Supplier<JournalStats> journal;
+    private final Supplier<AccountCacheStats> accountCache;
+    private final Supplier<ArchiveStats> archive;
+    private final CredentialVerifier credentialVerifier;
+
+    public ComponentStatsMetrics(IdempotencyRegistry idempotencyRegistry,
+                                 TransferJournalPipeline journalPipeline,
+                                 AccountCache accountCache,
+                                 TransactionLogArchiver archiver,
+                                 CredentialVerifier credentialVerifier) {
+        this.idempotency = snapshot(idempotencyRegistry::stats);
+        this.journal = snapshot(journalPipeline::stats);
+        this.accountCache = snapshot(accountCache::stats);
+        this.archive = snapshot(archiver::stats);
+        this.credentialVerifier = credentialVerifier;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "idempotency.lookups", idempotency, IdempotencyStats::filterSkips, "result", "filter_skip");
+        counter(registry, "idempotency.lookups", idempotency, IdempotencyStats::cacheHits, "result", "cache_hit");
+        counter(registry, "idempotency.lookups", idempotency, IdempotencyStats::cacheMisses, "result", "cache_miss");
+        counter(registry, "idempotency.db.hits", idempotency, IdempotencyStats::dbHits);
+        counter(registry, "idempotency.constraint.hits", idempotency, IdempotencyStats::constraintHits);
+
+        gauge(registry, "journal.queue.depth", journal, JournalStats::queueDepth);
+        gauge(registry, "journal.backlog", journal, JournalStats::backlog);
+        counter(registry, "journal.published", journal, JournalStats::published);
+        counter(registry, "journal.overflowed", journal, JournalStats::overflowed);
+        counter(registry, "journal.drained", journal, JournalStats::drained);
+        counter(registry, "journal.drain.batches", journal, JournalStats::drainBatches);
+        timeGauge(registry, "journal.oldest.pending.age", journal, JournalStats::oldestPendingAge);
+
+        counter(registry, "account.cache.requests", accountCache, AccountCacheStats::hits, "result", "hit");
+        counter(registry, "account.cache.requests", accountCache, AccountCacheStats::misses, "result", "miss");
+        counter(registry, "account.cache.raced.loads", accountCache, AccountCacheStats::racedLoads);
+        counter(registry, "account.cache.invalidations", accountCache, AccountCacheStats::invalidations);
+        counter(registry, "account.cache.evictions", accountCache, AccountCacheStats::evictions);
+        gauge(registry, "account.cache.size", accountCache, AccountCacheStats::size);
+        timeGauge(registry, "account.cache.served.age.max", accountCache, AccountCacheStats::maxServedAge);
+
+        gauge(registry, "archive.segments", archive, ArchiveStats::segments);
+        gauge(registry, "archive.rows", archive, ArchiveStats::rows);
+        gauge(registry, "archive.bytes", archive, ArchiveStats::bytes);
+        counter(registry, "archive.published", archive, ArchiveStats::published);
+        counter(registry, "archive.dropped", archive, ArchiveStats::dropped);
+
+        Gauge.builder("login.pool.queue.depth", credentialVerifier, CredentialVerifier::queueDepth)
+                .description("Logins waiting for a BCrypt worker")
+                .register(registry);
+        Gauge.builder("login.pool.active", credentialVerifier, CredentialVerifier::activeCount)
+                .description("BCrypt workers verifying a password")
+                .register(registry);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, Supplier<T> stats,
+                                    ToLongFunction<T> value, String... tags) {
+        FunctionCounter.builder(name, stats, s -> value.applyAsLong(s.get()))
+                .tags(tags)
+                .register(registry);
+    }
+
+    private static <T> void gauge(MeterRegistry registry, String name, Supplier<T> stats, ToDoubleFunction<T> value) {
+        Gauge.builder(name, stats, s -> value.applyAsDouble(s.get()))
+                .register(registry);
+    }
+
+    private static <T> void timeGauge(MeterRegistry registry, String name, Supplier<T> stats,
+                                      Function<T, Duration> value) {
+        TimeGauge.builder(name, stats, TimeUnit.NANOSECONDS, s -> value.apply(s.get()).toNanos())
+                .register(registry);
+    }
+
+    private static <T> Supplier<T> snapshot(Supplier<T> source) {
+        return new Supplier<>() {
+            private volatile T value;
+            private volatile long takenAt;
+
+            @Override
+            public T get() {
+                long now = System.nanoTime();
+                T current = value;
+                if (current == null || now - takenAt > SNAPSHOT_TTL_NANOS) {
+                    current = source.get();
+                    value = current;
+                    takenAt = now;
+                }
+                return current;
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.progressive.banking.moneytransfer.metrics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Transfer pipeline meters. All meters are registered up front with fixed tag values, so the
+ * hot path only looks up an enum slot and records.
+ *
+ * transfer.phase{phase}        time spent in each phase of a single transfer (percentile histogram)
+ * transfer.duration            whole single transfer, idempotency check to commit (percentile histogram)
+ * transfer.outcome{status}     transfers and batch items by final TransactionStatusEnum
+ * transfer.replays             duplicates answered with the original response
+ */
+@Component
+public class TransferMetrics {
+
+    public enum Phase {
+        IDEMPOTENCY, ADMISSION, FETCH, VALIDATION, DEBIT_CREDIT, LOG, COMMIT;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final Map<Phase, Timer> phases = new EnumMap<>(Phase.class);
+    private final Map<TransactionStatusEnum, Counter> outcomes = new EnumMap<>(TransactionStatusEnum.class);
+    private final Timer duration;
+    private final Counter replays;
+
+    public TransferMetrics(MeterRegistry registry) {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, Timer.builder("transfer.phase")
+                    .description("Time spent in one phase of a single transfer")
+                    .tag("phase", phase.tag)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (TransactionStatusEnum status : TransactionStatusEnum.values()) {
+            outcomes.put(status, Counter.builder("transfer.outcome")
+                    .description("Transfers and batch items by final status")
+                    .tag("status", status.name())
+                    .register(registry));
+        }
+        this.duration = Timer.builder("transfer.duration")
+                .description("Single transfer from idempotency check to commit")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.replays = Counter.builder("transfer.replays")
+                .description("Duplicate requests answered with the original response")
+                .register(registry);
+    }
+
+    /**
+     * Meters on a private registry, for tests and benchmarks that build services by hand.
+     */
+    public static TransferMetrics detached() {
+        return new TransferMetrics(new SimpleMeterRegistry());
+    }
+
+    public PhaseClock clock() {
+        return new PhaseClock();
+    }
+
+    public void outcome(TransactionStatusEnum status) {
+        outcomes.get(status).increment();
+    }
+
+    public void replayed() {
+        replays.increment();
+    }
+
+    /**
+     * Laps through the phases of one transfer; each lap records the time since the previous one.
+     * Not thread-safe: one clock per transfer.
+     */
+    public final class PhaseClock {
+
+        private final long startedAt = System.nanoTime();
+        private long last = startedAt;
+
+        private PhaseClock() {
+        }
+
+        public void lap(Phase phase) {
+            long now = System.nanoTime();
+            phases.get(phase).record(now - last, TimeUnit.NANOSECONDS);
+            last = now;
+        }
+
+        // drops the time since the last lap, e.g. a retry backoff
+        public void skip() {
+            last = System.nanoTime();
+        }
+
+        public void stop() {
+            duration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.progressive.banking.moneytransfer.reactive;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.progressive.banking.moneytransfer.aspect.CorrelationIds;
+import com.progressive.banking.moneytransfer.config.RequestLoggingProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * The reactive API's counterpart of LoggingAspect: entry/exit lines per request, keyed by a
+ * correlation id (X-Correlation-Id, or a fresh one).
+ *
+ * The id travels in the Reactor context instead of the MDC: a request hops between event-loop
+ * and R2DBC threads, so a ThreadLocal would leak into other requests. Code on the chain reads
+ * it with {@link #correlationId(ContextView)}. The id is echoed in the response header.
+ */
+@Slf4j
+public class CorrelationIdWebFilter implements WebFilter {
+
+    public static final String CONTEXT_KEY = "correlationId";
+    public static final String HEADER = "X-Correlation-Id";
+
+    private final RequestLoggingProperties properties;
+
+    public CorrelationIdWebFilter(RequestLoggingProperties properties) {
+        this.properties = properties;
+    }
+
+    public static String correlationId(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, "-");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String incoming = exchange.getRequest().getHeaders().getFirst(HEADER);
+        String cid = incoming != null && !incoming.isBlank() ? incoming : CorrelationIds.next();
+        exchange.getResponse().getHeaders().set(HEADER, cid);
+
+        Mono<Void> handled = chain.filter(exchange);
+        if (log.isInfoEnabled() && sampled(properties.getSampleRate().getController())) {
+            String call = exchange.getRequest().getMethod() + " " + exchange.getRequest().getPath().value();
+            long startNs = System.nanoTime();
+            log.info("[{}] --> {}", cid, call);
+            handled = handled.doFinally(signal -> log.info("[{}] <-- {} | status={} timeMs={}",
+                    cid, call, exchange.getResponse().getStatusCode(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs)));
+        }
+        return handled.contextWrite(Context.of(CONTEXT_KEY, cid));
+    }
+
+    private static boolean sampled(double rate) {
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
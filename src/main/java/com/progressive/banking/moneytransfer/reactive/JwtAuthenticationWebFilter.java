@@ -0,0 +1,65 @@
+package com.progressive.banking.moneytransfer.reactive;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.progressive.banking.moneytransfer.security.JwtPrincipal;
+import com.progressive.banking.moneytransfer.security.JwtUtil;
+import com.progressive.banking.moneytransfer.security.TokenRevocationList;
+
+import io.jsonwebtoken.Claims;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bearer authentication for the reactive API. Every request needs a valid, unrevoked token;
+ * otherwise it is answered 401 here.
+ *
+ * Nothing blocks: the token is verified with the shared JwtUtil key ring and checked against
+ * the in-memory TokenRevocationList, and the principal always comes from the claims
+ * (principal-mode=CLAIMS), whatever principal-mode says for /api/v1: a users lookup would be
+ * a JPA query on an event-loop thread. The authentication is put in the Reactor context for
+ * ReactiveSecurityContextHolder.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationList revocationList;
+
+    public JwtAuthenticationWebFilter(JwtUtil jwtUtil, TokenRevocationList revocationList) {
+        this.jwtUtil = jwtUtil;
+        this.revocationList = revocationList;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER)) {
+            return unauthorized(exchange);
+        }
+
+        Claims claims = jwtUtil.verify(header.substring(BEARER.length())).orElse(null);
+        if (claims == null || revocationList.isRevoked(claims)) {
+            return unauthorized(exchange);
+        }
+
+        JwtPrincipal principal = JwtPrincipal.from(claims);
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                principal, null, principal.roles().stream().map(SimpleGrantedAuthority::new).toList());
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth));
+    }
+
+    private static Mono<Void> unauthorized(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        return exchange.getResponse().setComplete();
+    }
+}
@@ -0,0 +1,44 @@
+package com.progressive.banking.moneytransfer.reactive;
+
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variant of AccountController.
+ *
+ * GET /api/v2/accounts/{id}          -> account details
+ * GET /api/v2/accounts/{id}/balance  -> balance
+ *
+ * Cache hits are answered on the event loop without touching the database.
+ */
+public class ReactiveAccountHandler {
+
+    private final ReactiveTransferService service;
+
+    public ReactiveAccountHandler(ReactiveTransferService service) {
+        this.service = service;
+    }
+
+    public Mono<ServerResponse> getAccount(ServerRequest request) {
+        return Mono.fromSupplier(() -> accountId(request))
+                .flatMap(service::getAccount)
+                .flatMap(account -> ServerResponse.ok().bodyValue(account));
+    }
+
+    public Mono<ServerResponse> getBalance(ServerRequest request) {
+        return Mono.fromSupplier(() -> accountId(request))
+                .flatMap(service::getBalance)
+                .flatMap(balance -> ServerResponse.ok().bodyValue(balance));
+    }
+
+    // same rule as @Min(1) on the v1 path variable; a non-number is an IllegalArgumentException too
+    private static Integer accountId(ServerRequest request) {
+        int id = Integer.parseInt(request.pathVariable("id"));
+        if (id < 1) {
+            throw new IllegalArgumentException("id must be >= 1");
+        }
+        return id;
+    }
+}
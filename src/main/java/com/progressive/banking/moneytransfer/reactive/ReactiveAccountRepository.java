@@ -0,0 +1,113 @@
+package com.progressive.banking.moneytransfer.reactive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC counterpart of AccountRepository for the reactive API: the lookups and the guarded
+ * debit/credit statements of the CONDITIONAL_UPDATE engine, in SQL, and StripedBalances.fold.
+ */
+public class ReactiveAccountRepository {
+
+    // balance as reads report it: the row plus credits still on striped-account stripes
+    private static final String FIND_BY_ID =
+            "SELECT a.account_id, a.holder_name, a.balance + COALESCE((SELECT SUM(s.amount) "
+                    + "FROM account_balance_stripes s WHERE s.account_id = a.account_id), 0) AS balance, "
+                    + "a.status, a.version, a.last_updated FROM accounts a WHERE a.account_id = :id";
+
+    // same guards as AccountRepository.debitIfActiveAndSufficient / creditIfActive, version bumped likewise
+    private static final String DEBIT_IF_ACTIVE_AND_SUFFICIENT =
+            "UPDATE accounts SET balance = balance - :amount, version = version + 1, last_updated = :now "
+                    + "WHERE account_id = :id AND status = 'ACTIVE' AND balance >= :amount";
+    private static final String CREDIT_IF_ACTIVE =
+            "UPDATE accounts SET balance = balance + :amount, version = version + 1, last_updated = :now "
+                    + "WHERE account_id = :id AND status = 'ACTIVE'";
+
+    // StripedBalances.fold: stripes locked in stripe order, zeroed, their sum added to the row
+    private static final String STRIPES_FOR_UPDATE =
+            "SELECT amount FROM account_balance_stripes WHERE account_id = :id ORDER BY stripe_no FOR UPDATE";
+    private static final String CLEAR_STRIPES =
+            "UPDATE account_balance_stripes SET amount = 0 WHERE account_id = :id AND amount <> 0";
+    private static final String ADD_FOLDED =
+            "UPDATE accounts SET balance = balance + :amount, version = version + 1, last_updated = :now "
+                    + "WHERE account_id = :id";
+
+    private final DatabaseClient client;
+
+    public ReactiveAccountRepository(ReactiveDatabase database) {
+        this.client = database.client();
+    }
+
+    public Mono<Account> findById(Integer id) {
+        return client.sql(FIND_BY_ID)
+                .bind("id", id)
+                .map(ReactiveAccountRepository::toAccount)
+                .one();
+    }
+
+    /**
+     * Emits the updated row count: 1 when the account exists, is ACTIVE and holds at least {@code amount}.
+     */
+    public Mono<Long> debitIfActiveAndSufficient(Integer id, BigDecimal amount, LocalDateTime now) {
+        return client.sql(DEBIT_IF_ACTIVE_AND_SUFFICIENT)
+                .bind("id", id)
+                .bind("amount", amount)
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Emits the updated row count: 1 when the account exists and is ACTIVE.
+     */
+    public Mono<Long> creditIfActive(Integer id, BigDecimal amount, LocalDateTime now) {
+        return client.sql(CREDIT_IF_ACTIVE)
+                .bind("id", id)
+                .bind("amount", amount)
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Moves a striped account's unfolded credits onto its row, in the caller's transaction, and
+     * emits the amount moved (zero when there was nothing to fold).
+     */
+    public Mono<BigDecimal> foldStripes(Integer id, LocalDateTime now) {
+        return client.sql(STRIPES_FOR_UPDATE)
+                .bind("id", id)
+                .map(row -> row.get("amount", BigDecimal.class))
+                .all()
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .flatMap(sum -> sum.signum() == 0
+                        ? Mono.just(sum)
+                        : client.sql(CLEAR_STRIPES).bind("id", id).fetch().rowsUpdated()
+                                .then(client.sql(ADD_FOLDED)
+                                        .bind("id", id)
+                                        .bind("amount", sum)
+                                        .bind("now", now)
+                                        .fetch()
+                                        .rowsUpdated())
+                                .thenReturn(sum));
+    }
+
+    private static Account toAccount(Readable row) {
+        Account account = new Account();
+        account.setAccountId(row.get("account_id", Integer.class));
+        account.setHolderName(row.get("holder_name", String.class));
+        account.setBalance(Money.of(row.get("balance", BigDecimal.class)));
+        account.setStatus(AccountStatusEnum.valueOf(row.get("status", String.class)));
+        account.setVersion(row.get("version", Long.class));
+        account.setLastUpdated(row.get("last_updated", LocalDateTime.class));
+        return account;
+    }
+}
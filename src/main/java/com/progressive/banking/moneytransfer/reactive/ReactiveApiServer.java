@@ -0,0 +1,70 @@
+package com.progressive.banking.moneytransfer.reactive;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+
+import com.progressive.banking.moneytransfer.config.ReactiveApiProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Reactor Netty server for /api/v2, started and stopped with the application context next to
+ * the servlet container. All its connections are served by event-loop-threads threads of its
+ * own; handlers, filters and R2DBC callbacks must never block them.
+ */
+@Slf4j
+public class ReactiveApiServer implements SmartLifecycle {
+
+    private final ReactiveApiProperties properties;
+    private final HttpHandler httpHandler;
+
+    private volatile LoopResources loops;
+    private volatile DisposableServer server;
+
+    public ReactiveApiServer(ReactiveApiProperties properties, HttpHandler httpHandler) {
+        this.properties = properties;
+        this.httpHandler = httpHandler;
+    }
+
+    @Override
+    public void start() {
+        loops = LoopResources.create("reactive-api", properties.getEventLoopThreads(), true);
+        server = HttpServer.create()
+                .port(properties.getPort())
+                .runOn(loops)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive API (/api/v2) listening on port {} with {} event-loop threads",
+                server.port(), properties.getEventLoopThreads());
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+            server = null;
+        }
+        if (loops != null) {
+            loops.disposeLater().block();
+            loops = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    // the bound port, e.g. when configured as 0
+    public int getPort() {
+        DisposableServer current = server;
+        if (current == null) {
+            throw new IllegalStateException("Reactive API server is not running");
+        }
+        return current.port();
+    }
+}
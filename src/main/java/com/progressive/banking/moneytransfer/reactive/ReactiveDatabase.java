@@ -0,0 +1,66 @@
+package com.progressive.banking.moneytransfer.reactive;
+
+import static io.r2dbc.spi.ConnectionFactoryOptions.PASSWORD;
+import static io.r2dbc.spi.ConnectionFactoryOptions.USER;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.progressive.banking.moneytransfer.config.ReactiveApiProperties;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC connection pool, client and transactions of the reactive API.
+ *
+ * Deliberately not exposed as ConnectionFactory / ReactiveTransactionManager beans: Boot's
+ * DataSource and JPA transaction manager auto-configurations back off when those exist.
+ */
+public class ReactiveDatabase implements DisposableBean {
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+    private final TransactionalOperator transactions;
+
+    public ReactiveDatabase(ReactiveApiProperties.R2dbc properties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (properties.getUsername() != null) {
+            options.option(USER, properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            options.option(PASSWORD, properties.getPassword());
+        }
+
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("reactive-api")
+                .initialSize(properties.getInitialSize())
+                .maxSize(properties.getMaxSize())
+                .maxAcquireTime(properties.getMaxAcquireTime())
+                .build());
+        this.client = DatabaseClient.create(pool);
+        this.transactions = TransactionalOperator.create(new R2dbcTransactionManager(pool));
+    }
+
+    public DatabaseClient client() {
+        return client;
+    }
+
+    /**
+     * Runs the publisher in one transaction: statements issued through {@link #client()} while
+     * it is subscribed share the connection, commit when it completes and roll back on error.
+     */
+    public <T> Mono<T> transactional(Mono<T> work) {
+        return work.as(transactions::transactional);
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+}
@@ -0,0 +1,83 @@
+package com.progressive.banking.moneytransfer.reactive;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.progressive.banking.moneytransfer.domain.dto.ErrorResponse;
+import com.progressive.banking.moneytransfer.exception.AccountNotActiveException;
+import com.progressive.banking.moneytransfer.exception.AccountNotFoundException;
+import com.progressive.banking.moneytransfer.exception.DuplicateTransferException;
+import com.progressive.banking.moneytransfer.exception.InsufficientBalanceException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * GlobalExceptionHandler for the reactive routes: same status codes, error codes, ErrorResponse
+ * body and api.errors{exception,code} counter.
+ */
+@Slf4j
+public class ReactiveErrorResponses {
+
+    private final MeterRegistry meterRegistry;
+
+    public ReactiveErrorResponses(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Mono<ServerResponse> handle(Throwable ex, ServerRequest request) {
+        return Mono.deferContextual(context -> {
+            String cid = CorrelationIdWebFilter.correlationId(context);
+
+            if (ex instanceof AccountNotFoundException) {
+                return respond(ex, request, HttpStatus.NOT_FOUND, "ACC-404", ex.getMessage(), null);
+            }
+            if (ex instanceof AccountNotActiveException) {
+                return respond(ex, request, HttpStatus.FORBIDDEN, "ACC-403", ex.getMessage(), null);
+            }
+            if (ex instanceof InsufficientBalanceException) {
+                return respond(ex, request, HttpStatus.BAD_REQUEST, "TRX-400", ex.getMessage(), null);
+            }
+            if (ex instanceof DuplicateTransferException) {
+                return respond(ex, request, HttpStatus.CONFLICT, "TRX-409", ex.getMessage(), null);
+            }
+            if (ex instanceof BindException bind) {
+                Map<String, String> details = new LinkedHashMap<>();
+                for (FieldError error : bind.getBindingResult().getFieldErrors()) {
+                    details.put(error.getField(), error.getDefaultMessage());
+                }
+                return respond(ex, request, HttpStatus.UNPROCESSABLE_ENTITY, "VAL-422", "Validation failed", details);
+            }
+            if (ex instanceof IllegalArgumentException || ex instanceof ServerWebInputException) {
+                return respond(ex, request, HttpStatus.UNPROCESSABLE_ENTITY, "VAL-422", ex.getMessage(), null);
+            }
+
+            log.error("[{}] Unexpected error occurred: {}", cid, ex.getMessage(), ex);
+            return respond(ex, request, HttpStatus.INTERNAL_SERVER_ERROR, "SYS-500",
+                    "An unexpected error occurred. Please try again later.", null);
+        });
+    }
+
+    private Mono<ServerResponse> respond(Throwable ex, ServerRequest request, HttpStatus status,
+                                         String code, String message, Map<String, String> details) {
+        meterRegistry.counter("api.errors", "exception", ex.getClass().getSimpleName(), "code", code).increment();
+
+        ErrorResponse error = ErrorResponse.builder()
+                .errorCode(code)
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .path(request.path())
+                .details(details)
+                .build();
+        return ServerResponse.status(status).bodyValue(error);
+    }
+}
@@ -0,0 +1,86 @@
+package com.progressive.banking.moneytransfer.reactive;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * transaction_log ids for the reactive API, reserved in blocks from the same id_generator row
+ * as Hibernate's pooled optimizer, with the same protocol: whoever raises the row from s to
+ * s + ALLOCATION_SIZE owns the ids (s - ALLOCATION_SIZE, s]. JPA and reactive writers
+ * therefore never hand out the same id.
+ *
+ * A block is reserved in its own short transaction before the transfer's transaction starts,
+ * so a transfer never holds one pooled connection while waiting for another. Handing out an
+ * id is a CAS; concurrent refills may each reserve a block, and the unused rest of the
+ * replaced one is skipped (gaps are fine, as with the pooled optimizer).
+ */
+public class ReactiveIdAllocator {
+
+    private static final int BLOCK = TransactionLog.ALLOCATION_SIZE;
+
+    private static final String RAISE =
+            "UPDATE id_generator SET next_val = next_val + :size WHERE gen_name = :name";
+    private static final String READ =
+            "SELECT next_val FROM id_generator WHERE gen_name = :name";
+
+    private final ReactiveDatabase database;
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(1, 0));
+
+    public ReactiveIdAllocator(ReactiveDatabase database) {
+        this.database = database;
+    }
+
+    public Mono<Integer> next() {
+        return Mono.defer(() -> {
+            int id = current.get().take();
+            if (id > 0) {
+                return Mono.just(id);
+            }
+            return reserve().flatMap(block -> {
+                current.set(block);
+                int first = block.take();
+                // others may drain the block between set and take
+                return first > 0 ? Mono.just(first) : next();
+            });
+        });
+    }
+
+    private Mono<Block> reserve() {
+        DatabaseClient client = database.client();
+        Mono<Long> raised = client.sql(RAISE)
+                .bind("size", BLOCK)
+                .bind("name", TransactionLog.ID_GENERATOR_ROW)
+                .fetch()
+                .rowsUpdated()
+                .then(client.sql(READ)
+                        .bind("name", TransactionLog.ID_GENERATOR_ROW)
+                        .map(row -> row.get("next_val", Number.class).longValue())
+                        .one());
+        // the row now holds s + BLOCK: ours is (s - BLOCK, s]
+        return database.transactional(raised)
+                .map(upper -> new Block(Math.toIntExact(upper - 2L * BLOCK + 1), Math.toIntExact(upper - BLOCK)));
+    }
+
+    private static final class Block {
+
+        private final AtomicInteger next;
+        private final int last;
+
+        Block(int first, int last) {
+            this.next = new AtomicInteger(first);
+            this.last = last;
+        }
+
+        // next id of the block, or -1 once it is used up
+        int take() {
+            int id = next.getAndIncrement();
+            return id <= last ? id : -1;
+        }
+    }
+}
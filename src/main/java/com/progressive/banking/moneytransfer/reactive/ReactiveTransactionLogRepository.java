@@ -0,0 +1,96 @@
+package com.progressive.banking.moneytransfer.reactive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.entities.TransferJournal;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC counterpart of TransactionLogRepository for the reactive API: idempotency probes
+ * (transaction_log, then write-behind entries still in transfer_journal) and the log insert.
+ */
+public class ReactiveTransactionLogRepository {
+
+    private static final String FIND_BY_IDEMPOTENCY_KEY =
+            "SELECT transaction_id, from_account_id, to_account_id, amount, status, failure_reason, idempotency_key, "
+                    + "created_on FROM transaction_log WHERE idempotency_key = :key";
+    private static final String FIND_JOURNAL_BY_IDEMPOTENCY_KEY =
+            "SELECT transaction_id, from_account_id, to_account_id, amount, idempotency_key, created_on "
+                    + "FROM transfer_journal WHERE idempotency_key = :key";
+    // the reactive path only ever logs successes; a literal also sidesteps drivers that bind
+    // String parameters as CLOB, which an ENUM column will not accept
+    private static final String INSERT_SUCCESS =
+            "INSERT INTO transaction_log (transaction_id, from_account_id, to_account_id, amount, status, "
+                    + "idempotency_key, created_on) VALUES (:id, :from, :to, :amount, 'SUCCESS', :key, :createdOn)";
+
+    private final DatabaseClient client;
+
+    public ReactiveTransactionLogRepository(ReactiveDatabase database) {
+        this.client = database.client();
+    }
+
+    public Mono<TransactionLog> findByIdempotencyKey(String idempotencyKey) {
+        return client.sql(FIND_BY_IDEMPOTENCY_KEY)
+                .bind("key", idempotencyKey)
+                .map(ReactiveTransactionLogRepository::toLog)
+                .one();
+    }
+
+    public Mono<TransferJournal> findJournalByIdempotencyKey(String idempotencyKey) {
+        return client.sql(FIND_JOURNAL_BY_IDEMPOTENCY_KEY)
+                .bind("key", idempotencyKey)
+                .map(ReactiveTransactionLogRepository::toJournal)
+                .one();
+    }
+
+    /**
+     * Inserts a successful row; the id must already be assigned (see ReactiveIdAllocator).
+     * A reused idempotency key fails with DataIntegrityViolationException, as with JPA.
+     */
+    public Mono<TransactionLog> insert(TransactionLog log) {
+        if (log.getStatus() != TransactionStatusEnum.SUCCESS) {
+            return Mono.error(new IllegalStateException("Only SUCCESS rows are logged by the reactive API"));
+        }
+        return client.sql(INSERT_SUCCESS)
+                .bind("id", log.getTransactionId())
+                .bind("from", log.getFromAccountId())
+                .bind("to", log.getToAccountId())
+                .bind("amount", log.getAmount())
+                .bind("key", log.getIdempotencyKey())
+                .bind("createdOn", log.getCreatedOn())
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(log);
+    }
+
+    private static TransactionLog toLog(Readable row) {
+        TransactionLog log = new TransactionLog();
+        log.setTransactionId(row.get("transaction_id", Integer.class));
+        log.setFromAccountId(row.get("from_account_id", Integer.class));
+        log.setToAccountId(row.get("to_account_id", Integer.class));
+        log.setAmount(row.get("amount", BigDecimal.class));
+        log.setStatus(TransactionStatusEnum.valueOf(row.get("status", String.class)));
+        log.setFailureReason(row.get("failure_reason", String.class));
+        log.setIdempotencyKey(row.get("idempotency_key", String.class));
+        log.setCreatedOn(row.get("created_on", LocalDateTime.class));
+        return log;
+    }
+
+    private static TransferJournal toJournal(Readable row) {
+        TransferJournal entry = new TransferJournal();
+        entry.setTransactionId(row.get("transaction_id", Integer.class));
+        entry.setFromAccountId(row.get("from_account_id", Integer.class));
+        entry.setToAccountId(row.get("to_account_id", Integer.class));
+        entry.setAmount(row.get("amount", BigDecimal.class));
+        entry.setIdempotencyKey(row.get("idempotency_key", String.class));
+        entry.setCreatedOn(row.get("created_on", LocalDateTime.class));
+        return entry;
+    }
+}
@@ -0,0 +1,63 @@
+package com.progressive.banking.moneytransfer.reactive;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+
+import jakarta.validation.Validator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variant of TransferController.
+ *
+ * POST /api/v2/transfers -> 201 with the TransferResponse. The body is bean-validated like
+ * {@code @Valid}; the idempotency key comes from the body, else X-Idempotency-Key, else a new UUID.
+ */
+public class ReactiveTransferHandler {
+
+    private static final String IDEMPOTENCY_HEADER = "X-Idempotency-Key";
+
+    private final ReactiveTransferService service;
+    private final SpringValidatorAdapter validator;
+
+    public ReactiveTransferHandler(ReactiveTransferService service, Validator validator) {
+        this.service = service;
+        this.validator = new SpringValidatorAdapter(validator);
+    }
+
+    public Mono<ServerResponse> transfer(ServerRequest request) {
+        String idempotencyHeader = request.headers().firstHeader(IDEMPOTENCY_HEADER);
+
+        return request.bodyToMono(TransferRequest.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Request body is missing")))
+                .flatMap(this::validated)
+                .map(body -> withIdempotencyKey(body, idempotencyHeader))
+                .flatMap(service::transfer)
+                .flatMap(response -> ServerResponse.status(HttpStatus.CREATED).bodyValue(response));
+    }
+
+    private Mono<TransferRequest> validated(TransferRequest body) {
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(body, "transferRequest");
+        validator.validate(body, errors);
+        return errors.hasErrors() ? Mono.error(new BindException(errors)) : Mono.just(body);
+    }
+
+    private static TransferRequest withIdempotencyKey(TransferRequest body, String idempotencyHeader) {
+        if ((body.getIdempotencyKey() == null || body.getIdempotencyKey().isBlank())
+                && idempotencyHeader != null && !idempotencyHeader.isBlank()) {
+            body.setIdempotencyKey(idempotencyHeader);
+        }
+        if (body.getIdempotencyKey() == null || body.getIdempotencyKey().isBlank()) {
+            body.setIdempotencyKey(UUID.randomUUID().toString());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,213 @@
+package com.progressive.banking.moneytransfer.reactive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.progressive.banking.moneytransfer.cache.AccountCache;
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.AccountResponse;
+import com.progressive.banking.moneytransfer.domain.dto.BalanceResponse;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+import com.progressive.banking.moneytransfer.domain.mapper.AccountMapper;
+import com.progressive.banking.moneytransfer.domain.mapper.TransferMapper;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.exception.AccountNotActiveException;
+import com.progressive.banking.moneytransfer.exception.AccountNotFoundException;
+import com.progressive.banking.moneytransfer.exception.BusinessRuleException;
+import com.progressive.banking.moneytransfer.exception.DuplicateTransferException;
+import com.progressive.banking.moneytransfer.exception.InsufficientBalanceException;
+import com.progressive.banking.moneytransfer.idempotency.IdempotencyRegistry;
+import com.progressive.banking.moneytransfer.metrics.TransferMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transfers and account reads for the reactive API, with the semantics of TransferServiceImpl
+ * (engine CONDITIONAL_UPDATE, log mode FINAL_ONLY) and AccountServiceImpl:
+ * - the same IdempotencyRegistry (filter, cache, then transaction_log / transfer_journal) and
+ *   duplicate-policy; the unique constraint on idempotencyKey stays the backstop
+ * - the same request rules and guarded debit/credit, legs in accountId order; a striped source
+ *   that falls short folds its stripes in and tries again, as on /api/v1
+ * - the same AccountCache, evicted once the transfer has committed
+ *
+ * Only successful transfers are logged, as with FINAL_ONLY; the configured engine, locking
+ * and log-mode apply to /api/v1 only.
+ */
+@Slf4j
+public class ReactiveTransferService {
+
+    private final ReactiveDatabase database;
+    private final ReactiveAccountRepository accountRepository;
+    private final ReactiveTransactionLogRepository transactionLogRepository;
+    private final ReactiveIdAllocator ids;
+    private final IdempotencyRegistry idempotencyRegistry;
+    private final AccountCache accountCache;
+    private final TransferProperties transferProperties;
+    private final TransferMetrics metrics;
+
+    public ReactiveTransferService(ReactiveDatabase database,
+                                   ReactiveAccountRepository accountRepository,
+                                   ReactiveTransactionLogRepository transactionLogRepository,
+                                   ReactiveIdAllocator ids,
+                                   IdempotencyRegistry idempotencyRegistry,
+                                   AccountCache accountCache,
+                                   TransferProperties transferProperties,
+                                   TransferMetrics metrics) {
+        this.database = database;
+        this.accountRepository = accountRepository;
+        this.transactionLogRepository = transactionLogRepository;
+        this.ids = ids;
+        this.idempotencyRegistry = idempotencyRegistry;
+        this.accountCache = accountCache;
+        this.transferProperties = transferProperties;
+        this.metrics = metrics;
+    }
+
+    public Mono<AccountResponse> getAccount(Integer id) {
+        return accountCache.getReactive(id, this::loadAccount);
+    }
+
+    public Mono<BalanceResponse> getBalance(Integer id) {
+        return getAccount(id).map(AccountMapper::toBalanceResponse);
+    }
+
+    public Mono<TransferResponse> transfer(TransferRequest request) {
+        return idempotencyRegistry.lookup(request.getIdempotencyKey(), this::findCommitted)
+                .map(original -> onDuplicate(request, original))
+                .switchIfEmpty(Mono.defer(() -> execute(request)));
+    }
+
+    private Mono<TransferResponse> execute(TransferRequest request) {
+        return Mono.fromRunnable(() -> validateRequest(request))
+                // the id block is reserved before the transfer's connection is taken
+                .then(ids.next())
+                .flatMap(id -> database.transactional(
+                        move(request.getFromAccountId(), request.getToAccountId(), request.getAmount())
+                                .then(transactionLogRepository.insert(newLog(id, request)))))
+                .map(TransferMapper::toResponse)
+                .doOnNext(response -> {
+                    accountCache.evict(List.of(request.getFromAccountId(), request.getToAccountId()));
+                    idempotencyRegistry.remember(response);
+                    metrics.outcome(TransactionStatusEnum.SUCCESS);
+                })
+                .doOnEach(signal -> {
+                    if (signal.isOnError() && !(signal.getThrowable() instanceof DataIntegrityViolationException)) {
+                        metrics.outcome(TransactionStatusEnum.FAILURE);
+                        if (signal.getThrowable() instanceof BusinessRuleException) {
+                            // counted, as in api.errors; no per-rejection line
+                            log.debug("[{}] Transfer rejected. idempotencyKey={}, reason={}",
+                                    CorrelationIdWebFilter.correlationId(signal.getContextView()),
+                                    request.getIdempotencyKey(), signal.getThrowable().getMessage());
+                        } else {
+                            log.error("[{}] Transfer failed. idempotencyKey={}, reason={}",
+                                    CorrelationIdWebFilter.correlationId(signal.getContextView()),
+                                    request.getIdempotencyKey(), signal.getThrowable().getMessage());
+                        }
+                    }
+                })
+                // key committed concurrently or elsewhere: the unique constraint caught it
+                .onErrorResume(DataIntegrityViolationException.class, ex ->
+                        idempotencyRegistry.probe(request.getIdempotencyKey(), this::findCommitted)
+                                .switchIfEmpty(Mono.error(ex))
+                                .map(existing -> {
+                                    idempotencyRegistry.recordConstraintHit();
+                                    return onDuplicate(request, existing);
+                                }));
+    }
+
+    private TransferResponse onDuplicate(TransferRequest request, TransferResponse original) {
+        if (transferProperties.getIdempotency().getDuplicatePolicy() == TransferProperties.DuplicatePolicy.REPLAY) {
+            metrics.replayed();
+            return original;
+        }
+        throw new DuplicateTransferException(
+                "Duplicate transfer request. Idempotency key already used: " + request.getIdempotencyKey()
+        );
+    }
+
+    private Mono<TransferResponse> findCommitted(String idempotencyKey) {
+        return transactionLogRepository.findByIdempotencyKey(idempotencyKey)
+                .map(TransferMapper::toResponse)
+                .switchIfEmpty(Mono.defer(() -> transactionLogRepository.findJournalByIdempotencyKey(idempotencyKey)
+                        .map(TransferMapper::toResponse)));
+    }
+
+    /**
+     * Same rules as TransferServiceImpl.validateRequest.
+     */
+    private void validateRequest(TransferRequest request) {
+        if (request.getFromAccountId().equals(request.getToAccountId())) {
+            throw new IllegalArgumentException("fromAccountId and toAccountId must be different");
+        }
+        Money amount = request.getAmount();
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("amount must be greater than zero");
+        }
+    }
+
+    /**
+     * Two guarded UPDATEs in accountId order; a leg that matched no row is turned into the
+     * matching domain exception and the transaction rolls back the other.
+     */
+    private Mono<Void> move(Integer fromId, Integer toId, Money money) {
+        BigDecimal amount = money.toBigDecimal();
+        LocalDateTime now = LocalDateTime.now();
+        Mono<Void> debit = accountRepository.debitIfActiveAndSufficient(fromId, amount, now)
+                .flatMap(rows -> rows == 0 ? foldAndDebit(fromId, amount, now) : Mono.just(rows))
+                .flatMap(rows -> rows == 0 ? debitRejection(fromId, amount) : Mono.empty());
+        Mono<Void> credit = accountRepository.creditIfActive(toId, amount, now)
+                .flatMap(rows -> rows == 0 ? creditRejection(toId) : Mono.empty());
+        return fromId <= toId ? debit.then(credit) : credit.then(debit);
+    }
+
+    // a striped source that falls short spends its unfolded credits first
+    private Mono<Long> foldAndDebit(Integer fromId, BigDecimal amount, LocalDateTime now) {
+        if (!transferProperties.getStriping().getAccounts().contains(fromId)) {
+            return Mono.just(0L);
+        }
+        return accountRepository.foldStripes(fromId, now)
+                .flatMap(folded -> folded.signum() == 0
+                        ? Mono.just(0L)
+                        : accountRepository.debitIfActiveAndSufficient(fromId, amount, now));
+    }
+
+    private Mono<Void> debitRejection(Integer fromId, BigDecimal amount) {
+        return accountRepository.findById(fromId)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException("From account not found: " + fromId)))
+                .flatMap(from -> Mono.error(from.isActive()
+                        ? new InsufficientBalanceException("Insufficient balance in account " + fromId
+                                + ". Available=" + from.getBalance() + ", Required=" + amount)
+                        : new AccountNotActiveException("From account is not active: " + fromId)));
+    }
+
+    private Mono<Void> creditRejection(Integer toId) {
+        return accountRepository.findById(toId)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException("To account not found: " + toId)))
+                .flatMap(to -> Mono.error(new AccountNotActiveException("To account is not active: " + toId)));
+    }
+
+    private Mono<AccountResponse> loadAccount(Integer id) {
+        return accountRepository.findById(id)
+                .map(AccountMapper::toAccountResponse)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException("Account not found: " + id)));
+    }
+
+    private static TransactionLog newLog(Integer id, TransferRequest request) {
+        TransactionLog logEntity = new TransactionLog();
+        logEntity.setTransactionId(id);
+        logEntity.setFromAccountId(request.getFromAccountId());
+        logEntity.setToAccountId(request.getToAccountId());
+        logEntity.setAmount(request.getAmount().toBigDecimal());
+        logEntity.setIdempotencyKey(request.getIdempotencyKey());
+        logEntity.setCreatedOn(LocalDateTime.now());
+        logEntity.markSuccess();
+        return logEntity;
+    }
+}
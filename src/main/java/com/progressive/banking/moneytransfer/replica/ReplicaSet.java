@@ -0,0 +1,223 @@
+package com.progressive.banking.moneytransfer.replica;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-only side of the routing DataSource: each connection comes from the next usable
+ * replica pool (round robin), or from the primary when none is usable.
+ *
+ * A replica is usable while its last probe succeeded and its lag is at most maxLag. Lag is
+ * measured with a heartbeat row: every check writes the current time into replication_heartbeat
+ * on the primary (created there if missing, replicated like any other table) and reads it back
+ * from each replica; lag = written - replicated. A replica whose pool cannot hand out a
+ * connection is ejected on the spot and readmitted by the next successful probe.
+ */
+@Slf4j
+public class ReplicaSet extends AbstractDataSource {
+
+    static final String HEARTBEAT_TABLE = "replication_heartbeat";
+
+    private static final String CREATE_HEARTBEAT =
+            "CREATE TABLE IF NOT EXISTS " + HEARTBEAT_TABLE + " (id INT NOT NULL PRIMARY KEY, beat_millis BIGINT NOT NULL)";
+    private static final String UPDATE_HEARTBEAT = "UPDATE " + HEARTBEAT_TABLE + " SET beat_millis = ? WHERE id = 1";
+    private static final String INSERT_HEARTBEAT = "INSERT INTO " + HEARTBEAT_TABLE + " (id, beat_millis) VALUES (1, ?)";
+    private static final String READ_HEARTBEAT = "SELECT beat_millis FROM " + HEARTBEAT_TABLE + " WHERE id = 1";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final long checkIntervalMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryFallbacks = new LongAdder();
+
+    private volatile boolean heartbeatTableReady;
+    private volatile boolean running;
+    private Thread monitor;
+
+    /**
+     * @param replicas replica pools by name, tried in this order from a rotating start
+     */
+    public ReplicaSet(DataSource primary, Map<String, DataSource> replicas, Duration maxLag, Duration checkInterval) {
+        this.primary = primary;
+        replicas.forEach((name, pool) -> this.replicas.add(new Replica(name, pool)));
+        this.maxLagMillis = maxLag.toMillis();
+        this.checkIntervalMillis = Math.max(1, checkInterval.toMillis());
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        monitor = new Thread(this::monitorLoop, "replica-monitor");
+        monitor.setDaemon(true);
+        monitor.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (monitor != null) {
+            monitor.interrupt();
+            monitor.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        for (Replica replica : replicas) {
+            if (replica.pool instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException ex) {
+                    log.warn("Could not close replica pool {}: {}", replica.name, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int count = replicas.size();
+        int start = count == 0 ? 0 : Math.floorMod(next.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (!replica.usable(maxLagMillis)) {
+                continue;
+            }
+            try {
+                Connection connection = replica.pool.getConnection();
+                replica.reads.increment();
+                return connection;
+            } catch (SQLException ex) {
+                replica.eject(ex);
+            }
+        }
+        primaryFallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Replica connections use the configured credentials");
+    }
+
+    /**
+     * Writes a heartbeat on the primary and probes every replica; runs every checkInterval.
+     */
+    public void checkNow() {
+        long beat = System.currentTimeMillis();
+        try (Connection connection = primary.getConnection()) {
+            writeHeartbeat(connection, beat);
+        } catch (SQLException ex) {
+            log.warn("Could not write the replication heartbeat: {}", ex.getMessage());
+        }
+        for (Replica replica : replicas) {
+            replica.probe(beat);
+        }
+    }
+
+    public ReplicaStats stats() {
+        List<ReplicaStatus> statuses = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            long lag = replica.lagMillis;
+            statuses.add(new ReplicaStatus(replica.name, replica.healthy, lag < 0 ? null : Duration.ofMillis(lag),
+                    replica.reads.sum(), replica.failures.sum()));
+        }
+        return new ReplicaStats(statuses, primaryFallbacks.sum());
+    }
+
+    private void writeHeartbeat(Connection connection, long beat) throws SQLException {
+        if (!heartbeatTableReady) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_HEARTBEAT);
+            }
+            heartbeatTableReady = true;
+        }
+        try (PreparedStatement update = connection.prepareStatement(UPDATE_HEARTBEAT)) {
+            update.setLong(1, beat);
+            if (update.executeUpdate() > 0) {
+                return;
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_HEARTBEAT)) {
+            insert.setLong(1, beat);
+            insert.executeUpdate();
+        }
+    }
+
+    private void monitorLoop() {
+        while (running) {
+            try {
+                checkNow();
+            } catch (RuntimeException ex) {
+                log.error("Replica check failed: {}", ex.getMessage(), ex);
+            }
+            try {
+                Thread.sleep(checkIntervalMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static final class Replica {
+        final String name;
+        final DataSource pool;
+        final LongAdder reads = new LongAdder();
+        final LongAdder failures = new LongAdder();
+
+        // unknown until the first successful probe
+        volatile boolean healthy;
+        volatile long lagMillis = -1;
+
+        Replica(String name, DataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+
+        boolean usable(long maxLagMillis) {
+            long lag = lagMillis;
+            return healthy && lag >= 0 && lag <= maxLagMillis;
+        }
+
+        void probe(long beat) {
+            try (Connection connection = pool.getConnection();
+                 PreparedStatement read = connection.prepareStatement(READ_HEARTBEAT);
+                 ResultSet rs = read.executeQuery()) {
+                // no row yet: the heartbeat has not reached this replica, lag unknown
+                lagMillis = rs.next() ? Math.max(0, beat - rs.getLong(1)) : -1;
+                if (!healthy) {
+                    log.info("Replica {} is healthy, lag {}ms", name, lagMillis);
+                }
+                healthy = true;
+            } catch (SQLException ex) {
+                eject(ex);
+            }
+        }
+
+        void eject(SQLException cause) {
+            if (healthy) {
+                log.warn("Ejecting replica {}: {}", name, cause.getMessage());
+            }
+            healthy = false;
+            failures.increment();
+        }
+    }
+}
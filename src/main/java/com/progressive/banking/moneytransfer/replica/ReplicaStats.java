@@ -0,0 +1,14 @@
+package com.progressive.banking.moneytransfer.replica;
+
+import java.util.List;
+
+/**
+ * Point-in-time view of the replica set.
+ *
+ * @param replicas         one entry per configured replica
+ * @param primaryFallbacks read-only connections served by the primary because no replica was usable
+ */
+public record ReplicaStats(
+        List<ReplicaStatus> replicas,
+        long primaryFallbacks) {
+}
@@ -0,0 +1,20 @@
+package com.progressive.banking.moneytransfer.replica;
+
+import java.time.Duration;
+
+/**
+ * One replica as of its last probe.
+ *
+ * @param name     endpoint name
+ * @param healthy  last probe (or connection attempt) succeeded
+ * @param lag      heartbeat lag at the last probe, null while unknown
+ * @param reads    read-only connections it served
+ * @param failures failed probes and connection attempts, each one an ejection
+ */
+public record ReplicaStatus(
+        String name,
+        boolean healthy,
+        Duration lag,
+        long reads,
+        long failures) {
+}
@@ -0,0 +1,56 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.progressive.banking.moneytransfer.domain.entities.AccountBalanceStripe;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface AccountBalanceStripeRepository extends JpaRepository<AccountBalanceStripe, Long> {
+
+    /**
+     * In-place credit of one stripe; returns 0 when the stripe row does not exist.
+     */
+    @Modifying
+    @Query("UPDATE AccountBalanceStripe s SET s.amount = s.amount + :amount "
+            + "WHERE s.accountId = :accountId AND s.stripeNo = :stripeNo")
+    int credit(@Param("accountId") Integer accountId,
+               @Param("stripeNo") Integer stripeNo,
+               @Param("amount") BigDecimal amount);
+
+    // Credits not folded into accounts.balance yet
+    @Query("SELECT COALESCE(SUM(s.amount), 0) FROM AccountBalanceStripe s WHERE s.accountId = :accountId")
+    BigDecimal sumByAccountId(@Param("accountId") Integer accountId);
+
+    /**
+     * Locks all stripes of one account, in stripe order, so a fold sees a stable sum.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceStripe s WHERE s.accountId = :accountId ORDER BY s.stripeNo")
+    List<AccountBalanceStripe> findAllByAccountIdForUpdate(@Param("accountId") Integer accountId);
+
+    @Modifying
+    @Query("UPDATE AccountBalanceStripe s SET s.amount = 0 WHERE s.accountId = :accountId AND s.amount <> 0")
+    int clearByAccountId(@Param("accountId") Integer accountId);
+
+    @Query("SELECT s.stripeNo FROM AccountBalanceStripe s WHERE s.accountId = :accountId")
+    List<Integer> findStripeNosByAccountId(@Param("accountId") Integer accountId);
+
+    // Per consolidation round: only the given accounts' stripes, through uk_stripe_account_no
+    @Query("SELECT DISTINCT s.accountId FROM AccountBalanceStripe s WHERE s.accountId IN :accountIds AND s.amount <> 0")
+    List<Integer> findAccountIdsWithPendingCredits(@Param("accountIds") Collection<Integer> accountIds);
+
+    // Startup only: reads the whole table to find leftovers of accounts no longer listed
+    @Query("SELECT DISTINCT s.accountId FROM AccountBalanceStripe s WHERE s.amount <> 0")
+    List<Integer> findAccountIdsWithPendingCredits();
+}
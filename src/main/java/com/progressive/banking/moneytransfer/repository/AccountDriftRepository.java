@@ -0,0 +1,19 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Read side of the balance reconciliation (TransferJournalPipeline.reconcile()).
+ */
+public interface AccountDriftRepository {
+
+    /**
+     * Per account, in minor units: the balance (row plus stripes) minus the net of the
+     * successful transfers logged since {@code since}, from transaction_log and transfer_journal
+     * together. Transfers move both sides by the same amount, so the value only changes when a
+     * balance moves without its row or a row goes missing. One statement, one snapshot.
+     * Reads every account: one map entry each.
+     */
+    Map<Integer, Long> findBalanceDrift(LocalDateTime since);
+}
@@ -0,0 +1,49 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.progressive.banking.moneytransfer.domain.money.Money;
+
+public class AccountDriftRepositoryImpl implements AccountDriftRepository {
+
+    // journal rows are all successful transfers; a drained row keeps its id and created_on.
+    // accounts is left unaliased so the plan check can tell which table a MySQL scan is on
+    private static final String BALANCE_DRIFT =
+            "SELECT accounts.account_id, accounts.balance "
+                    + "+ COALESCE((SELECT SUM(s.amount) FROM account_balance_stripes s WHERE s.account_id = accounts.account_id), 0) "
+                    + "- COALESCE(f.net, 0) "
+                    + "FROM accounts LEFT JOIN ("
+                    + "SELECT d.account_id, SUM(d.delta) AS net FROM ("
+                    + "SELECT to_account_id AS account_id, amount AS delta FROM transaction_log "
+                    + "WHERE created_on >= ? AND status = 'SUCCESS' "
+                    + "UNION ALL SELECT from_account_id, -amount FROM transaction_log "
+                    + "WHERE created_on >= ? AND status = 'SUCCESS' "
+                    + "UNION ALL SELECT to_account_id, amount FROM transfer_journal WHERE created_on >= ? "
+                    + "UNION ALL SELECT from_account_id, -amount FROM transfer_journal WHERE created_on >= ?"
+                    + ") d GROUP BY d.account_id) f ON f.account_id = accounts.account_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountDriftRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, Long> findBalanceDrift(LocalDateTime since) {
+        Timestamp from = Timestamp.valueOf(since);
+        Map<Integer, Long> drift = new HashMap<>();
+        jdbcTemplate.query(BALANCE_DRIFT,
+                rs -> {
+                    drift.put(rs.getInt(1), Money.of(rs.getBigDecimal(2)).minorUnits());
+                },
+                from, from, from, from);
+        return drift;
+    }
+}
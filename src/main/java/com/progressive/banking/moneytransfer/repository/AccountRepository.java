@@ -1,19 +1,24 @@
 package com.progressive.banking.moneytransfer.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import com.progressive.banking.moneytransfer.domain.entities.Account;
 import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
 
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Integer> {
+public interface AccountRepository extends JpaRepository<Account, Integer>, AccountViewRepository, AccountDriftRepository {
 
     /**
      * Optional: Find account with pessimistic write lock
@@ -23,9 +28,76 @@ public interface AccountRepository extends JpaRepository<Account, Integer> {
     @Query("SELECT a FROM Account a WHERE a.accountId = :id")
     Optional<Account> findByIdForUpdate(@Param("id") Integer id);
 
+    /**
+     * Pessimistic write lock on a set of accounts, acquired in accountId order.
+     * Callers locking several accounts must pass ids in ascending chunks to stay deadlock-free.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountId IN :ids ORDER BY a.accountId")
+    List<Account> findAllByIdForUpdate(@Param("ids") Collection<Integer> ids);
+
     Optional<Account> findByHolderName(String holderName);
 
+    /**
+     * Ids of every account held under {@code holderName}; holder names are not unique.
+     * Served from idx_accounts_holder_name alone (InnoDB secondary indexes carry the primary key).
+     */
+    @Query("SELECT a.accountId FROM Account a WHERE a.holderName = :holderName")
+    List<Integer> findAccountIdsByHolderName(@Param("holderName") String holderName);
+
     boolean existsByAccountIdAndStatus(Integer accountId, AccountStatusEnum status);
 
     long countByStatus(AccountStatusEnum status);
-}
\ No newline at end of file
+
+    /**
+     * Guarded debit in a single statement.
+     * Returns 1 when the account exists, is ACTIVE and holds at least {@code amount}; 0 otherwise.
+     * Bumps the version so concurrent entity-based writers still detect the change.
+     * Amounts here are minor units ({@link Money#minorUnits()}), like the balance attribute.
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount, a.version = a.version + 1, a.lastUpdated = :now "
+            + "WHERE a.accountId = :id "
+            + "AND a.status = com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum.ACTIVE "
+            + "AND a.balance >= :amount")
+    int debitIfActiveAndSufficient(@Param("id") Integer id,
+                                   @Param("amount") long amount,
+                                   @Param("now") LocalDateTime now);
+
+    /**
+     * Guarded credit in a single statement.
+     * Returns 1 when the account exists and is ACTIVE; 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.version = a.version + 1, a.lastUpdated = :now "
+            + "WHERE a.accountId = :id "
+            + "AND a.status = com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum.ACTIVE")
+    int creditIfActive(@Param("id") Integer id,
+                       @Param("amount") long amount,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Balance change by a signed delta, for writers that already validated the change in memory
+     * (the sharded engine's group commit, stripe folds). Returns 0 when the account is gone or
+     * the delta would take the balance below zero, i.e. the writer's view of the row is stale.
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta, a.version = a.version + 1, a.lastUpdated = :now "
+            + "WHERE a.accountId = :id AND a.balance + :delta >= 0")
+    int adjustBalance(@Param("id") Integer id,
+                      @Param("delta") long delta,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * {@link #adjustBalance} that also returns 0 when the account is no longer ACTIVE, for
+     * writers whose in-memory view includes the status (the sharded engine's group commit).
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta, a.version = a.version + 1, a.lastUpdated = :now "
+            + "WHERE a.accountId = :id "
+            + "AND a.status = com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum.ACTIVE "
+            + "AND a.balance + :delta >= 0")
+    int adjustBalanceIfActive(@Param("id") Integer id,
+                              @Param("delta") long delta,
+                              @Param("now") LocalDateTime now);
+}
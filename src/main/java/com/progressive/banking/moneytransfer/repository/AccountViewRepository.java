@@ -0,0 +1,21 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import java.util.Optional;
+
+import com.progressive.banking.moneytransfer.domain.dto.AccountBalanceView;
+import com.progressive.banking.moneytransfer.domain.dto.AccountView;
+
+/**
+ * Account read paths that bypass the persistence context: only the columns the response
+ * needs, read with JDBC straight into immutable records (no managed entity, no dirty-check
+ * snapshot). Read-only, so with replica routing on they are served by a replica.
+ *
+ * The balance read is the account's whole balance: accounts.balance plus the credits still on
+ * its stripes (StripedBalances), taken in one statement.
+ */
+public interface AccountViewRepository {
+
+    Optional<AccountView> findViewById(Integer accountId);
+
+    Optional<AccountBalanceView> findBalanceViewById(Integer accountId);
+}
@@ -0,0 +1,57 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.progressive.banking.moneytransfer.domain.dto.AccountBalanceView;
+import com.progressive.banking.moneytransfer.domain.dto.AccountView;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+
+public class AccountViewRepositoryImpl implements AccountViewRepository {
+
+    // a striped account's balance is the row plus its stripes, summed in the same statement (one
+    // snapshot) so a fold moving credits from the stripes to the row can't fall between the two
+    private static final String BALANCE_WITH_STRIPES =
+            "a.balance + COALESCE((SELECT SUM(s.amount) FROM account_balance_stripes s WHERE s.account_id = a.account_id), 0)";
+
+    private static final String VIEW =
+            "SELECT a.account_id, a.holder_name, " + BALANCE_WITH_STRIPES + ", a.status, a.version, a.last_updated "
+                    + "FROM accounts a WHERE a.account_id = ?";
+
+    private static final String BALANCE_VIEW =
+            "SELECT a.account_id, a.holder_name, " + BALANCE_WITH_STRIPES + ", a.last_updated "
+                    + "FROM accounts a WHERE a.account_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountViewRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AccountView> findViewById(Integer accountId) {
+        return jdbcTemplate.query(VIEW, (rs, rowNum) -> new AccountView(
+                        rs.getInt(1),
+                        rs.getString(2),
+                        Money.of(rs.getBigDecimal(3)),
+                        AccountStatusEnum.valueOf(rs.getString(4)),
+                        rs.getObject(5, Long.class),
+                        rs.getTimestamp(6).toLocalDateTime()), accountId)
+                .stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AccountBalanceView> findBalanceViewById(Integer accountId) {
+        return jdbcTemplate.query(BALANCE_VIEW, (rs, rowNum) -> new AccountBalanceView(
+                        rs.getInt(1),
+                        rs.getString(2),
+                        Money.of(rs.getBigDecimal(3)),
+                        rs.getTimestamp(4).toLocalDateTime()), accountId)
+                .stream().findFirst();
+    }
+}
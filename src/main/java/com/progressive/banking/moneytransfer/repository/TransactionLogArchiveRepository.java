@@ -0,0 +1,42 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
+
+/**
+ * Month exports of transaction_log for the archiver, in segment order (see archive.Segment),
+ * and the idempotency key register (transaction_log_key, see archive.TransactionLogPartitions).
+ *
+ * Each export reads a closed month once, so the sort is accepted: on a partitioned table it
+ * only covers that month's partition.
+ */
+public interface TransactionLogArchiveRepository {
+
+    /**
+     * Rows created in [from, to) by (fromAccountId, createdOn, transactionId), fetchSize
+     * rows per round trip.
+     */
+    void streamSentBetween(LocalDateTime from, LocalDateTime to, int fetchSize, Consumer<TransactionView> consumer);
+
+    /**
+     * Rows created in [from, to), except those sent to the same account, by (toAccountId,
+     * createdOn, transactionId).
+     */
+    void streamReceivedBetween(LocalDateTime from, LocalDateTime to, int fetchSize, Consumer<TransactionView> consumer);
+
+    /**
+     * createdOn of the transfer that registered the key, archived or not. Only call once
+     * something was archived: the register is created by the archiver.
+     */
+    Optional<LocalDateTime> findRegisteredKeyCreatedOn(String idempotencyKey);
+
+    /**
+     * The keys that are in the register. Same precondition as findRegisteredKeyCreatedOn.
+     */
+    List<String> findRegisteredKeys(Collection<String> idempotencyKeys);
+}
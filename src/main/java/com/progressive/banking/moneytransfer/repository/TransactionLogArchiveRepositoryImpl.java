@@ -0,0 +1,78 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
+
+public class TransactionLogArchiveRepositoryImpl implements TransactionLogArchiveRepository {
+
+    private static final String MONTH =
+            "SELECT " + TransactionLogHistoryRepositoryImpl.COLUMNS + " FROM transaction_log"
+                    + " WHERE created_on >= ? AND created_on < ?";
+
+    private static final String SENT =
+            MONTH + " ORDER BY from_account_id, created_on, transaction_id";
+
+    // same rows as the live history's received branch
+    private static final String RECEIVED =
+            MONTH + " AND to_account_id <> from_account_id ORDER BY to_account_id, created_on, transaction_id";
+
+    private static final String REGISTERED_KEY =
+            "SELECT created_on FROM transaction_log_key WHERE idempotency_key = ?";
+
+    private static final String REGISTERED_KEYS =
+            "SELECT idempotency_key FROM transaction_log_key WHERE idempotency_key IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionLogArchiveRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void streamSentBetween(LocalDateTime from, LocalDateTime to, int fetchSize, Consumer<TransactionView> consumer) {
+        stream(SENT, from, to, fetchSize, consumer);
+    }
+
+    @Override
+    public void streamReceivedBetween(LocalDateTime from, LocalDateTime to, int fetchSize, Consumer<TransactionView> consumer) {
+        stream(RECEIVED, from, to, fetchSize, consumer);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findRegisteredKeyCreatedOn(String idempotencyKey) {
+        return jdbcTemplate.query(REGISTERED_KEY, (rs, rowNum) -> rs.getTimestamp(1).toLocalDateTime(), idempotencyKey)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<String> findRegisteredKeys(Collection<String> idempotencyKeys) {
+        if (idempotencyKeys.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(idempotencyKeys.size(), "?"));
+        return jdbcTemplate.queryForList(REGISTERED_KEYS.formatted(placeholders), String.class, idempotencyKeys.toArray());
+    }
+
+    private void stream(String sql, LocalDateTime from, LocalDateTime to, int fetchSize, Consumer<TransactionView> consumer) {
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+            return ps;
+        }, rs -> {
+            consumer.accept(TransactionLogHistoryRepositoryImpl.toView(rs));
+        });
+    }
+}
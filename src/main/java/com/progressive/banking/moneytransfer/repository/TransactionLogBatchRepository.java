@@ -0,0 +1,24 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import java.util.List;
+
+import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.entities.TransferJournal;
+
+/**
+ * Bulk write path for transaction_log that bypasses the persistence context.
+ */
+public interface TransactionLogBatchRepository {
+
+    /**
+     * Inserts all rows with JDBC batching in the current transaction.
+     * Generated ids (and createdOn, if unset) are written back onto the given entities.
+     */
+    void insertAll(List<TransactionLog> logs);
+
+    /**
+     * Inserts drained journal entries as SUCCESS rows that keep the journal's transactionId,
+     * as one JDBC batch in the current transaction.
+     */
+    void insertDrained(List<TransferJournal> entries);
+}
@@ -0,0 +1,85 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.entities.TransferJournal;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class TransactionLogBatchRepositoryImpl implements TransactionLogBatchRepository {
+
+    /**
+     * Rows persisted between flushes; matches hibernate.jdbc.batch_size so each flush is one JDBC batch.
+     */
+    private static final int FLUSH_EVERY = 50;
+
+    private static final String INSERT_DRAINED =
+            "INSERT INTO transaction_log (transaction_id, from_account_id, to_account_id, amount, status, "
+                    + "idempotency_key, created_on) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionLogBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Ids come from the pooled generator, so persist() doesn't hit the database and the
+     * INSERTs go out as JDBC batches on flush. Flushed rows are detached right away so
+     * the persistence context (and the dirty check at commit) stays small for large batches.
+     */
+    @Override
+    public void insertAll(List<TransactionLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+
+        int pendingFrom = 0;
+        for (int i = 0; i < logs.size(); i++) {
+            entityManager.persist(logs.get(i));
+            if ((i + 1) % FLUSH_EVERY == 0) {
+                flushAndDetach(logs, pendingFrom, i + 1);
+                pendingFrom = i + 1;
+            }
+        }
+        flushAndDetach(logs, pendingFrom, logs.size());
+    }
+
+    private void flushAndDetach(List<TransactionLog> logs, int from, int to) {
+        if (from == to) {
+            return;
+        }
+        entityManager.flush();
+        for (int i = from; i < to; i++) {
+            entityManager.detach(logs.get(i));
+        }
+    }
+
+    /**
+     * Plain JDBC: the ids are already assigned, which persist() would reject for a generated id.
+     */
+    @Override
+    public void insertDrained(List<TransferJournal> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_DRAINED, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getTransactionId());
+            ps.setInt(2, entry.getFromAccountId());
+            ps.setInt(3, entry.getToAccountId());
+            ps.setBigDecimal(4, entry.getAmount());
+            ps.setString(5, TransactionStatusEnum.SUCCESS.name());
+            ps.setString(6, entry.getIdempotencyKey());
+            ps.setTimestamp(7, Timestamp.valueOf(entry.getCreatedOn()));
+        });
+    }
+}
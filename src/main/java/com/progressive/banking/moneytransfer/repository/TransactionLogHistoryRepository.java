@@ -0,0 +1,31 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
+
+/**
+ * Account history reads on transaction_log, newest first by (createdOn, transactionId).
+ *
+ * Sent and received rows are read as a UNION ALL of two lookups, so each branch can use its
+ * own index (idx_txn_from_created / idx_txn_to_created, already in (createdOn, transactionId)
+ * order) instead of the OR condition falling back to a full scan.
+ *
+ * Rows are mapped straight into TransactionView records, which are also what the API serves.
+ */
+public interface TransactionLogHistoryRepository {
+
+    /**
+     * Up to limit rows strictly older than (beforeCreatedOn, beforeId).
+     */
+    List<TransactionView> findHistoryPage(Integer accountId, LocalDateTime beforeCreatedOn, Integer beforeId, int limit);
+
+    /**
+     * Hands every row of the account's history to the consumer as it is read from the
+     * JDBC cursors (sent and received, merged), fetchSize rows per round trip; nothing is
+     * collected in memory.
+     */
+    void streamHistory(Integer accountId, int fetchSize, Consumer<TransactionView> consumer);
+}
@@ -0,0 +1,116 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+
+public class TransactionLogHistoryRepositoryImpl implements TransactionLogHistoryRepository {
+
+    static final String COLUMNS =
+            "transaction_id, from_account_id, to_account_id, amount, status, failure_reason, idempotency_key, created_on";
+
+    private static final String NEWEST_FIRST = " ORDER BY created_on DESC, transaction_id DESC";
+
+    private static final String BEFORE_CURSOR =
+            " AND (created_on < ? OR (created_on = ? AND transaction_id < ?))";
+
+    private static final String SENT =
+            "SELECT " + COLUMNS + " FROM transaction_log WHERE from_account_id = ?";
+
+    // from_account_id <> ? keeps a row out of both branches
+    private static final String RECEIVED =
+            "SELECT " + COLUMNS + " FROM transaction_log WHERE to_account_id = ? AND from_account_id <> ?";
+
+    // each branch is cut to limit before the merge, so at most 2 * limit rows are sorted
+    private static final String PAGE =
+            "SELECT * FROM ("
+                    + "(" + SENT + BEFORE_CURSOR + NEWEST_FIRST + " LIMIT ?)"
+                    + " UNION ALL "
+                    + "(" + RECEIVED + BEFORE_CURSOR + NEWEST_FIRST + " LIMIT ?)"
+                    + ") history" + NEWEST_FIRST + " LIMIT ?";
+
+    private static final Comparator<TransactionView> NEWEST_FIRST_ORDER =
+            Comparator.comparing(TransactionView::createdOn).thenComparing(TransactionView::transactionId).reversed();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionLogHistoryRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<TransactionView> findHistoryPage(Integer accountId, LocalDateTime beforeCreatedOn, Integer beforeId, int limit) {
+        Timestamp before = Timestamp.valueOf(beforeCreatedOn);
+        return jdbcTemplate.query(PAGE, (rs, rowNum) -> toView(rs),
+                accountId, before, before, beforeId, limit,
+                accountId, accountId, before, before, beforeId, limit,
+                limit);
+    }
+
+    /**
+     * Two cursors, sent and received, each read in its index's order, merged here like the
+     * archiver merges a segment with the live rows. A single UNION ALL ... ORDER BY without a
+     * LIMIT would make the database materialize and sort the whole history before the first row.
+     * Both cursors are open on one connection at once, which MySQL allows with useCursorFetch.
+     */
+    @Override
+    public void streamHistory(Integer accountId, int fetchSize, Consumer<TransactionView> consumer) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (PreparedStatement sent = cursor(con, SENT + NEWEST_FIRST, fetchSize, accountId);
+                 PreparedStatement received = cursor(con, RECEIVED + NEWEST_FIRST, fetchSize, accountId, accountId);
+                 ResultSet sentRows = sent.executeQuery();
+                 ResultSet receivedRows = received.executeQuery()) {
+                TransactionView nextSent = next(sentRows);
+                TransactionView nextReceived = next(receivedRows);
+                while (nextSent != null || nextReceived != null) {
+                    if (nextReceived == null || (nextSent != null && NEWEST_FIRST_ORDER.compare(nextSent, nextReceived) < 0)) {
+                        consumer.accept(nextSent);
+                        nextSent = next(sentRows);
+                    } else {
+                        consumer.accept(nextReceived);
+                        nextReceived = next(receivedRows);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private static PreparedStatement cursor(Connection con, String sql, int fetchSize, Integer... params) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(fetchSize);
+        for (int i = 0; i < params.length; i++) {
+            ps.setInt(i + 1, params[i]);
+        }
+        return ps;
+    }
+
+    private static TransactionView next(ResultSet rs) throws SQLException {
+        return rs.next() ? toView(rs) : null;
+    }
+
+    // by column index, in COLUMNS order
+    static TransactionView toView(ResultSet rs) throws SQLException {
+        return new TransactionView(
+                rs.getInt(1),
+                rs.getInt(2),
+                rs.getInt(3),
+                rs.getBigDecimal(4),
+                TransactionStatusEnum.valueOf(rs.getString(5)),
+                rs.getString(6),
+                rs.getString(7),
+                rs.getTimestamp(8).toLocalDateTime());
+    }
+}
@@ -1,19 +1,49 @@
 package com.progressive.banking.moneytransfer.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+
+import jakarta.persistence.LockModeType;
 
 @Repository
-public interface TransactionLogRepository extends JpaRepository<TransactionLog, Integer> {
+public interface TransactionLogRepository extends JpaRepository<TransactionLog, Integer>,
+        TransactionLogBatchRepository, TransactionLogHistoryRepository, TransactionLogArchiveRepository {
 
-    // Used for idempotency handling
+    // Used for idempotency handling; read-write so it is answered by the primary, not a replica
+    @Transactional
     Optional<TransactionLog> findByIdempotencyKey(String idempotencyKey);
 
-    // Used to show all transactions for an account (sent or received)
-    List<TransactionLog> findByFromAccountIdOrToAccountIdOrderByCreatedOnDesc(Integer fromId, Integer toId);
+    // Used by the write-behind journal, whose unique constraint can't see drained keys
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT t.idempotencyKey FROM TransactionLog t WHERE t.idempotencyKey IN :keys")
+    List<String> findLoggedIdempotencyKeys(@Param("keys") Collection<String> keys);
+
+    // Used by the PENDING trail to finish a row without loading it
+    @Modifying
+    @Query("UPDATE TransactionLog t SET t.status = :status, t.failureReason = :reason WHERE t.transactionId = :id")
+    int updateStatus(@Param("id") Integer id,
+                     @Param("status") TransactionStatusEnum status,
+                     @Param("reason") String reason);
+
+    // Used by the archiver: the oldest month still in the table
+    @Query("SELECT MIN(t.createdOn) FROM TransactionLog t")
+    Optional<LocalDateTime> findOldestCreatedOn();
+
+    // Used by the archiver where transaction_log isn't partitioned by month
+    @Modifying
+    @Query("DELETE FROM TransactionLog t WHERE t.createdOn >= :from AND t.createdOn < :to")
+    int deleteCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,36 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.progressive.banking.moneytransfer.domain.entities.TransferJournal;
+
+@Repository
+public interface TransferJournalRepository extends JpaRepository<TransferJournal, Integer> {
+
+    // Idempotency lookups for transfers not drained yet; on the primary, like TransactionLogRepository's
+    @Transactional
+    Optional<TransferJournal> findByIdempotencyKey(String idempotencyKey);
+
+    // Keyset pages in id order, for the drain sweep
+    List<TransferJournal> findByTransactionIdGreaterThanOrderByTransactionIdAsc(Integer after, Pageable page);
+
+    @Query("SELECT MIN(j.createdOn) FROM TransferJournal j")
+    Optional<LocalDateTime> findOldestCreatedOn();
+
+    // Journal rows whose transaction_log row already exists (must always be 0)
+    @Query("SELECT COUNT(j) FROM TransferJournal j WHERE EXISTS "
+            + "(SELECT 1 FROM TransactionLog t WHERE t.transactionId = j.transactionId)")
+    long countAlreadyLogged();
+
+    @Query("SELECT COUNT(j) FROM TransferJournal j WHERE j.createdOn < :before")
+    long countOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,79 @@
+package com.progressive.banking.moneytransfer.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import com.progressive.banking.moneytransfer.config.AuthProperties;
+import com.progressive.banking.moneytransfer.exception.LoginOverloadedException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs login authentication (user lookup + BCrypt) on a bounded pool of its own.
+ *
+ * The login endpoint returns the future, so the servlet thread is released while the hash
+ * is checked: a login storm fills this pool and its queue, never the Tomcat workers that
+ * transfers and balance reads need. Once the queue is full, logins are shed immediately
+ * with LoginOverloadedException (503 + Retry-After).
+ */
+@Component
+public class CredentialVerifier {
+
+    private final AuthenticationManager authManager;
+    private final AuthProperties.Login config;
+    private final ThreadPoolExecutor pool;
+
+    public CredentialVerifier(AuthenticationManager authManager, AuthProperties authProperties) {
+        this.authManager = authManager;
+        this.config = authProperties.getLogin();
+
+        AtomicInteger threads = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(
+                config.getWorkers(), config.getWorkers(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                task -> {
+                    Thread thread = new Thread(task, "login-bcrypt-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Completes with the authenticated user, or exceptionally with the AuthenticationException.
+     *
+     * @throws LoginOverloadedException when every worker is busy and the queue is full
+     */
+    public CompletableFuture<Authentication> authenticate(String username, String password) {
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> authManager.authenticate(new UsernamePasswordAuthenticationToken(username, password)),
+                    pool);
+        } catch (RejectedExecutionException ex) {
+            throw new LoginOverloadedException("Too many logins in progress, retry later", config.getRetryAfter());
+        }
+    }
+
+    public int queueDepth() {
+        return pool.getQueue().size();
+    }
+
+    public int activeCount() {
+        return pool.getActiveCount();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
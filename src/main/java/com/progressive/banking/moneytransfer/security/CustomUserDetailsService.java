@@ -1,18 +1,22 @@
 package com.progressive.banking.moneytransfer.security;
 
 import com.progressive.banking.moneytransfer.domain.entities.User;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
 import com.progressive.banking.moneytransfer.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
 
     @Override
     public UserDetails loadUserByUsername(String username)
@@ -27,4 +31,29 @@ public class CustomUserDetailsService implements UserDetailsService {
                 Collections.emptyList()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Called by DaoAuthenticationProvider after a successful login whose stored hash was made
+     * at a different BCrypt cost (see RehashingBCryptPasswordEncoder).
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByUsername(user.getUsername())
+                .ifPresent(entity -> entity.setPassword(newPassword));
+
+        return new org.springframework.security.core.userdetails.User(
+                user.getUsername(),
+                newPassword,
+                user.getAuthorities()
+        );
+    }
+
+    /**
+     * Accounts the user may act on, embedded in the token at login.
+     * An account belongs to the user whose username matches its holder name; a user may hold several.
+     */
+    public List<Integer> accountScopes(String username) {
+        return accountRepository.findAccountIdsByHolderName(username);
+    }
+}
@@ -2,19 +2,42 @@ package com.progressive.banking.moneytransfer.security;
 
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.progressive.banking.moneytransfer.config.JwtProperties;
+
+import io.jsonwebtoken.Claims;
+
 import java.io.IOException;
 
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+    private final JwtProperties.PrincipalMode principalMode;
+    private final Cache<String, UserDetails> userCache;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   CustomUserDetailsService userDetailsService,
+                                   TokenRevocationList revocationList,
+                                   JwtProperties jwtProperties) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.revocationList = revocationList;
+        this.principalMode = jwtProperties.getPrincipalMode();
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getUserCache().getMaxSize())
+                .expireAfterWrite(jwtProperties.getUserCache().getTtl())
+                .build();
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -27,14 +50,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
 
-            if (jwtUtil.validate(token)) {
-                String username = jwtUtil.extractUsername(token);
+            // one parse: signature, expiry and subject together
+            var claims = jwtUtil.verify(token);
+            if (claims.isPresent() && !revocationList.isRevoked(claims.get())) {
 
-                var userDetails =
-                        userDetailsService.loadUserByUsername(username);
-
-                var auth = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                var auth = authenticate(claims.get());
 
                 auth.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request));
@@ -45,4 +65,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private UsernamePasswordAuthenticationToken authenticate(Claims claims) {
+        String username = claims.getSubject();
+
+        return switch (principalMode) {
+            case CLAIMS -> {
+                JwtPrincipal principal = JwtPrincipal.from(claims);
+                yield new UsernamePasswordAuthenticationToken(
+                        principal, null, principal.roles().stream().map(SimpleGrantedAuthority::new).toList());
+            }
+            case CACHED_LOOKUP -> fromUserDetails(cachedUser(username));
+            case LOOKUP -> fromUserDetails(userDetailsService.loadUserByUsername(username));
+        };
+    }
+
+    /**
+     * Loads outside the cache: Cache.get(key, loader) would run the users query inside
+     * ConcurrentHashMap.compute, under a monitor that pins a virtual thread's carrier while
+     * it waits for a connection. Concurrent misses for one user may both query; either result is fine.
+     */
+    private UserDetails cachedUser(String username) {
+        UserDetails cached = userCache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        UserDetails loaded = userDetailsService.loadUserByUsername(username);
+        userCache.put(username, loaded);
+        return loaded;
+    }
+
+    private UsernamePasswordAuthenticationToken fromUserDetails(UserDetails userDetails) {
+        return new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+    }
+}
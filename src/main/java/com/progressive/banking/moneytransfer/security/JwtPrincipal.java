@@ -0,0 +1,34 @@
+package com.progressive.banking.moneytransfer.security;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Principal built from verified token claims (principal-mode=CLAIMS), without a users lookup.
+ *
+ * @param accountIds account scopes embedded at login
+ */
+public record JwtPrincipal(String username, List<String> roles, List<Integer> accountIds) implements AuthenticatedPrincipal {
+
+    public static JwtPrincipal from(Claims claims) {
+        return new JwtPrincipal(
+                claims.getSubject(),
+                listClaim(claims, JwtUtil.ROLES_CLAIM).stream().map(String::valueOf).toList(),
+                listClaim(claims, JwtUtil.ACCOUNTS_CLAIM).stream().map(id -> ((Number) id).intValue()).toList());
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    // tokens issued before the claim existed simply don't have it
+    private static List<?> listClaim(Claims claims, String name) {
+        Object value = claims.get(name);
+        return value instanceof List<?> list ? list : new ArrayList<>();
+    }
+}
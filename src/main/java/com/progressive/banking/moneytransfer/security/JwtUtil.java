@@ -4,44 +4,110 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
+import com.progressive.banking.moneytransfer.config.JwtProperties;
+
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
+/**
+ * Issues and verifies HMAC-signed tokens against the configured key ring.
+ *
+ * Keys are derived once at startup and the parser is built once; a JwtParser is immutable,
+ * so the same instance serves every request thread. The signing key is picked per token by
+ * its kid header.
+ */
 @Component
 public class JwtUtil {
 
-    private static final String SECRET =
-            "theconceptofenourmousanimalshasalwaysbeenassociatedwiththeideaofterrestrialanimalslikedinosaurs";
-    private static final long EXPIRATION = 86400000; // 1 day
+    // Claims set at login, read by principal-mode=CLAIMS
+    public static final String ROLES_CLAIM = "roles";
+    public static final String ACCOUNTS_CLAIM = "accounts";
+
+    private final Map<String, Key> keys;
+    private final String activeKeyId;
+    private final Key activeKey;
+    private final long expirationMillis;
+    private final JwtParser parser;
+
+    public JwtUtil(JwtProperties properties) {
+        Map<String, Key> ring = new LinkedHashMap<>();
+        properties.getKeys().forEach((kid, secret) ->
+                ring.put(kid, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))));
+        if (!ring.containsKey(properties.getActiveKeyId())) {
+            throw new IllegalStateException(
+                    "application.jwt.active-key-id '" + properties.getActiveKeyId() + "' is not in application.jwt.keys");
+        }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
+        this.keys = Map.copyOf(ring);
+        this.activeKeyId = properties.getActiveKeyId();
+        this.activeKey = ring.get(activeKeyId);
+        this.expirationMillis = properties.getExpiration().toMillis();
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyFor(header.getKeyId());
+                    }
+                })
+                .build();
     }
 
     public String generateToken(String username) {
+        return generateToken(username, List.of(), List.of());
+    }
+
+    /**
+     * Token with a unique id (jti, for revocation), the user's roles and the accounts it may act on.
+     */
+    public String generateToken(String username, Collection<String> roles, Collection<Integer> accountIds) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, activeKeyId)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(key())
+                .claim(ROLES_CLAIM, List.copyOf(roles))
+                .claim(ACCOUNTS_CLAIM, List.copyOf(accountIds))
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMillis))
+                .signWith(activeKey)
                 .compact();
     }
 
+    /**
+     * Verifies signature and expiry once and returns the claims; empty when the token is
+     * malformed, expired, tampered with, or signed by a key that is not in the ring.
+     */
+    public Optional<Claims> verify(String token) {
+        try {
+            return Optional.of(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validate(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+        return verify(token).isPresent();
+    }
+
+    private Key keyFor(String kid) {
+        if (kid == null) {
+            return activeKey;
+        }
+        Key key = keys.get(kid);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key: " + kid);
         }
+        return key;
     }
-}
\ No newline at end of file
+}
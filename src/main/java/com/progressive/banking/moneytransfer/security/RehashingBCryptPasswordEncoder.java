@@ -0,0 +1,31 @@
+package com.progressive.banking.moneytransfer.security;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt at a configured cost that asks for a rehash whenever a stored hash has a different
+ * cost, lower or higher (BCryptPasswordEncoder only upgrades weaker hashes).
+ *
+ * DaoAuthenticationProvider checks upgradeEncoding after a successful login and, since
+ * CustomUserDetailsService is also the UserDetailsPasswordService, stores the new hash.
+ */
+public class RehashingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    public RehashingBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    protected boolean upgradeEncodingNonNull(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
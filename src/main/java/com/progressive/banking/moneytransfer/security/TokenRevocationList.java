@@ -0,0 +1,54 @@
+package com.progressive.banking.moneytransfer.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.progressive.banking.moneytransfer.config.JwtProperties;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Tokens that must stop working before they expire: revoked by id (jti) on POST /auth/logout.
+ *
+ * An entry lives exactly as long as its token, until its exp. Nothing is evicted by size,
+ * since a dropped entry would let a live token back in; memory is bounded by the tokens
+ * revoked within one lifetime.
+ * The list is per instance: a revocation is only seen by the instance that made it.
+ */
+@Component
+public class TokenRevocationList {
+
+    // token id -> its exp
+    private final Cache<String, Instant> revokedTokens;
+    private final Duration expiration;
+
+    public TokenRevocationList(JwtProperties properties) {
+        this.expiration = properties.getExpiration();
+        this.revokedTokens = Caffeine.newBuilder()
+                .expireAfter(Expiry.<String, Instant>creating((id, expiresAt) -> untilExpiry(expiresAt)))
+                .build();
+    }
+
+    public void revoke(Claims claims) {
+        if (claims.getId() != null) {
+            Date exp = claims.getExpiration();
+            revokedTokens.put(claims.getId(), exp != null ? exp.toInstant() : Instant.now().plus(expiration));
+        }
+    }
+
+    public boolean isRevoked(Claims claims) {
+        return claims.getId() != null && revokedTokens.getIfPresent(claims.getId()) != null;
+    }
+
+    // a second past exp, so the entry outlives the last instant the token still verifies
+    private static Duration untilExpiry(Instant expiresAt) {
+        Duration remaining = Duration.between(Instant.now(), expiresAt).plusSeconds(1);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
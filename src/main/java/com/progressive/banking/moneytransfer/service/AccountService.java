@@ -1,10 +1,11 @@
 package com.progressive.banking.moneytransfer.service;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 import com.progressive.banking.moneytransfer.domain.dto.AccountResponse;
 import com.progressive.banking.moneytransfer.domain.dto.BalanceResponse;
-import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionHistoryPage;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
 
 public interface AccountService {
 
@@ -12,5 +13,7 @@ public interface AccountService {
 
     BalanceResponse getBalance(Integer id);
 
-    List<TransferResponse> getTransactions(Integer id);
+    TransactionHistoryPage getTransactions(Integer id, String cursor, Integer limit);
+
+    void streamTransactions(Integer id, Consumer<TransactionView> sink);
 }
\ No newline at end of file
@@ -1,8 +1,13 @@
 package com.progressive.banking.moneytransfer.service;
 
+import java.util.List;
+
+import com.progressive.banking.moneytransfer.domain.dto.BatchTransferResponse;
 import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
 import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
 
 public interface TransferService {
     TransferResponse transfer(TransferRequest request);
+
+    BatchTransferResponse transferBatch(List<TransferRequest> requests);
 }
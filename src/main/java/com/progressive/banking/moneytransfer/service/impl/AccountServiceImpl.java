@@ -1,58 +1,197 @@
 package com.progressive.banking.moneytransfer.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.progressive.banking.moneytransfer.archive.TransactionLogArchive;
+import com.progressive.banking.moneytransfer.cache.AccountCache;
+import com.progressive.banking.moneytransfer.config.HistoryProperties;
 import com.progressive.banking.moneytransfer.domain.dto.AccountResponse;
 import com.progressive.banking.moneytransfer.domain.dto.BalanceResponse;
-import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
-import com.progressive.banking.moneytransfer.domain.entities.Account;
-import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionHistoryPage;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
 import com.progressive.banking.moneytransfer.domain.mapper.AccountMapper;
-import com.progressive.banking.moneytransfer.domain.mapper.TransferMapper;
 import com.progressive.banking.moneytransfer.exception.AccountNotFoundException;
 import com.progressive.banking.moneytransfer.repository.AccountRepository;
 import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
 import com.progressive.banking.moneytransfer.service.AccountService;
 
-import lombok.RequiredArgsConstructor;
-
 @Service
-@RequiredArgsConstructor
 public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
     private final TransactionLogRepository transactionLogRepository;
+    private final HistoryProperties historyProperties;
+    private final AccountCache accountCache;
+    private final TransactionLogArchive transactionLogArchive;
+    // read-write, so LazyConnectionDataSourceProxy hands it the primary, never a replica
+    private final TransactionTemplate primaryReads;
+
+    // First page: older than anything that can be stored
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    public AccountServiceImpl(AccountRepository accountRepository,
+                              TransactionLogRepository transactionLogRepository,
+                              HistoryProperties historyProperties,
+                              AccountCache accountCache,
+                              TransactionLogArchive transactionLogArchive,
+                              PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.transactionLogRepository = transactionLogRepository;
+        this.historyProperties = historyProperties;
+        this.accountCache = accountCache;
+        this.transactionLogArchive = transactionLogArchive;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+    }
 
+    /**
+     * Served from the account cache; a miss reads the row in the repository's own
+     * read-only transaction, a hit doesn't touch the database at all. Reads select straight
+     * into records (AccountView, AccountBalanceView), never a managed Account. A miss on an
+     * account this instance just wrote reads the primary (AccountCache).
+     */
     @Override
-    @Transactional(readOnly = true)
     public AccountResponse getAccount(Integer id) {
-        Account account = accountRepository.findById(id)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + id));
-        return AccountMapper.toAccountResponse(account);
+        return accountCache.get(id, this::loadAccount, this::loadAccountFromPrimary);
     }
 
+    /**
+     * Shares the cached account with getAccount; without the cache only the four balance
+     * columns are read.
+     */
     @Override
-    @Transactional(readOnly = true)
     public BalanceResponse getBalance(Integer id) {
-        Account account = accountRepository.findById(id)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + id));
-        return AccountMapper.toBalanceResponse(account);
+        if (accountCache.isEnabled()) {
+            return AccountMapper.toBalanceResponse(accountCache.get(id, this::loadAccount, this::loadAccountFromPrimary));
+        }
+        return AccountMapper.toBalanceResponse(accountRepository.findBalanceViewById(id)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + id)));
     }
 
+    /**
+     * One page of history, newest first. Keyset pagination on (createdOn, transactionId):
+     * the cursor carries the last row returned, so every page costs the same regardless of depth.
+     * Pages run on from transaction_log into the archived months (TransactionLogArchive).
+     */
     @Override
     @Transactional(readOnly = true)
-    public List<TransferResponse> getTransactions(Integer id) {
+    public TransactionHistoryPage getTransactions(Integer id, String cursor, Integer limit) {
+
+        int pageSize = limit == null ? historyProperties.getDefaultPageSize() : limit;
+        if (pageSize < 1 || pageSize > historyProperties.getMaxPageSize()) {
+            throw new IllegalArgumentException("limit must be between 1 and " + historyProperties.getMaxPageSize());
+        }
+        HistoryCursor position = cursor == null ? new HistoryCursor(END_OF_TIME, Integer.MAX_VALUE) : HistoryCursor.decode(cursor);
 
         // validates account existence
-        accountRepository.findById(id)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + id));
+        requireAccount(id);
+
+        // one extra row tells whether there is a next page
+        List<TransactionView> rows = historyRows(id, position, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionView> page = hasMore ? rows.subList(0, pageSize) : rows;
+        TransactionView last = hasMore ? page.get(page.size() - 1) : null;
+
+        return TransactionHistoryPage.builder()
+                .items(page)
+                .nextCursor(last == null ? null : new HistoryCursor(last.createdOn(), last.transactionId()).encode())
+                .build();
+    }
+
+    /**
+     * Whole history, newest first, pushed to the sink row by row from a JDBC cursor, then
+     * from the archived months' segments.
+     * Runs after the response has started, so the caller checks the account exists first.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTransactions(Integer id, Consumer<TransactionView> sink) {
+        if (transactionLogArchive.isEmpty()) {
+            transactionLogRepository.streamHistory(id, historyProperties.getStreamFetchSize(), sink);
+            return;
+        }
+        LocalDateTime liveFrom = transactionLogArchive.liveFrom();
+        transactionLogRepository.streamHistory(id, historyProperties.getStreamFetchSize(), row -> {
+            if (!row.createdOn().isBefore(liveFrom)) {
+                sink.accept(row);
+            }
+        });
+        transactionLogArchive.streamHistory(id, sink);
+    }
+
+    /**
+     * Up to limit rows older than the position: transaction_log first, then the archived months,
+     * which are all older than anything read from the live table. Live rows of a month that is
+     * already archived (its rows are about to be dropped) are cut off, as the archive has them.
+     */
+    private List<TransactionView> historyRows(Integer id, HistoryCursor position, int limit) {
+        List<TransactionView> live = transactionLogRepository
+                .findHistoryPage(id, position.createdOn(), position.transactionId(), limit);
+        if (transactionLogArchive.isEmpty()) {
+            return live;
+        }
+
+        LocalDateTime liveFrom = transactionLogArchive.liveFrom();
+        List<TransactionView> rows = new ArrayList<>(limit);
+        for (TransactionView row : live) {
+            if (row.createdOn().isBefore(liveFrom)) {
+                break;
+            }
+            rows.add(row);
+        }
+        if (rows.size() < limit) {
+            rows.addAll(transactionLogArchive.findHistoryPage(id, position.createdOn(), position.transactionId(), limit - rows.size()));
+        }
+        return rows;
+    }
+
+    // the view's balance already includes a striped account's stripes, read in the same statement
+    private AccountResponse loadAccount(Integer id) {
+        return AccountMapper.toAccountResponse(accountRepository.findViewById(id)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + id)));
+    }
+
+    private AccountResponse loadAccountFromPrimary(Integer id) {
+        return primaryReads.execute(status -> loadAccount(id));
+    }
+
+    private void requireAccount(Integer id) {
+        if (!accountRepository.existsById(id)) {
+            throw new AccountNotFoundException("Account not found: " + id);
+        }
+    }
+
+    /**
+     * Position in the history; encoded as base64url("createdOn|transactionId").
+     */
+    record HistoryCursor(LocalDateTime createdOn, Integer transactionId) {
 
-        List<TransactionLog> logs = transactionLogRepository
-                .findByFromAccountIdOrToAccountIdOrderByCreatedOnDesc(id, id);
+        String encode() {
+            String raw = createdOn + "|" + transactionId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
 
-        return logs.stream().map(TransferMapper::toResponse).toList();
+        static HistoryCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new HistoryCursor(
+                        LocalDateTime.parse(raw.substring(0, separator)),
+                        Integer.valueOf(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+                throw new IllegalArgumentException("cursor is invalid");
+            }
+        }
     }
-}
\ No newline at end of file
+}
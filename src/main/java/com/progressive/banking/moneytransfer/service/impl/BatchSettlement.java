@@ -0,0 +1,83 @@
+package com.progressive.banking.moneytransfer.service.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.exception.AccountNotActiveException;
+import com.progressive.banking.moneytransfer.exception.AccountNotFoundException;
+import com.progressive.banking.moneytransfer.exception.InsufficientBalanceException;
+
+/**
+ * Plans a batch of transfers against a set of already-locked accounts.
+ *
+ * Items are applied in submission order to running balances, so an item can spend
+ * money credited by an earlier item of the same batch. Accepted items only
+ * accumulate a net delta per account; the entities are touched once at the end.
+ */
+final class BatchSettlement {
+
+    private final Map<Integer, Account> accounts;
+    private final Map<Integer, Money> balances = new HashMap<>();
+    private final Map<Integer, Money> deltas = new TreeMap<>();
+
+    BatchSettlement(Map<Integer, Account> accounts) {
+        this.accounts = accounts;
+    }
+
+    /**
+     * Accepts the item or throws the same exception a single transfer would.
+     */
+    void apply(TransferRequest request) {
+        Account from = accounts.get(request.getFromAccountId());
+        if (from == null) {
+            throw new AccountNotFoundException("From account not found: " + request.getFromAccountId());
+        }
+        Account to = accounts.get(request.getToAccountId());
+        if (to == null) {
+            throw new AccountNotFoundException("To account not found: " + request.getToAccountId());
+        }
+        if (!from.isActive()) {
+            throw new AccountNotActiveException("From account is not active: " + from.getAccountId());
+        }
+        if (!to.isActive()) {
+            throw new AccountNotActiveException("To account is not active: " + to.getAccountId());
+        }
+
+        Money amount = request.getAmount();
+        Money available = balance(from);
+        if (available.isLessThan(amount)) {
+            throw new InsufficientBalanceException(
+                    "Insufficient balance in account " + from.getAccountId()
+                            + ". Available=" + available + ", Required=" + amount
+            );
+        }
+
+        balances.put(from.getAccountId(), available.minus(amount));
+        balances.put(to.getAccountId(), balance(to).plus(amount));
+        deltas.merge(from.getAccountId(), amount.negate(), Money::plus);
+        deltas.merge(to.getAccountId(), amount, Money::plus);
+    }
+
+    /**
+     * Writes each account's net delta onto its entity (one UPDATE per touched account at flush).
+     */
+    void settle() {
+        deltas.forEach((accountId, delta) -> {
+            int sign = delta.signum();
+            if (sign < 0) {
+                accounts.get(accountId).debit(delta.negate());
+            } else if (sign > 0) {
+                accounts.get(accountId).credit(delta);
+            }
+        });
+    }
+
+    private Money balance(Account account) {
+        Money running = balances.get(account.getAccountId());
+        return running != null ? running : account.getBalance();
+    }
+}
@@ -1,114 +1,765 @@
 package com.progressive.banking.moneytransfer.service.impl;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.progressive.banking.moneytransfer.cache.AccountCache;
+import com.progressive.banking.moneytransfer.coalescing.CoalescingStats;
+import com.progressive.banking.moneytransfer.coalescing.TransferCoalescer;
+import com.progressive.banking.moneytransfer.coalescing.TransferCoalescer.Outcome;
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.BatchTransferItemResult;
+import com.progressive.banking.moneytransfer.domain.dto.BatchTransferResponse;
 import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
 import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
 import com.progressive.banking.moneytransfer.domain.entities.Account;
 import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
 import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
 import com.progressive.banking.moneytransfer.domain.mapper.TransferMapper;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.engine.ShardedTransferEngine;
 import com.progressive.banking.moneytransfer.exception.AccountNotActiveException;
 import com.progressive.banking.moneytransfer.exception.AccountNotFoundException;
+import com.progressive.banking.moneytransfer.exception.BusinessRuleException;
 import com.progressive.banking.moneytransfer.exception.DuplicateTransferException;
 import com.progressive.banking.moneytransfer.exception.InsufficientBalanceException;
+import com.progressive.banking.moneytransfer.idempotency.IdempotencyRegistry;
+import com.progressive.banking.moneytransfer.journal.TransferJournalPipeline;
+import com.progressive.banking.moneytransfer.metrics.TransferMetrics;
+import com.progressive.banking.moneytransfer.metrics.TransferMetrics.Phase;
+import com.progressive.banking.moneytransfer.metrics.TransferMetrics.PhaseClock;
 import com.progressive.banking.moneytransfer.repository.AccountRepository;
 import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
 import com.progressive.banking.moneytransfer.service.TransferService;
+import com.progressive.banking.moneytransfer.striping.StripedBalances;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TransferServiceImpl implements TransferService {
 
     private final AccountRepository accountRepository;
     private final TransactionLogRepository transactionLogRepository;
+    private final TransferProperties transferProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyRegistry idempotencyRegistry;
+    private final TransferJournalPipeline journalPipeline;
+    private final AccountCache accountCache;
+    private final TransferMetrics metrics;
+    private final ShardedTransferEngine shardedEngine;
+    private final StripedBalances stripedBalances;
+    private final Semaphore admission;
+    private volatile TransferCoalescer coalescer;
+
+    public TransferServiceImpl(AccountRepository accountRepository,
+                               TransactionLogRepository transactionLogRepository,
+                               TransferProperties transferProperties,
+                               PlatformTransactionManager transactionManager,
+                               IdempotencyRegistry idempotencyRegistry,
+                               TransferJournalPipeline journalPipeline,
+                               AccountCache accountCache,
+                               TransferMetrics metrics,
+                               ShardedTransferEngine shardedEngine,
+                               StripedBalances stripedBalances) {
+        this.accountRepository = accountRepository;
+        this.transactionLogRepository = transactionLogRepository;
+        this.transferProperties = transferProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idempotencyRegistry = idempotencyRegistry;
+        this.journalPipeline = journalPipeline;
+        this.accountCache = accountCache;
+        this.metrics = metrics;
+        this.shardedEngine = shardedEngine;
+        this.stripedBalances = stripedBalances;
+        this.admission = new Semaphore(transferProperties.getMaxConcurrent(), true);
+    }
 
     /**
      * Main API method
-     * - Enforces idempotency (returns existing result if same key repeats)
+     * - Enforces idempotency (rejects or replays a repeated key, per duplicate-policy)
+     * - Runs at most application.transfer.max-concurrent transfers at once (not the SHARDED
+     *   engine or coalesced transfers, whose callers hold no connection while they wait for
+     *   their group commit)
      * - Validates transfer rules
      * - Executes debit+credit atomically
      */
     @Override
-    @Transactional
     public TransferResponse transfer(TransferRequest request) {
 
-        // 1) Idempotency: if already processed, return existing log response
-        transactionLogRepository.findByIdempotencyKey(request.getIdempotencyKey())
-                .ifPresent(existing -> {
-                    // If you prefer "return existing" instead of conflict, do that.
-                    // Most systems return the existing result for same idempotency key.
-                    throw new DuplicateTransferException(
-                            "Duplicate transfer request. Idempotency key already used: " + request.getIdempotencyKey()
-                    );
-                });
+        PhaseClock clock = metrics.clock();
 
-        // 2) Fetch accounts
-        Account from = accountRepository.findById(request.getFromAccountId())
-                .orElseThrow(() -> new AccountNotFoundException("From account not found: " + request.getFromAccountId()));
+        // 1) Idempotency: filter -> cache -> transaction_log
+        Optional<TransferResponse> previous = idempotencyRegistry.lookup(request.getIdempotencyKey());
+        clock.lap(Phase.IDEMPOTENCY);
+        if (previous.isPresent()) {
+            return onDuplicate(request, previous.get());
+        }
 
-        Account to = accountRepository.findById(request.getToAccountId())
-                .orElseThrow(() -> new AccountNotFoundException("To account not found: " + request.getToAccountId()));
+        // Wait for a transaction slot (application.transfer.max-concurrent)
+        boolean sharded = transferProperties.getEngine() == TransferProperties.Engine.SHARDED;
+        boolean coalesced = !sharded && coalesces();
+        boolean admitted = !sharded && !coalesced;
+        if (admitted) {
+            admission.acquireUninterruptibly();
+            clock.lap(Phase.ADMISSION);
+        }
+        try {
+            TransferResponse response = sharded ? executeSharded(request, clock)
+                    : coalesced ? executeCoalesced(request, clock)
+                    : executeWithRetry(request, clock);
+            idempotencyRegistry.remember(response);
+            clock.stop();
+            metrics.outcome(TransactionStatusEnum.SUCCESS);
+            return response;
 
-        // 3) Create log as PENDING first (helps trace even if execution fails)
-        TransactionLog logEntity = new TransactionLog();
-        logEntity.setFromAccountId(request.getFromAccountId());
-        logEntity.setToAccountId(request.getToAccountId());
-        logEntity.setAmount(request.getAmount());
-        logEntity.setIdempotencyKey(request.getIdempotencyKey());
-        logEntity.setStatus(TransactionStatusEnum.PENDING);
+        } catch (DataIntegrityViolationException ex) {
+            // Key was committed concurrently, by another instance, or before the filter's memory:
+            // the unique constraint on idempotencyKey caught it.
+            TransferResponse existing = idempotencyRegistry.probe(request.getIdempotencyKey())
+                    .orElseThrow(() -> ex);
+            idempotencyRegistry.recordConstraintHit();
+            return onDuplicate(request, existing);
+
+        } finally {
+            if (admitted) {
+                admission.release();
+            }
+        }
+    }
 
-        logEntity = transactionLogRepository.save(logEntity);
+    public CoalescingStats coalescingStats() {
+        TransferCoalescer current = coalescer;
+        return current == null ? new CoalescingStats(0, 0, 0, 0) : current.stats();
+    }
+
+    @PreDestroy
+    void stop() {
+        TransferCoalescer current = coalescer;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * Settles up to application.transfer.batch.max-items transfers in one transaction:
+     * - every touched account is locked once, in ascending accountId order
+     * - items are checked in order against running balances; failures don't affect other items
+     * - each account gets one net balance change, successful items one batched log insert
+     *
+     * Only successful items are logged, so a failed item's idempotency key can be retried.
+     *
+     * With engine=SHARDED the items are submitted in order as independent transfers and end up
+     * in the ledger's group commits instead of one batch transaction.
+     */
+    @Override
+    public BatchTransferResponse transferBatch(List<TransferRequest> requests) {
+
+        int maxItems = transferProperties.getBatch().getMaxItems();
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("transfers must not be empty");
+        }
+        if (requests.size() > maxItems) {
+            throw new IllegalArgumentException("batch must not exceed " + maxItems + " transfers");
+        }
 
+        BatchTransferResponse response;
+        if (transferProperties.getEngine() == TransferProperties.Engine.SHARDED) {
+            response = settleSharded(requests);
+        } else {
+            response = settleLocked(requests);
+        }
+
+        for (BatchTransferItemResult result : response.getResults()) {
+            idempotencyRegistry.remember(result.getTransfer());
+            metrics.outcome(result.getStatus());
+        }
+        return response;
+    }
+
+    private BatchTransferResponse settleLocked(List<TransferRequest> requests) {
+        BatchTransferResponse response;
+        admission.acquireUninterruptibly();
         try {
-            // 4) Validate business rules
-            validateTransfer(request, from, to);
+            response = transactionTemplate.execute(status -> settleBatch(requests));
+
+        } catch (DataIntegrityViolationException ex) {
+            // Some key was committed elsewhere after our lookup: learn the committed keys and re-plan once.
+            log.warn("Batch hit an idempotency key conflict, re-planning {} transfers", requests.size());
+            requests.forEach(r -> {
+                if (r.getIdempotencyKey() != null) {
+                    idempotencyRegistry.probe(r.getIdempotencyKey());
+                }
+            });
+            idempotencyRegistry.recordConstraintHit();
+            response = transactionTemplate.execute(status -> settleBatch(requests));
+
+        } finally {
+            admission.release();
+        }
+        return response;
+    }
 
-            // 5) Execute actual debit/credit
-            executeTransfer(from, to, request.getAmount());
+    private BatchTransferResponse settleSharded(List<TransferRequest> requests) {
+        BatchTransferItemResult[] results = new BatchTransferItemResult[requests.size()];
+        List<CompletableFuture<TransferResponse>> submitted = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        Set<String> keysInBatch = new HashSet<>();
 
-            // 6) Persist updated accounts
-            accountRepository.save(from);
-            accountRepository.save(to);
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            try {
+                if (request.getIdempotencyKey() == null) {
+                    throw new IllegalArgumentException("idempotencyKey must not be blank");
+                }
+                if (!keysInBatch.add(request.getIdempotencyKey())) {
+                    throw new DuplicateTransferException(
+                            "Duplicate transfer request. Idempotency key repeated in batch: " + request.getIdempotencyKey());
+                }
+                Optional<TransferResponse> previous = idempotencyRegistry.lookup(request.getIdempotencyKey());
+                if (previous.isPresent()) {
+                    results[i] = itemSuccess(i, onDuplicate(request, previous.get()));
+                    continue;
+                }
+                validateRequest(request);
+                submitted.set(i, shardedEngine.submit(request));
+
+            } catch (RuntimeException ex) {
+                results[i] = itemFailure(i, request, ex);
+            }
+        }
+
+        int succeeded = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            if (submitted.get(i) != null) {
+                try {
+                    results[i] = itemSuccess(i, ShardedTransferEngine.await(submitted.get(i)));
+                } catch (DataIntegrityViolationException ex) {
+                    results[i] = duplicateItem(i, request, ex);
+                } catch (RuntimeException ex) {
+                    results[i] = itemFailure(i, request, ex);
+                }
+            }
+            if (results[i].getStatus() == TransactionStatusEnum.SUCCESS) {
+                succeeded++;
+            }
+        }
+
+        return BatchTransferResponse.builder()
+                .total(requests.size())
+                .succeeded(succeeded)
+                .failed(requests.size() - succeeded)
+                .results(List.of(results))
+                .build();
+    }
 
-            // 7) Mark success
-            logEntity.setStatus(TransactionStatusEnum.SUCCESS);
-            logEntity.setFailureReason(null);
-            transactionLogRepository.save(logEntity);
+    // constraint hit on a sharded item: the key was committed elsewhere after our lookup
+    private BatchTransferItemResult duplicateItem(int index, TransferRequest request, DataIntegrityViolationException ex) {
+        Optional<TransferResponse> existing = idempotencyRegistry.probe(request.getIdempotencyKey());
+        if (existing.isEmpty()) {
+            return itemFailure(index, request, ex);
+        }
+        idempotencyRegistry.recordConstraintHit();
+        try {
+            return itemSuccess(index, onDuplicate(request, existing.get()));
+        } catch (DuplicateTransferException duplicate) {
+            return itemFailure(index, request, duplicate);
+        }
+    }
+
+    private BatchTransferResponse settleBatch(List<TransferRequest> requests) {
+
+        // 1) Lock every touched account once, lowest id first
+        Map<Integer, Account> accounts = lockAccounts(requests);
+        BatchSettlement settlement = new BatchSettlement(accounts);
+
+        // 2) Decide each item in submission order
+        BatchTransferItemResult[] results = new BatchTransferItemResult[requests.size()];
+        List<TransferRequest> applied = new ArrayList<>();
+        List<Integer> appliedIndexes = new ArrayList<>();
+        Set<String> keysInBatch = new HashSet<>();
+        int replayed = 0;
+
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            try {
+                if (request.getIdempotencyKey() == null) {
+                    throw new IllegalArgumentException("idempotencyKey must not be blank");
+                }
+                if (!keysInBatch.add(request.getIdempotencyKey())) {
+                    throw new DuplicateTransferException(
+                            "Duplicate transfer request. Idempotency key repeated in batch: " + request.getIdempotencyKey());
+                }
+                Optional<TransferResponse> previous = idempotencyRegistry.lookup(request.getIdempotencyKey());
+                if (previous.isPresent()) {
+                    results[i] = itemSuccess(i, onDuplicate(request, previous.get()));
+                    replayed++;
+                    continue;
+                }
+
+                validateRequest(request);
+                settlement.apply(request);
+
+                applied.add(request);
+                appliedIndexes.add(i);
+
+            } catch (RuntimeException ex) {
+                results[i] = itemFailure(i, request, ex);
+            }
+        }
 
-            return TransferMapper.toResponse(logEntity);
+        // 3) One balance change per account, one batched write for the log rows
+        settlement.settle();
+        accountCache.evictAfterCommit(accounts.keySet());
+        List<TransferResponse> transfers = recordBatch(applied);
+
+        for (int n = 0; n < transfers.size(); n++) {
+            int index = appliedIndexes.get(n);
+            results[index] = itemSuccess(index, transfers.get(n));
+        }
+
+        int succeeded = transfers.size() + replayed;
+
+        return BatchTransferResponse.builder()
+                .total(requests.size())
+                .succeeded(succeeded)
+                .failed(requests.size() - succeeded)
+                .results(List.of(results))
+                .build();
+    }
+
+    private List<TransferResponse> recordBatch(List<TransferRequest> applied) {
+        if (transferProperties.getLogMode() == TransferProperties.LogMode.WRITE_BEHIND) {
+            return journalPipeline.appendAll(applied).stream().map(TransferMapper::toResponse).toList();
+        }
+
+        List<TransactionLog> logs = new ArrayList<>(applied.size());
+        for (TransferRequest request : applied) {
+            TransactionLog logEntity = newLog(request);
+            logEntity.markSuccess();
+            logs.add(logEntity);
+        }
+        transactionLogRepository.insertAll(logs);
+        return logs.stream().map(TransferMapper::toResponse).toList();
+    }
+
+    private Map<Integer, Account> lockAccounts(List<TransferRequest> requests) {
+        TreeSet<Integer> ids = new TreeSet<>();
+        for (TransferRequest request : requests) {
+            if (request.getFromAccountId() != null) {
+                ids.add(request.getFromAccountId());
+            }
+            if (request.getToAccountId() != null) {
+                ids.add(request.getToAccountId());
+            }
+        }
+
+        int chunkSize = transferProperties.getBatch().getLockChunkSize();
+        Map<Integer, Account> accounts = new HashMap<>(ids.size() * 2);
+        List<Integer> chunk = new ArrayList<>(Math.min(chunkSize, ids.size()));
+        for (Integer id : ids) {
+            chunk.add(id);
+            if (chunk.size() == chunkSize) {
+                accountRepository.findAllByIdForUpdate(chunk).forEach(a -> accounts.put(a.getAccountId(), a));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            accountRepository.findAllByIdForUpdate(chunk).forEach(a -> accounts.put(a.getAccountId(), a));
+        }
+        return accounts;
+    }
+
+    private BatchTransferItemResult itemSuccess(int index, TransferResponse transfer) {
+        return BatchTransferItemResult.builder()
+                .index(index)
+                .idempotencyKey(transfer.getIdempotencyKey())
+                .status(TransactionStatusEnum.SUCCESS)
+                .transfer(transfer)
+                .build();
+    }
+
+    private BatchTransferItemResult itemFailure(int index, TransferRequest request, RuntimeException ex) {
+        return BatchTransferItemResult.builder()
+                .index(index)
+                .idempotencyKey(request.getIdempotencyKey())
+                .status(TransactionStatusEnum.FAILURE)
+                .errorCode(errorCode(ex))
+                .message(ex.getMessage())
+                .build();
+    }
+
+    /**
+     * Same codes GlobalExceptionHandler uses for the single-transfer endpoint.
+     */
+    private String errorCode(RuntimeException ex) {
+        if (ex instanceof AccountNotFoundException) {
+            return "ACC-404";
+        }
+        if (ex instanceof AccountNotActiveException) {
+            return "ACC-403";
+        }
+        if (ex instanceof InsufficientBalanceException) {
+            return "TRX-400";
+        }
+        if (ex instanceof DuplicateTransferException) {
+            return "TRX-409";
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return "VAL-422";
+        }
+        return "SYS-500";
+    }
+
+    private TransferResponse onDuplicate(TransferRequest request, TransferResponse original) {
+        if (transferProperties.getIdempotency().getDuplicatePolicy() == TransferProperties.DuplicatePolicy.REPLAY) {
+            log.debug("Replaying transfer {} for idempotencyKey={}", original.getTransactionId(), request.getIdempotencyKey());
+            metrics.replayed();
+            return original;
+        }
+        throw new DuplicateTransferException(
+                "Duplicate transfer request. Idempotency key already used: " + request.getIdempotencyKey()
+        );
+    }
+
+    /**
+     * Each attempt runs in its own transaction so an optimistic lock failure
+     * (detected at commit) can be retried with a fresh read.
+     *
+     * With log-mode=PENDING_TRAIL a PENDING row is committed before any money moves and
+     * finished as SUCCESS (with the transfer) or FAILURE (in its own transaction), so a crash
+     * mid-transfer leaves a PENDING row behind instead of nothing.
+     */
+    private TransferResponse executeWithRetry(TransferRequest request, PhaseClock clock) {
+
+        TransferProperties.Retry retry = transferProperties.getRetry();
+        TransactionLog trail = transferProperties.getLogMode() == TransferProperties.LogMode.PENDING_TRAIL
+                ? transactionTemplate.execute(status -> transactionLogRepository.save(newLog(request)))
+                : null;
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                TransferResponse response = transactionTemplate.execute(status -> doTransfer(request, trail, clock));
+                clock.lap(Phase.COMMIT);
+                return response;
+
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                if (attempt < retry.getMaxAttempts()) {
+                    log.debug("Optimistic lock conflict (attempt {}), retrying. idempotencyKey={}",
+                            attempt, request.getIdempotencyKey());
+                    backoff(attempt, retry, ex);
+                    clock.skip();
+                    continue;
+                }
+                log.warn("Transfer gave up after {} optimistic lock conflicts. idempotencyKey={}",
+                        attempt, request.getIdempotencyKey());
+                recordFailure(request, trail, ex);
+                throw ex;
+
+            } catch (DataIntegrityViolationException ex) {
+                // idempotency key conflict, resolved by transfer()
+                throw ex;
+
+            } catch (RuntimeException ex) {
+                recordFailure(request, trail, ex);
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * engine=SHARDED: the ledger checks and moves the money in memory; this thread only waits
+     * for the group commit that carries the transfer.
+     */
+    private TransferResponse executeSharded(TransferRequest request, PhaseClock clock) {
+        try {
+            validateRequest(request);
+            clock.lap(Phase.VALIDATION);
+            TransferResponse response = shardedEngine.transfer(request);
+            clock.lap(Phase.COMMIT);
+            return response;
+
+        } catch (DataIntegrityViolationException ex) {
+            // idempotency key conflict, resolved by transfer()
+            throw ex;
 
         } catch (RuntimeException ex) {
-            // Mark failed in transaction log (still inside txn)
-            logEntity.setStatus(TransactionStatusEnum.FAILURE);
-            logEntity.setFailureReason(ex.getMessage());
-            transactionLogRepository.save(logEntity);
+            recordFailure(request, null, ex);
+            throw ex;
+        }
+    }
 
-            log.error("Transfer failed. idempotencyKey={}, reason={}", request.getIdempotencyKey(), ex.getMessage(), ex);
+    /**
+     * coalescing.enabled: this thread waits for the group transaction that carries the transfer.
+     * A group that failed as a whole decided nothing, so the transfer then runs on its own.
+     */
+    private TransferResponse executeCoalesced(TransferRequest request, PhaseClock clock) {
+        try {
+            validateRequest(request);
+            clock.lap(Phase.VALIDATION);
+        } catch (RuntimeException ex) {
+            recordFailure(request, null, ex);
             throw ex;
         }
+
+        Outcome outcome = coalescer().submit(request).join();
+        if (outcome.ungrouped()) {
+            admission.acquireUninterruptibly();
+            clock.lap(Phase.ADMISSION);
+            try {
+                return executeWithRetry(request, clock);
+            } finally {
+                admission.release();
+            }
+        }
+        clock.lap(Phase.COMMIT);
+
+        RuntimeException failure = outcome.failure();
+        if (failure instanceof DataIntegrityViolationException) {
+            // idempotency key conflict, resolved by transfer()
+            throw failure;
+        }
+        if (failure != null) {
+            recordFailure(request, null, failure);
+            throw failure;
+        }
+        return outcome.response();
     }
 
     /**
-     * Business validations for transfer.
+     * One coalesced group, one transaction, settled like a batch minus the idempotency lookup
+     * its callers already did. A key repeated within the group fails that item the way the
+     * unique constraint would; any exception thrown out of here rolls the whole group back.
      */
-    void validateTransfer(TransferRequest request, Account from, Account to) {
+    private List<Outcome> settleGroup(List<TransferRequest> group) {
+        admission.acquireUninterruptibly();
+        try {
+            return transactionTemplate.execute(status -> {
+                Map<Integer, Account> accounts = lockAccounts(group);
+                BatchSettlement settlement = new BatchSettlement(accounts);
 
-        if (request.getFromAccountId().equals(request.getToAccountId())) {
-            throw new IllegalArgumentException("fromAccountId and toAccountId must be different");
+                Outcome[] outcomes = new Outcome[group.size()];
+                List<TransferRequest> applied = new ArrayList<>(group.size());
+                List<Integer> appliedIndexes = new ArrayList<>(group.size());
+                Set<String> keysInGroup = new HashSet<>();
+
+                for (int i = 0; i < group.size(); i++) {
+                    TransferRequest request = group.get(i);
+                    if (request.getIdempotencyKey() != null && !keysInGroup.add(request.getIdempotencyKey())) {
+                        outcomes[i] = Outcome.rejected(new DataIntegrityViolationException(
+                                "Idempotency key repeated in group: " + request.getIdempotencyKey()));
+                        continue;
+                    }
+                    try {
+                        settlement.apply(request);
+                        applied.add(request);
+                        appliedIndexes.add(i);
+                    } catch (RuntimeException ex) {
+                        outcomes[i] = Outcome.rejected(ex);
+                    }
+                }
+
+                settlement.settle();
+                accountCache.evictAfterCommit(accounts.keySet());
+                List<TransferResponse> transfers = recordBatch(applied);
+                // checked before commit: the coalescer hands a short answer back as ungrouped
+                if (transfers.size() != applied.size()) {
+                    throw new IllegalStateException(
+                            "Recorded " + transfers.size() + " of " + applied.size() + " grouped transfers");
+                }
+                for (int n = 0; n < transfers.size(); n++) {
+                    outcomes[appliedIndexes.get(n)] = Outcome.committed(transfers.get(n));
+                }
+                return List.of(outcomes);
+            });
+        } finally {
+            admission.release();
         }
+    }
 
-        BigDecimal amount = request.getAmount();
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("amount must be greater than zero");
+    private boolean coalesces() {
+        return transferProperties.getCoalescing().isEnabled()
+                && transferProperties.getLogMode() != TransferProperties.LogMode.PENDING_TRAIL;
+    }
+
+    // created on the first coalesced transfer, with the coalescing settings of that moment
+    private TransferCoalescer coalescer() {
+        TransferCoalescer current = coalescer;
+        if (current == null) {
+            synchronized (this) {
+                current = coalescer;
+                if (current == null) {
+                    TransferProperties.Coalescing coalescing = transferProperties.getCoalescing();
+                    current = new TransferCoalescer(this::settleGroup, coalescing.getMaxBatch(), coalescing.getMaxWait());
+                    coalescer = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private TransferResponse doTransfer(TransferRequest request, TransactionLog trail, PhaseClock clock) {
+
+        // 2) Validate and move the money
+        if (transferProperties.getEngine() == TransferProperties.Engine.CONDITIONAL_UPDATE) {
+            // no entity round trips: the accounts are only read when an UPDATE matched no row
+            validateRequest(request);
+            clock.lap(Phase.VALIDATION);
+            executeConditionalTransfer(request.getFromAccountId(), request.getToAccountId(), request.getAmount());
+
+        } else {
+            // fetch accounts (locked in id order for ORDERED_PESSIMISTIC)
+            AccountPair accounts = fetchAccounts(request.getFromAccountId(), request.getToAccountId());
+            Account from = accounts.from();
+            Account to = accounts.to();
+            clock.lap(Phase.FETCH);
+
+            foldIfShort(from, request.getAmount());
+            validateTransfer(request, from, to);
+            clock.lap(Phase.VALIDATION);
+
+            if (stripedBalances.isStriped(to.getAccountId()) && stripedBalances.credit(to.getAccountId(), request.getAmount())) {
+                // credited on a stripe: the target's row (and its @Version) stays untouched
+                from.debit(request.getAmount());
+                accountRepository.save(from);
+            } else {
+                executeTransfer(from, to, request.getAmount());
+                accountRepository.save(from);
+                accountRepository.save(to);
+            }
+        }
+        accountCache.evictAfterCommit(List.of(request.getFromAccountId(), request.getToAccountId()));
+        clock.lap(Phase.DEBIT_CREDIT);
+
+        // 3) Record the outcome: one INSERT with the final status, a journal row for the
+        //    write-behind pipeline, or finish the PENDING trail row
+        TransferResponse response;
+        if (transferProperties.getLogMode() == TransferProperties.LogMode.WRITE_BEHIND) {
+            response = TransferMapper.toResponse(journalPipeline.append(request));
+        } else if (trail == null) {
+            TransactionLog logEntity = newLog(request);
+            logEntity.markSuccess();
+            response = TransferMapper.toResponse(transactionLogRepository.save(logEntity));
+        } else {
+            transactionLogRepository.updateStatus(trail.getTransactionId(), TransactionStatusEnum.SUCCESS, null);
+            trail.markSuccess();
+            response = TransferMapper.toResponse(trail);
+        }
+        clock.lap(Phase.LOG);
+        return response;
+    }
+
+    private void recordFailure(TransferRequest request, TransactionLog trail, RuntimeException ex) {
+        metrics.outcome(TransactionStatusEnum.FAILURE);
+        if (ex instanceof BusinessRuleException) {
+            // counted above; LoggingAspect logs a sample of these
+            log.debug("Transfer rejected. idempotencyKey={}, reason={}", request.getIdempotencyKey(), ex.getMessage());
+        } else {
+            log.error("Transfer failed. idempotencyKey={}, reason={}", request.getIdempotencyKey(), ex.getMessage(), ex);
+        }
+
+        if (trail != null) {
+            String reason = ex.getMessage() == null || ex.getMessage().length() <= 255
+                    ? ex.getMessage()
+                    : ex.getMessage().substring(0, 255);
+            transactionTemplate.executeWithoutResult(status ->
+                    transactionLogRepository.updateStatus(trail.getTransactionId(), TransactionStatusEnum.FAILURE, reason));
+        }
+    }
+
+    private AccountPair fetchAccounts(Integer fromId, Integer toId) {
+
+        if (transferProperties.getLocking() != TransferProperties.Locking.ORDERED_PESSIMISTIC) {
+            Account from = accountRepository.findById(fromId)
+                    .orElseThrow(() -> new AccountNotFoundException("From account not found: " + fromId));
+            Account to = accountRepository.findById(toId)
+                    .orElseThrow(() -> new AccountNotFoundException("To account not found: " + toId));
+            return new AccountPair(from, to);
+        }
+
+        // Always lock the lower accountId first: A->B and B->A then queue on the
+        // same row instead of each holding one lock and waiting for the other.
+        if (fromId <= toId) {
+            Account from = lockAccount(fromId, "From");
+            Account to = lockTarget(toId);
+            return new AccountPair(from, to);
+        }
+        Account to = lockTarget(toId);
+        Account from = lockAccount(fromId, "From");
+        return new AccountPair(from, to);
+    }
+
+    private Account lockAccount(Integer id, String side) {
+        return accountRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new AccountNotFoundException(side + " account not found: " + id));
+    }
+
+    // a striped target is credited on a stripe, so its row is only read
+    private Account lockTarget(Integer toId) {
+        if (stripedBalances.isStriped(toId)) {
+            return accountRepository.findById(toId)
+                    .orElseThrow(() -> new AccountNotFoundException("To account not found: " + toId));
+        }
+        return lockAccount(toId, "To");
+    }
+
+    /**
+     * A striped source that can't cover the amount spends its unfolded credits first.
+     */
+    private void foldIfShort(Account from, Money amount) {
+        if (amount == null || !stripedBalances.isStriped(from.getAccountId()) || from.covers(amount)) {
+            return;
+        }
+        Money folded = stripedBalances.drain(from.getAccountId());
+        if (folded.signum() != 0) {
+            from.setBalance(from.getBalance().plus(folded));
+        }
+    }
+
+    /**
+     * Exponential backoff with jitter: sleeps a random time in [cap/2, cap].
+     */
+    private void backoff(int attempt, TransferProperties.Retry retry, RuntimeException cause) {
+        long initial = retry.getInitialBackoff().toMillis();
+        long cap = Math.min(retry.getMaxBackoff().toMillis(), initial << Math.min(attempt - 1, 20));
+        if (cap <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap / 2, cap + 1));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw cause;
         }
+    }
+
+    /**
+     * Business validations for transfer.
+     */
+    void validateTransfer(TransferRequest request, Account from, Account to) {
+
+        validateRequest(request);
+
+        Money amount = request.getAmount();
 
         if (!from.isActive()) {
             throw new AccountNotActiveException("From account is not active: " + from.getAccountId());
@@ -117,21 +768,115 @@ public class TransferServiceImpl implements TransferService {
             throw new AccountNotActiveException("To account is not active: " + to.getAccountId());
         }
 
-        if (from.getBalance() == null || from.getBalance().compareTo(amount) < 0) {
-            throw new InsufficientBalanceException(
-                    "Insufficient balance in account " + from.getAccountId()
-                            + ". Available=" + from.getBalance() + ", Required=" + amount
-            );
+        if (!from.covers(amount)) {
+            throw insufficientBalance(from.getAccountId(), from.getBalance(), amount);
+        }
+    }
+
+    /**
+     * Request-only rules (no account state needed).
+     */
+    void validateRequest(TransferRequest request) {
+
+        if (request.getFromAccountId().equals(request.getToAccountId())) {
+            throw new IllegalArgumentException("fromAccountId and toAccountId must be different");
+        }
+
+        Money amount = request.getAmount();
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("amount must be greater than zero");
         }
     }
 
     /**
      * Executes money movement in-memory.
-     * (DB writes happen via repository saves in transfer()).
+     * (DB writes happen via repository saves in doTransfer()).
      */
-    void executeTransfer(Account from, Account to, BigDecimal amount) {
-        // assuming your Account entity has debit/credit(BigDecimal)
+    void executeTransfer(Account from, Account to, Money amount) {
         from.debit(amount);
         to.credit(amount);
     }
-}
\ No newline at end of file
+
+    /**
+     * Executes money movement as two guarded UPDATEs.
+     * A zero row count is translated into the matching domain exception;
+     * the surrounding transaction rolls back whichever leg already applied.
+     * Legs run in accountId order so the row locks they take are always acquired lowest id first.
+     */
+    void executeConditionalTransfer(Integer fromId, Integer toId, Money amount) {
+        LocalDateTime now = LocalDateTime.now();
+
+        if (fromId <= toId) {
+            debit(fromId, amount, now);
+            credit(toId, amount, now);
+        } else {
+            credit(toId, amount, now);
+            debit(fromId, amount, now);
+        }
+    }
+
+    private void debit(Integer fromId, Money amount, LocalDateTime now) {
+        if (accountRepository.debitIfActiveAndSufficient(fromId, amount.minorUnits(), now) == 1) {
+            return;
+        }
+        // a striped source that falls short spends its unfolded credits first
+        if (stripedBalances.isStriped(fromId) && stripedBalances.fold(fromId).signum() != 0
+                && accountRepository.debitIfActiveAndSufficient(fromId, amount.minorUnits(), now) == 1) {
+            return;
+        }
+        throw debitRejection(fromId, amount);
+    }
+
+    private void credit(Integer toId, Money amount, LocalDateTime now) {
+        if (stripedBalances.isStriped(toId)) {
+            // status is read without locking the row; the amount lands on a stripe
+            if (!accountRepository.existsByAccountIdAndStatus(toId, AccountStatusEnum.ACTIVE)) {
+                throw creditRejection(toId);
+            }
+            if (stripedBalances.credit(toId, amount)) {
+                return;
+            }
+        }
+        if (accountRepository.creditIfActive(toId, amount.minorUnits(), now) == 0) {
+            throw creditRejection(toId);
+        }
+    }
+
+    private RuntimeException debitRejection(Integer fromId, Money amount) {
+        Optional<Account> from = accountRepository.findById(fromId);
+        if (from.isEmpty()) {
+            return new AccountNotFoundException("From account not found: " + fromId);
+        }
+        if (!from.get().isActive()) {
+            return new AccountNotActiveException("From account is not active: " + fromId);
+        }
+        return insufficientBalance(fromId, from.get().getBalance(), amount);
+    }
+
+    private RuntimeException creditRejection(Integer toId) {
+        Optional<Account> to = accountRepository.findById(toId);
+        if (to.isEmpty()) {
+            return new AccountNotFoundException("To account not found: " + toId);
+        }
+        return new AccountNotActiveException("To account is not active: " + toId);
+    }
+
+    private InsufficientBalanceException insufficientBalance(Integer accountId, Money available, Money required) {
+        return new InsufficientBalanceException(
+                "Insufficient balance in account " + accountId
+                        + ". Available=" + available + ", Required=" + required
+        );
+    }
+
+    private TransactionLog newLog(TransferRequest request) {
+        TransactionLog logEntity = new TransactionLog();
+        logEntity.setFromAccountId(request.getFromAccountId());
+        logEntity.setToAccountId(request.getToAccountId());
+        logEntity.setAmount(request.getAmount().toBigDecimal());
+        logEntity.setIdempotencyKey(request.getIdempotencyKey());
+        logEntity.setStatus(TransactionStatusEnum.PENDING);
+        return logEntity;
+    }
+
+    private record AccountPair(Account from, Account to) {}
+}
@@ -0,0 +1,152 @@
+package com.progressive.banking.moneytransfer.striping;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.entities.AccountBalanceStripe;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountBalanceStripeRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Folds credit stripes back into accounts.balance.
+ *
+ * - creates the missing stripe rows of the listed accounts at startup and on every round, so
+ *   accounts listed later get theirs within one interval (until then they're credited directly)
+ * - every consolidate-interval, each account with unfolded credits gets one short transaction:
+ *   stripes locked and zeroed, one UPDATE on the account row. The hot row is written once per
+ *   interval instead of once per credit.
+ * - a round only looks at the stripes of accounts listed since startup, by account id; an
+ *   account taken off the list stays watched, so its leftovers are folded too. Leftovers of
+ *   accounts taken off before a restart are found by one scan of the stripes at startup.
+ * - a fold doesn't change what balance reads return (row + stripes), so the account cache is
+ *   left alone
+ */
+@Component
+@Slf4j
+public class StripeConsolidator {
+
+    private final StripedBalances stripedBalances;
+    private final AccountBalanceStripeRepository stripeRepository;
+    private final TransferProperties transferProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final LongAdder folds = new LongAdder();
+
+    // accounts whose stripes each round checks: every account listed since startup, plus the
+    // unlisted ones found holding credits at startup
+    private final Set<Integer> watched = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+    private Thread consolidator;
+
+    // the EntityManagerFactory dependency makes sure the schema exists before start()
+    public StripeConsolidator(StripedBalances stripedBalances,
+                              AccountBalanceStripeRepository stripeRepository,
+                              TransferProperties transferProperties,
+                              PlatformTransactionManager transactionManager,
+                              EntityManagerFactory entityManagerFactory) {
+        this.stripedBalances = stripedBalances;
+        this.stripeRepository = stripeRepository;
+        this.transferProperties = transferProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        ensureStripes();
+        watched.addAll(stripeRepository.findAccountIdsWithPendingCredits());
+
+        running = true;
+        consolidator = new Thread(this::consolidateLoop, "stripe-consolidator");
+        consolidator.setDaemon(true);
+        consolidator.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        consolidator.interrupt();
+        consolidator.join(transferProperties.getStriping().getConsolidateInterval().toMillis() * 2);
+    }
+
+    /**
+     * Folds every account with unfolded credits on the calling thread; returns the accounts folded.
+     */
+    public int consolidateNow() {
+        int folded = 0;
+        watched.addAll(transferProperties.getStriping().getAccounts());
+        if (watched.isEmpty()) {
+            return 0;
+        }
+        for (Integer accountId : stripeRepository.findAccountIdsWithPendingCredits(watched)) {
+            try {
+                Money amount = transactionTemplate.execute(status -> stripedBalances.fold(accountId));
+                if (amount != null && amount.signum() != 0) {
+                    folds.increment();
+                    folded++;
+                }
+            } catch (RuntimeException ex) {
+                // credits stay on the stripes and are retried next round
+                log.warn("Folding stripes of account {} failed: {}", accountId, ex.getMessage());
+            }
+        }
+        return folded;
+    }
+
+    /**
+     * Creates missing stripe rows for every listed account.
+     */
+    public void ensureStripes() {
+        // read-write transaction, so the existing stripes are read where they are inserted (the primary)
+        transferProperties.getStriping().getAccounts()
+                .forEach(accountId -> transactionTemplate.executeWithoutResult(status -> createStripes(accountId)));
+    }
+
+    // Accounts folded since startup
+    public long folds() {
+        return folds.sum();
+    }
+
+    private void createStripes(Integer accountId) {
+        Set<Integer> existing = new HashSet<>(stripeRepository.findStripeNosByAccountId(accountId));
+        List<AccountBalanceStripe> missing = new ArrayList<>();
+        for (int stripeNo = 0; stripeNo < transferProperties.getStriping().getStripes(); stripeNo++) {
+            if (!existing.contains(stripeNo)) {
+                missing.add(new AccountBalanceStripe(null, accountId, stripeNo, BigDecimal.ZERO));
+            }
+        }
+        if (!missing.isEmpty()) {
+            stripeRepository.saveAll(missing);
+            log.info("Created {} credit stripes for account {}", missing.size(), accountId);
+        }
+    }
+
+    private void consolidateLoop() {
+        while (running) {
+            try {
+                Thread.sleep(transferProperties.getStriping().getConsolidateInterval().toMillis());
+                ensureStripes();
+                consolidateNow();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Stripe consolidation failed: {}", ex.getMessage(), ex);
+            }
+        }
+    }
+}
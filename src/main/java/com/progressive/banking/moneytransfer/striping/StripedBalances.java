@@ -0,0 +1,90 @@
+package com.progressive.banking.moneytransfer.striping;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.entities.AccountBalanceStripe;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountBalanceStripeRepository;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+
+/**
+ * Credit stripes of the accounts listed in application.transfer.striping.accounts.
+ * Every method runs in the caller's transaction.
+ */
+@Component
+public class StripedBalances {
+
+    private final AccountBalanceStripeRepository stripeRepository;
+    private final AccountRepository accountRepository;
+    private final TransferProperties transferProperties;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    public StripedBalances(AccountBalanceStripeRepository stripeRepository,
+                           AccountRepository accountRepository,
+                           TransferProperties transferProperties) {
+        this.stripeRepository = stripeRepository;
+        this.accountRepository = accountRepository;
+        this.transferProperties = transferProperties;
+    }
+
+    public boolean isStriped(Integer accountId) {
+        return transferProperties.getStriping().getAccounts().contains(accountId);
+    }
+
+    /**
+     * Adds the amount to one stripe. False when the account has no stripe rows (listed after
+     * startup); the caller then credits the account row as usual.
+     */
+    public boolean credit(Integer accountId, Money amount) {
+        return stripeRepository.credit(accountId, pickStripe(), amount.toBigDecimal()) > 0;
+    }
+
+    /**
+     * Credits not folded into accounts.balance yet; zero for accounts that aren't striped.
+     */
+    public Money pending(Integer accountId) {
+        return isStriped(accountId) ? Money.of(stripeRepository.sumByAccountId(accountId)) : Money.ZERO;
+    }
+
+    /**
+     * Locks the account's stripes, zeroes them and returns what they held. The caller adds the
+     * amount to the account row in the same transaction.
+     */
+    public Money drain(Integer accountId) {
+        List<AccountBalanceStripe> stripes = stripeRepository.findAllByAccountIdForUpdate(accountId);
+        long sum = 0;
+        for (AccountBalanceStripe stripe : stripes) {
+            sum = Math.addExact(sum, Money.of(stripe.getAmount()).minorUnits());
+        }
+        if (sum != 0) {
+            stripeRepository.clearByAccountId(accountId);
+        }
+        return Money.ofMinor(sum);
+    }
+
+    /**
+     * {@link #drain} plus one UPDATE of accounts.balance. Returns the amount folded; nothing is
+     * folded for a missing account, its credits stay on the stripes.
+     */
+    public Money fold(Integer accountId) {
+        Money sum = drain(accountId);
+        if (sum.signum() != 0 && accountRepository.adjustBalance(accountId, sum.minorUnits(), LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Striped account " + accountId + " no longer exists");
+        }
+        return sum;
+    }
+
+    private int pickStripe() {
+        TransferProperties.Striping striping = transferProperties.getStriping();
+        if (striping.getSelection() == TransferProperties.StripeSelection.ROUND_ROBIN) {
+            return Math.floorMod(roundRobin.getAndIncrement(), striping.getStripes());
+        }
+        return ThreadLocalRandom.current().nextInt(striping.getStripes());
+    }
+}
@@ -0,0 +1,183 @@
+package com.progressive.banking.moneytransfer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.entities.User;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.repository.UserRepository;
+import com.progressive.banking.moneytransfer.security.JwtUtil;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Pinning audit for the request path: authenticated balance reads and transfers (JWT filter
+ * with the cached user lookup, LoggingAspect, TransferServiceImpl, Hikari) run on virtual
+ * threads, with more of them than pool connections so they park, while JFR records
+ * jdk.VirtualThreadPinned. Pinning inside the embedded H2 driver is ignored; MySQL
+ * Connector/J 9.x guards its I/O with locks, not monitors.
+ *
+ * Needs a Java 21+ runtime; skipped on 17. Run with: mvn -Pjdk21 test (the CI jdk21 job).
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(properties = {
+        "logging.level.com.progressive.banking.moneytransfer=WARN",
+        "spring.threads.virtual.enabled=true",
+        "application.jwt.principal-mode=CACHED_LOOKUP",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "application.transfer.locking=ORDERED_PESSIMISTIC"
+})
+@AutoConfigureMockMvc
+class VirtualThreadPinningTest {
+
+    private static final String USERNAME = "vt-user";
+    private static final int ACCOUNT_A = 9701;
+    private static final int ACCOUNT_B = 9702;
+    private static final int TASKS = 400;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void seed() {
+        userRepository.save(new User(null, USERNAME, "{noop}unused"));
+        accountRepository.save(account(ACCOUNT_A));
+        accountRepository.save(account(ACCOUNT_B));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.findByUsername(USERNAME).ifPresent(userRepository::delete);
+        accountRepository.deleteById(ACCOUNT_A);
+        accountRepository.deleteById(ACCOUNT_B);
+    }
+
+    @Test
+    @DisplayName("the request path does not pin virtual threads outside the H2 driver")
+    void requestPath_doesNotPin() throws Exception {
+        String token = jwtUtil.generateToken(USERNAME);
+        List<RecordedEvent> pinned = new ArrayList<>();
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                synchronized (pinned) {
+                    pinned.add(event);
+                }
+            });
+            recording.startAsync();
+
+            ExecutorService executor = newVirtualThreadPerTaskExecutor();
+            try {
+                List<Future<?>> calls = new ArrayList<>();
+                for (int i = 0; i < TASKS; i++) {
+                    boolean forward = (i & 1) == 0;
+                    calls.add(executor.submit(() -> {
+                        mockMvc.perform(get("/api/v1/accounts/" + ACCOUNT_A + "/balance")
+                                        .header("Authorization", "Bearer " + token))
+                                .andExpect(status().isOk());
+                        mockMvc.perform(post("/api/v1/transfers")
+                                        .header("Authorization", "Bearer " + token)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(transferJson(forward ? ACCOUNT_A : ACCOUNT_B, forward ? ACCOUNT_B : ACCOUNT_A)))
+                                .andExpect(status().isCreated());
+                        return null;
+                    }));
+                }
+                for (Future<?> call : calls) {
+                    call.get(60, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            // let the stream deliver the last events before closing it
+            Thread.sleep(1_500);
+        }
+
+        List<String> ours;
+        synchronized (pinned) {
+            ours = pinned.stream()
+                    .filter(event -> !inFrames(event, "org.h2."))
+                    .map(VirtualThreadPinningTest::describe)
+                    .toList();
+        }
+        assertTrue(ours.isEmpty(), "virtual threads pinned at:\n" + String.join("\n---\n", ours));
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() is Java 21 API; the build targets 17
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws ReflectiveOperationException {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+
+    private static boolean inFrames(RecordedEvent event, String prefix) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .anyMatch(frame -> frame.getMethod().getType().getName().startsWith(prefix));
+    }
+
+    private static String describe(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "<no stack>";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            sb.append("  ").append(frame.getMethod().getType().getName())
+                    .append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String transferJson(int from, int to) {
+        return "{\"fromAccountId\":" + from + ",\"toAccountId\":" + to
+                + ",\"amount\":1.00,\"idempotencyKey\":\"" + UUID.randomUUID() + "\"}";
+    }
+
+    private Account account(int id) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName(USERNAME);
+        a.setBalance(Money.of("100000.00"));
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+}
@@ -0,0 +1,226 @@
+package com.progressive.banking.moneytransfer.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import com.progressive.banking.moneytransfer.archive.TransactionLogArchiver.Round;
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.exception.DuplicateTransferException;
+import com.progressive.banking.moneytransfer.idempotency.IdempotencyRegistry;
+import com.progressive.banking.moneytransfer.journal.TransferJournalPipeline;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+/**
+ * A retry of a transfer whose month was archived is still a duplicate, on every write path: its
+ * key stays in the register and the probe finds the archived row.
+ *
+ * H2 has no SQL triggers, so {@link KeyRegisterTrigger} stands in for the one MySQL gets
+ * (TransactionLogPartitions).
+ */
+@SpringBootTest(properties = {
+        "logging.level.com.progressive.banking.moneytransfer=WARN",
+        "application.archive.live-months=3"})
+class ArchivedIdempotencyKeyTest {
+
+    private static final Path DIRECTORY = temporaryDirectory();
+    private static final Money OPENING_BALANCE = Money.of("100.00");
+    private static final String[] KEYS = {UUID.randomUUID().toString(), UUID.randomUUID().toString(), UUID.randomUUID().toString()};
+    // the rows of KEYS, archived by the first test that runs
+    private static List<TransactionLog> archived;
+
+    @DynamicPropertySource
+    static void archiveDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () ->
+                "jdbc:h2:mem:archive_keys;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        registry.add("application.archive.directory", DIRECTORY::toString);
+    }
+
+    @Autowired
+    private TransactionLogArchiver archiver;
+
+    @Autowired
+    private TransactionLogPartitions partitions;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private IdempotencyRegistry idempotencyRegistry;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionLogRepository transactionLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @Autowired
+    private TransferJournalPipeline journalPipeline;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterAll
+    static void removeSegments() throws IOException {
+        FileSystemUtils.deleteRecursively(DIRECTORY);
+    }
+
+    @AfterEach
+    void restoreDefaults() {
+        transferProperties.setEngine(TransferProperties.Engine.ENTITY);
+        transferProperties.setLogMode(TransferProperties.LogMode.FINAL_ONLY);
+    }
+
+    @ParameterizedTest(name = "{0} / {1}")
+    @CsvSource({
+            "ENTITY, FINAL_ONLY, 0",
+            "ENTITY, WRITE_BEHIND, 1",
+            "SHARDED, FINAL_ONLY, 2"
+    })
+    @DisplayName("retrying an archived transfer's key is rejected and moves no money")
+    void retryOfArchivedKey_isDuplicate(TransferProperties.Engine engine, TransferProperties.LogMode logMode, int keyIndex) {
+        List<TransactionLog> old = archiveOnce();
+        transferProperties.setEngine(engine);
+        transferProperties.setLogMode(logMode);
+
+        // the filter never saw the key: the register's duplicate-key error (or the journal's
+        // check of the register) sends it to the probe
+        String key = KEYS[keyIndex];
+        TransferRequest retry = new TransferRequest(9301, 9302, Money.of("5.00"), key, null);
+        assertThrows(DuplicateTransferException.class, () -> transferService.transfer(retry));
+        journalPipeline.drainNow();
+
+        assertEquals(0, journalPipeline.stats().backlog());
+        assertEquals(OPENING_BALANCE, accountRepository.findById(9301).orElseThrow().getBalance());
+        assertEquals(OPENING_BALANCE, accountRepository.findById(9302).orElseThrow().getBalance());
+        assertEquals(old.get(keyIndex).getTransactionId(), idempotencyRegistry.probe(key).orElseThrow().getTransactionId());
+    }
+
+    // one transfer per key, five months back, archived and dropped
+    private List<TransactionLog> archiveOnce() {
+        if (archived != null) {
+            return archived;
+        }
+        accountRepository.save(account(9301));
+        accountRepository.save(account(9302));
+        partitions.prepare();
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS trg_transaction_log_key BEFORE INSERT ON transaction_log "
+                + "FOR EACH ROW CALL \"" + KeyRegisterTrigger.class.getName() + "\"");
+
+        List<TransactionLog> logs = new ArrayList<>();
+        for (String key : KEYS) {
+            TransactionLog log = new TransactionLog();
+            log.setFromAccountId(9301);
+            log.setToAccountId(9302);
+            log.setAmount(new BigDecimal("5.00"));
+            log.setIdempotencyKey(key);
+            log.setCreatedOn(YearMonth.now().minusMonths(5).atDay(3).atTime(10, logs.size()));
+            log.markSuccess();
+            logs.add(log);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> transactionLogRepository.insertAll(logs));
+
+        assertEquals(Round.PUBLISHED, archiver.archiveNow());
+        assertEquals(Round.DROPPED, archiver.archiveNow());
+        for (String key : KEYS) {
+            assertTrue(transactionLogRepository.findByIdempotencyKey(key).isEmpty());
+        }
+        archived = logs;
+        return logs;
+    }
+
+    private Account account(int id) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("Archived key " + id);
+        a.setBalance(OPENING_BALANCE);
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+
+    private static Path temporaryDirectory() {
+        try {
+            return Files.createTempDirectory("transaction-log-keys");
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * The MySQL trigger: registers each logged key, failing the insert on a reused one.
+     */
+    public static class KeyRegisterTrigger implements Trigger {
+
+        private int keyColumn;
+        private int createdOnColumn;
+
+        @Override
+        public void init(Connection connection, String schema, String trigger, String table, boolean before, int type)
+                throws SQLException {
+            try (ResultSet columns = connection.getMetaData().getColumns(null, schema, table, null)) {
+                while (columns.next()) {
+                    String name = columns.getString("COLUMN_NAME");
+                    int index = columns.getInt("ORDINAL_POSITION") - 1;
+                    if ("idempotency_key".equalsIgnoreCase(name)) {
+                        keyColumn = index;
+                    } else if ("created_on".equalsIgnoreCase(name)) {
+                        createdOnColumn = index;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO transaction_log_key (idempotency_key, created_on) VALUES (?, ?)")) {
+                insert.setObject(1, newRow[keyColumn]);
+                insert.setObject(2, newRow[createdOnColumn]);
+                insert.executeUpdate();
+            }
+        }
+    }
+}
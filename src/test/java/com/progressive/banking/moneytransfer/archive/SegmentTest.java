@@ -0,0 +1,138 @@
+package com.progressive.banking.moneytransfer.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+
+class SegmentTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+    private static final Comparator<TransactionView> NEWEST_FIRST =
+            Comparator.comparing(TransactionView::createdOn).thenComparing(TransactionView::transactionId).reversed();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("history read from a segment matches the rows it was written from, across blocks")
+    void history_matchesWrittenRows() throws IOException {
+        List<TransactionView> rows = rows(300);
+        Segment segment = write(rows, 7);
+
+        assertEquals(MONTH, segment.month());
+        assertEquals(rows.size(), segment.rows());
+        segment.verify();
+
+        for (int account = 1; account <= 6; account++) {
+            List<TransactionView> expected = history(rows, account);
+
+            List<TransactionView> streamed = new ArrayList<>();
+            segment.streamHistory(account, streamed::add);
+            assertEquals(expected, streamed, "account " + account);
+
+            List<TransactionView> paged = new ArrayList<>();
+            LocalDateTime before = LocalDateTime.MAX;
+            int beforeId = Integer.MAX_VALUE;
+            List<TransactionView> page;
+            do {
+                page = segment.findHistoryPage(account, before, beforeId, 4);
+                paged.addAll(page);
+                if (!page.isEmpty()) {
+                    before = page.get(page.size() - 1).createdOn();
+                    beforeId = page.get(page.size() - 1).transactionId();
+                }
+            } while (page.size() == 4);
+            assertEquals(expected, paged, "account " + account);
+        }
+
+        assertEquals(List.of(), segment.findHistoryPage(99, LocalDateTime.MAX, Integer.MAX_VALUE, 10));
+    }
+
+    @Test
+    @DisplayName("a flipped byte in a block or the footer is detected")
+    void corruption_isDetected() throws IOException {
+        Segment segment = write(rows(100), 16);
+
+        flipByte(segment.file(), Segment.HEADER_BYTES + 10);
+        assertThrows(IllegalStateException.class, segment::verify);
+        flipByte(segment.file(), Segment.HEADER_BYTES + 10);
+        segment.verify();
+
+        flipByte(segment.file(), segment.sizeBytes() - Segment.TRAILER_BYTES - 5);
+        assertThrows(IllegalStateException.class, () -> Segment.open(segment.file()));
+    }
+
+    @Test
+    @DisplayName("rows out of section order are refused")
+    void append_refusesOutOfOrderRows() throws IOException {
+        List<TransactionView> rows = rows(10);
+        try (SegmentWriter writer = new SegmentWriter(directory.resolve("unordered.seg"), MONTH, 4)) {
+            writer.append(rows.get(1));
+            assertThrows(IllegalStateException.class, () -> writer.append(rows.get(0)));
+        }
+    }
+
+    private Segment write(List<TransactionView> rows, int blockRows) throws IOException {
+        Path file = directory.resolve("transaction_log-" + MONTH + ".seg");
+        try (SegmentWriter writer = new SegmentWriter(file, MONTH, blockRows)) {
+            rows.stream().sorted((a, b) -> Segment.compare(Segment.SENT, a, b)).forEach(writer::append);
+            writer.nextSection();
+            rows.stream()
+                    .filter(row -> !row.toAccountId().equals(row.fromAccountId()))
+                    .sorted((a, b) -> Segment.compare(Segment.RECEIVED, a, b))
+                    .forEach(writer::append);
+            writer.finish();
+        }
+        return Segment.open(file);
+    }
+
+    // accounts 1..6, a few self-transfers, pairs of rows sharing a createdOn
+    private static List<TransactionView> rows(int count) {
+        List<TransactionView> rows = new ArrayList<>();
+        LocalDateTime base = MONTH.atDay(1).atTime(8, 0);
+        for (int i = 0; i < count; i++) {
+            int from = 1 + i % 5;
+            int to = i % 17 == 0 ? from : 1 + (i * 7 + 3) % 6;
+            boolean failed = i % 11 == 0;
+            rows.add(new TransactionView(1000 + i, from, to, new BigDecimal(i + ".25"),
+                    failed ? TransactionStatusEnum.FAILURE : TransactionStatusEnum.SUCCESS,
+                    failed ? "Insufficient funds" : null, "key-" + i, base.plusMinutes(i / 2)));
+        }
+        return rows;
+    }
+
+    private static List<TransactionView> history(List<TransactionView> rows, int account) {
+        return rows.stream()
+                .filter(row -> row.fromAccountId() == account || row.toAccountId() == account)
+                .sorted(NEWEST_FIRST)
+                .toList();
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, position);
+            one.put(0, (byte) (one.get(0) ^ 0x5A));
+            one.rewind();
+            channel.write(one, position);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.progressive.banking.moneytransfer.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import com.progressive.banking.moneytransfer.archive.TransactionLogArchiver.Round;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionHistoryPage;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
+import com.progressive.banking.moneytransfer.service.AccountService;
+
+/**
+ * Archiving rounds against a private embedded database (months are DELETEd there) and a
+ * temporary segment directory: history reads the same before, during and after.
+ */
+@SpringBootTest(properties = {
+        "logging.level.com.progressive.banking.moneytransfer=WARN",
+        "application.archive.live-months=3",
+        "application.archive.block-rows=4"})
+class TransactionLogArchiverTest {
+
+    private static final Path DIRECTORY = temporaryDirectory();
+    private static final int[] ACCOUNTS = {9201, 9202, 9203};
+
+    @DynamicPropertySource
+    static void archiveDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () ->
+                "jdbc:h2:mem:archive_test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        registry.add("application.archive.directory", DIRECTORY::toString);
+    }
+
+    @Autowired
+    private TransactionLogArchiver archiver;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionLogRepository transactionLogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterAll
+    static void removeSegments() throws IOException {
+        FileSystemUtils.deleteRecursively(DIRECTORY);
+    }
+
+    @Test
+    @DisplayName("months past live-months move to segments without changing any account's history")
+    void archiveNow_keepsHistoryIntact() {
+        for (int id : ACCOUNTS) {
+            accountRepository.save(account(id));
+        }
+        YearMonth current = YearMonth.now();
+        YearMonth oldest = current.minusMonths(5);
+        YearMonth older = current.minusMonths(4);
+        insert(oldest, 10, 0);
+        insert(older, 10, 0);
+        insert(current.minusMonths(1), 6, 0);
+        insert(current, 6, 0);
+
+        List<List<TransactionView>> before = histories();
+
+        assertEquals(Round.PUBLISHED, archiver.archiveNow());
+        // published, not dropped yet: the month is in both and read once
+        assertEquals(before, histories());
+
+        // logged after its segment was written (9201 to 9202): the segment is rewritten before
+        // the month goes, and the row shows from then on
+        insert(oldest, 1, 20);
+        assertEquals(Round.PUBLISHED, archiver.archiveNow());
+        List<List<TransactionView>> rewritten = histories();
+        for (int i = 0; i < rewritten.size(); i++) {
+            assertEquals(before.get(i).size() + (i < 4 ? 1 : 0), rewritten.get(i).size());
+        }
+        before = rewritten;
+        assertEquals(Round.DROPPED, archiver.archiveNow());
+        assertEquals(before, histories());
+
+        assertEquals(Round.PUBLISHED, archiver.archiveNow());
+        assertEquals(Round.DROPPED, archiver.archiveNow());
+        assertEquals(Round.NOTHING, archiver.archiveNow());
+
+        assertEquals(before, histories());
+        assertEquals(current.minusMonths(1),
+                YearMonth.from(transactionLogRepository.findOldestCreatedOn().orElseThrow()));
+
+        ArchiveStats stats = archiver.stats();
+        assertEquals(2, stats.segments());
+        assertEquals(21, stats.rows());
+        assertEquals(current.minusMonths(3).atDay(1).atStartOfDay(), stats.liveFrom());
+        assertEquals(3, stats.published());
+        assertEquals(2, stats.dropped());
+    }
+
+    // per account: every page of 3 concatenated, then the streamed history
+    private List<List<TransactionView>> histories() {
+        List<List<TransactionView>> histories = new ArrayList<>();
+        for (int id : ACCOUNTS) {
+            List<TransactionView> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                TransactionHistoryPage page = accountService.getTransactions(id, cursor, 3);
+                paged.addAll(page.getItems());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+            histories.add(paged);
+
+            List<TransactionView> streamed = new ArrayList<>();
+            accountService.streamTransactions(id, streamed::add);
+            histories.add(streamed);
+        }
+        return histories;
+    }
+
+    // rows between the three accounts, two per minute from day 2 of the month on
+    private void insert(YearMonth month, int count, int offset) {
+        List<TransactionLog> logs = new ArrayList<>();
+        LocalDateTime base = month.atDay(2).atStartOfDay().plusMinutes(offset);
+        for (int i = 0; i < count; i++) {
+            int from = ACCOUNTS[i % 3];
+            int to = ACCOUNTS[(i + 1 + i / 3) % 3];
+            logs.add(log(from, to, base.plusMinutes(i / 2)));
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> transactionLogRepository.insertAll(logs));
+    }
+
+    private TransactionLog log(int from, int to, LocalDateTime createdOn) {
+        TransactionLog log = new TransactionLog();
+        log.setFromAccountId(from);
+        log.setToAccountId(to);
+        log.setAmount(new BigDecimal("1.50"));
+        log.setIdempotencyKey(UUID.randomUUID().toString());
+        log.setCreatedOn(createdOn);
+        log.markSuccess();
+        return log;
+    }
+
+    private Account account(int id) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("Archive " + id);
+        a.setBalance(Money.ZERO);
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+
+    private static Path temporaryDirectory() {
+        try {
+            return Files.createTempDirectory("transaction-log-archive");
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
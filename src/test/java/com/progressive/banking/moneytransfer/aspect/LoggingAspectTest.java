@@ -0,0 +1,167 @@
+package com.progressive.banking.moneytransfer.aspect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import com.progressive.banking.moneytransfer.config.RequestLoggingProperties;
+import com.progressive.banking.moneytransfer.exception.InsufficientBalanceException;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class LoggingAspectTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+    private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+    private Level previousLevel;
+
+    private RequestLoggingProperties properties;
+    private LoggingAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        events.start();
+        logger.addAppender(events);
+
+        properties = new RequestLoggingProperties();
+        aspect = new LoggingAspect(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(events);
+        logger.setLevel(previousLevel);
+    }
+
+    @Test
+    @DisplayName("single-pass masking hides every sensitive value and returns clean input as is")
+    void maskSensitive() {
+        assertEquals("LoginRequest(username=Vijay, password=****",
+                aspect.maskSensitive("LoginRequest(username=Vijay, password=S3cret!)"));
+        assertEquals("TransferRequest(fromAccountId=1, idempotencyKey=****, description=Rent)",
+                aspect.maskSensitive("TransferRequest(fromAccountId=1, idempotencyKey=abc-123, description=Rent)"));
+        assertEquals("{Token: ****, PIN = ****}", aspect.maskSensitive("{Token: xyz, PIN = 1234}"));
+
+        String clean = "AccountResponse(accountId=101, balance=10.00)";
+        assertSame(clean, aspect.maskSensitive(clean));
+    }
+
+    @Test
+    @DisplayName("a service call inside a logged controller call is not logged again")
+    void nestedServiceCall_skipped() throws Throwable {
+        ProceedingJoinPoint service = joinPoint("TransferServiceImpl.transfer(..)", () -> "done");
+        ProceedingJoinPoint controller = joinPoint("TransferController.transfer(..)",
+                () -> aspect.logService(service));
+
+        assertEquals("done", aspect.logController(controller));
+
+        List<String> messages = messages();
+        assertEquals(2, messages.size());
+        assertTrue(messages.get(0).contains("--> TransferController.transfer(..)"));
+        assertTrue(messages.get(1).contains("<-- TransferController.transfer(..)"));
+        assertNull(MDC.get("correlationId"));
+    }
+
+    @Test
+    @DisplayName("with skip-nested off both calls log under one correlation id")
+    void nestedServiceCall_loggedWhenEnabled() throws Throwable {
+        properties.setSkipNested(false);
+        ProceedingJoinPoint service = joinPoint("TransferServiceImpl.transfer(..)", () -> MDC.get("correlationId"));
+        ProceedingJoinPoint controller = joinPoint("TransferController.transfer(..)",
+                () -> aspect.logService(service));
+
+        String cid = (String) aspect.logController(controller);
+
+        assertEquals(4, messages().size());
+        assertTrue(messages().stream().allMatch(m -> m.startsWith("[" + cid + "]")));
+    }
+
+    @Test
+    @DisplayName("unsampled calls log nothing, but a failure is still reported once")
+    void sampledOut_failureReportedOnce() throws Throwable {
+        properties.getSampleRate().setController(0.0);
+        properties.getSampleRate().setService(0.0);
+        ProceedingJoinPoint service = joinPoint("TransferServiceImpl.transfer(..)", () -> {
+            throw new IllegalStateException("boom");
+        });
+        ProceedingJoinPoint controller = joinPoint("TransferController.transfer(..)",
+                () -> aspect.logService(service));
+
+        assertThrows(IllegalStateException.class, () -> aspect.logController(controller));
+
+        assertEquals(1, events.list.size());
+        assertEquals(Level.ERROR, events.list.get(0).getLevel());
+        assertTrue(messages().get(0).contains("xx  TransferController.transfer(..)"));
+    }
+
+    @Test
+    @DisplayName("a business rule rejection is stackless and logged as a sampled WARN line without a throwable")
+    void rejection_sampledWarnWithoutStack() throws Throwable {
+        properties.getSampleRate().setService(0.0);
+        InsufficientBalanceException rejection = new InsufficientBalanceException("Insufficient balance in account 1");
+        ProceedingJoinPoint service = joinPoint("TransferServiceImpl.transfer(..)", () -> {
+            throw rejection;
+        });
+
+        properties.getSampleRate().setRejection(0.0);
+        assertThrows(InsufficientBalanceException.class, () -> aspect.logService(service));
+        assertTrue(events.list.isEmpty());
+
+        properties.getSampleRate().setRejection(1.0);
+        assertThrows(InsufficientBalanceException.class, () -> aspect.logService(service));
+        assertEquals(1, events.list.size());
+        assertEquals(Level.WARN, events.list.get(0).getLevel());
+        assertNull(events.list.get(0).getThrowableProxy());
+        assertTrue(messages().get(0).contains("rejected=InsufficientBalanceException : Insufficient balance in account 1"));
+        assertEquals(0, rejection.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("nothing is logged when INFO is disabled")
+    void infoDisabled_silent() throws Throwable {
+        logger.setLevel(Level.WARN);
+
+        assertEquals("ok", aspect.logController(joinPoint("AccountController.getBalance(..)", () -> "ok")));
+
+        assertTrue(events.list.isEmpty());
+    }
+
+    private List<String> messages() {
+        return events.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    private static ProceedingJoinPoint joinPoint(String signature, Body body) throws Throwable {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        Signature sig = mock(Signature.class);
+        when(sig.toShortString()).thenReturn(signature);
+        when(joinPoint.getSignature()).thenReturn(sig);
+        when(joinPoint.getArgs()).thenReturn(new Object[0]);
+        when(joinPoint.proceed()).thenAnswer(invocation -> body.run());
+        return joinPoint;
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        Object run() throws Throwable;
+    }
+}
@@ -0,0 +1,174 @@
+package com.progressive.banking.moneytransfer.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.entities.User;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.repository.UserRepository;
+import com.progressive.banking.moneytransfer.security.JwtUtil;
+
+/**
+ * Login storm against a small Tomcat pool: BCrypt (cost 12) runs on the bounded login pool,
+ * so balance reads keep their latency while excess logins are shed with 503 + Retry-After.
+ * Run with: mvn -Pbenchmark test -Dtest=LoginStormBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.progressive.banking.moneytransfer=WARN",
+        "server.tomcat.threads.max=8",
+        "application.auth.bcrypt-strength=12",
+        "application.auth.login.workers=2",
+        "application.auth.login.queue-capacity=4"
+})
+class LoginStormBenchmark {
+
+    private static final String USERNAME = "storm-user";
+    private static final String PASSWORD = "storm-pass";
+    private static final int ACCOUNT = 9501;
+    private static final int LOGINS = 64;
+    private static final int READS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newFixedThreadPool(LOGINS + 8))
+            .build();
+
+    @BeforeEach
+    void seed() {
+        userRepository.save(new User(null, USERNAME, new BCryptPasswordEncoder(12).encode(PASSWORD)));
+        Account account = new Account();
+        account.setAccountId(ACCOUNT);
+        account.setHolderName(USERNAME);
+        account.setBalance(Money.of("1000.00"));
+        account.setStatus(AccountStatusEnum.ACTIVE);
+        account.setLastUpdated(LocalDateTime.now());
+        accountRepository.save(account);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.findByUsername(USERNAME).ifPresent(userRepository::delete);
+        accountRepository.deleteById(ACCOUNT);
+    }
+
+    @Test
+    @DisplayName("balance reads stay fast while a login storm is shed")
+    void loginStorm_doesNotStarveApi() throws Exception {
+        String token = jwtUtil.generateToken(USERNAME);
+        readBalances(token);
+        long[] quiet = readBalances(token);
+
+        List<CompletableFuture<HttpResponse<String>>> logins = new ArrayList<>();
+        for (int i = 0; i < LOGINS; i++) {
+            logins.add(client.sendAsync(loginRequest(), HttpResponse.BodyHandlers.ofString()));
+        }
+        long[] storm = readBalances(token);
+
+        int ok = 0;
+        int shed = 0;
+        for (CompletableFuture<HttpResponse<String>> login : logins) {
+            HttpResponse<String> response = login.join();
+            if (response.statusCode() == 200) {
+                ok++;
+            } else if (response.statusCode() == 503) {
+                assertTrue(response.headers().firstValue("Retry-After").isPresent());
+                shed++;
+            }
+        }
+
+        System.out.printf("logins ok=%d shed=%d other=%d%n", ok, shed, LOGINS - ok - shed);
+        System.out.printf("balance p50/p99 quiet=%d/%dus storm=%d/%dus%n",
+                quiet[READS / 2] / 1_000, quiet[(int) (READS * 0.99)] / 1_000,
+                storm[READS / 2] / 1_000, storm[(int) (READS * 0.99)] / 1_000);
+
+        assertEquals(LOGINS, ok + shed);
+        assertTrue(shed > 0, "the storm should overflow the login queue");
+        // BCrypt still competes for CPU, but reads must never wait for a login to finish
+        assertTrue(storm[READS / 2] < 3 * quiet[READS / 2] + Duration.ofMillis(50).toNanos(),
+                "balance reads must not queue behind BCrypt");
+    }
+
+    private long[] readBalances(String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/v1/accounts/" + ACCOUNT + "/balance"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        long[] latencies = new long[READS];
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<Void>> reads = new ArrayList<>();
+            for (int i = 0; i < READS; i++) {
+                int slot = i;
+                reads.add(CompletableFuture.runAsync(() -> {
+                    long start = System.nanoTime();
+                    HttpResponse<String> response = send(request);
+                    latencies[slot] = System.nanoTime() - start;
+                    assertEquals(200, response.statusCode());
+                }, readers));
+            }
+            CompletableFuture.allOf(reads.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            readers.shutdown();
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private HttpRequest loginRequest() {
+        return HttpRequest.newBuilder(uri("/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,230 @@
+package com.progressive.banking.moneytransfer.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.progressive.banking.moneytransfer.MoneytransferApplication;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.replica.ReplicaSet;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.service.AccountService;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+/**
+ * Work done by the primary at a 90/10 read/write mix (balance, account and history reads vs
+ * single transfers), primary only vs one replica serving the read-only transactions. Each run
+ * gets its own H2 databases; the replica is a SCRIPT copy of the seeded primary.
+ *
+ * H2 has no CPU accounting per database, so primary load is the statement count and cumulative
+ * statement execution time from INFORMATION_SCHEMA.QUERY_STATISTICS; on MySQL, compare the
+ * primary's CPU (or performance_schema statement totals) the same way.
+ * Run with: mvn -Pbenchmark test -Dtest=ReplicaReadLoadBenchmark
+ */
+@Tag("benchmark")
+class ReplicaReadLoadBenchmark {
+
+    // -Dbenchmark.clients=... to scale down on small machines
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 32);
+    private static final int OPERATIONS_PER_CLIENT = 500;
+    private static final int ACCOUNTS = 1_000;
+    private static final int ACCOUNT_BASE = 300_000;
+    private static final int READ_PERCENT = 90;
+
+    @Test
+    @DisplayName("primary statements and execution time at 90/10 reads/writes, primary only vs with a replica")
+    void primaryOnlyVsReplica() throws Exception {
+        Load primaryOnly = run(false);
+        Load withReplica = run(true);
+        System.out.printf("primary relief: statements %.0f%%, execution time %.0f%%%n",
+                100.0 * (1 - withReplica.primaryStatements / (double) primaryOnly.primaryStatements),
+                100.0 * (1 - withReplica.primaryMillis / primaryOnly.primaryMillis));
+    }
+
+    private Load run(boolean replica) throws Exception {
+        String suffix = replica ? "routed" : "single";
+        String primaryUrl = url("replica_bench_primary_" + suffix);
+        String replicaUrl = url("replica_bench_replica_" + suffix);
+
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.progressive.banking.moneytransfer=WARN",
+                "--spring.datasource.url=" + primaryUrl,
+                "--spring.jpa.hibernate.ddl-auto=create",
+                // every read must reach a database
+                "--application.account-cache.enabled=false",
+                "--application.replicas.enabled=" + replica,
+                // nothing replicates during the run, so the copied heartbeat must stay acceptable
+                "--application.replicas.max-lag=1h",
+                "--application.replicas.check-interval=1h"));
+        if (replica) {
+            args.add("--application.replicas.endpoints[0].name=replica-1");
+            args.add("--application.replicas.endpoints[0].url=" + replicaUrl);
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MoneytransferApplication.class)
+                .run(args.toArray(String[]::new))) {
+            seed(context);
+            if (replica) {
+                copy(primaryUrl, replicaUrl);
+                context.getBean(ReplicaSet.class).checkNow();
+            }
+            startStatistics(primaryUrl);
+            startStatistics(replicaUrl);
+
+            AccountService accounts = context.getBean(AccountService.class);
+            TransferService transfers = context.getBean(TransferService.class);
+            AtomicInteger failures = new AtomicInteger();
+            AtomicInteger writes = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int op = 0; op < OPERATIONS_PER_CLIENT; op++) {
+                        int account = ACCOUNT_BASE + random.nextInt(ACCOUNTS);
+                        try {
+                            if (random.nextInt(100) < READ_PERCENT) {
+                                switch (op % 3) {
+                                    case 0 -> accounts.getBalance(account);
+                                    case 1 -> accounts.getAccount(account);
+                                    default -> accounts.getTransactions(account, null, 20);
+                                }
+                            } else {
+                                int to = ACCOUNT_BASE + (account - ACCOUNT_BASE + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                                transfers.transfer(new TransferRequest(account, to, Money.of("1.00"), UUID.randomUUID().toString(), null));
+                                writes.incrementAndGet();
+                            }
+                        } catch (RuntimeException ex) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }, "client-" + c);
+                thread.start();
+                threads.add(thread);
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            long elapsed = System.nanoTime() - startedAt;
+
+            Load load = new Load(statistics(primaryUrl), replica ? statistics(replicaUrl) : new double[2]);
+            int operations = CLIENTS * OPERATIONS_PER_CLIENT;
+            if (replica) {
+                System.out.println(context.getBean(ReplicaSet.class).stats());
+            }
+            System.out.printf("%-13s operations=%d writes=%d failures=%d throughput=%.0f/s"
+                            + " primary: statements=%d time=%.0fms  replica: statements=%d time=%.0fms%n",
+                    replica ? "with replica" : "primary only", operations, writes.get(), failures.get(),
+                    operations / (elapsed / 1e9),
+                    load.primaryStatements, load.primaryMillis, load.replicaStatements, load.replicaMillis);
+
+            assertEquals(0, failures.get(), (replica ? "replica" : "primary-only") + " run had failed operations");
+            return load;
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        List<Account> accounts = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account a = new Account();
+            a.setAccountId(ACCOUNT_BASE + i);
+            a.setHolderName("Replica load " + i);
+            a.setBalance(Money.of("100000.00"));
+            a.setStatus(AccountStatusEnum.ACTIVE);
+            a.setLastUpdated(LocalDateTime.now());
+            accounts.add(a);
+        }
+        context.getBean(AccountRepository.class).saveAll(accounts);
+
+        // some history for the history reads to page through
+        TransferService transfers = context.getBean(TransferService.class);
+        for (int i = 0; i < 5 * ACCOUNTS; i++) {
+            int from = ACCOUNT_BASE + i % ACCOUNTS;
+            int to = ACCOUNT_BASE + (i + 1) % ACCOUNTS;
+            transfers.transfer(new TransferRequest(from, to, Money.of("1.00"), UUID.randomUUID().toString(), null));
+        }
+    }
+
+    // the "replication": every table of the primary, as of now
+    private static void copy(String primaryUrl, String replicaUrl) throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(primaryUrl, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet rs = statement.executeQuery("SCRIPT")) {
+            while (rs.next()) {
+                script.add(rs.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(replicaUrl, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                if (!sql.startsWith("CREATE USER")) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    private static void startStatistics(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET QUERY_STATISTICS_MAX_ENTRIES 10000");
+            // turning it on clears what was collected while seeding
+            statement.execute("SET QUERY_STATISTICS FALSE");
+            statement.execute("SET QUERY_STATISTICS TRUE");
+        }
+    }
+
+    // {statements, cumulative execution ms}
+    private static double[] statistics(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT SUM(EXECUTION_COUNT), SUM(CUMULATIVE_EXECUTION_TIME)"
+                     + " FROM INFORMATION_SCHEMA.QUERY_STATISTICS")) {
+            rs.next();
+            return new double[] {rs.getLong(1), rs.getDouble(2)};
+        }
+    }
+
+    private static String url(String database) {
+        return "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+    }
+
+    private record Load(long primaryStatements, double primaryMillis, long replicaStatements, double replicaMillis) {
+        Load(double[] primary, double[] replica) {
+            this((long) primary[0], primary[1], (long) replica[0], replica[1]);
+        }
+    }
+}
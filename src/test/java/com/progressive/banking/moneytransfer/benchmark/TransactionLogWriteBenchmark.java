@@ -0,0 +1,119 @@
+package com.progressive.banking.moneytransfer.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * JDBC statements per transfer and latency percentiles for each transaction_log write mode
+ * and engine. PENDING_TRAIL is the old PENDING-then-final double write; FINAL_ONLY is one INSERT.
+ * Run with: mvn -Pbenchmark test -Dtest=TransactionLogWriteBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "logging.level.com.progressive.banking.moneytransfer=WARN",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class TransactionLogWriteBenchmark {
+
+    private static final int WARMUP = 1_000;
+    private static final int MEASURED = 5_000;
+    private static final int ACCOUNT_A = 9401;
+    private static final int ACCOUNT_B = 9402;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seedAccounts() {
+        accountRepository.save(account(ACCOUNT_A));
+        accountRepository.save(account(ACCOUNT_B));
+    }
+
+    @AfterEach
+    void restoreDefaults() {
+        transferProperties.setEngine(TransferProperties.Engine.ENTITY);
+        transferProperties.setLogMode(TransferProperties.LogMode.FINAL_ONLY);
+    }
+
+    @Test
+    @DisplayName("statements per transfer and p50/p99 latency per log mode")
+    void compareLogModes() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (TransferProperties.Engine engine : TransferProperties.Engine.values()) {
+            for (TransferProperties.LogMode mode : TransferProperties.LogMode.values()) {
+                transferProperties.setEngine(engine);
+                transferProperties.setLogMode(mode);
+                run(WARMUP, new long[WARMUP]);
+
+                stats.clear();
+                long[] latencies = new long[MEASURED];
+                run(MEASURED, latencies);
+                Arrays.sort(latencies);
+
+                System.out.printf("%-18s %-13s statements/transfer=%.2f transactions/transfer=%.2f p50=%dus p99=%dus%n",
+                        engine, mode,
+                        (double) stats.getPrepareStatementCount() / MEASURED,
+                        (double) stats.getTransactionCount() / MEASURED,
+                        latencies[MEASURED / 2] / 1_000,
+                        latencies[(int) (MEASURED * 0.99)] / 1_000);
+            }
+        }
+    }
+
+    private void run(int count, long[] latencies) {
+        for (int i = 0; i < count; i++) {
+            boolean forward = (i & 1) == 0;
+            TransferRequest request = new TransferRequest(
+                    forward ? ACCOUNT_A : ACCOUNT_B,
+                    forward ? ACCOUNT_B : ACCOUNT_A,
+                    Money.of("1.00"),
+                    UUID.randomUUID().toString(),
+                    null);
+            long start = System.nanoTime();
+            transferService.transfer(request);
+            latencies[i] = System.nanoTime() - start;
+        }
+    }
+
+    private Account account(int id) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("Bench " + id);
+        a.setBalance(Money.of("1000000.00"));
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+}
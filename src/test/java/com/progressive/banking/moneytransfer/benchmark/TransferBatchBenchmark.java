@@ -0,0 +1,90 @@
+package com.progressive.banking.moneytransfer.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.progressive.banking.moneytransfer.domain.dto.BatchTransferResponse;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+/**
+ * Payroll-style workload: one source account paying 100 destinations, 10k items.
+ * Compares a loop of single transfers with one transferBatch call.
+ * Run with: mvn -Pbenchmark test -Dtest=TransferBatchBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.com.progressive.banking.moneytransfer=WARN")
+class TransferBatchBenchmark {
+
+    private static final int ITEMS = 10_000;
+    private static final int SOURCE = 9100;
+    private static final int FIRST_DESTINATION = 9101;
+    private static final int DESTINATIONS = 100;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @BeforeEach
+    void seedAccounts() {
+        accountRepository.save(account(SOURCE, "100000000.00"));
+        for (int i = 0; i < DESTINATIONS; i++) {
+            accountRepository.save(account(FIRST_DESTINATION + i, "0.00"));
+        }
+    }
+
+    @Test
+    @DisplayName("single-transfer loop vs transferBatch for 10k items")
+    void compareLoopWithBatch() {
+        // warm both paths
+        items(1_000).forEach(transferService::transfer);
+        transferService.transferBatch(items(1_000));
+
+        long start = System.nanoTime();
+        items(ITEMS).forEach(transferService::transfer);
+        double loopSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        BatchTransferResponse response = transferService.transferBatch(items(ITEMS));
+        double batchSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("single loop : %,10.0f transfers/sec (%.2fs)%n", ITEMS / loopSeconds, loopSeconds);
+        System.out.printf("batch       : %,10.0f transfers/sec (%.2fs, %d succeeded)%n",
+                ITEMS / batchSeconds, batchSeconds, response.getSucceeded());
+        System.out.printf("speedup     : %.1fx%n", loopSeconds / batchSeconds);
+    }
+
+    private List<TransferRequest> items(int count) {
+        List<TransferRequest> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new TransferRequest(SOURCE, FIRST_DESTINATION + (i % DESTINATIONS),
+                    Money.of("10.00"), UUID.randomUUID().toString(), null));
+        }
+        return items;
+    }
+
+    private Account account(int id, String balance) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("Bench " + id);
+        a.setBalance(Money.of(balance));
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+}
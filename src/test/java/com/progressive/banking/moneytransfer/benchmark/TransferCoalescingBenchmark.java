@@ -0,0 +1,169 @@
+package com.progressive.banking.moneytransfer.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.ConfigurableTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import com.progressive.banking.moneytransfer.coalescing.CoalescingStats;
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.service.impl.TransferServiceImpl;
+
+/**
+ * Commits per transfer, throughput and latency percentiles of single transfers with 1k, 5k and
+ * 10k concurrent clients, one transaction per transfer vs coalesced group commits. Each client
+ * is a thread owning an account pair and sends its transfers back to back. Commits are counted
+ * by the transaction manager (transaction_log id blocks are fetched outside it).
+ * Run with: mvn -Pbenchmark test -Dtest=TransferCoalescingBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.com.progressive.banking.moneytransfer=WARN")
+class TransferCoalescingBenchmark {
+
+    // -Dbenchmark.clients=... (comma-separated) to scale down on small machines
+    private static final int[] CLIENTS = Arrays.stream(System.getProperty("benchmark.clients", "1000,5000,10000").split(","))
+            .mapToInt(c -> Integer.parseInt(c.trim()))
+            .toArray();
+    private static final int REQUESTS_PER_CLIENT = 4;
+    private static final int ACCOUNT_BASE = 200_000;
+
+    @Autowired
+    private TransferServiceImpl transferService;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final LongAdder commits = new LongAdder();
+    private final TransactionExecutionListener commitCounter = new TransactionExecutionListener() {
+        @Override
+        public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+            if (commitFailure == null) {
+                commits.increment();
+            }
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        int maxClients = Arrays.stream(CLIENTS).max().orElse(0);
+        List<Account> accounts = new ArrayList<>(2 * maxClients);
+        for (int i = 0; i < 2 * maxClients; i++) {
+            Account a = new Account();
+            a.setAccountId(ACCOUNT_BASE + i);
+            a.setHolderName("Coalescing " + i);
+            a.setBalance(Money.of("1000.00"));
+            a.setStatus(AccountStatusEnum.ACTIVE);
+            a.setLastUpdated(LocalDateTime.now());
+            accounts.add(a);
+        }
+        accountRepository.saveAll(accounts);
+        ((ConfigurableTransactionManager) transactionManager).addListener(commitCounter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((ConfigurableTransactionManager) transactionManager).getTransactionExecutionListeners().remove(commitCounter);
+        transferProperties.getCoalescing().setEnabled(false);
+    }
+
+    @Test
+    @DisplayName("commits per transfer and throughput at 1k/5k/10k clients, per-transfer vs coalesced")
+    void perTransferVsCoalesced() throws Exception {
+        for (int clients : CLIENTS) {
+            for (boolean coalescing : new boolean[] {false, true}) {
+                transferProperties.getCoalescing().setEnabled(coalescing);
+                run(clients, coalescing);
+            }
+        }
+    }
+
+    private void run(int clients, boolean coalescing) throws InterruptedException {
+        long[] latencies = new long[clients * REQUESTS_PER_CLIENT];
+        AtomicInteger slot = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(clients);
+
+        for (int c = 0; c < clients; c++) {
+            int from = ACCOUNT_BASE + 2 * c;
+            // small stacks: 10k platform threads
+            Thread thread = new Thread(null, () -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                    boolean forward = (r & 1) == 0;
+                    long sent = System.nanoTime();
+                    try {
+                        transferService.transfer(new TransferRequest(forward ? from : from + 1, forward ? from + 1 : from,
+                                Money.of("1.00"), UUID.randomUUID().toString(), null));
+                    } catch (RuntimeException ex) {
+                        failures.incrementAndGet();
+                    }
+                    latencies[slot.getAndIncrement()] = System.nanoTime() - sent;
+                }
+            }, "client-" + c, 256 * 1024);
+            thread.start();
+            threads.add(thread);
+        }
+
+        CoalescingStats before = transferService.coalescingStats();
+        commits.reset();
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        long committed = commits.sum();
+        CoalescingStats after = transferService.coalescingStats();
+
+        Arrays.sort(latencies);
+        long groups = after.groups() - before.groups();
+        System.out.printf("%,6d clients %-11s transfers=%d failures=%d commits=%d (%.3f/transfer) throughput=%.0f/s"
+                        + " p50=%dms p99=%dms max=%dms%s%n",
+                clients, coalescing ? "coalesced" : "per-transfer",
+                latencies.length, failures.get(), committed, committed / (double) latencies.length,
+                latencies.length / (elapsed / 1e9),
+                latencies[latencies.length / 2] / 1_000_000,
+                latencies[(int) (latencies.length * 0.99)] / 1_000_000,
+                latencies[latencies.length - 1] / 1_000_000,
+                coalescing ? String.format(" groups=%d avgGroup=%.1f ungrouped=%d", groups,
+                        (after.grouped() - before.grouped()) / (double) Math.max(1, groups),
+                        after.ungrouped() - before.ungrouped()) : "");
+
+        assertEquals(0, failures.get(), clients + " clients, coalescing=" + coalescing + " had failed transfers");
+    }
+}
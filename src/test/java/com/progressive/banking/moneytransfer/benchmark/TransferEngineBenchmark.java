@@ -0,0 +1,88 @@
+package com.progressive.banking.moneytransfer.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+/**
+ * Transfers/sec of the ENTITY engine vs the CONDITIONAL_UPDATE engine against the embedded H2 database.
+ * Run with: mvn -Pbenchmark test -Dtest=TransferEngineBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.com.progressive.banking.moneytransfer=WARN")
+class TransferEngineBenchmark {
+
+    private static final int WARMUP = 1_000;
+    private static final int MEASURED = 5_000;
+    private static final int ACCOUNT_A = 9001;
+    private static final int ACCOUNT_B = 9002;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @BeforeEach
+    void seedAccounts() {
+        accountRepository.save(account(ACCOUNT_A));
+        accountRepository.save(account(ACCOUNT_B));
+    }
+
+    @Test
+    @DisplayName("entity vs conditional-update transfers/sec")
+    void compareEngines() {
+        // Two rounds so neither engine benefits from running against a smaller transaction_log
+        for (int round = 1; round <= 2; round++) {
+            for (TransferProperties.Engine engine : TransferProperties.Engine.values()) {
+                transferProperties.setEngine(engine);
+                run(WARMUP);
+                long start = System.nanoTime();
+                run(MEASURED);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("round %d %-20s %,10.0f transfers/sec (%d transfers in %.2fs)%n",
+                        round, engine, MEASURED / seconds, MEASURED, seconds);
+            }
+        }
+        transferProperties.setEngine(TransferProperties.Engine.ENTITY);
+    }
+
+    private void run(int count) {
+        for (int i = 0; i < count; i++) {
+            boolean forward = (i & 1) == 0;
+            transferService.transfer(new TransferRequest(
+                    forward ? ACCOUNT_A : ACCOUNT_B,
+                    forward ? ACCOUNT_B : ACCOUNT_A,
+                    Money.of("1.00"),
+                    UUID.randomUUID().toString(),
+                    null));
+        }
+    }
+
+    private Account account(int id) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("Bench " + id);
+        a.setBalance(Money.of("1000000.00"));
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+}
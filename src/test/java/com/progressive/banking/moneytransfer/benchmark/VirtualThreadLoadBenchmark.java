@@ -0,0 +1,149 @@
+package com.progressive.banking.moneytransfer.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.progressive.banking.moneytransfer.MoneytransferApplication;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.entities.User;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.repository.UserRepository;
+import com.progressive.banking.moneytransfer.security.JwtUtil;
+
+/**
+ * Throughput and latency percentiles of POST /api/v1/transfers with 5,000 concurrent clients,
+ * Tomcat on platform threads (threads.max=200) vs virtual threads. Each client owns an account
+ * pair and sends its transfers back to back. The virtual run needs a Java 21+ runtime and is
+ * skipped on 17.
+ * Run with: mvn -Pbenchmark test -Dtest=VirtualThreadLoadBenchmark
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmark {
+
+    // -Dbenchmark.clients=... to scale down on small machines
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 5_000);
+    private static final int REQUESTS_PER_CLIENT = 4;
+    private static final int ACCOUNT_BASE = 100_000;
+    private static final String USERNAME = "load-user";
+
+    @Test
+    @DisplayName("throughput and p99 at 5k concurrent clients, platform vs virtual threads")
+    void platformVsVirtual() {
+        run(false);
+        if (Runtime.version().feature() >= 21) {
+            run(true);
+        } else {
+            System.out.println("virtual: skipped, needs Java 21+ (running " + Runtime.version() + ")");
+        }
+    }
+
+    private void run(boolean virtual) {
+        // command-line arguments, so they win over application.properties
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MoneytransferApplication.class)
+                .run("--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.progressive.banking.moneytransfer=WARN",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--server.tomcat.threads.max=200",
+                        "--server.tomcat.max-connections=" + (CLIENTS + 1_000),
+                        "--server.tomcat.accept-count=" + CLIENTS,
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--application.transfer.max-concurrent=16",
+                        "--application.transfer.engine=CONDITIONAL_UPDATE")) {
+
+            seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String token = context.getBean(JwtUtil.class).generateToken(USERNAME);
+
+            long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+            AtomicInteger slot = new AtomicInteger();
+            AtomicInteger failures = new AtomicInteger();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> clients = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                int from = ACCOUNT_BASE + 2 * c;
+                CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+                for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                    boolean forward = (r & 1) == 0;
+                    HttpRequest request = transfer(port, token, forward ? from : from + 1, forward ? from + 1 : from);
+                    chain = chain.thenCompose(ignored -> {
+                        long sent = System.nanoTime();
+                        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                                .handle((response, ex) -> {
+                                    latencies[slot.getAndIncrement()] = System.nanoTime() - sent;
+                                    if (ex != null || response.statusCode() != 201) {
+                                        failures.incrementAndGet();
+                                    }
+                                    return null;
+                                });
+                    });
+                }
+                clients.add(chain);
+            }
+            CompletableFuture.allOf(clients.toArray(CompletableFuture[]::new)).join();
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            System.out.printf("%-8s requests=%d failures=%d throughput=%.0f req/s p50=%dms p99=%dms max=%dms%n",
+                    virtual ? "virtual" : "platform",
+                    latencies.length, failures.get(),
+                    latencies.length / (elapsed / 1e9),
+                    latencies[latencies.length / 2] / 1_000_000,
+                    latencies[(int) (latencies.length * 0.99)] / 1_000_000,
+                    latencies[latencies.length - 1] / 1_000_000);
+
+            assertEquals(0, failures.get(), (virtual ? "virtual" : "platform") + " run had failed requests");
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        context.getBean(UserRepository.class).save(new User(null, USERNAME, "{noop}unused"));
+        List<Account> accounts = new ArrayList<>(2 * CLIENTS);
+        for (int i = 0; i < 2 * CLIENTS; i++) {
+            Account a = new Account();
+            a.setAccountId(ACCOUNT_BASE + i);
+            a.setHolderName(USERNAME);
+            a.setBalance(Money.of("1000.00"));
+            a.setStatus(AccountStatusEnum.ACTIVE);
+            a.setLastUpdated(LocalDateTime.now());
+            accounts.add(a);
+        }
+        context.getBean(AccountRepository.class).saveAll(accounts);
+    }
+
+    private static HttpRequest transfer(int port, String token, int from, int to) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/transfers"))
+                .timeout(Duration.ofSeconds(120))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"fromAccountId\":" + from + ",\"toAccountId\":" + to
+                        + ",\"amount\":1.00,\"idempotencyKey\":\"" + UUID.randomUUID() + "\"}"))
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.progressive.banking.moneytransfer.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.progressive.banking.moneytransfer.config.AccountCacheProperties;
+import com.progressive.banking.moneytransfer.config.ReplicaProperties;
+import com.progressive.banking.moneytransfer.domain.dto.AccountResponse;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.exception.AccountNotFoundException;
+
+class AccountCacheTest {
+
+    private AccountCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new AccountCache(new AccountCacheProperties(), new ReplicaProperties());
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("second read is a hit and is counted in the hit ratio")
+    void get_secondRead_isHit() {
+        cache.get(1, id -> load(id, 500, 1));
+        AccountResponse second = cache.get(1, id -> load(id, 999, 2));
+
+        assertEquals(Money.of("500.00"), second.getBalance());
+        assertEquals(1, loads.get());
+        AccountCacheStats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRatio());
+    }
+
+    @Test
+    @DisplayName("loader exceptions propagate and nothing is cached")
+    void get_missingAccount_notCached() {
+        assertThrows(AccountNotFoundException.class, () -> cache.get(1, id -> {
+            throw new AccountNotFoundException("Account not found: " + id);
+        }));
+
+        assertEquals(Money.of("10.00"), cache.get(1, id -> load(id, 10, 1)).getBalance());
+    }
+
+    @Test
+    @DisplayName("evictAfterCommit keeps the entry on rollback and drops it on commit")
+    void evictAfterCommit_onlyOnCommit() {
+        cache.get(1, id -> load(id, 500, 1));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evictAfterCommit(List.of(1));
+        finish(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(Money.of("500.00"), cache.get(1, id -> load(id, 400, 2)).getBalance());
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evictAfterCommit(List.of(1));
+        assertEquals(Money.of("500.00"), cache.get(1, id -> load(id, 400, 2)).getBalance());
+        finish(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(Money.of("400.00"), cache.get(1, id -> load(id, 400, 2)).getBalance());
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    @DisplayName("a load that raced with an eviction is returned but not cached")
+    void get_loadRacingEviction_notCached() {
+        AccountResponse stale = cache.get(1, id -> {
+            // a transfer on this account commits while the old row is being read
+            cache.evict(List.of(id));
+            return load(id, 500, 1);
+        });
+
+        assertEquals(Money.of("500.00"), stale.getBalance());
+        assertEquals(Money.of("400.00"), cache.get(1, id -> load(id, 400, 2)).getBalance());
+        assertEquals(1, cache.stats().racedLoads());
+    }
+
+    @Test
+    @DisplayName("an older version never replaces a newer cached one")
+    void get_olderVersion_keepsNewer() {
+        cache.get(1, id -> {
+            // another reader cached version 3 while this one was reading version 2
+            cache.get(id, other -> load(other, 300, 3));
+            return load(id, 200, 2);
+        });
+
+        assertEquals(3L, cache.get(1, id -> load(id, 0, 0)).getVersion());
+    }
+
+    @Test
+    @DisplayName("disabled cache always loads")
+    void get_disabled_alwaysLoads() {
+        AccountCacheProperties properties = new AccountCacheProperties();
+        properties.setEnabled(false);
+        cache = new AccountCache(properties, new ReplicaProperties());
+
+        cache.get(1, id -> load(id, 500, 1));
+        cache.get(1, id -> load(id, 500, 1));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("with replicas, a miss on a just-evicted account uses the primary loader")
+    void get_withReplicas_recentlyEvicted_usesPrimaryLoader() {
+        ReplicaProperties replicas = new ReplicaProperties();
+        replicas.setEnabled(true);
+        cache = new AccountCache(new AccountCacheProperties(), replicas);
+        cache.get(1, id -> load(id, 500, 1));
+        cache.evict(List.of(1));
+
+        AccountResponse reloaded = cache.get(1, id -> load(id, 500, 1), id -> load(id, 400, 2));
+        assertEquals(Money.of("400.00"), reloaded.getBalance());
+        // never written: the replica loader
+        assertEquals(Money.of("70.00"), cache.get(2, id -> load(id, 70, 1), id -> load(id, 0, 0)).getBalance());
+        assertEquals(2L, cache.get(1, id -> load(id, 0, 0)).getVersion());
+    }
+
+    private void finish(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private AccountResponse load(Integer id, long balance, long version) {
+        loads.incrementAndGet();
+        return AccountResponse.builder()
+                .accountId(id)
+                .holderName("Holder " + id)
+                .balance(Money.ofMinor(balance * 100))
+                .version(version)
+                .build();
+    }
+}
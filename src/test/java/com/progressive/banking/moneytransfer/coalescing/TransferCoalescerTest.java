@@ -0,0 +1,162 @@
+package com.progressive.banking.moneytransfer.coalescing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import com.progressive.banking.moneytransfer.coalescing.TransferCoalescer.Outcome;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.exception.InsufficientBalanceException;
+
+/**
+ * TransferCoalescer against a recording group function: grouping limits, per-caller outcomes,
+ * and hand-back when a group fails.
+ */
+class TransferCoalescerTest {
+
+    @Test
+    @DisplayName("queued transfers are grouped up to maxBatch and every caller gets its own outcome")
+    void groupsUpToMaxBatch() throws Exception {
+        CountDownLatch firstGroupStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<TransferRequest>> groups = new CopyOnWriteArrayList<>();
+
+        try (TransferCoalescer coalescer = new TransferCoalescer(group -> {
+            groups.add(group);
+            if (groups.size() == 1) {
+                firstGroupStarted.countDown();
+                await(release);
+            }
+            return settle(group);
+        }, 10, Duration.ofMillis(1))) {
+
+            // the first transfer's group blocks; 25 more queue up behind it
+            CompletableFuture<Outcome> first = coalescer.submit(request(0, "100.00"));
+            assertTrue(firstGroupStarted.await(5, TimeUnit.SECONDS));
+            List<CompletableFuture<Outcome>> rest = new ArrayList<>();
+            for (int i = 1; i <= 25; i++) {
+                rest.add(coalescer.submit(request(i, i % 5 == 0 ? "0.00" : "100.00")));
+            }
+            release.countDown();
+
+            assertEquals("key-0", first.get(5, TimeUnit.SECONDS).response().getIdempotencyKey());
+            for (int i = 1; i <= 25; i++) {
+                Outcome outcome = rest.get(i - 1).get(5, TimeUnit.SECONDS);
+                if (i % 5 == 0) {
+                    assertNull(outcome.response());
+                    assertEquals(InsufficientBalanceException.class, outcome.failure().getClass());
+                } else {
+                    assertEquals("key-" + i, outcome.response().getIdempotencyKey());
+                }
+            }
+
+            assertEquals(List.of(1, 10, 10, 5), groups.stream().map(List::size).toList());
+            CoalescingStats stats = coalescer.stats();
+            assertEquals(4, stats.groups());
+            assertEquals(26, stats.grouped());
+            assertEquals(0, stats.ungrouped());
+            assertEquals(10, stats.largestGroup());
+        }
+    }
+
+    @Test
+    @DisplayName("a failed group hands every transfer back to run on its own")
+    void failedGroup_isUngrouped() throws Exception {
+        try (TransferCoalescer coalescer = new TransferCoalescer(group -> {
+            throw new CannotAcquireLockException("lock wait timeout");
+        }, 10, Duration.ofMillis(1))) {
+
+            Outcome outcome = coalescer.submit(request(1, "100.00")).get(5, TimeUnit.SECONDS);
+
+            assertTrue(outcome.ungrouped());
+            assertEquals(new CoalescingStats(0, 0, 1, 0), coalescer.stats());
+        }
+    }
+
+    @Test
+    @DisplayName("a group answered with too few outcomes hands every transfer back")
+    void shortOutcomes_areUngrouped() throws Exception {
+        try (TransferCoalescer coalescer = new TransferCoalescer(group -> settle(group).subList(0, group.size() - 1),
+                10, Duration.ofMillis(1))) {
+
+            Outcome outcome = coalescer.submit(request(1, "100.00")).get(5, TimeUnit.SECONDS);
+
+            assertTrue(outcome.ungrouped());
+            assertEquals(new CoalescingStats(0, 0, 1, 0), coalescer.stats());
+        }
+    }
+
+    @Test
+    @DisplayName("once the flusher is interrupted, later transfers are handed back instead of queuing forever")
+    void interruptedFlusher_ungroupsLaterSubmissions() throws Exception {
+        // the group function runs on the flusher thread
+        try (TransferCoalescer coalescer = new TransferCoalescer(group -> {
+            Thread.currentThread().interrupt();
+            return settle(group);
+        }, 10, Duration.ZERO)) {
+
+            assertEquals("key-1", coalescer.submit(request(1, "100.00")).get(5, TimeUnit.SECONDS).response().getIdempotencyKey());
+
+            for (int i = 2; i <= 5; i++) {
+                assertTrue(coalescer.submit(request(i, "100.00")).get(5, TimeUnit.SECONDS).ungrouped());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("transfers submitted after close are handed back")
+    void closed_ungroupsSubmissions() throws Exception {
+        TransferCoalescer coalescer = new TransferCoalescer(TransferCoalescerTest::settle, 10, Duration.ZERO);
+        coalescer.close();
+
+        CompletableFuture<Outcome> late = coalescer.submit(request(1, "100.00"));
+
+        assertTrue(late.get(5, TimeUnit.SECONDS).ungrouped());
+    }
+
+    // zero amounts stand in for items the settlement rejects
+    private static List<Outcome> settle(List<TransferRequest> group) {
+        List<Outcome> outcomes = new ArrayList<>(group.size());
+        for (TransferRequest request : group) {
+            if (request.getAmount().signum() == 0) {
+                outcomes.add(Outcome.rejected(new InsufficientBalanceException("rejected " + request.getIdempotencyKey())));
+            } else {
+                outcomes.add(Outcome.committed(TransferResponse.builder()
+                        .fromAccountId(request.getFromAccountId())
+                        .toAccountId(request.getToAccountId())
+                        .amount(request.getAmount().toBigDecimal())
+                        .status(TransactionStatusEnum.SUCCESS)
+                        .idempotencyKey(request.getIdempotencyKey())
+                        .build()));
+            }
+        }
+        return outcomes;
+    }
+
+    private static TransferRequest request(int i, String amount) {
+        return new TransferRequest(1, 2, Money.of(amount), "key-" + i, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.progressive.banking.moneytransfer.config;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class ReactiveApiConfigTest {
+
+    @Test
+    @DisplayName("the /api/v2 port may not be the actuator's or the servlet server's")
+    void requireOwnPort_rejectsTakenPorts() {
+        ReactiveApiProperties properties = new ReactiveApiProperties();
+        properties.setPort(8081);
+
+        assertThrows(IllegalStateException.class, () -> ReactiveApiConfig.requireOwnPort(properties,
+                new MockEnvironment().withProperty("management.server.port", "8081")));
+        assertThrows(IllegalStateException.class, () -> ReactiveApiConfig.requireOwnPort(properties,
+                new MockEnvironment().withProperty("server.port", "8081")));
+        assertDoesNotThrow(() -> ReactiveApiConfig.requireOwnPort(properties,
+                new MockEnvironment().withProperty("server.port", "8080").withProperty("management.server.port", "8082")));
+
+        // 0: each server picks a free port
+        properties.setPort(0);
+        assertDoesNotThrow(() -> ReactiveApiConfig.requireOwnPort(properties,
+                new MockEnvironment().withProperty("management.server.port", "0")));
+    }
+}
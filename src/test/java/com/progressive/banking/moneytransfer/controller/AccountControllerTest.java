@@ -2,34 +2,49 @@ package com.progressive.banking.moneytransfer.controller;
 
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 
 import com.progressive.banking.moneytransfer.domain.dto.AccountResponse;
+import com.progressive.banking.moneytransfer.config.HistoryProperties;
 import com.progressive.banking.moneytransfer.domain.dto.BalanceResponse;
-import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionHistoryPage;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
 import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
 import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
 import com.progressive.banking.moneytransfer.service.AccountService;
 
 /**
  * Slice tests for {@link AccountController} using JUnit and MockMvc.
  */
+@Import(HistoryProperties.class)
 @WebMvcTest(controllers = AccountController.class)
 @AutoConfigureMockMvc(addFilters = false) // disable security filters for controller tests
 class AccountControllerTest {
@@ -47,7 +62,7 @@ class AccountControllerTest {
         AccountResponse response = new AccountResponse();
         response.setAccountId(id);
         response.setHolderName("John Doe");
-        response.setBalance(BigDecimal.valueOf(500));
+        response.setBalance(Money.of("500.00"));
         response.setStatus(AccountStatusEnum.ACTIVE);
         response.setVersion(1L);
         response.setLastUpdated(LocalDateTime.now());
@@ -68,7 +83,7 @@ class AccountControllerTest {
         Integer id = 2;
         BalanceResponse response = new BalanceResponse();
         response.setAccountId(id);
-        response.setBalance(BigDecimal.valueOf(250));
+        response.setBalance(Money.of("250.00"));
 
         given(accountService.getBalance(eq(id))).willReturn(response);
 
@@ -83,20 +98,56 @@ class AccountControllerTest {
     @DisplayName("GET /api/v1/accounts/{id}/transactions returns transactions list")
     void getTransactions_shouldReturnTransferResponseList() throws Exception {
         Integer id = 3;
-        TransferResponse tx = new TransferResponse();
-        tx.setFromAccountId(id);
-        tx.setToAccountId(4);
-        tx.setAmount(BigDecimal.valueOf(100));
-        tx.setStatus(TransactionStatusEnum.SUCCESS);
+        TransactionView tx = new TransactionView(1, id, 4, new BigDecimal("100.00"), TransactionStatusEnum.SUCCESS,
+                null, "key-1", LocalDateTime.now());
 
-        given(accountService.getTransactions(eq(id))).willReturn(Collections.singletonList(tx));
+        given(accountService.getTransactions(eq(id), isNull(), isNull()))
+                .willReturn(new TransactionHistoryPage(Collections.singletonList(tx), "next-page"));
 
         mockMvc.perform(get("/api/v1/accounts/{id}/transactions", id)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(AccountController.NEXT_CURSOR_HEADER, "next-page"))
                 .andExpect(jsonPath("$[0].fromAccountId").value(id))
                 .andExpect(jsonPath("$[0].toAccountId").value(4))
                 .andExpect(jsonPath("$[0].amount").value(100));
     }
+
+    @Test
+    @DisplayName("GET /api/v1/accounts/{id}/transactions without Accept passes cursor and limit, last page has no cursor header")
+    void getTransactions_withCursor_lastPage() throws Exception {
+        given(accountService.getTransactions(eq(3), eq("abc"), eq(10)))
+                .willReturn(new TransactionHistoryPage(Collections.emptyList(), null));
+
+        mockMvc.perform(get("/api/v1/accounts/{id}/transactions", 3)
+                        .param("cursor", "abc")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist(AccountController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/accounts/{id}/transactions as NDJSON streams one object per line")
+    void streamTransactions_writesNdjson() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<TransactionView> sink = invocation.getArgument(1);
+            sink.accept(new TransactionView(2, 3, 4, new BigDecimal("1.00"), TransactionStatusEnum.SUCCESS, null, "k-2", null));
+            sink.accept(new TransactionView(1, 4, 3, new BigDecimal("1.00"), TransactionStatusEnum.SUCCESS, null, "k-1", null));
+            return null;
+        }).given(accountService).streamTransactions(eq(3), any());
+
+        MvcResult started = mockMvc.perform(get("/api/v1/accounts/{id}/transactions", 3)
+                        .accept(AccountController.NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(AccountController.NDJSON))
+                .andExpect(content().string(matchesPattern(
+                        "\\{\"transactionId\":2,.*}\n\\{\"transactionId\":1,.*}\n")));
+    }
 }
 
@@ -4,7 +4,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -15,18 +18,29 @@ import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.progressive.banking.moneytransfer.domain.dto.LoginRequest;
+import com.progressive.banking.moneytransfer.exception.LoginOverloadedException;
+import com.progressive.banking.moneytransfer.security.CredentialVerifier;
+import com.progressive.banking.moneytransfer.security.CustomUserDetailsService;
 import com.progressive.banking.moneytransfer.security.JwtUtil;
+import com.progressive.banking.moneytransfer.security.TokenRevocationList;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 
 @Import(ObjectMapper.class)  // Import ObjectMapper
 @WebMvcTest(controllers = AuthController.class)  // ✅ Changed from @SpringBootTest
@@ -39,12 +53,18 @@ class AuthControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @MockitoBean  // ✅ Changed from @Autowired to @MockitoBean
-    private AuthenticationManager authenticationManager;
+    @MockitoBean
+    private CredentialVerifier credentialVerifier;
 
     @MockitoBean  // ✅ Changed from @Autowired to @MockitoBean
     private JwtUtil jwtUtil;
 
+    @MockitoBean
+    private CustomUserDetailsService userDetailsService;
+
+    @MockitoBean
+    private TokenRevocationList revocationList;
+
     @Test
     @DisplayName("POST /auth/login returns 200 and token when credentials valid")
     void login_validCredentials_returnsToken() throws Exception {
@@ -53,7 +73,7 @@ class AuthControllerTest {
         request.setUsername("user1");
         request.setPassword("password1");
 
-        // Mock the behavior of the authenticationManager
+        // Mock the behavior of the credential verifier
         Authentication mockAuth = new UsernamePasswordAuthenticationToken(
                 "user1", 
                 null, 
@@ -61,21 +81,52 @@ class AuthControllerTest {
         );
         
         // Simulate authentication success and return a valid Authentication object
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(mockAuth);
+        when(credentialVerifier.authenticate("user1", "password1"))
+                .thenReturn(CompletableFuture.completedFuture(mockAuth));
 
         // Mock the JwtUtil behavior to return a fake token
-        when(jwtUtil.generateToken(eq("user1"))).thenReturn("fake-jwt-token");
+        when(userDetailsService.accountScopes("user1")).thenReturn(List.of(101));
+        when(jwtUtil.generateToken(eq("user1"), eq(List.of("ROLE_USER")), eq(List.of(101)))).thenReturn("fake-jwt-token");
 
         // Perform the request using MockMvc
-        mockMvc.perform(post("/auth/login")
+        MvcResult result = mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("fake-jwt-token"));
 
         // Verify that the mock dependencies were called
-        verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtUtil).generateToken("user1");
+        verify(credentialVerifier).authenticate("user1", "password1");
+        verify(jwtUtil).generateToken("user1", List.of("ROLE_USER"), List.of(101));
+    }
+
+    @Test
+    @DisplayName("POST /auth/login returns 503 with Retry-After when the login pool is full")
+    void login_overloaded_returns503() throws Exception {
+        when(credentialVerifier.authenticate(any(), any()))
+                .thenThrow(new LoginOverloadedException("Too many logins in progress, retry later", Duration.ofSeconds(2)));
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"user1\",\"password\":\"password1\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.errorCode").value("AUTH-503"));
+    }
+
+    @Test
+    @DisplayName("POST /auth/logout revokes the presented token")
+    void logout_revokesToken() throws Exception {
+        Claims claims = Jwts.claims().setId("token-1").setSubject("user1");
+        when(jwtUtil.verify("good-token")).thenReturn(Optional.of(claims));
+
+        mockMvc.perform(post("/auth/logout").header("Authorization", "Bearer good-token"))
+                .andExpect(status().isNoContent());
+
+        verify(revocationList).revoke(claims);
     }
-}
\ No newline at end of file
+}
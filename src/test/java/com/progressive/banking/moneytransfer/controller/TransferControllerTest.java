@@ -1,11 +1,14 @@
 package com.progressive.banking.moneytransfer.controller;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,9 +21,13 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressive.banking.moneytransfer.domain.dto.BatchTransferItemResult;
+import com.progressive.banking.moneytransfer.domain.dto.BatchTransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.BatchTransferResponse;
 import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
 import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
 import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
 import com.progressive.banking.moneytransfer.service.TransferService;
 
 @Import(ObjectMapper.class) // Manually import ObjectMapper bean for testing
@@ -44,7 +51,7 @@ class TransferControllerTest {
         TransferRequest request = new TransferRequest();
         request.setFromAccountId(1);
         request.setToAccountId(2);
-        request.setAmount(BigDecimal.valueOf(100));
+        request.setAmount(Money.of("100.00"));
         request.setIdempotencyKey("idem-123");  // Valid idempotency key
 
         // Create the mocked TransferResponse object
@@ -52,7 +59,7 @@ class TransferControllerTest {
         response.setTransactionId(1);
         response.setFromAccountId(1);
         response.setToAccountId(2);
-        response.setAmount(BigDecimal.valueOf(100));
+        response.setAmount(new BigDecimal("100.00"));
         response.setStatus(TransactionStatusEnum.SUCCESS);
         response.setIdempotencyKey("idem-123");
 
@@ -79,7 +86,7 @@ class TransferControllerTest {
         TransferRequest request = new TransferRequest();
         request.setFromAccountId(1);
         request.setToAccountId(2);
-        request.setAmount(BigDecimal.valueOf(50));
+        request.setAmount(Money.of("50.00"));
         request.setIdempotencyKey(null);  // Empty idempotency key in body
 
         // Create the mocked TransferResponse object
@@ -107,4 +114,49 @@ class TransferControllerTest {
                     }
                 });
     }
+
+    @Test
+    @DisplayName("POST /api/v1/transfers/batch returns 207 with per-item results on partial failure")
+    void transferBatch_partialFailure_returnsMultiStatus() throws Exception {
+        TransferRequest ok = new TransferRequest(1, 2, Money.of("10.00"), "batch-1", null);
+        TransferRequest bad = new TransferRequest(1, 3, Money.of("10.00"), "batch-2", null);
+
+        BatchTransferResponse response = BatchTransferResponse.builder()
+                .total(2)
+                .succeeded(1)
+                .failed(1)
+                .results(List.of(
+                        BatchTransferItemResult.builder().index(0).idempotencyKey("batch-1")
+                                .status(TransactionStatusEnum.SUCCESS)
+                                .transfer(TransferResponse.builder().transactionId(10).build())
+                                .build(),
+                        BatchTransferItemResult.builder().index(1).idempotencyKey("batch-2")
+                                .status(TransactionStatusEnum.FAILURE)
+                                .errorCode("ACC-403").message("To account is not active: 3")
+                                .build()))
+                .build();
+
+        given(transferService.transferBatch(anyList())).willReturn(response);
+
+        mockMvc.perform(post("/api/v1/transfers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchTransferRequest(List.of(ok, bad)))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].transfer.transactionId").value(10))
+                .andExpect(jsonPath("$.results[1].errorCode").value("ACC-403"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/transfers with a sub-cent amount returns 422 without reaching the service")
+    void transfer_subCentAmount_returnsUnprocessable() throws Exception {
+        mockMvc.perform(post("/api/v1/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromAccountId\":1,\"toAccountId\":2,\"amount\":10.005,\"idempotencyKey\":\"k-1\"}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errorCode").value("VAL-422"));
+
+        verifyNoInteractions(transferService);
+    }
 }
@@ -0,0 +1,57 @@
+package com.progressive.banking.moneytransfer.domain.money;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.databind.DatabindException;
+import tools.jackson.databind.json.JsonMapper;
+
+class MoneyTest {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    @Test
+    @DisplayName("decimal amounts convert exactly to minor units and back")
+    void of_exactAmounts_roundTrip() {
+        assertEquals(1_050, Money.of("10.5").minorUnits());
+        assertEquals(-1, Money.of("-0.01").minorUnits());
+        assertEquals(new BigDecimal("10.50"), Money.of("10.5").toBigDecimal());
+        assertEquals("1000.00", Money.of(new BigDecimal("1E+3")).toString());
+        assertEquals(Money.ZERO, Money.of("0.000"));
+    }
+
+    @Test
+    @DisplayName("sub-cent and out-of-range amounts are rejected, not rounded")
+    void of_inexactAmounts_throw() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of("10.005"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("92233720368547758.08"));
+    }
+
+    @Test
+    @DisplayName("arithmetic is exact and fails on overflow")
+    void arithmetic_exact_overflowChecked() {
+        Money a = Money.of("100.10");
+        Money b = Money.of("0.20");
+
+        assertEquals(Money.of("100.30"), a.plus(b));
+        assertEquals(Money.of("99.90"), a.minus(b));
+        assertEquals(Money.of("-100.10"), a.negate());
+        assertTrue(b.isLessThan(a));
+        assertEquals(-1, b.minus(a).signum());
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)));
+    }
+
+    @Test
+    @DisplayName("JSON is the same decimal number a scale-2 BigDecimal was")
+    void json_isDecimalNumber() {
+        assertEquals("250.00", mapper.writeValueAsString(Money.of("250")));
+        assertEquals(Money.of("10.50"), mapper.readValue("10.5", Money.class));
+        assertThrows(DatabindException.class, () -> mapper.readValue("10.005", Money.class));
+    }
+}
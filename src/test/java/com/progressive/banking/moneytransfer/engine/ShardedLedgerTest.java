@@ -0,0 +1,321 @@
+package com.progressive.banking.moneytransfer.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.exception.AccountNotActiveException;
+import com.progressive.banking.moneytransfer.exception.AccountNotFoundException;
+import com.progressive.banking.moneytransfer.exception.InsufficientBalanceException;
+
+/**
+ * ShardedLedger against an in-memory journal store: random cross- and same-shard transfers with
+ * reused keys and failing commits mixed in, checked for conservation and journal replay.
+ */
+class ShardedLedgerTest {
+
+    // -Dledger.transfers=... for longer runs
+    private static final int TRANSFERS = Integer.getInteger("ledger.transfers", 1_000_000);
+    private static final int ACCOUNTS = 200;
+    private static final int CLOSED_ACCOUNT = 7;
+    private static final int UNKNOWN_ACCOUNT = 10_000;
+    private static final Money OPENING_BALANCE = Money.of("1000.00");
+    // below ACCOUNTS / 4 shards, so the random run keeps evicting and reloading idle accounts
+    private static final int MAX_ACCOUNTS_PER_SHARD = 40;
+
+    @Test
+    @DisplayName("random transfers conserve money and the journal replays to the ledger's balances")
+    void randomTransfers_conserveMoney_andReplay() throws Exception {
+        JournalStore store = new JournalStore(openingBalances(), 500);
+        Map<Integer, Money> inMemory;
+        List<TransferResponse> succeeded = new ArrayList<>();
+        Map<Class<?>, AtomicInteger> rejected = new ConcurrentHashMap<>();
+
+        try (ShardedLedger ledger = new ShardedLedger(store, 4, 1_000, MAX_ACCOUNTS_PER_SHARD)) {
+            Random random = new Random(42);
+            Semaphore inFlight = new Semaphore(10_000);
+            List<CompletableFuture<TransferResponse>> futures = new ArrayList<>(TRANSFERS);
+
+            for (int i = 0; i < TRANSFERS; i++) {
+                inFlight.acquire();
+                CompletableFuture<TransferResponse> future = ledger.submit(randomRequest(random, i));
+                future.whenComplete((response, ex) -> inFlight.release());
+                futures.add(future);
+            }
+
+            for (CompletableFuture<TransferResponse> future : futures) {
+                try {
+                    succeeded.add(future.get(2, TimeUnit.MINUTES));
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    rejected.computeIfAbsent(ex.getCause().getClass(), c -> new AtomicInteger()).incrementAndGet();
+                }
+            }
+            inMemory = balances(ledger);
+
+            LedgerStats stats = ledger.stats();
+            assertEquals(succeeded.size(), stats.committed());
+            assertTrue(stats.groupCommits() < stats.committed(), "transfers were not grouped: " + stats);
+            assertTrue(stats.resets() > 0, "no failed commit was exercised: " + stats);
+        }
+
+        // every outcome is accounted for, with each failure kind actually exercised
+        int failed = rejected.values().stream().mapToInt(AtomicInteger::get).sum();
+        assertEquals(TRANSFERS, succeeded.size() + failed);
+        assertTrue(rejected.containsKey(InsufficientBalanceException.class), rejected.toString());
+        assertTrue(rejected.containsKey(AccountNotActiveException.class), rejected.toString());
+        assertTrue(rejected.containsKey(AccountNotFoundException.class), rejected.toString());
+        assertTrue(rejected.containsKey(DataIntegrityViolationException.class), rejected.toString());
+        assertTrue(rejected.containsKey(QueryTimeoutException.class), rejected.toString());
+
+        // acknowledged == journaled, with unique ids and keys
+        assertEquals(succeeded.size(), store.journal.size());
+        assertEquals(succeeded.size(), succeeded.stream().map(TransferResponse::getTransactionId).distinct().count());
+        assertEquals(succeeded.size(), store.journal.stream().map(TransferRequest::getIdempotencyKey).distinct().count());
+
+        // conservation, no overdraft, and memory caught up with the store once idle
+        Money total = store.balances.values().stream().reduce(Money.ZERO, Money::plus);
+        assertEquals(0, Money.ofMinor(OPENING_BALANCE.minorUnits() * ACCOUNTS).compareTo(total), "total changed: " + total);
+        store.balances.values().forEach(b -> assertTrue(b.signum() >= 0, "overdrawn: " + b));
+        assertEquals(store.balances, inMemory);
+
+        // restart: a store rebuilt from opening balances + journal gives the same ledger state
+        Map<Integer, Money> replayed = openingBalances();
+        for (TransferRequest entry : store.journal) {
+            replayed.merge(entry.getFromAccountId(), entry.getAmount().negate(), Money::plus);
+            replayed.merge(entry.getToAccountId(), entry.getAmount(), Money::plus);
+        }
+        try (ShardedLedger restarted = new ShardedLedger(new JournalStore(replayed, 0), 3, 100, ACCOUNTS)) {
+            assertEquals(inMemory, balances(restarted));
+        }
+    }
+
+    @Test
+    @DisplayName("a rejected credit hands the cross-shard reservation back")
+    void rejectedCredit_releasesReservation() {
+        JournalStore store = new JournalStore(openingBalances(), 0);
+        try (ShardedLedger ledger = new ShardedLedger(store, 2, 10, ACCOUNTS)) {
+            // 2 and 7 live on different shards; 7 is closed
+            CompletableFuture<TransferResponse> future = ledger.submit(request(2, CLOSED_ACCOUNT, "100.00", "k-1"));
+            CompletionException ex = assertThrows(CompletionException.class, future::join);
+            assertEquals(AccountNotActiveException.class, ex.getCause().getClass());
+            assertEquals(0, OPENING_BALANCE.compareTo(ledger.balance(2).join().orElseThrow()));
+
+            TransferResponse ok = ledger.submit(request(2, 5, "1000.00", "k-2")).join();
+            assertEquals(TransactionStatusEnum.SUCCESS, ok.getStatus());
+            assertEquals(0, Money.of("2000.00").compareTo(store.balances.get(5)));
+        }
+    }
+
+    @Test
+    @DisplayName("a balance changed behind the ledger fails the commit, which reloads instead of overdrawing")
+    void outsideWriter_reloadsInsteadOfOverdrawing() {
+        JournalStore store = new JournalStore(openingBalances(), 0);
+        try (ShardedLedger ledger = new ShardedLedger(store, 2, 10, ACCOUNTS)) {
+            ledger.submit(request(2, 5, "1.00", "k-1")).join();
+
+            // another instance spends most of account 2; the ledger still holds 999.00
+            store.balances.put(2, Money.of("100.00"));
+
+            CompletableFuture<TransferResponse> future = ledger.submit(request(2, 5, "500.00", "k-2"));
+            CompletionException ex = assertThrows(CompletionException.class, future::join);
+            assertEquals(InsufficientBalanceException.class, ex.getCause().getClass());
+            assertEquals(0, Money.of("100.00").compareTo(store.balances.get(2)));
+            assertEquals(0, Money.of("100.00").compareTo(ledger.balance(2).join().orElseThrow()));
+            assertTrue(ledger.stats().resets() > 0);
+
+            TransferResponse ok = ledger.submit(request(2, 5, "60.00", "k-3")).join();
+            assertEquals(TransactionStatusEnum.SUCCESS, ok.getStatus());
+            assertEquals(0, Money.of("40.00").compareTo(store.balances.get(2)));
+        }
+    }
+
+    @Test
+    @DisplayName("an account closed behind the ledger fails the commit, which reloads and refuses the transfer")
+    void outsideClose_reloadsAndRefuses() {
+        JournalStore store = new JournalStore(openingBalances(), 0);
+        try (ShardedLedger ledger = new ShardedLedger(store, 2, 10, ACCOUNTS)) {
+            ledger.submit(request(2, 5, "1.00", "k-1")).join();
+
+            // closed in the database; the ledger still holds account 5 as active
+            store.closed.add(5);
+
+            CompletableFuture<TransferResponse> future = ledger.submit(request(2, 5, "10.00", "k-2"));
+            CompletionException ex = assertThrows(CompletionException.class, future::join);
+            assertEquals(AccountNotActiveException.class, ex.getCause().getClass());
+            assertEquals(0, Money.of("999.00").compareTo(store.balances.get(2)));
+            assertEquals(0, Money.of("1001.00").compareTo(store.balances.get(5)));
+            assertEquals(1, store.journal.size());
+            assertTrue(ledger.stats().resets() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("idle accounts past the per-shard bound are reloaded, accounts with a transfer in flight are kept")
+    void slotBound_evictsIdleAccountsOnly() throws Exception {
+        JournalStore store = new JournalStore(openingBalances(), 0);
+        try (ShardedLedger ledger = new ShardedLedger(store, 1, 10, 2)) {
+            ledger.submit(request(1, 2, "1.00", "k-1")).join();
+            ledger.balance(3).join();
+            ledger.balance(4).join();
+            ledger.balance(1).join();
+            assertEquals(2, store.loads.get(1).get());
+
+            // hold the commit: 1 and 2 stay in flight with the whole balance of 1 moved
+            store.gate = new CountDownLatch(1);
+            CompletableFuture<TransferResponse> pending = ledger.submit(request(1, 2, "999.00", "k-2"));
+            for (int id = 3; id <= 10; id++) {
+                ledger.balance(id).join();
+            }
+            assertEquals(0, Money.ZERO.compareTo(ledger.balance(1).join().orElseThrow()));
+            assertEquals(2, store.loads.get(1).get());
+
+            store.gate.countDown();
+            assertEquals(TransactionStatusEnum.SUCCESS, pending.join().getStatus());
+            assertEquals(0, Money.ZERO.compareTo(store.balances.get(1)));
+            assertEquals(0, Money.of("2000.00").compareTo(store.balances.get(2)));
+        }
+    }
+
+    private static TransferRequest randomRequest(Random random, int i) {
+        int from = 1 + random.nextInt(ACCOUNTS);
+        int to = 1 + random.nextInt(ACCOUNTS);
+        if (to == from) {
+            to = from % ACCOUNTS + 1;
+        }
+        int roll = random.nextInt(1_000);
+        if (roll == 0) {
+            to = UNKNOWN_ACCOUNT;
+        }
+        // ~0.1% reuse the key of an earlier transfer
+        String key = roll == 1 && i > 0 ? "key-" + random.nextInt(i) : "key-" + i;
+        Money amount = Money.ofMinor(1 + random.nextInt(60_000));
+        return request(from, to, amount.toString(), key);
+    }
+
+    private static TransferRequest request(int from, int to, String amount, String key) {
+        return new TransferRequest(from, to, Money.of(amount), key, null);
+    }
+
+    private static Map<Integer, Money> openingBalances() {
+        Map<Integer, Money> balances = new HashMap<>();
+        for (int id = 1; id <= ACCOUNTS; id++) {
+            balances.put(id, OPENING_BALANCE);
+        }
+        return balances;
+    }
+
+    private static Map<Integer, Money> balances(ShardedLedger ledger) {
+        Map<Integer, Money> balances = new HashMap<>();
+        for (int id = 1; id <= ACCOUNTS; id++) {
+            balances.put(id, ledger.balance(id).join().orElseThrow());
+        }
+        return balances;
+    }
+
+    /**
+     * Balances plus an append-only journal. Every failEvery-th commit fails like a lost
+     * connection; a key that was already journaled fails the commit like the unique constraint,
+     * a delta taking a balance below zero or touching a closed account like the guarded UPDATE.
+     */
+    private static final class JournalStore implements LedgerStore {
+
+        final Map<Integer, Money> balances;
+        final List<TransferRequest> journal = new ArrayList<>();
+        final Set<Integer> closed = ConcurrentHashMap.newKeySet();
+        final Map<Integer, AtomicInteger> loads = new ConcurrentHashMap<>();
+        // when set, commits wait for it
+        volatile CountDownLatch gate;
+        private final Set<String> keys = new HashSet<>();
+        private final int failEvery;
+        private int commits;
+        private int nextId = 1;
+
+        JournalStore(Map<Integer, Money> balances, int failEvery) {
+            this.balances = new ConcurrentHashMap<>(balances);
+            this.failEvery = failEvery;
+            this.closed.add(CLOSED_ACCOUNT);
+        }
+
+        @Override
+        public Optional<LedgerAccount> load(Integer accountId) {
+            loads.computeIfAbsent(accountId, id -> new AtomicInteger()).incrementAndGet();
+            Money balance = balances.get(accountId);
+            return balance == null ? Optional.empty() : Optional.of(new LedgerAccount(balance, !closed.contains(accountId)));
+        }
+
+        // called by the committer thread only
+        @Override
+        public List<TransferResponse> commit(List<TransferRequest> transfers, Map<Integer, Long> deltas) {
+            awaitGate();
+            if (failEvery > 0 && ++commits % failEvery == 0) {
+                throw new QueryTimeoutException("simulated commit failure");
+            }
+            Set<String> batchKeys = new HashSet<>();
+            for (TransferRequest transfer : transfers) {
+                if (keys.contains(transfer.getIdempotencyKey()) || !batchKeys.add(transfer.getIdempotencyKey())) {
+                    throw new DataIntegrityViolationException("duplicate key " + transfer.getIdempotencyKey());
+                }
+            }
+
+            deltas.forEach((id, delta) -> {
+                if (closed.contains(id) || balances.get(id).minorUnits() + delta < 0) {
+                    throw new StaleLedgerException(id, delta);
+                }
+            });
+
+            keys.addAll(batchKeys);
+            journal.addAll(transfers);
+            deltas.forEach((id, delta) -> balances.merge(id, Money.ofMinor(delta), Money::plus));
+
+            List<TransferResponse> responses = new ArrayList<>(transfers.size());
+            for (TransferRequest transfer : transfers) {
+                responses.add(TransferResponse.builder()
+                        .transactionId(nextId++)
+                        .fromAccountId(transfer.getFromAccountId())
+                        .toAccountId(transfer.getToAccountId())
+                        .amount(transfer.getAmount().toBigDecimal())
+                        .status(TransactionStatusEnum.SUCCESS)
+                        .idempotencyKey(transfer.getIdempotencyKey())
+                        .build());
+            }
+            return responses;
+        }
+
+        private void awaitGate() {
+            CountDownLatch current = gate;
+            if (current == null) {
+                return;
+            }
+            try {
+                current.await(1, TimeUnit.MINUTES);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
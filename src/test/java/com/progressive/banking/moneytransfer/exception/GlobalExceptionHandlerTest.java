@@ -14,11 +14,12 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.progressive.banking.moneytransfer.config.HistoryProperties;
 import com.progressive.banking.moneytransfer.controller.AccountController;
 import com.progressive.banking.moneytransfer.service.AccountService;
 
 @WebMvcTest(controllers = AccountController.class)
-@Import(GlobalExceptionHandler.class)
+@Import({GlobalExceptionHandler.class, HistoryProperties.class})
 @AutoConfigureMockMvc(addFilters = false)
 class GlobalExceptionHandlerTest {
 
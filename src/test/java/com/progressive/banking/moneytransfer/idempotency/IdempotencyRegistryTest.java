@@ -0,0 +1,108 @@
+package com.progressive.banking.moneytransfer.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.progressive.banking.moneytransfer.archive.TransactionLogArchive;
+import com.progressive.banking.moneytransfer.config.ArchiveProperties;
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
+import com.progressive.banking.moneytransfer.repository.TransferJournalRepository;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyRegistryTest {
+
+    @Mock
+    private TransactionLogRepository transactionLogRepository;
+
+    @Mock
+    private TransferJournalRepository transferJournalRepository;
+
+    private IdempotencyRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new IdempotencyRegistry(transactionLogRepository, transferJournalRepository, new TransferProperties(),
+                new TransactionLogArchive(new ArchiveProperties()));
+    }
+
+    @Test
+    @DisplayName("first-time key is answered by the filter without a DB probe")
+    void lookup_newKey_skipsDatabase() {
+        Optional<TransferResponse> result = registry.lookup("never-seen");
+
+        assertTrue(result.isEmpty());
+        verify(transactionLogRepository, never()).findByIdempotencyKey(any());
+        assertEquals(1, registry.stats().filterSkips());
+    }
+
+    @Test
+    @DisplayName("remembered key is served from the cache")
+    void lookup_rememberedKey_hitsCache() {
+        TransferResponse response = TransferResponse.builder().transactionId(5).idempotencyKey("k-1").build();
+        registry.remember(response);
+
+        Optional<TransferResponse> result = registry.lookup("k-1");
+
+        assertEquals(5, result.orElseThrow().getTransactionId());
+        verify(transactionLogRepository, never()).findByIdempotencyKey(any());
+        assertEquals(1, registry.stats().cacheHits());
+    }
+
+    @Test
+    @DisplayName("probe bypasses the filter and counts DB hits")
+    void probe_goesToDatabase() {
+        assertTrue(registry.probe("k-2").isEmpty());
+        verify(transactionLogRepository).findByIdempotencyKey("k-2");
+        assertEquals(0, registry.stats().dbHits());
+    }
+
+    @Test
+    @DisplayName("filter has no false negatives and stays near its false-positive target")
+    void filter_noFalseNegatives() {
+        IdempotencyKeyFilter filter = new IdempotencyKeyFilter(10_000, 0.01);
+        String[] keys = new String[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = UUID.randomUUID().toString();
+            filter.put(keys[i]);
+        }
+        for (String key : keys) {
+            assertTrue(filter.mightContain(key));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        // two generations are checked, so allow up to ~2x the configured rate
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("filter forgets keys after two generations")
+    void filter_rotatesGenerations() {
+        IdempotencyKeyFilter filter = new IdempotencyKeyFilter(100, 0.01);
+        filter.put("old-key");
+        for (int i = 0; i < 250; i++) {
+            filter.put("filler-" + i);
+        }
+        assertFalse(filter.mightContain("old-key"));
+    }
+}
@@ -0,0 +1,188 @@
+package com.progressive.banking.moneytransfer.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.entities.TransferJournal;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
+import com.progressive.banking.moneytransfer.repository.TransferJournalRepository;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+/**
+ * log-mode=WRITE_BEHIND against the embedded database: journal rows commit with the
+ * balances and end up in transaction_log with the same ids.
+ */
+@SpringBootTest(properties = "logging.level.com.progressive.banking.moneytransfer=WARN")
+class TransferJournalPipelineTest {
+
+    private static final Money OPENING_BALANCE = Money.of("1000.00");
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransferJournalPipeline pipeline;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionLogRepository transactionLogRepository;
+
+    @Autowired
+    private TransferJournalRepository journalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void writeBehind() {
+        transferProperties.setLogMode(TransferProperties.LogMode.WRITE_BEHIND);
+    }
+
+    @AfterEach
+    void restoreDefaults() {
+        transferProperties.setLogMode(TransferProperties.LogMode.FINAL_ONLY);
+    }
+
+    @Test
+    @DisplayName("every balance change ends up in transaction_log once the journal is drained")
+    void transfers_areDrainedIntoTransactionLog() {
+        accountRepository.save(account(8001));
+        accountRepository.save(account(8002));
+
+        List<TransferResponse> responses = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            responses.add(transferService.transfer(i % 3 == 0 ? request(8002, 8001, "2.00") : request(8001, 8002, "5.00")));
+        }
+        List<TransferRequest> batch = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            batch.add(request(8001, 8002, "1.00"));
+        }
+        transferService.transferBatch(batch).getResults().forEach(r -> responses.add(r.getTransfer()));
+
+        pipeline.drainNow();
+
+        Money netOutOfA = Money.ZERO;
+        for (TransferResponse response : responses) {
+            TransactionLog logged = transactionLogRepository.findById(response.getTransactionId()).orElseThrow();
+            assertEquals(response.getIdempotencyKey(), logged.getIdempotencyKey());
+            assertEquals(TransactionStatusEnum.SUCCESS, logged.getStatus());
+            netOutOfA = logged.getFromAccountId() == 8001
+                    ? netOutOfA.plus(Money.of(logged.getAmount()))
+                    : netOutOfA.minus(Money.of(logged.getAmount()));
+        }
+
+        assertEquals(0, OPENING_BALANCE.minus(netOutOfA).compareTo(balance(8001)));
+        assertEquals(0, OPENING_BALANCE.plus(netOutOfA).compareTo(balance(8002)));
+        assertEquals(0, pipeline.stats().backlog());
+        assertTrue(pipeline.reconcile().isClean());
+    }
+
+    @Test
+    @DisplayName("journal rows left behind by a crash are recovered by the sweep")
+    void sweep_recoversUnqueuedEntries() {
+        TransferJournal orphan = new TransferJournal();
+        orphan.setFromAccountId(8011);
+        orphan.setToAccountId(8012);
+        orphan.setAmount(new BigDecimal("3.00"));
+        orphan.setIdempotencyKey(UUID.randomUUID().toString());
+        Integer id = journalRepository.save(orphan).getTransactionId();
+
+        pipeline.drainNow();
+
+        assertTrue(journalRepository.findById(id).isEmpty());
+        assertEquals(orphan.getIdempotencyKey(), transactionLogRepository.findById(id).orElseThrow().getIdempotencyKey());
+    }
+
+    @Test
+    @DisplayName("a key that was already drained can't be journaled again")
+    void append_drainedKey_isRejected() {
+        accountRepository.save(account(8021));
+        accountRepository.save(account(8022));
+        TransferRequest request = request(8021, 8022, "1.00");
+        transferService.transfer(request);
+        pipeline.drainNow();
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        assertThrows(DataIntegrityViolationException.class,
+                () -> tx.executeWithoutResult(status -> pipeline.append(request)));
+        assertTrue(journalRepository.findByIdempotencyKey(request.getIdempotencyKey()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("a deleted log row shows up as a balance mismatch on both of its accounts")
+    void reconcile_deletedLogRow_isCaught() {
+        accountRepository.save(account(8031));
+        accountRepository.save(account(8032));
+        pipeline.reconcile();
+
+        TransferResponse kept = transferService.transfer(request(8031, 8032, "4.00"));
+        TransferResponse lost = transferService.transfer(request(8032, 8031, "1.50"));
+        pipeline.drainNow();
+        JournalReconciliation clean = pipeline.reconcile();
+        assertTrue(clean.isClean(), clean.toString());
+        assertTrue(clean.checkedAccounts() >= 2);
+
+        transferService.transfer(request(8031, 8032, "2.00"));
+        transactionLogRepository.deleteById(lost.getTransactionId());
+        pipeline.drainNow();
+
+        JournalReconciliation caught = pipeline.reconcile();
+        assertFalse(caught.isClean());
+        assertEquals(List.of(8031, 8032), caught.mismatchedAccounts().stream().sorted().toList());
+        assertEquals(0, caught.unexplainedTotal());
+        assertTrue(transactionLogRepository.findById(kept.getTransactionId()).isPresent());
+
+        // reported once: the next check counts from the new checkpoint
+        assertTrue(pipeline.reconcile().isClean());
+    }
+
+    private Money balance(int id) {
+        return accountRepository.findById(id).orElseThrow().getBalance();
+    }
+
+    private TransferRequest request(int from, int to, String amount) {
+        return new TransferRequest(from, to, Money.of(amount), UUID.randomUUID().toString(), null);
+    }
+
+    private Account account(int id) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("Journal " + id);
+        a.setBalance(OPENING_BALANCE);
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+}
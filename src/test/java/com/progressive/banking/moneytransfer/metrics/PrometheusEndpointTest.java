@@ -0,0 +1,118 @@
+package com.progressive.banking.moneytransfer.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.exception.InsufficientBalanceException;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+/**
+ * The scrape endpoint serves transfer phase histograms, outcome counters, component stats and
+ * connection pool gauges in Prometheus text format, on the localhost management port only.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.progressive.banking.moneytransfer=WARN",
+        "management.server.port=0",
+        "management.server.address=127.0.0.1",
+        "management.endpoint.health.probes.enabled=true",
+        "management.endpoint.health.probes.add-additional-paths=true"})
+class PrometheusEndpointTest {
+
+    private static final int ACCOUNT_A = 9601;
+    private static final int ACCOUNT_B = 9602;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void seedAccounts() {
+        accountRepository.save(account(ACCOUNT_A));
+        accountRepository.save(account(ACCOUNT_B));
+    }
+
+    @AfterEach
+    void removeAccounts() {
+        accountRepository.deleteById(ACCOUNT_A);
+        accountRepository.deleteById(ACCOUNT_B);
+    }
+
+    @Test
+    @DisplayName("transfer meters and pool gauges are scraped from the management port without a token")
+    void prometheusScrape() throws Exception {
+        transferService.transfer(new TransferRequest(ACCOUNT_A, ACCOUNT_B, Money.of("10.00"), UUID.randomUUID().toString(), null));
+        assertThrows(InsufficientBalanceException.class, () -> transferService.transfer(
+                new TransferRequest(ACCOUNT_A, ACCOUNT_B, Money.of("1000000"), UUID.randomUUID().toString(), null)));
+
+        HttpResponse<String> scrape = get(managementPort, "/actuator/prometheus");
+        assertEquals(200, scrape.statusCode());
+        String body = scrape.body();
+        assertThat(body, containsString("transfer_phase_seconds_bucket{phase=\"fetch\""));
+        assertThat(body, containsString("transfer_phase_seconds_count{phase=\"commit\"}"));
+        assertThat(body, containsString("transfer_duration_seconds_bucket"));
+        assertThat(body, containsString("transfer_outcome_total{status=\"SUCCESS\"}"));
+        assertThat(body, containsString("transfer_outcome_total{status=\"FAILURE\"}"));
+        assertThat(body, containsString("idempotency_lookups_total{result=\"filter_skip\"}"));
+        assertThat(body, containsString("account_cache_requests_total"));
+        assertThat(body, containsString("login_pool_queue_depth"));
+        assertThat(body, containsString("hikaricp_connections_active"));
+    }
+
+    @Test
+    @DisplayName("the public port serves no actuator paths, only the health probes")
+    void publicPort_hasNoActuator() throws Exception {
+        assertEquals(403, get(serverPort, "/actuator/prometheus").statusCode());
+        assertEquals(403, get(serverPort, "/actuator/health").statusCode());
+        assertEquals(200, get(serverPort, "/livez").statusCode());
+        assertEquals(200, get(serverPort, "/readyz").statusCode());
+    }
+
+    private HttpResponse<String> get(int port, String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Account account(int id) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("Metrics " + id);
+        a.setBalance(Money.of("1000.00"));
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+}
@@ -0,0 +1,249 @@
+package com.progressive.banking.moneytransfer.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountBalanceStripeRepository;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
+import com.progressive.banking.moneytransfer.security.JwtUtil;
+import com.progressive.banking.moneytransfer.service.TransferService;
+import com.progressive.banking.moneytransfer.striping.StripeConsolidator;
+
+/**
+ * /api/v2 on its own Netty server over R2DBC (H2), against the same database, idempotency
+ * registry and id_generator row as the JPA endpoints.
+ */
+@SpringBootTest(properties = {
+        "logging.level.com.progressive.banking.moneytransfer=WARN",
+        "application.reactive.enabled=true",
+        "application.transfer.striping.accounts=" + ReactiveApiTest.STRIPED,
+        "application.transfer.striping.stripes=2",
+        "application.transfer.striping.consolidate-interval=1h"
+})
+class ReactiveApiTest {
+
+    private static final int ACCOUNT_A = 9801;
+    private static final int ACCOUNT_B = 9802;
+    static final int STRIPED = 9803;
+
+    @Autowired
+    private ReactiveApiServer server;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionLogRepository transactionLogRepository;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private StripeConsolidator consolidator;
+
+    @Autowired
+    private AccountBalanceStripeRepository stripeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.save(account(ACCOUNT_A, "1000.00"));
+        accountRepository.save(account(ACCOUNT_B, "0.00"));
+        accountRepository.save(account(STRIPED, "0.00"));
+        consolidator.ensureStripes();
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + server.getPort() + "/api/v2")
+                .defaultHeader("Authorization", "Bearer " + jwtUtil.generateToken("reactive-user"))
+                .build();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionLogRepository.findAll().stream()
+                .filter(log -> log.getFromAccountId() == ACCOUNT_A || log.getFromAccountId() == ACCOUNT_B
+                        || log.getFromAccountId() == STRIPED)
+                .forEach(transactionLogRepository::delete);
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> stripeRepository.clearByAccountId(STRIPED));
+        accountRepository.deleteById(ACCOUNT_A);
+        accountRepository.deleteById(ACCOUNT_B);
+        accountRepository.deleteById(STRIPED);
+    }
+
+    @Test
+    @DisplayName("a striped account spends the credits still on its stripes, as on /api/v1")
+    void stripedDebit_foldsStripes() {
+        // lands on a stripe: the row stays at 0.00 and nothing is consolidated meanwhile
+        transferService.transfer(new TransferRequest(ACCOUNT_A, STRIPED, Money.of("50.00"), UUID.randomUUID().toString(), null));
+        assertEquals(0, Money.ZERO.compareTo(accountRepository.findById(STRIPED).orElseThrow().getBalance()));
+
+        client.get().uri("/accounts/{id}/balance", STRIPED)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.balance").isEqualTo(50.00);
+
+        client.post().uri("/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("fromAccountId", STRIPED, "toAccountId", ACCOUNT_B, "amount", 30,
+                        "idempotencyKey", UUID.randomUUID().toString()))
+                .exchange()
+                .expectStatus().isCreated();
+
+        assertEquals(0, Money.of("20.00").compareTo(accountRepository.findById(STRIPED).orElseThrow().getBalance()));
+        assertEquals(0, stripeRepository.sumByAccountId(STRIPED).signum());
+        assertEquals(0, Money.of("30.00").compareTo(accountRepository.findById(ACCOUNT_B).orElseThrow().getBalance()));
+
+        // more than row and stripes hold together: still rejected
+        client.post().uri("/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("fromAccountId", STRIPED, "toAccountId", ACCOUNT_B, "amount", 25,
+                        "idempotencyKey", UUID.randomUUID().toString()))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errorCode").isEqualTo("TRX-400");
+    }
+
+    @Test
+    @DisplayName("requests without a valid token are rejected with 401")
+    void unauthenticated() {
+        WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + server.getPort())
+                .build()
+                .get().uri("/api/v2/accounts/{id}/balance", ACCOUNT_A)
+                .header("Authorization", "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("balance read echoes the correlation id")
+    void balance() {
+        client.get().uri("/accounts/{id}/balance", ACCOUNT_A)
+                .header("X-Correlation-Id", "cid-42")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Correlation-Id", "cid-42")
+                .expectBody()
+                .jsonPath("$.accountId").isEqualTo(ACCOUNT_A)
+                .jsonPath("$.balance").isEqualTo(1000.00);
+
+        client.get().uri("/accounts/{id}", 9899)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.errorCode").isEqualTo("ACC-404");
+    }
+
+    @Test
+    @DisplayName("transfer moves the money, logs it and rejects the repeated key")
+    void transferAndDuplicate() {
+        String key = UUID.randomUUID().toString();
+        TransferResponse response = client.post().uri("/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("fromAccountId", ACCOUNT_A, "toAccountId", ACCOUNT_B, "amount", 250, "idempotencyKey", key))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TransferResponse.class)
+                .returnResult().getResponseBody();
+
+        assertEquals(key, response.getIdempotencyKey());
+        assertEquals(0, Money.of("750.00").compareTo(accountRepository.findById(ACCOUNT_A).orElseThrow().getBalance()));
+        assertEquals(0, Money.of("250.00").compareTo(accountRepository.findById(ACCOUNT_B).orElseThrow().getBalance()));
+        assertEquals(response.getTransactionId(),
+                transactionLogRepository.findByIdempotencyKey(key).orElseThrow().getTransactionId());
+
+        client.post().uri("/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("fromAccountId", ACCOUNT_A, "toAccountId", ACCOUNT_B, "amount", 250, "idempotencyKey", key))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody().jsonPath("$.errorCode").isEqualTo("TRX-409");
+
+        // the balance cache was evicted by the transfer
+        client.get().uri("/accounts/{id}/balance", ACCOUNT_A)
+                .exchange()
+                .expectBody().jsonPath("$.balance").isEqualTo(750.00);
+    }
+
+    @Test
+    @DisplayName("v1 and v2 transfers draw distinct ids from the shared generator row")
+    void idsDoNotCollide() {
+        for (int i = 0; i < 3; i++) {
+            TransferResponse v1 = transferService.transfer(
+                    new TransferRequest(ACCOUNT_A, ACCOUNT_B, Money.of("1.00"), UUID.randomUUID().toString(), null));
+            TransferResponse v2 = client.post().uri("/transfers")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of("fromAccountId", ACCOUNT_A, "toAccountId", ACCOUNT_B, "amount", 1))
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody(TransferResponse.class)
+                    .returnResult().getResponseBody();
+            assertNotEquals(v1.getTransactionId(), v2.getTransactionId());
+            assertTrue(v2.getTransactionId() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("business and validation failures map to the v1 error codes")
+    void failures() {
+        client.post().uri("/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("fromAccountId", ACCOUNT_B, "toAccountId", ACCOUNT_A, "amount", 5))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errorCode").isEqualTo("TRX-400");
+
+        client.post().uri("/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("fromAccountId", ACCOUNT_A, "toAccountId", ACCOUNT_B))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("VAL-422")
+                .jsonPath("$.details.amount").isEqualTo("amount must not be null");
+
+        client.post().uri("/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("fromAccountId", ACCOUNT_A, "toAccountId", ACCOUNT_A, "amount", 5))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody().jsonPath("$.message").isEqualTo("fromAccountId and toAccountId must be different");
+    }
+
+    private Account account(int id, String balance) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("Reactive " + id);
+        a.setBalance(Money.of(balance));
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+}
@@ -0,0 +1,132 @@
+package com.progressive.banking.moneytransfer.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.progressive.banking.moneytransfer.cache.AccountCache;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.service.AccountService;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+/**
+ * The account cache in front of a replica that has not caught up with a transfer: the
+ * transfer's own instance must read its write back instead of caching the replica's old row.
+ */
+@SpringBootTest(properties = {
+        "logging.level.com.progressive.banking.moneytransfer=WARN",
+        "application.account-cache.enabled=true",
+        "application.account-cache.ttl=1h",
+        "application.replicas.enabled=true",
+        "application.replicas.check-interval=1h",
+        "application.replicas.max-lag=5s",
+        "application.replicas.endpoints[0].name=replica-cached",
+        "application.replicas.endpoints[0].url=" + ReplicaCachedReadTest.REPLICA_URL
+})
+class ReplicaCachedReadTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica_cached;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+    private static final String PRIMARY_URL =
+            "jdbc:h2:mem:moneytransfer_test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+
+    private static final int ACCOUNT_A = 9711;
+    private static final int ACCOUNT_B = 9712;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private ReplicaSet replicaSet;
+
+    @AfterEach
+    void cleanUp() {
+        accountCache.evict(List.of(ACCOUNT_A, ACCOUNT_B));
+        accountRepository.deleteById(ACCOUNT_A);
+        accountRepository.deleteById(ACCOUNT_B);
+    }
+
+    @Test
+    @DisplayName("after a transfer, a miss reads the primary rather than caching the lagging replica's row")
+    void missAfterTransfer_readsPrimary() throws SQLException {
+        accountRepository.save(account(ACCOUNT_A, "1000.00"));
+        accountRepository.save(account(ACCOUNT_B, "0.00"));
+        replicaSet.checkNow();
+        replicate();
+        replicaSet.checkNow();
+
+        // cached from the replica
+        assertEquals(0, Money.of("1000.00").compareTo(accountService.getBalance(ACCOUNT_A).getBalance()));
+        long replicaReads = replicaReads();
+
+        // the replica stays behind, but within max-lag, so it is still usable
+        transferService.transfer(new TransferRequest(ACCOUNT_A, ACCOUNT_B, Money.of("100.00"), UUID.randomUUID().toString(), null));
+
+        assertEquals(0, Money.of("900.00").compareTo(accountService.getBalance(ACCOUNT_A).getBalance()));
+        assertEquals(0, Money.of("100.00").compareTo(accountService.getAccount(ACCOUNT_B).getBalance()));
+        // and what was read from the primary is what stays cached
+        assertEquals(0, Money.of("900.00").compareTo(accountService.getAccount(ACCOUNT_A).getBalance()));
+        assertEquals(replicaReads, replicaReads());
+    }
+
+    // copies the tables account reads need from the primary onto the replica
+    private static void replicate() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet rs = statement.executeQuery("SCRIPT TABLE accounts, account_balance_stripes, replication_heartbeat")) {
+            while (rs.next()) {
+                script.add(rs.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                if (!sql.startsWith("CREATE USER")) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    private long replicaReads() {
+        return replicaSet.stats().replicas().get(0).reads();
+    }
+
+    private Account account(int id, String balance) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("Cached replica " + id);
+        a.setBalance(Money.of(balance));
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+}
@@ -0,0 +1,199 @@
+package com.progressive.banking.moneytransfer.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.service.AccountService;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+/**
+ * Read/write routing against two database instances: the test database as primary and a second
+ * in-memory H2 database as replica, "replicated" by copying tables over with SCRIPT/RUNSCRIPT.
+ * A third endpoint points at a database that does not exist and must stay ejected.
+ */
+@SpringBootTest(properties = {
+        "logging.level.com.progressive.banking.moneytransfer=WARN",
+        "application.account-cache.enabled=false",
+        "application.replicas.enabled=true",
+        "application.replicas.check-interval=1h",
+        "application.replicas.max-lag=5s",
+        "application.replicas.connection-timeout=250ms",
+        "application.replicas.endpoints[0].name=replica-a",
+        "application.replicas.endpoints[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "application.replicas.endpoints[1].name=replica-down",
+        "application.replicas.endpoints[1].url=jdbc:h2:mem:replica_missing;IFEXISTS=TRUE"
+})
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica_a;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+    private static final String PRIMARY_URL =
+            "jdbc:h2:mem:moneytransfer_test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+
+    private static final int ACCOUNT_A = 9701;
+    private static final int ACCOUNT_B = 9702;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ReplicaSet replicaSet;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        accountRepository.save(account(ACCOUNT_A, "1000.00"));
+        accountRepository.save(account(ACCOUNT_B, "0.00"));
+        // heartbeat row on the primary, copied over, then measured
+        replicaSet.checkNow();
+        replicate();
+        replicaSet.checkNow();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        accountRepository.deleteById(ACCOUNT_A);
+        accountRepository.deleteById(ACCOUNT_B);
+    }
+
+    @Test
+    @DisplayName("read-only transactions are served by the replica, transfers by the primary")
+    void readsGoToReplica_transfersToPrimary() throws SQLException {
+        // a balance only the replica has tells who answered
+        onReplica("UPDATE accounts SET balance = 1234.00 WHERE account_id = " + ACCOUNT_A);
+        long readsBefore = status("replica-a").reads();
+
+        assertEquals(0, Money.of("1234.00").compareTo(accountService.getBalance(ACCOUNT_A).getBalance()));
+        assertTrue(status("replica-a").reads() > readsBefore);
+
+        transferService.transfer(new TransferRequest(ACCOUNT_A, ACCOUNT_B, Money.of("100.00"), UUID.randomUUID().toString(), null));
+
+        // outside a read-only transaction, so this reads the primary
+        assertEquals(0, Money.of("900.00").compareTo(primaryBalance(ACCOUNT_A)));
+        assertEquals(0, Money.of("1234.00").compareTo(accountService.getBalance(ACCOUNT_A).getBalance()));
+
+        ReplicaStatus down = status("replica-down");
+        assertFalse(down.healthy());
+        assertEquals(0, down.reads());
+    }
+
+    @Test
+    @DisplayName("a replica lagging beyond max-lag is skipped and reads fall back to the primary")
+    void laggingReplica_fallsBackToPrimary() throws SQLException {
+        onReplica("UPDATE accounts SET balance = 1234.00 WHERE account_id = " + ACCOUNT_A);
+        onReplica("UPDATE replication_heartbeat SET beat_millis = beat_millis - 60000");
+        replicaSet.checkNow();
+
+        ReplicaStatus lagging = status("replica-a");
+        assertTrue(lagging.healthy());
+        assertTrue(lagging.lag().getSeconds() >= 60, "lag: " + lagging.lag());
+
+        long fallbacks = replicaSet.stats().primaryFallbacks();
+        assertEquals(0, Money.of("1000.00").compareTo(accountService.getBalance(ACCOUNT_A).getBalance()));
+        assertTrue(replicaSet.stats().primaryFallbacks() > fallbacks);
+
+        // caught up again
+        replicate();
+        replicaSet.checkNow();
+        onReplica("UPDATE accounts SET balance = 1234.00 WHERE account_id = " + ACCOUNT_A);
+        assertEquals(0, Money.of("1234.00").compareTo(accountService.getBalance(ACCOUNT_A).getBalance()));
+    }
+
+    @Test
+    @DisplayName("a replica that fails its probe is ejected until a probe succeeds again")
+    void failingReplica_isEjected_andReadmitted() throws SQLException {
+        onReplica("DROP ALL OBJECTS");
+        replicaSet.checkNow();
+
+        assertFalse(status("replica-a").healthy());
+        assertEquals(0, Money.of("1000.00").compareTo(accountService.getBalance(ACCOUNT_A).getBalance()));
+
+        replicate();
+        replicaSet.checkNow();
+
+        assertTrue(status("replica-a").healthy());
+        onReplica("UPDATE accounts SET balance = 1234.00 WHERE account_id = " + ACCOUNT_A);
+        assertEquals(0, Money.of("1234.00").compareTo(accountService.getBalance(ACCOUNT_A).getBalance()));
+    }
+
+    // copies the tables account reads need (the view adds stripes) from the primary onto the replica
+    private static void replicate() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet rs = statement.executeQuery("SCRIPT TABLE accounts, account_balance_stripes, replication_heartbeat")) {
+            while (rs.next()) {
+                script.add(rs.getString(1));
+            }
+        }
+        onReplica("DROP ALL OBJECTS");
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            for (String sql : script) {
+                if (!sql.startsWith("CREATE USER")) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    private static void onReplica(String sql) throws SQLException {
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private Money primaryBalance(int accountId) {
+        return Money.of(jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE account_id = ?", BigDecimal.class, accountId));
+    }
+
+    private ReplicaStatus status(String name) {
+        return replicaSet.stats().replicas().stream()
+                .filter(s -> s.name().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Account account(int id, String balance) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("Replica " + id);
+        a.setBalance(Money.of(balance));
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+}
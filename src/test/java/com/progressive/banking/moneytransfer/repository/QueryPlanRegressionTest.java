@@ -0,0 +1,578 @@
+package com.progressive.banking.moneytransfer.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+
+/**
+ * Query plan regression suite: loads synthetic accounts and transaction_log rows, runs every
+ * repository query once while recording the SQL (and bind values) that actually reaches JDBC,
+ * and fails when EXPLAIN shows a full table scan or a sort the index should have avoided.
+ *
+ * Runs on a private H2 database by default. Knobs (system properties):
+ * - plan.rows: synthetic transaction_log rows (default 50000; use e.g. 2000000 for a full-size run)
+ * - plan.url / plan.username / plan.password: run against a local MySQL instead (schema is created
+ *   by Hibernate there too, so use a throwaway database)
+ *
+ * On H2 an ORDER BY passes when the plan says "index sorted", or when the index the plan chose
+ * for its block lists the ORDER BY columns right after the columns the block binds by equality
+ * (H2 only reports the former when the ORDER BY columns lead the index). That covers each UNION
+ * branch's ORDER BY as well; the MySQL run reads "Using filesort" per table instead.
+ */
+@SpringBootTest(properties = "logging.level.com.progressive.banking.moneytransfer=WARN")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanRegressionTest {
+
+    private static final int ROWS = Integer.getInteger("plan.rows", 50_000);
+    private static final int ACCOUNTS = 5_000;
+    private static final int FIRST_ACCOUNT = 100_001;
+    private static final int FIRST_TRANSACTION = 1_000_001;
+    // every STRIPED_EVERY-th account has STRIPES credit stripes
+    private static final int STRIPED_EVERY = 100;
+    private static final int STRIPES = 4;
+    private static final int STRIPED_ACCOUNT = FIRST_ACCOUNT + STRIPED_EVERY - 1;
+    private static final String PLAN_URL = System.getProperty("plan.url");
+
+    // transfer_journal only holds undrained rows; its monitoring aggregates may scan it. The
+    // balance reconciliation reads every account by design (transaction_log only by created_on)
+    private static final Map<String, Set<String>> SCAN_ALLOWED = Map.of(
+            "TransferJournalRepository.findOldestCreatedOn", Set.of("transfer_journal"),
+            "TransferJournalRepository.countOlderThan", Set.of("transfer_journal"),
+            "TransferJournalRepository.countAlreadyLogged", Set.of("transfer_journal"),
+            "AccountRepository.findBalanceDrift", Set.of("accounts", "transfer_journal"),
+            "AccountRepository.countByStatus", Set.of("accounts"),
+            // startup only; the consolidation rounds look stripes up by account
+            "AccountBalanceStripeRepository.findAccountIdsWithPendingCredits()", Set.of("account_balance_stripes"));
+
+    // the archiver exports a closed month once, in account order: its range is read through
+    // idx_txn_created_on (one partition on MySQL) and sorted
+    private static final Set<String> EXPORT_SORT_ALLOWED = Set.of(
+            "TransactionLogRepository.streamSentBetween",
+            "TransactionLogRepository.streamReceivedBetween");
+
+    @DynamicPropertySource
+    static void planDatabase(DynamicPropertyRegistry registry) {
+        if (PLAN_URL != null) {
+            registry.add("spring.datasource.url", () -> PLAN_URL);
+            registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+            registry.add("spring.datasource.username", () -> System.getProperty("plan.username", "root"));
+            registry.add("spring.datasource.password", () -> System.getProperty("plan.password", ""));
+            registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+            registry.add("spring.sql.init.mode", () -> "never");
+        } else {
+            registry.add("spring.datasource.url", () ->
+                    "jdbc:h2:mem:query_plans;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        }
+    }
+
+    @Autowired
+    private SqlRecorder recorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceStripeRepository stripeRepository;
+
+    @Autowired
+    private TransactionLogRepository transactionLogRepository;
+
+    @Autowired
+    private TransferJournalRepository transferJournalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<String, List<RecordedStatement>> statements = new LinkedHashMap<>();
+
+    @BeforeAll
+    void loadAndRecord() {
+        loadSyntheticRows();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime midHistory = LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(ROWS / 2);
+        LocalDateTime monthStart = LocalDateTime.of(2025, 1, 1, 0, 0);
+        long one = Money.of("1.00").minorUnits();
+
+        record("AccountRepository.findById", () -> accountRepository.findById(FIRST_ACCOUNT));
+        record("AccountRepository.findByIdForUpdate", () -> accountRepository.findByIdForUpdate(FIRST_ACCOUNT));
+        record("AccountRepository.findAllByIdForUpdate",
+                () -> accountRepository.findAllByIdForUpdate(List.of(FIRST_ACCOUNT, FIRST_ACCOUNT + 1, FIRST_ACCOUNT + 2)));
+        record("AccountRepository.debitIfActiveAndSufficient",
+                () -> accountRepository.debitIfActiveAndSufficient(FIRST_ACCOUNT, one, now));
+        record("AccountRepository.creditIfActive", () -> accountRepository.creditIfActive(FIRST_ACCOUNT + 1, one, now));
+        record("AccountRepository.adjustBalance", () -> accountRepository.adjustBalance(FIRST_ACCOUNT + 1, -one, now));
+        record("AccountRepository.adjustBalanceIfActive",
+                () -> accountRepository.adjustBalanceIfActive(FIRST_ACCOUNT + 1, -one, now));
+        record("AccountRepository.findByHolderName", () -> accountRepository.findByHolderName("Plan 7"));
+        record("AccountRepository.findAccountIdsByHolderName", () -> accountRepository.findAccountIdsByHolderName("Plan 7"));
+        record("AccountRepository.existsByAccountIdAndStatus",
+                () -> accountRepository.existsByAccountIdAndStatus(FIRST_ACCOUNT, AccountStatusEnum.ACTIVE));
+        record("AccountRepository.countByStatus", () -> accountRepository.countByStatus(AccountStatusEnum.ACTIVE));
+        record("AccountRepository.findViewById", () -> accountRepository.findViewById(STRIPED_ACCOUNT));
+        record("AccountRepository.findBalanceViewById", () -> accountRepository.findBalanceViewById(STRIPED_ACCOUNT));
+        record("AccountRepository.findBalanceDrift", () -> accountRepository.findBalanceDrift(midHistory));
+
+        record("AccountBalanceStripeRepository.credit",
+                () -> stripeRepository.credit(STRIPED_ACCOUNT, 1, Money.of("1.00").toBigDecimal()));
+        record("AccountBalanceStripeRepository.sumByAccountId", () -> stripeRepository.sumByAccountId(STRIPED_ACCOUNT));
+        record("AccountBalanceStripeRepository.findAllByAccountIdForUpdate",
+                () -> stripeRepository.findAllByAccountIdForUpdate(STRIPED_ACCOUNT));
+        record("AccountBalanceStripeRepository.clearByAccountId", () -> stripeRepository.clearByAccountId(STRIPED_ACCOUNT));
+        record("AccountBalanceStripeRepository.findStripeNosByAccountId",
+                () -> stripeRepository.findStripeNosByAccountId(STRIPED_ACCOUNT));
+        record("AccountBalanceStripeRepository.findAccountIdsWithPendingCredits", () -> stripeRepository
+                .findAccountIdsWithPendingCredits(List.of(STRIPED_ACCOUNT, STRIPED_ACCOUNT + STRIPED_EVERY)));
+        record("AccountBalanceStripeRepository.findAccountIdsWithPendingCredits()",
+                () -> stripeRepository.findAccountIdsWithPendingCredits());
+
+        record("TransactionLogRepository.findById", () -> transactionLogRepository.findById(FIRST_TRANSACTION));
+        record("TransactionLogRepository.findByIdempotencyKey", () -> transactionLogRepository.findByIdempotencyKey("plan-1"));
+        record("TransactionLogRepository.findLoggedIdempotencyKeys",
+                () -> transactionLogRepository.findLoggedIdempotencyKeys(List.of("plan-1", "plan-2")));
+        record("TransactionLogRepository.updateStatus",
+                () -> transactionLogRepository.updateStatus(FIRST_TRANSACTION, TransactionStatusEnum.SUCCESS, null));
+        record("TransactionLogRepository.findHistoryPage", () -> transactionLogRepository
+                .findHistoryPage(FIRST_ACCOUNT, midHistory, Integer.MAX_VALUE, 51));
+        record("TransactionLogRepository.streamHistory",
+                () -> transactionLogRepository.streamHistory(FIRST_ACCOUNT, 500, log -> { }));
+        record("TransactionLogRepository.findOldestCreatedOn", () -> transactionLogRepository.findOldestCreatedOn());
+        record("TransactionLogRepository.deleteCreatedBetween",
+                () -> transactionLogRepository.deleteCreatedBetween(monthStart, monthStart.plusDays(1)));
+        record("TransactionLogRepository.streamSentBetween", () -> transactionLogRepository
+                .streamSentBetween(monthStart, monthStart.plusMonths(1), 1000, log -> { }));
+        record("TransactionLogRepository.streamReceivedBetween", () -> transactionLogRepository
+                .streamReceivedBetween(monthStart, monthStart.plusMonths(1), 1000, log -> { }));
+        // the register only exists once the archiver ran (TransactionLogPartitions)
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS transaction_log_key ("
+                + "idempotency_key VARCHAR(64) NOT NULL PRIMARY KEY, created_on DATETIME(6) NOT NULL)");
+        record("TransactionLogRepository.findRegisteredKeyCreatedOn",
+                () -> transactionLogRepository.findRegisteredKeyCreatedOn("plan-1"));
+        record("TransactionLogRepository.findRegisteredKeys",
+                () -> transactionLogRepository.findRegisteredKeys(List.of("plan-1", "plan-2")));
+
+        record("TransferJournalRepository.findByIdempotencyKey", () -> transferJournalRepository.findByIdempotencyKey("plan-1"));
+        record("TransferJournalRepository.findByTransactionIdGreaterThanOrderByTransactionIdAsc", () -> transferJournalRepository
+                .findByTransactionIdGreaterThanOrderByTransactionIdAsc(0, PageRequest.of(0, 500)));
+        record("TransferJournalRepository.deleteAllByIdInBatch",
+                () -> transferJournalRepository.deleteAllByIdInBatch(List.of(1, 2)));
+        record("TransferJournalRepository.findOldestCreatedOn", () -> transferJournalRepository.findOldestCreatedOn());
+        record("TransferJournalRepository.countOlderThan", () -> transferJournalRepository.countOlderThan(now));
+        record("TransferJournalRepository.countAlreadyLogged", () -> transferJournalRepository.countAlreadyLogged());
+
+        record("UserRepository.findByUsername", () -> userRepository.findByUsername("Vijay"));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        return statements.entrySet().stream().map(entry -> DynamicTest.dynamicTest(entry.getKey(), () -> {
+            assertFalse(entry.getValue().isEmpty(), "no SQL recorded for " + entry.getKey());
+            for (RecordedStatement statement : entry.getValue()) {
+                String plan = explain(statement);
+                PlanProblems problems = PLAN_URL != null
+                        ? mysqlProblems(statement.sql(), plan)
+                        : h2Problems(statement.sql(), plan);
+
+                Set<String> allowed = SCAN_ALLOWED.getOrDefault(entry.getKey(), Set.of());
+                boolean scanAllowed = problems.fullScans().stream()
+                        .allMatch(t -> allowed.contains(t.substring(t.lastIndexOf('.') + 1)));
+                assertTrue(problems.fullScans().isEmpty() || scanAllowed,
+                        entry.getKey() + " scans " + problems.fullScans() + ":\n" + statement.sql() + "\n" + plan);
+                assertFalse(problems.sorted() && !EXPORT_SORT_ALLOWED.contains(entry.getKey()),
+                        entry.getKey() + " sorts instead of reading in index order:\n" + statement.sql() + "\n" + plan);
+                assertFalse(sortsUnboundedUnion(statement.sql()),
+                        entry.getKey() + " sorts a UNION whose branches aren't limited:\n" + statement.sql());
+            }
+        }));
+    }
+
+    private void record(String label, Runnable query) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            recorder.start();
+            try {
+                query.run();
+            } finally {
+                statements.put(label, recorder.stop());
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    /* ---------------- data ---------------- */
+
+    private void loadSyntheticRows() {
+        boolean mysql = PLAN_URL != null;
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (var statement = connection.createStatement()) {
+                String rows = mysql
+                        ? "WITH RECURSIVE seq (x) AS (SELECT 1 UNION ALL SELECT x + 1 FROM seq WHERE x < %d) SELECT x FROM seq"
+                        : "SELECT \"X\" AS x FROM SYSTEM_RANGE(1, %d)";
+                if (mysql) {
+                    statement.execute("SET SESSION cte_max_recursion_depth = " + Math.max(ROWS, ACCOUNTS));
+                }
+
+                statement.execute("INSERT INTO accounts (account_id, holder_name, balance, status, version, last_updated) "
+                        + "SELECT " + (FIRST_ACCOUNT - 1) + " + x, CONCAT('Plan ', x), 1000.00, 'ACTIVE', 0, NOW() "
+                        + "FROM (" + String.format(rows, ACCOUNTS) + ") seq");
+
+                // to_account_id is shifted by 1..4999 so it never equals from_account_id
+                statement.execute("INSERT INTO transaction_log "
+                        + "(transaction_id, from_account_id, to_account_id, amount, status, idempotency_key, created_on) "
+                        + "SELECT " + (FIRST_TRANSACTION - 1) + " + x, "
+                        + FIRST_ACCOUNT + " + MOD(x * 7, " + ACCOUNTS + "), "
+                        + FIRST_ACCOUNT + " + MOD(x * 7 + 1 + MOD(x, " + (ACCOUNTS - 1) + "), " + ACCOUNTS + "), "
+                        + "1.00 + MOD(x, 100), CASE WHEN MOD(x, 50) = 0 THEN 'FAILURE' ELSE 'SUCCESS' END, "
+                        + "CONCAT('plan-', x), TIMESTAMPADD(SECOND, x, TIMESTAMP '2025-01-01 00:00:00') "
+                        + "FROM (" + String.format(rows, ROWS) + ") seq");
+
+                statement.execute("INSERT INTO account_balance_stripes (account_id, stripe_no, amount) "
+                        + "SELECT " + (FIRST_ACCOUNT - 1) + " + " + STRIPED_EVERY + " * (1 + FLOOR((x - 1) / " + STRIPES + ")), "
+                        + "MOD(x - 1, " + STRIPES + "), CASE WHEN MOD(x, 3) = 0 THEN 2.50 ELSE 0 END "
+                        + "FROM (" + String.format(rows, ACCOUNTS / STRIPED_EVERY * STRIPES) + ") seq");
+
+                statement.execute(mysql
+                        ? "ANALYZE TABLE accounts, account_balance_stripes, transaction_log, transfer_journal, users"
+                        : "ANALYZE");
+            }
+            return null;
+        });
+    }
+
+    /* ---------------- plans ---------------- */
+
+    private String explain(RecordedStatement statement) {
+        return recorder.withRawConnection(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+                for (Map.Entry<Integer, Object> param : statement.params().entrySet()) {
+                    ps.setObject(param.getKey(), param.getValue());
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = ps.executeQuery()) {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    while (rs.next()) {
+                        for (int i = 1; i <= meta.getColumnCount(); i++) {
+                            plan.append(meta.getColumnLabel(i).toLowerCase(Locale.ROOT)).append('=')
+                                    .append(rs.getString(i)).append(meta.getColumnCount() == 1 ? "" : " | ");
+                        }
+                        plan.append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    /**
+     * H2: "tableScan" marks a full scan. Every ORDER BY of a single block (a whole query or one
+     * UNION branch) must be served by an index; an ORDER BY over a UNION sorts its merged result.
+     */
+    private PlanProblems h2Problems(String sql, String plan) {
+        List<String> scans = new ArrayList<>();
+        for (String line : plan.split("\n")) {
+            int marker = line.indexOf(".tableScan");
+            if (marker >= 0) {
+                scans.add(line.substring(line.lastIndexOf(' ', marker) + 1, marker).toLowerCase(Locale.ROOT));
+            }
+        }
+        String lower = sql.toLowerCase(Locale.ROOT);
+        boolean sorted = false;
+        for (int at = lower.indexOf(ORDER_BY); at >= 0; at = lower.indexOf(ORDER_BY, at + 1)) {
+            String block = enclosingBlock(lower, at);
+            if (block.contains(" union ")) {
+                continue;
+            }
+            boolean indexSorted = block.equals(lower) && plan.contains("index sorted");
+            sorted |= !indexSorted && !readInIndexOrder(block, plan);
+        }
+        return new PlanProblems(scans, sorted);
+    }
+
+    private static final String ORDER_BY = " order by ";
+
+    /**
+     * An ORDER BY over a UNION sorts the merged result: fine when every branch is cut by its own
+     * LIMIT first (at most branches * limit rows), a sort of the whole history otherwise.
+     * Both databases report that sort only on the derived table, so it is checked on the SQL.
+     */
+    private static boolean sortsUnboundedUnion(String sql) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        for (int at = lower.indexOf(ORDER_BY); at >= 0; at = lower.indexOf(ORDER_BY, at + 1)) {
+            String block = enclosingBlock(lower, at);
+            if (!block.contains(" union ")) {
+                continue;
+            }
+            for (String branch : block.split(" union (?:all )?")) {
+                if (!branch.contains(" limit ")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // the innermost parenthesized block around position at, or the whole statement
+    private static String enclosingBlock(String sql, int at) {
+        int depth = 0;
+        for (int start = at; start >= 0; start--) {
+            char c = sql.charAt(start);
+            if (c == ')') {
+                depth++;
+            } else if (c == '(' && depth > 0) {
+                depth--;
+            } else if (c == '(') {
+                for (int end = at; end < sql.length(); end++) {
+                    char d = sql.charAt(end);
+                    if (d == '(') {
+                        depth++;
+                    } else if (d == ')' && depth-- == 0) {
+                        return sql.substring(start + 1, end);
+                    }
+                }
+                return sql.substring(start + 1);
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * True when an index the plan uses on the block's table holds, after the columns the block
+     * binds by equality, the ORDER BY columns in order (a forward or backward index scan).
+     */
+    private boolean readInIndexOrder(String block, String plan) {
+        Matcher from = Pattern.compile(" from (\\w+)").matcher(block);
+        if (!from.find()) {
+            return false;
+        }
+        Set<String> equalities = new HashSet<>();
+        Matcher equality = Pattern.compile("(?:\\w+\\.)?(\\w+) ?= ?\\?").matcher(block);
+        while (equality.find()) {
+            equalities.add(equality.group(1));
+        }
+        String orderBy = block.substring(block.indexOf(ORDER_BY) + ORDER_BY.length()).split(" limit | fetch | for ")[0];
+        List<String> ordered = new ArrayList<>();
+        for (String term : orderBy.split(",")) {
+            String column = term.trim().split(" ")[0];
+            ordered.add(column.substring(column.indexOf('.') + 1));
+        }
+
+        String usedIndexes = plan.toLowerCase(Locale.ROOT);
+        for (Map.Entry<String, List<String>> index : indexColumns(from.group(1)).entrySet()) {
+            if (!usedIndexes.contains("." + index.getKey() + ":")) {
+                continue;
+            }
+            List<String> columns = index.getValue();
+            int bound = 0;
+            while (bound < columns.size() && equalities.contains(columns.get(bound))
+                    && !ordered.contains(columns.get(bound))) {
+                bound++;
+            }
+            List<String> rest = columns.subList(bound, columns.size());
+            if (rest.size() >= ordered.size() && rest.subList(0, ordered.size()).equals(ordered)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // index name -> its columns in order, from H2's information schema
+    private Map<String, List<String>> indexColumns(String table) {
+        Map<String, List<String>> indexes = new TreeMap<>();
+        jdbcTemplate.query("SELECT index_name, column_name FROM information_schema.index_columns "
+                        + "WHERE table_name = ? ORDER BY index_name, ordinal_position",
+                (RowCallbackHandler) rs -> indexes.computeIfAbsent(rs.getString(1).toLowerCase(Locale.ROOT), name -> new ArrayList<>())
+                        .add(rs.getString(2).toLowerCase(Locale.ROOT)),
+                table);
+        return indexes;
+    }
+
+    /**
+     * MySQL: type=ALL is a full scan and "Using filesort" a sort, on base tables. Sorting the
+     * (limited) UNION result itself (table <union..>/<derived..>) is expected. The table column
+     * shows aliases; they are mapped back to table names from the statement.
+     */
+    private static PlanProblems mysqlProblems(String sql, String plan) {
+        Map<String, String> tables = new HashMap<>();
+        Matcher alias = Pattern.compile("(?:from|join) (\\w+)(?: (?:as )?(\\w+))?").matcher(sql.toLowerCase(Locale.ROOT));
+        while (alias.find()) {
+            if (alias.group(2) != null) {
+                tables.put(alias.group(2), alias.group(1));
+            }
+        }
+        List<String> scans = new ArrayList<>();
+        boolean sorted = false;
+        for (String row : plan.split("\n")) {
+            String table = column(row, "table");
+            if (table == null || table.startsWith("<")) {
+                continue;
+            }
+            if ("ALL".equals(column(row, "type"))) {
+                scans.add(tables.getOrDefault(table, table));
+            }
+            String extra = column(row, "extra");
+            sorted |= extra != null && extra.contains("Using filesort");
+        }
+        return new PlanProblems(scans, sorted);
+    }
+
+    private static String column(String row, String name) {
+        for (String cell : row.split(" \\| ")) {
+            if (cell.startsWith(name + "=")) {
+                String value = cell.substring(name.length() + 1);
+                return "null".equals(value) ? null : value;
+            }
+        }
+        return null;
+    }
+
+    private record PlanProblems(List<String> fullScans, boolean sorted) {}
+
+    record RecordedStatement(String sql, Map<Integer, Object> params) {}
+
+    /* ---------------- SQL capture ---------------- */
+
+    @TestConfiguration
+    static class RecorderConfig {
+
+        @Bean
+        SqlRecorder sqlRecorder() {
+            return new SqlRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof RecordingMarker)) {
+                        SqlRecorder.target = dataSource;
+                        return Proxy.newProxyInstance(RecordingMarker.class.getClassLoader(),
+                                new Class<?>[]{DataSource.class, RecordingMarker.class},
+                                (proxy, method, args) -> {
+                                    Object result = invoke(dataSource, method, args);
+                                    return result instanceof Connection connection ? SqlRecorder.wrap(connection) : result;
+                                });
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    interface RecordingMarker {}
+
+    /**
+     * Wraps connections so every prepared statement executed while recording is kept
+     * together with its bind values (first execution of each SQL string only).
+     */
+    static class SqlRecorder {
+
+        private static volatile DataSource target;
+        private static volatile List<RecordedStatement> current;
+
+        void start() {
+            current = new ArrayList<>();
+        }
+
+        List<RecordedStatement> stop() {
+            List<RecordedStatement> recorded = current;
+            current = null;
+            return recorded;
+        }
+
+        <T> T withRawConnection(ConnectionCallback<T> callback) {
+            try (Connection connection = target.getConnection()) {
+                return callback.doInConnection(connection);
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        static Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(RecordingMarker.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement ps && args != null && args[0] instanceof String sql) {
+                            return wrap(ps, sql);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+            Map<Integer, Object> params = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(RecordingMarker.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            params.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.startsWith("execute") || name.equals("addBatch")) {
+                            List<RecordedStatement> recording = current;
+                            if (recording != null && recording.stream().noneMatch(r -> r.sql().equals(sql))) {
+                                recording.add(new RecordedStatement(sql, new TreeMap<>(params)));
+                            }
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.progressive.banking.moneytransfer.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+
+import com.progressive.banking.moneytransfer.config.AuthProperties;
+import com.progressive.banking.moneytransfer.exception.LoginOverloadedException;
+
+@ExtendWith(MockitoExtension.class)
+class CredentialVerifierTest {
+
+    @Mock
+    private AuthenticationManager authManager;
+
+    private CredentialVerifier verifier;
+
+    @AfterEach
+    void shutdown() {
+        verifier.shutdown();
+    }
+
+    private CredentialVerifier verifier(int workers, int queueCapacity) {
+        AuthProperties properties = new AuthProperties();
+        properties.getLogin().setWorkers(workers);
+        properties.getLogin().setQueueCapacity(queueCapacity);
+        properties.getLogin().setRetryAfter(Duration.ofSeconds(3));
+        verifier = new CredentialVerifier(authManager, properties);
+        return verifier;
+    }
+
+    @Test
+    @DisplayName("logins beyond workers + queue are shed with the configured Retry-After")
+    void authenticate_queueFull_sheds() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(authManager.authenticate(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        CredentialVerifier verifier = verifier(1, 1);
+
+        CompletableFuture<Authentication> running = verifier.authenticate("a", "pw");
+        CompletableFuture<Authentication> queued = verifier.authenticate("b", "pw");
+
+        LoginOverloadedException shed = assertThrows(LoginOverloadedException.class,
+                () -> verifier.authenticate("c", "pw"));
+        assertEquals(Duration.ofSeconds(3), shed.getRetryAfter());
+        assertEquals(1, verifier.queueDepth());
+
+        release.countDown();
+        assertEquals("a", running.get(5, TimeUnit.SECONDS).getName());
+        assertEquals("b", queued.get(5, TimeUnit.SECONDS).getName());
+    }
+
+    @Test
+    @DisplayName("bad credentials complete the future exceptionally")
+    void authenticate_badCredentials_failsFuture() {
+        when(authManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        CompletableFuture<Authentication> result = verifier(1, 1).authenticate("a", "wrong");
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof BadCredentialsException);
+    }
+}
@@ -0,0 +1,111 @@
+package com.progressive.banking.moneytransfer.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import com.progressive.banking.moneytransfer.config.JwtProperties;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    private JwtProperties properties;
+    private JwtUtil jwtUtil;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.getKeys().put("k1", "filter-test-signing-secret-of-at-least-32-bytes");
+        properties.setActiveKeyId("k1");
+        jwtUtil = new JwtUtil(properties);
+        revocationList = new TokenRevocationList(properties);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("CLAIMS mode builds the principal from the token without a user lookup")
+    void claimsMode_noLookup() throws Exception {
+        properties.setPrincipalMode(JwtProperties.PrincipalMode.CLAIMS);
+        String token = jwtUtil.generateToken("Vijay", List.of("ROLE_USER"), List.of(102));
+
+        Authentication auth = filter(token);
+
+        JwtPrincipal principal = assertInstanceOf(JwtPrincipal.class, auth.getPrincipal());
+        assertEquals("Vijay", auth.getName());
+        assertEquals(List.of(102), principal.accountIds());
+        assertEquals("ROLE_USER", auth.getAuthorities().iterator().next().getAuthority());
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+
+    @Test
+    @DisplayName("LOOKUP mode loads the user on every request, CACHED_LOOKUP once per ttl")
+    void lookupModes() throws Exception {
+        when(userDetailsService.loadUserByUsername("Vijay")).thenReturn(new User("Vijay", "x", List.of()));
+        String token = jwtUtil.generateToken("Vijay");
+
+        properties.setPrincipalMode(JwtProperties.PrincipalMode.LOOKUP);
+        JwtAuthenticationFilter lookup = new JwtAuthenticationFilter(jwtUtil, userDetailsService, revocationList, properties);
+        filter(lookup, token);
+        filter(lookup, token);
+        verify(userDetailsService, times(2)).loadUserByUsername("Vijay");
+
+        properties.setPrincipalMode(JwtProperties.PrincipalMode.CACHED_LOOKUP);
+        JwtAuthenticationFilter cached = new JwtAuthenticationFilter(jwtUtil, userDetailsService, revocationList, properties);
+        assertEquals("Vijay", filter(cached, token).getName());
+        filter(cached, token);
+        verify(userDetailsService, times(3)).loadUserByUsername("Vijay");
+    }
+
+    @Test
+    @DisplayName("revoked tokens are not authenticated, other tokens of the same user still are")
+    void revokedTokens_rejected() throws Exception {
+        properties.setPrincipalMode(JwtProperties.PrincipalMode.CLAIMS);
+        String loggedOut = jwtUtil.generateToken("Vijay");
+        String other = jwtUtil.generateToken("Vijay");
+
+        revocationList.revoke(jwtUtil.verify(loggedOut).orElseThrow());
+        assertNull(filter(loggedOut));
+        assertEquals("Vijay", filter(other).getName());
+    }
+
+    private Authentication filter(String token) throws Exception {
+        return filter(new JwtAuthenticationFilter(jwtUtil, userDetailsService, revocationList, properties), token);
+    }
+
+    private Authentication filter(JwtAuthenticationFilter filter, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/accounts/102/balance");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,98 @@
+package com.progressive.banking.moneytransfer.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.progressive.banking.moneytransfer.config.JwtProperties;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+class JwtUtilTest {
+
+    private static final String SECRET_1 = "first-signing-secret-that-is-at-least-32-bytes";
+    private static final String SECRET_2 = "second-signing-secret-that-is-at-least-32-bytes";
+
+    private JwtUtil jwtUtil(Map<String, String> keys, String activeKeyId) {
+        JwtProperties properties = new JwtProperties();
+        properties.getKeys().putAll(keys);
+        properties.setActiveKeyId(activeKeyId);
+        return new JwtUtil(properties);
+    }
+
+    @Test
+    @DisplayName("verify returns the claims of a token it issued")
+    void verify_issuedToken_returnsClaims() {
+        JwtUtil jwtUtil = jwtUtil(Map.of("k1", SECRET_1), "k1");
+
+        String token = jwtUtil.generateToken("Vijay");
+
+        assertEquals("Vijay", jwtUtil.verify(token).orElseThrow().getSubject());
+        assertEquals("Vijay", jwtUtil.extractUsername(token));
+        assertTrue(jwtUtil.validate(token));
+    }
+
+    @Test
+    @DisplayName("verify rejects tampered, expired and malformed tokens")
+    void verify_invalidTokens_empty() {
+        JwtUtil jwtUtil = jwtUtil(Map.of("k1", SECRET_1), "k1");
+        String token = jwtUtil.generateToken("Vijay");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String expired = Jwts.builder()
+                .setHeaderParam("kid", "k1")
+                .setSubject("Vijay")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET_1.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertTrue(jwtUtil.verify(tampered).isEmpty());
+        assertTrue(jwtUtil.verify(expired).isEmpty());
+        assertTrue(jwtUtil.verify("not-a-token").isEmpty());
+        assertFalse(jwtUtil.validate(""));
+    }
+
+    @Test
+    @DisplayName("after rotation tokens from the old key stay valid until the key is removed")
+    void verify_acrossRotation() {
+        String oldToken = jwtUtil(Map.of("k1", SECRET_1), "k1").generateToken("Vijay");
+
+        JwtUtil rotated = jwtUtil(Map.of("k1", SECRET_1, "k2", SECRET_2), "k2");
+        String newToken = rotated.generateToken("Vijay");
+
+        assertTrue(rotated.verify(oldToken).isPresent());
+        assertTrue(rotated.verify(newToken).isPresent());
+
+        JwtUtil retired = jwtUtil(Map.of("k2", SECRET_2), "k2");
+        assertTrue(retired.verify(oldToken).isEmpty());
+        assertTrue(retired.verify(newToken).isPresent());
+    }
+
+    @Test
+    @DisplayName("tokens without a kid header are verified with the active key")
+    void verify_withoutKid_usesActiveKey() {
+        JwtUtil jwtUtil = jwtUtil(Map.of("k1", SECRET_1), "k1");
+        String legacy = Jwts.builder()
+                .setSubject("Vijay")
+                .setExpiration(new Date(System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()))
+                .signWith(Keys.hmacShaKeyFor(SECRET_1.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertEquals("Vijay", jwtUtil.verify(legacy).orElseThrow().getSubject());
+    }
+
+    @Test
+    @DisplayName("an active key id missing from the ring fails at startup")
+    void constructor_unknownActiveKey_throws() {
+        assertThrows(IllegalStateException.class, () -> jwtUtil(Map.of("k1", SECRET_1), "k2"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.progressive.banking.moneytransfer.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.progressive.banking.moneytransfer.domain.entities.User;
+import com.progressive.banking.moneytransfer.repository.UserRepository;
+
+@SpringBootTest(properties = "application.auth.bcrypt-strength=4")
+class PasswordRehashTest {
+
+    private static final String USERNAME = "rehash-user";
+
+    @Autowired
+    private CredentialVerifier credentialVerifier;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void removeUser() {
+        userRepository.findByUsername(USERNAME).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    @DisplayName("a hash stored at another cost is replaced at the configured cost on login")
+    void login_differentCost_rehashes() throws Exception {
+        userRepository.save(new User(null, USERNAME, new BCryptPasswordEncoder(5).encode("s3cret")));
+
+        credentialVerifier.authenticate(USERNAME, "s3cret").get(10, TimeUnit.SECONDS);
+
+        String stored = userRepository.findByUsername(USERNAME).orElseThrow().getPassword();
+        assertTrue(stored.startsWith("$2a$04$"), stored);
+        assertTrue(new BCryptPasswordEncoder().matches("s3cret", stored));
+
+        // same cost now: a second login leaves the hash alone
+        credentialVerifier.authenticate(USERNAME, "s3cret").get(10, TimeUnit.SECONDS);
+        assertEquals(stored, userRepository.findByUsername(USERNAME).orElseThrow().getPassword());
+    }
+
+    @Test
+    @DisplayName("upgradeEncoding flags lower and higher costs, not the configured one")
+    void upgradeEncoding_onCostChange() {
+        RehashingBCryptPasswordEncoder encoder = new RehashingBCryptPasswordEncoder(10);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("x")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(11).encode("x")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(10).encode("x")));
+    }
+}
@@ -0,0 +1,117 @@
+package com.progressive.banking.moneytransfer.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.progressive.banking.moneytransfer.domain.dto.TransactionHistoryPage;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
+import com.progressive.banking.moneytransfer.service.AccountService;
+
+/**
+ * History paging and streaming against the embedded database (UNION ALL query, keyset cursor).
+ */
+@SpringBootTest(properties = "logging.level.com.progressive.banking.moneytransfer=WARN")
+class AccountServiceImplHistoryTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionLogRepository transactionLogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("pages cover the sent and received history exactly once, newest first")
+    void getTransactions_pagesThroughWholeHistory() {
+        accountRepository.save(account(9001));
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+        List<TransactionLog> logs = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            // pairs share a createdOn, so the transactionId tie-breaker matters
+            LocalDateTime createdOn = base.plusMinutes(i / 2);
+            logs.add(i % 2 == 0 ? log(9001, 9002, createdOn) : log(9003, 9001, createdOn));
+        }
+        logs.add(log(9002, 9003, base.plusMinutes(10))); // unrelated account
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> transactionLogRepository.insertAll(logs));
+
+        List<Integer> expected = logs.subList(0, 8).stream()
+                .sorted(Comparator.comparing(TransactionLog::getCreatedOn).thenComparing(TransactionLog::getTransactionId).reversed())
+                .map(TransactionLog::getTransactionId)
+                .toList();
+
+        List<Integer> paged = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionHistoryPage page = accountService.getTransactions(9001, cursor, 3);
+            page.getItems().forEach(tx -> paged.add(tx.transactionId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, paged);
+        assertEquals(3, pages);
+
+        List<Integer> streamed = new ArrayList<>();
+        accountService.streamTransactions(9001, tx -> streamed.add(tx.transactionId()));
+        assertEquals(expected, streamed);
+    }
+
+    @Test
+    @DisplayName("account without transactions returns an empty last page")
+    void getTransactions_emptyHistory() {
+        accountRepository.save(account(9011));
+
+        TransactionHistoryPage page = accountService.getTransactions(9011, null, null);
+
+        assertEquals(List.<TransactionView>of(), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    private TransactionLog log(int from, int to, LocalDateTime createdOn) {
+        TransactionLog log = new TransactionLog();
+        log.setFromAccountId(from);
+        log.setToAccountId(to);
+        log.setAmount(new BigDecimal("1.00"));
+        log.setIdempotencyKey(UUID.randomUUID().toString());
+        log.setCreatedOn(createdOn);
+        log.markSuccess();
+        return log;
+    }
+
+    private Account account(int id) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("History " + id);
+        a.setBalance(Money.ZERO);
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+}
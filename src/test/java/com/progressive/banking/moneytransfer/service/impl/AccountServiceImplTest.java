@@ -1,8 +1,14 @@
 package com.progressive.banking.moneytransfer.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -16,18 +22,28 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.progressive.banking.moneytransfer.archive.TransactionLogArchive;
+import com.progressive.banking.moneytransfer.cache.AccountCache;
+import com.progressive.banking.moneytransfer.config.AccountCacheProperties;
+import com.progressive.banking.moneytransfer.config.ArchiveProperties;
+import com.progressive.banking.moneytransfer.config.HistoryProperties;
+import com.progressive.banking.moneytransfer.config.ReplicaProperties;
+import com.progressive.banking.moneytransfer.domain.dto.AccountBalanceView;
 import com.progressive.banking.moneytransfer.domain.dto.AccountResponse;
+import com.progressive.banking.moneytransfer.domain.dto.AccountView;
 import com.progressive.banking.moneytransfer.domain.dto.BalanceResponse;
-import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
-import com.progressive.banking.moneytransfer.domain.entities.Account;
-import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionHistoryPage;
+import com.progressive.banking.moneytransfer.domain.dto.TransactionView;
 import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
 import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
 import com.progressive.banking.moneytransfer.exception.AccountNotFoundException;
 import com.progressive.banking.moneytransfer.repository.AccountRepository;
 import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class AccountServiceImplTest {
@@ -38,102 +54,161 @@ class AccountServiceImplTest {
     @Mock
     private TransactionLogRepository transactionLogRepository;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private HistoryProperties historyProperties = new HistoryProperties();
+
+    @Spy
+    private AccountCache accountCache = new AccountCache(new AccountCacheProperties(), new ReplicaProperties());
+
+    // no segment directory: nothing archived
+    @Spy
+    private TransactionLogArchive transactionLogArchive = new TransactionLogArchive(new ArchiveProperties());
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
-    private Account account(Integer id, String name, BigDecimal balance) {
-        Account a = new Account();
-        a.setAccountId(id);
-        a.setHolderName(name);
-        a.setBalance(balance);
-        a.setStatus(AccountStatusEnum.ACTIVE);
-        a.setVersion(1L);
-        a.setLastUpdated(LocalDateTime.now());
-        return a;
+    private AccountView account(Integer id, String name, Money balance) {
+        return new AccountView(id, name, balance, AccountStatusEnum.ACTIVE, 1L, LocalDateTime.now());
     }
 
     @Test
     @DisplayName("getAccount returns AccountResponse when account exists")
     void getAccount_whenExists_returnsResponse() {
         Integer id = 1;
-        Account account = account(id, "Alice", BigDecimal.valueOf(500));
-        when(accountRepository.findById(eq(id))).thenReturn(Optional.of(account));
+        AccountView account = account(id, "Alice", Money.of("500.00"));
+        when(accountRepository.findViewById(eq(id))).thenReturn(Optional.of(account));
 
         AccountResponse response = accountService.getAccount(id);
 
         assertEquals(id, response.getAccountId());
         assertEquals("Alice", response.getHolderName());
-        assertEquals(BigDecimal.valueOf(500), response.getBalance());
-        verify(accountRepository).findById(id);
+        assertEquals(Money.of("500.00"), response.getBalance());
+        verify(accountRepository).findViewById(id);
+        verify(accountRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("getAccount throws AccountNotFoundException when account missing")
     void getAccount_whenMissing_throwsNotFound() {
         Integer id = 999;
-        when(accountRepository.findById(eq(id))).thenReturn(Optional.empty());
+        when(accountRepository.findViewById(eq(id))).thenReturn(Optional.empty());
 
         assertThrows(AccountNotFoundException.class, () -> accountService.getAccount(id));
-        verify(accountRepository).findById(id);
+        verify(accountRepository).findViewById(id);
     }
 
     @Test
     @DisplayName("getBalance returns BalanceResponse when account exists")
     void getBalance_whenExists_returnsResponse() {
         Integer id = 2;
-        Account account = account(id, "Bob", BigDecimal.valueOf(250));
-        when(accountRepository.findById(eq(id))).thenReturn(Optional.of(account));
+        AccountView account = account(id, "Bob", Money.of("250.00"));
+        when(accountRepository.findViewById(eq(id))).thenReturn(Optional.of(account));
 
         BalanceResponse response = accountService.getBalance(id);
 
         assertEquals(id, response.getAccountId());
-        assertEquals(BigDecimal.valueOf(250), response.getBalance());
-        verify(accountRepository).findById(id);
+        assertEquals(Money.of("250.00"), response.getBalance());
+        verify(accountRepository).findViewById(id);
+    }
+
+    @Test
+    @DisplayName("getBalance without the cache reads only the balance projection")
+    void getBalance_cacheDisabled_readsBalanceView() {
+        AccountCacheProperties disabled = new AccountCacheProperties();
+        disabled.setEnabled(false);
+        AccountServiceImpl uncached = new AccountServiceImpl(accountRepository, transactionLogRepository,
+                historyProperties, new AccountCache(disabled, new ReplicaProperties()), transactionLogArchive, transactionManager);
+        Integer id = 2;
+        when(accountRepository.findBalanceViewById(eq(id)))
+                .thenReturn(Optional.of(new AccountBalanceView(id, "Bob", Money.of("250.00"), LocalDateTime.now())));
+
+        BalanceResponse response = uncached.getBalance(id);
+
+        assertEquals("Bob", response.getHolderName());
+        assertEquals(Money.of("250.00"), response.getBalance());
+        verify(accountRepository, never()).findViewById(any());
+
+        when(accountRepository.findBalanceViewById(eq(999))).thenReturn(Optional.empty());
+        assertThrows(AccountNotFoundException.class, () -> uncached.getBalance(999));
+    }
+
+    @Test
+    @DisplayName("getBalance and getAccount share one cached read until the account is evicted")
+    void getBalance_servedFromCacheUntilEvicted() {
+        Integer id = 2;
+        when(accountRepository.findViewById(eq(id)))
+                .thenReturn(Optional.of(account(id, "Bob", Money.of("250.00"))))
+                .thenReturn(Optional.of(account(id, "Bob", Money.of("200.00"))));
+
+        assertEquals(Money.of("250.00"), accountService.getBalance(id).getBalance());
+        assertEquals(Money.of("250.00"), accountService.getAccount(id).getBalance());
+        verify(accountRepository, times(1)).findViewById(id);
+
+        accountCache.evict(List.of(id));
+
+        assertEquals(Money.of("200.00"), accountService.getBalance(id).getBalance());
+        verify(accountRepository, times(2)).findViewById(id);
     }
 
     @Test
     @DisplayName("getBalance throws AccountNotFoundException when account missing")
     void getBalance_whenMissing_throwsNotFound() {
         Integer id = 999;
-        when(accountRepository.findById(eq(id))).thenReturn(Optional.empty());
+        when(accountRepository.findViewById(eq(id))).thenReturn(Optional.empty());
 
         assertThrows(AccountNotFoundException.class, () -> accountService.getBalance(id));
     }
 
     @Test
-    @DisplayName("getTransactions returns list when account exists")
-    void getTransactions_whenExists_returnsList() {
+    @DisplayName("getTransactions returns one page and a cursor when more rows exist")
+    void getTransactions_whenMoreRows_returnsCursor() {
         Integer id = 3;
-        Account account = account(id, "Carol", BigDecimal.ZERO);
-        TransactionLog log = new TransactionLog();
-        log.setTransactionId(10);
-        log.setFromAccountId(id);
-        log.setToAccountId(4);
-        log.setAmount(BigDecimal.valueOf(100));
-        log.setStatus(TransactionStatusEnum.SUCCESS);
-        log.setIdempotencyKey("key-1");
-        log.setCreatedOn(LocalDateTime.now());
-
-        when(accountRepository.findById(eq(id))).thenReturn(Optional.of(account));
-        when(transactionLogRepository.findByFromAccountIdOrToAccountIdOrderByCreatedOnDesc(eq(id), eq(id)))
-                .thenReturn(List.of(log));
-
-        List<TransferResponse> result = accountService.getTransactions(id);
-
-        assertEquals(1, result.size());
-        assertEquals(id, result.get(0).getFromAccountId());
-        assertEquals(4, result.get(0).getToAccountId());
-        assertEquals(BigDecimal.valueOf(100), result.get(0).getAmount());
-        verify(accountRepository).findById(id);
-        verify(transactionLogRepository).findByFromAccountIdOrToAccountIdOrderByCreatedOnDesc(id, id);
+        LocalDateTime now = LocalDateTime.now();
+
+        when(accountRepository.existsById(eq(id))).thenReturn(true);
+        when(transactionLogRepository.findHistoryPage(eq(id), any(), eq(Integer.MAX_VALUE), eq(3)))
+                .thenReturn(List.of(log(12, id, now), log(11, id, now), log(10, id, now.minusSeconds(1))));
+
+        TransactionHistoryPage page = accountService.getTransactions(id, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(12, page.getItems().get(0).transactionId());
+        assertEquals(id, page.getItems().get(0).fromAccountId());
+        assertEquals(new BigDecimal("100.00"), page.getItems().get(0).amount());
+        assertNotNull(page.getNextCursor());
+
+        // the cursor points just past the last returned row
+        when(transactionLogRepository.findHistoryPage(eq(id), eq(now), eq(11), eq(3)))
+                .thenReturn(List.of(log(10, id, now.minusSeconds(1))));
+
+        TransactionHistoryPage next = accountService.getTransactions(id, page.getNextCursor(), 2);
+
+        assertEquals(1, next.getItems().size());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("getTransactions rejects a limit above max-page-size and a malformed cursor")
+    void getTransactions_invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> accountService.getTransactions(3, null, 501));
+        assertThrows(IllegalArgumentException.class, () -> accountService.getTransactions(3, "not-a-cursor", 10));
+        verify(transactionLogRepository, never()).findHistoryPage(any(), any(), any(), anyInt());
     }
 
     @Test
     @DisplayName("getTransactions throws AccountNotFoundException when account missing")
     void getTransactions_whenMissing_throwsNotFound() {
         Integer id = 999;
-        when(accountRepository.findById(eq(id))).thenReturn(Optional.empty());
+        when(accountRepository.existsById(eq(id))).thenReturn(false);
+
+        assertThrows(AccountNotFoundException.class, () -> accountService.getTransactions(id, null, null));
+    }
 
-        assertThrows(AccountNotFoundException.class, () -> accountService.getTransactions(id));
+    private TransactionView log(Integer transactionId, Integer from, LocalDateTime createdOn) {
+        return new TransactionView(transactionId, from, 4, new BigDecimal("100.00"), TransactionStatusEnum.SUCCESS,
+                null, "key-" + transactionId, createdOn);
     }
 }
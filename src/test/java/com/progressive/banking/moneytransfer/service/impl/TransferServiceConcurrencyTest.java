@@ -0,0 +1,136 @@
+package com.progressive.banking.moneytransfer.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+/**
+ * Fires concurrent A->B and B->A transfers between the same two accounts
+ * and checks that no money is created or lost, for every engine/locking combination.
+ */
+@SpringBootTest(properties = "logging.level.com.progressive.banking.moneytransfer=WARN")
+class TransferServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int TRANSFERS = 2_000;
+    private static final Money OPENING_BALANCE = Money.of("100000.00");
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @AfterEach
+    void restoreDefaults() {
+        transferProperties.setEngine(TransferProperties.Engine.ENTITY);
+        transferProperties.setLocking(TransferProperties.Locking.OPTIMISTIC);
+        transferProperties.getCoalescing().setEnabled(false);
+        transferProperties.getRetry().setMaxAttempts(new TransferProperties.Retry().getMaxAttempts());
+    }
+
+    @ParameterizedTest(name = "{0} / {1} / coalescing={2}")
+    @CsvSource({
+            "ENTITY, OPTIMISTIC, false, 7001, 7002",
+            "ENTITY, ORDERED_PESSIMISTIC, false, 7003, 7004",
+            "CONDITIONAL_UPDATE, OPTIMISTIC, false, 7005, 7006",
+            "SHARDED, OPTIMISTIC, false, 7007, 7008",
+            "ENTITY, OPTIMISTIC, true, 7009, 7010"
+    })
+    @DisplayName("opposite-direction transfers conserve the total balance")
+    void oppositeDirectionTransfers_conserveMoney(TransferProperties.Engine engine,
+                                                  TransferProperties.Locking locking,
+                                                  boolean coalescing,
+                                                  int accountA, int accountB) throws Exception {
+        transferProperties.setEngine(engine);
+        transferProperties.setLocking(locking);
+        transferProperties.getCoalescing().setEnabled(coalescing);
+        transferProperties.getRetry().setMaxAttempts(20);
+
+        accountRepository.save(account(accountA));
+        accountRepository.save(account(accountB));
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < TRANSFERS; i++) {
+            boolean forward = (i & 1) == 0;
+            TransferRequest request = new TransferRequest(
+                    forward ? accountA : accountB,
+                    forward ? accountB : accountA,
+                    Money.of("1.00"),
+                    UUID.randomUUID().toString(),
+                    null);
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    transferService.transfer(request);
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException ex) {
+                    failed.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        Money total = accountRepository.findById(accountA).orElseThrow().getBalance()
+                .plus(accountRepository.findById(accountB).orElseThrow().getBalance());
+
+        assertEquals(0, OPENING_BALANCE.plus(OPENING_BALANCE).compareTo(total),
+                "total balance changed: " + total);
+        assertEquals(TRANSFERS, succeeded.get() + failed.get());
+        if (locking == TransferProperties.Locking.ORDERED_PESSIMISTIC
+                || engine == TransferProperties.Engine.SHARDED || coalescing) {
+            assertEquals(TRANSFERS, succeeded.get(), "ordered, serialized or grouped transfers must not conflict");
+        } else {
+            assertTrue(succeeded.get() > 0);
+        }
+    }
+
+    private Account account(int id) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("Stress " + id);
+        a.setBalance(OPENING_BALANCE);
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+}
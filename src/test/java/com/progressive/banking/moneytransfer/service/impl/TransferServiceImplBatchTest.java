@@ -0,0 +1,122 @@
+package com.progressive.banking.moneytransfer.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.progressive.banking.moneytransfer.domain.dto.BatchTransferResponse;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+/**
+ * Batch settlement against the embedded database: net deltas, batched log inserts, partial failures.
+ */
+@SpringBootTest(properties = "logging.level.com.progressive.banking.moneytransfer=WARN")
+class TransferServiceImplBatchTest {
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionLogRepository transactionLogRepository;
+
+    @Test
+    @DisplayName("batch applies successful items, reports failed ones, and logs only successes")
+    void transferBatch_partialFailure() {
+        accountRepository.save(account(6001, "100.00", AccountStatusEnum.ACTIVE));
+        accountRepository.save(account(6002, "0.00", AccountStatusEnum.ACTIVE));
+        accountRepository.save(account(6003, "0.00", AccountStatusEnum.LOCKED));
+
+        List<TransferRequest> items = List.of(
+                item(6001, 6002, "60.00"),   // ok
+                item(6002, 6001, "30.00"),   // ok, spends money credited by item 0
+                item(6001, 6002, "80.00"),   // insufficient: 100 - 60 + 30 = 70
+                item(6001, 6003, "1.00"),    // destination locked
+                item(6001, 6999, "1.00"));   // destination missing
+
+        BatchTransferResponse response = transferService.transferBatch(items);
+
+        assertEquals(5, response.getTotal());
+        assertEquals(2, response.getSucceeded());
+        assertEquals(3, response.getFailed());
+        assertEquals(TransactionStatusEnum.SUCCESS, response.getResults().get(0).getStatus());
+        assertNotNull(response.getResults().get(0).getTransfer().getTransactionId());
+        assertEquals("TRX-400", response.getResults().get(2).getErrorCode());
+        assertEquals("ACC-403", response.getResults().get(3).getErrorCode());
+        assertEquals("ACC-404", response.getResults().get(4).getErrorCode());
+
+        assertEquals(0, Money.of("70.00").compareTo(balance(6001)));
+        assertEquals(0, Money.of("30.00").compareTo(balance(6002)));
+        assertEquals(0, Money.ZERO.compareTo(balance(6003)));
+
+        Integer loggedId = response.getResults().get(1).getTransfer().getTransactionId();
+        assertEquals(TransactionStatusEnum.SUCCESS, transactionLogRepository.findById(loggedId).orElseThrow().getStatus());
+        assertEquals(true, transactionLogRepository.findByIdempotencyKey(items.get(2).getIdempotencyKey()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("repeated key within a batch and across batches is rejected per item")
+    void transferBatch_duplicateKeys() {
+        accountRepository.save(account(6011, "100.00", AccountStatusEnum.ACTIVE));
+        accountRepository.save(account(6012, "0.00", AccountStatusEnum.ACTIVE));
+
+        TransferRequest first = item(6011, 6012, "10.00");
+        TransferRequest repeated = new TransferRequest(6011, 6012, Money.of("10.00"), first.getIdempotencyKey(), null);
+
+        BatchTransferResponse response = transferService.transferBatch(List.of(first, repeated));
+        assertEquals(1, response.getSucceeded());
+        assertEquals("TRX-409", response.getResults().get(1).getErrorCode());
+
+        BatchTransferResponse again = transferService.transferBatch(List.of(first));
+        assertEquals(0, again.getSucceeded());
+        assertEquals("TRX-409", again.getResults().get(0).getErrorCode());
+        assertEquals(0, Money.of("90.00").compareTo(balance(6011)));
+    }
+
+    @Test
+    @DisplayName("batch larger than max-items is refused")
+    void transferBatch_tooLarge() {
+        List<TransferRequest> items = new ArrayList<>();
+        for (int i = 0; i < 10_001; i++) {
+            items.add(item(1, 2, "1.00"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> transferService.transferBatch(items));
+    }
+
+    private Money balance(int id) {
+        return accountRepository.findById(id).orElseThrow().getBalance();
+    }
+
+    private TransferRequest item(int from, int to, String amount) {
+        return new TransferRequest(from, to, Money.of(amount), UUID.randomUUID().toString(), null);
+    }
+
+    private Account account(int id, String balance, AccountStatusEnum status) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("Batch " + id);
+        a.setBalance(Money.of(balance));
+        a.setStatus(status);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+}
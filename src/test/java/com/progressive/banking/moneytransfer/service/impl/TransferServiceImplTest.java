@@ -3,14 +3,15 @@ package com.progressive.banking.moneytransfer.service.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
-import java.math.BigDecimal;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import com.progressive.banking.moneytransfer.config.TransferProperties;
 import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
 import com.progressive.banking.moneytransfer.domain.entities.Account;
 import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
 import com.progressive.banking.moneytransfer.exception.AccountNotActiveException;
 import com.progressive.banking.moneytransfer.exception.InsufficientBalanceException;
 
@@ -24,9 +25,9 @@ class TransferServiceImplTest {
 
     // We don't need repositories for these tests; methods under test don't use them.
     private final TransferServiceImpl transferService =
-            new TransferServiceImpl(null, null);
+            new TransferServiceImpl(null, null, new TransferProperties(), null, null, null, null, null, null, null);
 
-    private Account activeAccount(Integer id, BigDecimal balance) {
+    private Account activeAccount(Integer id, Money balance) {
         Account acc = new Account();
         acc.setAccountId(id);
         acc.setHolderName("Holder " + id);
@@ -41,10 +42,10 @@ class TransferServiceImplTest {
         TransferRequest request = new TransferRequest();
         request.setFromAccountId(1);
         request.setToAccountId(2);
-        request.setAmount(BigDecimal.valueOf(100));
+        request.setAmount(Money.of("100.00"));
 
-        Account from = activeAccount(1, BigDecimal.valueOf(500));
-        Account to = activeAccount(2, BigDecimal.valueOf(200));
+        Account from = activeAccount(1, Money.of("500.00"));
+        Account to = activeAccount(2, Money.of("200.00"));
 
         // Expect no exception
         transferService.validateTransfer(request, from, to);
@@ -56,10 +57,10 @@ class TransferServiceImplTest {
         TransferRequest request = new TransferRequest();
         request.setFromAccountId(1);
         request.setToAccountId(1);
-        request.setAmount(BigDecimal.valueOf(50));
+        request.setAmount(Money.of("50.00"));
 
-        Account from = activeAccount(1, BigDecimal.valueOf(500));
-        Account to = activeAccount(1, BigDecimal.valueOf(500));
+        Account from = activeAccount(1, Money.of("500.00"));
+        Account to = activeAccount(1, Money.of("500.00"));
 
         assertThrows(IllegalArgumentException.class,
                 () -> transferService.validateTransfer(request, from, to));
@@ -71,10 +72,10 @@ class TransferServiceImplTest {
         TransferRequest request = new TransferRequest();
         request.setFromAccountId(1);
         request.setToAccountId(2);
-        request.setAmount(BigDecimal.ZERO);
+        request.setAmount(Money.ZERO);
 
-        Account from = activeAccount(1, BigDecimal.valueOf(500));
-        Account to = activeAccount(2, BigDecimal.valueOf(200));
+        Account from = activeAccount(1, Money.of("500.00"));
+        Account to = activeAccount(2, Money.of("200.00"));
 
         assertThrows(IllegalArgumentException.class,
                 () -> transferService.validateTransfer(request, from, to));
@@ -86,12 +87,12 @@ class TransferServiceImplTest {
         TransferRequest request = new TransferRequest();
         request.setFromAccountId(1);
         request.setToAccountId(2);
-        request.setAmount(BigDecimal.valueOf(50));
+        request.setAmount(Money.of("50.00"));
 
-        Account from = activeAccount(1, BigDecimal.valueOf(500));
+        Account from = activeAccount(1, Money.of("500.00"));
         from.setStatus(AccountStatusEnum.LOCKED);
 
-        Account to = activeAccount(2, BigDecimal.valueOf(200));
+        Account to = activeAccount(2, Money.of("200.00"));
 
         assertThrows(AccountNotActiveException.class,
                 () -> transferService.validateTransfer(request, from, to));
@@ -103,10 +104,10 @@ class TransferServiceImplTest {
         TransferRequest request = new TransferRequest();
         request.setFromAccountId(1);
         request.setToAccountId(2);
-        request.setAmount(BigDecimal.valueOf(1000));
+        request.setAmount(Money.of("1000.00"));
 
-        Account from = activeAccount(1, BigDecimal.valueOf(100));
-        Account to = activeAccount(2, BigDecimal.valueOf(200));
+        Account from = activeAccount(1, Money.of("100.00"));
+        Account to = activeAccount(2, Money.of("200.00"));
 
         assertThrows(InsufficientBalanceException.class,
                 () -> transferService.validateTransfer(request, from, to));
@@ -115,14 +116,14 @@ class TransferServiceImplTest {
     @Test
     @DisplayName("executeTransfer debits from source and credits destination")
     void executeTransfer_shouldMoveMoneyBetweenAccounts() {
-        Account from = activeAccount(1, BigDecimal.valueOf(500));
-        Account to = activeAccount(2, BigDecimal.valueOf(200));
-        BigDecimal amount = BigDecimal.valueOf(150);
+        Account from = activeAccount(1, Money.of("500.00"));
+        Account to = activeAccount(2, Money.of("200.00"));
+        Money amount = Money.of("150.00");
 
         transferService.executeTransfer(from, to, amount);
 
-        assertEquals(BigDecimal.valueOf(350), from.getBalance());
-        assertEquals(BigDecimal.valueOf(350), to.getBalance());
+        assertEquals(Money.of("350.00"), from.getBalance());
+        assertEquals(Money.of("350.00"), to.getBalance());
     }
 }
 
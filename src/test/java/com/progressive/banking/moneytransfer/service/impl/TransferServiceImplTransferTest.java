@@ -3,33 +3,54 @@ package com.progressive.banking.moneytransfer.service.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.progressive.banking.moneytransfer.archive.TransactionLogArchive;
+import com.progressive.banking.moneytransfer.cache.AccountCache;
+import com.progressive.banking.moneytransfer.config.AccountCacheProperties;
+import com.progressive.banking.moneytransfer.config.ArchiveProperties;
+import com.progressive.banking.moneytransfer.config.ReplicaProperties;
+import com.progressive.banking.moneytransfer.config.TransferProperties;
 import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
 import com.progressive.banking.moneytransfer.domain.dto.TransferResponse;
 import com.progressive.banking.moneytransfer.domain.entities.Account;
 import com.progressive.banking.moneytransfer.domain.entities.TransactionLog;
 import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
 import com.progressive.banking.moneytransfer.domain.enums.TransactionStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.exception.AccountNotActiveException;
 import com.progressive.banking.moneytransfer.exception.AccountNotFoundException;
 import com.progressive.banking.moneytransfer.exception.DuplicateTransferException;
+import com.progressive.banking.moneytransfer.exception.InsufficientBalanceException;
+import com.progressive.banking.moneytransfer.idempotency.IdempotencyRegistry;
+import com.progressive.banking.moneytransfer.metrics.TransferMetrics;
 import com.progressive.banking.moneytransfer.repository.AccountRepository;
 import com.progressive.banking.moneytransfer.repository.TransactionLogRepository;
+import com.progressive.banking.moneytransfer.repository.TransferJournalRepository;
+import com.progressive.banking.moneytransfer.striping.StripedBalances;
 
 @ExtendWith(MockitoExtension.class)
 class TransferServiceImplTransferTest {
@@ -40,10 +61,29 @@ class TransferServiceImplTransferTest {
     @Mock
     private TransactionLogRepository transactionLogRepository;
 
-    @InjectMocks
+    @Mock
+    private TransferJournalRepository transferJournalRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransferProperties transferProperties;
+
     private TransferServiceImpl transferService;
 
-    private Account activeAccount(int id, BigDecimal balance) {
+    @BeforeEach
+    void setUp() {
+        transferProperties = new TransferProperties();
+        // Always probe the repository so idempotency is driven by the mocked findByIdempotencyKey
+        transferProperties.getIdempotency().setFilterEnabled(false);
+        transferService = new TransferServiceImpl(accountRepository, transactionLogRepository, transferProperties,
+                transactionManager, new IdempotencyRegistry(transactionLogRepository, transferJournalRepository, transferProperties,
+                        new TransactionLogArchive(new ArchiveProperties())),
+                null, new AccountCache(new AccountCacheProperties(), new ReplicaProperties()), TransferMetrics.detached(), null,
+                new StripedBalances(null, null, transferProperties));
+    }
+
+    private Account activeAccount(int id, Money balance) {
         Account a = new Account();
         a.setAccountId(id);
         a.setHolderName("User " + id);
@@ -54,7 +94,7 @@ class TransferServiceImplTransferTest {
         return a;
     }
 
-    private TransferRequest request(int from, int to, BigDecimal amount, String idemKey) {
+    private TransferRequest request(int from, int to, Money amount, String idemKey) {
         TransferRequest r = new TransferRequest();
         r.setFromAccountId(from);
         r.setToAccountId(to);
@@ -66,7 +106,7 @@ class TransferServiceImplTransferTest {
     @Test
     @DisplayName("transfer throws DuplicateTransferException when idempotency key already used")
     void transfer_duplicateIdempotencyKey_throwsDuplicateTransferException() {
-        TransferRequest req = request(1, 2, BigDecimal.valueOf(100), "key-1");
+        TransferRequest req = request(1, 2, Money.of("100.00"), "key-1");
         TransactionLog existing = new TransactionLog();
         existing.setTransactionId(99);
         existing.setIdempotencyKey("key-1");
@@ -81,7 +121,7 @@ class TransferServiceImplTransferTest {
     @Test
     @DisplayName("transfer throws AccountNotFoundException when from account missing")
     void transfer_fromAccountMissing_throwsNotFound() {
-        TransferRequest req = request(1, 2, BigDecimal.valueOf(100), "key-2");
+        TransferRequest req = request(1, 2, Money.of("100.00"), "key-2");
         when(transactionLogRepository.findByIdempotencyKey(eq("key-2"))).thenReturn(Optional.empty());
         when(accountRepository.findById(eq(1))).thenReturn(Optional.empty());
 
@@ -93,8 +133,8 @@ class TransferServiceImplTransferTest {
     @Test
     @DisplayName("transfer throws AccountNotFoundException when to account missing")
     void transfer_toAccountMissing_throwsNotFound() {
-        TransferRequest req = request(1, 2, BigDecimal.valueOf(100), "key-3");
-        Account from = activeAccount(1, BigDecimal.valueOf(500));
+        TransferRequest req = request(1, 2, Money.of("100.00"), "key-3");
+        Account from = activeAccount(1, Money.of("500.00"));
         when(transactionLogRepository.findByIdempotencyKey(eq("key-3"))).thenReturn(Optional.empty());
         when(accountRepository.findById(eq(1))).thenReturn(Optional.of(from));
         when(accountRepository.findById(eq(2))).thenReturn(Optional.empty());
@@ -105,11 +145,11 @@ class TransferServiceImplTransferTest {
     }
 
     @Test
-    @DisplayName("transfer succeeds and returns TransferResponse with SUCCESS status")
+    @DisplayName("transfer succeeds and writes the log once with SUCCESS status")
     void transfer_validRequest_returnsSuccessResponse() {
-        TransferRequest req = request(1, 2, BigDecimal.valueOf(100), "key-4");
-        Account from = activeAccount(1, BigDecimal.valueOf(500));
-        Account to = activeAccount(2, BigDecimal.valueOf(200));
+        TransferRequest req = request(1, 2, Money.of("100.00"), "key-4");
+        Account from = activeAccount(1, Money.of("500.00"));
+        Account to = activeAccount(2, Money.of("200.00"));
 
         when(transactionLogRepository.findByIdempotencyKey(eq("key-4"))).thenReturn(Optional.empty());
         when(accountRepository.findById(eq(1))).thenReturn(Optional.of(from));
@@ -130,12 +170,183 @@ class TransferServiceImplTransferTest {
         assertEquals(42, response.getTransactionId());
         assertEquals(1, response.getFromAccountId());
         assertEquals(2, response.getToAccountId());
-        assertEquals(BigDecimal.valueOf(100), response.getAmount());
+        assertEquals(new BigDecimal("100.00"), response.getAmount());
         assertEquals(TransactionStatusEnum.SUCCESS, response.getStatus());
         assertEquals("key-4", response.getIdempotencyKey());
         verify(accountRepository).save(from);
         verify(accountRepository).save(to);
-        assertEquals(BigDecimal.valueOf(400), from.getBalance());
-        assertEquals(BigDecimal.valueOf(300), to.getBalance());
+        assertEquals(Money.of("400.00"), from.getBalance());
+        assertEquals(Money.of("300.00"), to.getBalance());
+    }
+
+    @Test
+    @DisplayName("conditional engine moves money with two guarded updates and no entity loads")
+    void transfer_conditionalEngine_usesGuardedUpdates() {
+        transferProperties.setEngine(TransferProperties.Engine.CONDITIONAL_UPDATE);
+        TransferRequest req = request(1, 2, Money.of("100.00"), "key-5");
+
+        when(transactionLogRepository.findByIdempotencyKey(eq("key-5"))).thenReturn(Optional.empty());
+        when(transactionLogRepository.save(any(TransactionLog.class))).thenAnswer(inv -> {
+            TransactionLog log = inv.getArgument(0);
+            log.setTransactionId(43);
+            return log;
+        });
+        when(accountRepository.debitIfActiveAndSufficient(eq(1), eq(10_000L), any())).thenReturn(1);
+        when(accountRepository.creditIfActive(eq(2), eq(10_000L), any())).thenReturn(1);
+
+        TransferResponse response = transferService.transfer(req);
+
+        assertEquals(43, response.getTransactionId());
+        assertEquals(TransactionStatusEnum.SUCCESS, response.getStatus());
+        verify(accountRepository, never()).findById(any());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("conditional engine reports InsufficientBalanceException when debit matches no row")
+    void transfer_conditionalEngine_insufficientBalance() {
+        transferProperties.setEngine(TransferProperties.Engine.CONDITIONAL_UPDATE);
+        TransferRequest req = request(1, 2, Money.of("1000.00"), "key-6");
+
+        when(transactionLogRepository.findByIdempotencyKey(eq("key-6"))).thenReturn(Optional.empty());
+        when(accountRepository.debitIfActiveAndSufficient(eq(1), anyLong(), any())).thenReturn(0);
+        when(accountRepository.findById(eq(1))).thenReturn(Optional.of(activeAccount(1, Money.of("10.00"))));
+
+        assertThrows(InsufficientBalanceException.class, () -> transferService.transfer(req));
+        verify(accountRepository, never()).creditIfActive(any(), anyLong(), any());
+        verify(transactionLogRepository, never()).save(any(TransactionLog.class));
+    }
+
+    @Test
+    @DisplayName("conditional engine reports AccountNotActiveException when credit matches no row")
+    void transfer_conditionalEngine_inactiveDestination() {
+        transferProperties.setEngine(TransferProperties.Engine.CONDITIONAL_UPDATE);
+        TransferRequest req = request(1, 2, Money.of("100.00"), "key-7");
+        Account to = activeAccount(2, Money.of("200.00"));
+        to.setStatus(AccountStatusEnum.LOCKED);
+
+        when(transactionLogRepository.findByIdempotencyKey(eq("key-7"))).thenReturn(Optional.empty());
+        when(accountRepository.debitIfActiveAndSufficient(eq(1), anyLong(), any())).thenReturn(1);
+        when(accountRepository.creditIfActive(eq(2), anyLong(), any())).thenReturn(0);
+        when(accountRepository.findById(eq(2))).thenReturn(Optional.of(to));
+
+        assertThrows(AccountNotActiveException.class, () -> transferService.transfer(req));
+    }
+
+    @Test
+    @DisplayName("ordered pessimistic locking locks the lower accountId first")
+    void transfer_orderedPessimistic_locksLowerIdFirst() {
+        transferProperties.setLocking(TransferProperties.Locking.ORDERED_PESSIMISTIC);
+        TransferRequest req = request(2, 1, Money.of("100.00"), "key-8");
+        Account from = activeAccount(2, Money.of("500.00"));
+        Account to = activeAccount(1, Money.of("200.00"));
+
+        when(transactionLogRepository.findByIdempotencyKey(eq("key-8"))).thenReturn(Optional.empty());
+        when(transactionLogRepository.save(any(TransactionLog.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(accountRepository.findByIdForUpdate(eq(2))).thenReturn(Optional.of(from));
+        when(accountRepository.findByIdForUpdate(eq(1))).thenReturn(Optional.of(to));
+
+        TransferResponse response = transferService.transfer(req);
+
+        assertEquals(TransactionStatusEnum.SUCCESS, response.getStatus());
+        InOrder order = inOrder(accountRepository);
+        order.verify(accountRepository).findByIdForUpdate(1);
+        order.verify(accountRepository).findByIdForUpdate(2);
+        verify(accountRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("optimistic lock failure is retried in a fresh transaction")
+    void transfer_optimisticConflict_isRetried() {
+        transferProperties.getRetry().setInitialBackoff(Duration.ZERO);
+        TransferRequest req = request(1, 2, Money.of("100.00"), "key-9");
+
+        when(transactionLogRepository.findByIdempotencyKey(eq("key-9"))).thenReturn(Optional.empty());
+        when(transactionLogRepository.save(any(TransactionLog.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(accountRepository.findById(eq(1)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Account.class, 1))
+                .thenReturn(Optional.of(activeAccount(1, Money.of("500.00"))));
+        when(accountRepository.findById(eq(2))).thenReturn(Optional.of(activeAccount(2, Money.of("200.00"))));
+
+        TransferResponse response = transferService.transfer(req);
+
+        assertEquals(TransactionStatusEnum.SUCCESS, response.getStatus());
+        verify(accountRepository, times(2)).findById(1);
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("optimistic lock failure is rethrown once retries are exhausted")
+    void transfer_optimisticConflict_givesUpAfterMaxAttempts() {
+        transferProperties.getRetry().setInitialBackoff(Duration.ZERO);
+        transferProperties.getRetry().setMaxAttempts(3);
+        TransferRequest req = request(1, 2, Money.of("100.00"), "key-10");
+
+        when(transactionLogRepository.findByIdempotencyKey(eq("key-10"))).thenReturn(Optional.empty());
+        when(accountRepository.findById(eq(1)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Account.class, 1));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> transferService.transfer(req));
+        verify(accountRepository, times(3)).findById(1);
+    }
+
+    @Test
+    @DisplayName("REPLAY policy returns the original response for a repeated key")
+    void transfer_replayPolicy_returnsOriginalResponse() {
+        transferProperties.getIdempotency().setDuplicatePolicy(TransferProperties.DuplicatePolicy.REPLAY);
+        TransferRequest req = request(1, 2, Money.of("100.00"), "key-11");
+        TransactionLog existing = new TransactionLog();
+        existing.setTransactionId(77);
+        existing.setIdempotencyKey("key-11");
+        existing.setStatus(TransactionStatusEnum.SUCCESS);
+
+        when(transactionLogRepository.findByIdempotencyKey(eq("key-11"))).thenReturn(Optional.of(existing));
+
+        TransferResponse response = transferService.transfer(req);
+
+        assertEquals(77, response.getTransactionId());
+        verify(accountRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("unique-constraint violation on a repeated key is reported as a duplicate")
+    void transfer_constraintViolation_reportedAsDuplicate() {
+        TransferRequest req = request(1, 2, Money.of("100.00"), "key-12");
+        TransactionLog existing = new TransactionLog();
+        existing.setTransactionId(78);
+        existing.setIdempotencyKey("key-12");
+
+        when(transactionLogRepository.findByIdempotencyKey(eq("key-12")))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(existing));
+        when(accountRepository.findById(eq(1))).thenReturn(Optional.of(activeAccount(1, Money.of("500.00"))));
+        when(accountRepository.findById(eq(2))).thenReturn(Optional.of(activeAccount(2, Money.of("200.00"))));
+        when(transactionLogRepository.save(any(TransactionLog.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_txn_idempotency_key"));
+
+        assertThrows(DuplicateTransferException.class, () -> transferService.transfer(req));
+    }
+
+    @Test
+    @DisplayName("PENDING_TRAIL commits a PENDING row first and finishes it as FAILURE on rejection")
+    void transfer_pendingTrail_marksFailure() {
+        transferProperties.setLogMode(TransferProperties.LogMode.PENDING_TRAIL);
+        TransferRequest req = request(1, 2, Money.of("1000.00"), "key-13");
+
+        when(transactionLogRepository.findByIdempotencyKey(eq("key-13"))).thenReturn(Optional.empty());
+        when(transactionLogRepository.save(any(TransactionLog.class))).thenAnswer(inv -> {
+            TransactionLog log = inv.getArgument(0);
+            log.setTransactionId(90);
+            return log;
+        });
+        when(accountRepository.findById(eq(1))).thenReturn(Optional.of(activeAccount(1, Money.of("10.00"))));
+        when(accountRepository.findById(eq(2))).thenReturn(Optional.of(activeAccount(2, Money.of("10.00"))));
+
+        assertThrows(InsufficientBalanceException.class, () -> transferService.transfer(req));
+
+        ArgumentCaptor<TransactionLog> saved = ArgumentCaptor.forClass(TransactionLog.class);
+        verify(transactionLogRepository).save(saved.capture());
+        assertEquals(TransactionStatusEnum.PENDING, saved.getValue().getStatus());
+        verify(transactionLogRepository).updateStatus(eq(90), eq(TransactionStatusEnum.FAILURE), any());
     }
 }
@@ -0,0 +1,218 @@
+package com.progressive.banking.moneytransfer.striping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.progressive.banking.moneytransfer.cache.AccountCache;
+import com.progressive.banking.moneytransfer.config.TransferProperties;
+import com.progressive.banking.moneytransfer.domain.dto.TransferRequest;
+import com.progressive.banking.moneytransfer.domain.entities.Account;
+import com.progressive.banking.moneytransfer.domain.enums.AccountStatusEnum;
+import com.progressive.banking.moneytransfer.domain.money.Money;
+import com.progressive.banking.moneytransfer.repository.AccountBalanceStripeRepository;
+import com.progressive.banking.moneytransfer.repository.AccountRepository;
+import com.progressive.banking.moneytransfer.service.AccountService;
+import com.progressive.banking.moneytransfer.service.TransferService;
+
+/**
+ * Credits to a striped account land on its stripes (the account row and its version stay put),
+ * reads return row + stripes, and the consolidator or a short debit folds them back.
+ */
+@SpringBootTest(properties = {
+        "logging.level.com.progressive.banking.moneytransfer=WARN",
+        "application.transfer.striping.accounts=9901",
+        "application.transfer.striping.stripes=4"
+})
+class StripedAccountTest {
+
+    private static final int HOT = 9901;
+    private static final int PAYER_BASE = 9910;
+    private static final int PAYERS = 4;
+    private static final int CREDITS_PER_PAYER = 25;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceStripeRepository stripeRepository;
+
+    @Autowired
+    private StripeConsolidator consolidator;
+
+    @Autowired
+    private StripedBalances stripedBalances;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.save(account(HOT, "0.00"));
+        for (int i = 0; i < PAYERS; i++) {
+            accountRepository.save(account(PAYER_BASE + i, "1000.00"));
+        }
+        accountCache.evict(List.of(HOT));
+        // the schema may have been recreated by another test context since startup
+        consolidator.ensureStripes();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transferProperties.setEngine(TransferProperties.Engine.ENTITY);
+        transferProperties.setLocking(TransferProperties.Locking.OPTIMISTIC);
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> stripeRepository.clearByAccountId(HOT));
+        accountRepository.deleteById(HOT);
+        for (int i = 0; i < PAYERS; i++) {
+            accountRepository.deleteById(PAYER_BASE + i);
+        }
+    }
+
+    @ParameterizedTest(name = "{0} / {1}")
+    @CsvSource({
+            "ENTITY, OPTIMISTIC",
+            "ENTITY, ORDERED_PESSIMISTIC",
+            "CONDITIONAL_UPDATE, OPTIMISTIC"
+    })
+    @DisplayName("concurrent credits go to stripes, reads sum them, the consolidator folds them")
+    void credits_goToStripes_andConsolidate(TransferProperties.Engine engine, TransferProperties.Locking locking) throws Exception {
+        transferProperties.setEngine(engine);
+        transferProperties.setLocking(locking);
+        Long versionBefore = accountRepository.findById(HOT).orElseThrow().getVersion();
+
+        ExecutorService pool = Executors.newFixedThreadPool(PAYERS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < PAYERS; i++) {
+            int payer = PAYER_BASE + i;
+            futures.add(pool.submit(() -> {
+                for (int n = 0; n < CREDITS_PER_PAYER; n++) {
+                    transferService.transfer(new TransferRequest(payer, HOT, Money.of("2.00"), UUID.randomUUID().toString(), null));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        Money credited = Money.of(BigDecimal.valueOf(2L * PAYERS * CREDITS_PER_PAYER));
+        Account row = accountRepository.findById(HOT).orElseThrow();
+        assertEquals(0, Money.ZERO.compareTo(row.getBalance()), "account row must not be credited directly");
+        assertEquals(versionBefore, row.getVersion());
+        assertEquals(0, credited.compareTo(Money.of(stripeRepository.sumByAccountId(HOT))));
+        assertEquals(0, credited.compareTo(accountService.getBalance(HOT).getBalance()));
+
+        assertEquals(1, consolidator.consolidateNow());
+        assertEquals(0, credited.compareTo(accountRepository.findById(HOT).orElseThrow().getBalance()));
+        assertEquals(0, Money.ZERO.compareTo(Money.of(stripeRepository.sumByAccountId(HOT))));
+        assertEquals(0, credited.compareTo(accountService.getBalance(HOT).getBalance()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"ENTITY", "CONDITIONAL_UPDATE"})
+    @DisplayName("a debit the account row can't cover folds the stripes first")
+    void shortDebit_foldsStripes(TransferProperties.Engine engine) {
+        transferProperties.setEngine(engine);
+        for (int n = 0; n < 3; n++) {
+            transferService.transfer(new TransferRequest(PAYER_BASE, HOT, Money.of("100.00"), UUID.randomUUID().toString(), null));
+        }
+
+        transferService.transfer(new TransferRequest(HOT, PAYER_BASE + 1, Money.of("250.00"), UUID.randomUUID().toString(), null));
+
+        assertEquals(0, Money.of("50.00").compareTo(accountRepository.findById(HOT).orElseThrow().getBalance()));
+        assertEquals(0, Money.ZERO.compareTo(Money.of(stripeRepository.sumByAccountId(HOT))));
+        assertEquals(0, Money.of("50.00").compareTo(accountService.getBalance(HOT).getBalance()));
+    }
+
+    @Test
+    @DisplayName("balance reads racing folds always see row + stripes from the same moment")
+    void readsDuringFolds_seeWholeBalance() throws Exception {
+        Money total = Money.of("80.00");
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(s -> stripeRepository.credit(HOT, 0, total.toBigDecimal()));
+
+        // fold the stripes into the row, then move part of the row back onto a stripe: the
+        // balance itself never changes
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        Future<?> folder = pool.submit(() -> {
+            try {
+                for (int n = 0; n < 200; n++) {
+                    int stripe = n % 4;
+                    tx.executeWithoutResult(s -> stripedBalances.fold(HOT));
+                    tx.executeWithoutResult(s -> {
+                        accountRepository.adjustBalance(HOT, -Money.of("30.00").minorUnits(), LocalDateTime.now());
+                        stripeRepository.credit(HOT, stripe, Money.of("30.00").toBigDecimal());
+                    });
+                }
+            } finally {
+                done.set(true);
+            }
+            return null;
+        });
+        List<Future<Integer>> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            boolean full = r == 0;
+            readers.add(pool.submit(() -> {
+                int reads = 0;
+                while (!done.get()) {
+                    Money read = full
+                            ? accountRepository.findViewById(HOT).orElseThrow().balance()
+                            : accountRepository.findBalanceViewById(HOT).orElseThrow().balance();
+                    assertEquals(0, total.compareTo(read), "read " + read + " after " + reads + " reads");
+                    reads++;
+                }
+                return reads;
+            }));
+        }
+        folder.get(1, TimeUnit.MINUTES);
+        for (Future<Integer> reader : readers) {
+            assertTrue(reader.get(1, TimeUnit.MINUTES) > 0);
+        }
+        pool.shutdown();
+    }
+
+    private Account account(int id, String balance) {
+        Account a = new Account();
+        a.setAccountId(id);
+        a.setHolderName("Striped " + id);
+        a.setBalance(Money.of(balance));
+        a.setStatus(AccountStatusEnum.ACTIVE);
+        a.setLastUpdated(LocalDateTime.now());
+        return a;
+    }
+}